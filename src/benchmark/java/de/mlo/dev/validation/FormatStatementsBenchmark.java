@@ -0,0 +1,136 @@
+package de.mlo.dev.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the format statements of {@link Statements} with the usual regular expressions and
+ * parse calls in a try/catch block. The invalid inputs show the cost of the exceptions.
+ * Run with the GC profiler to compare the allocations:
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile dependency:build-classpath \
+ *      -Dmdep.outputFile=target/benchmark.classpath -Dmdep.includeScope=test
+ * java -cp target/classes:target/test-classes:$(cat target/benchmark.classpath) \
+ *      de.mlo.dev.validation.FormatStatementsBenchmark -prof gc
+ * }</pre>
+ *
+ * @author mlo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatStatementsBenchmark {
+
+    private static final Pattern UUID_PATTERN =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+(\\.[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+)*"
+                    + "@[A-Za-z0-9]([A-Za-z0-9-]*[A-Za-z0-9])?(\\.[A-Za-z0-9]([A-Za-z0-9-]*[A-Za-z0-9])?)+");
+    private static final BigDecimal MIN = BigDecimal.ZERO;
+    private static final BigDecimal MAX = BigDecimal.valueOf(1_000_000);
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private String uuid;
+    private String date;
+    private String email;
+    private String decimal;
+
+    @Setup
+    public void setUp() {
+        uuid = valid ? "123e4567-e89b-12d3-a456-426614174000" : "123e4567-e89b-12d3-a456-42661417400x";
+        date = valid ? "2024-02-29" : "2023-02-29";
+        email = valid ? "first.last+tag@mail.example.com" : "first.last+tag@mail..example.com";
+        decimal = valid ? "12345.67" : "12345.6x";
+    }
+
+    @Benchmark
+    public ValidationInfo uuidStatement() {
+        return Statements.uuid(uuid);
+    }
+
+    @Benchmark
+    public boolean uuidRegex() {
+        return UUID_PATTERN.matcher(uuid).matches();
+    }
+
+    @Benchmark
+    public boolean uuidFromString() {
+        try {
+            return UUID.fromString(uuid) != null;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public ValidationInfo dateStatement() {
+        return Statements.isoDate(date);
+    }
+
+    @Benchmark
+    public boolean dateParse() {
+        try {
+            return LocalDate.parse(date) != null;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public ValidationInfo emailStatement() {
+        return Statements.email(email);
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    @Benchmark
+    public ValidationInfo decimalStatement() {
+        return Statements.decimalBetween(decimal, 0, 1_000_000, 2);
+    }
+
+    @Benchmark
+    public boolean decimalParse() {
+        try {
+            BigDecimal number = new BigDecimal(decimal);
+            return number.scale() <= 2 && number.compareTo(MIN) >= 0 && number.compareTo(MAX) <= 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(FormatStatementsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A small concurrent cache with an upper size limit. Reads are lock-free and only record the
+ * time of the access. If the limit is reached, the least recently used entries are evicted by
+ * the {@link LruEvictor} before a new entry is added, so the hot entries stay cached.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the cached values
+ * @author mlo
+ */
+final class BoundedCache<K, V> {
+
+    private final ConcurrentHashMap<K, Node<V>> entries = new ConcurrentHashMap<>();
+    private final LruEvictor evictor;
+
+    BoundedCache(int maximumSize) {
+        this.evictor = new LruEvictor(maximumSize);
+    }
+
+    /**
+     * @param key    The key of the cached value
+     * @param loader Creates the value if it is not cached. Must not return <code>null</code>
+     * @return The cached or the newly loaded value
+     */
+    @NotNull
+    V get(@NotNull K key, @NotNull Function<? super K, ? extends V> loader) {
+        long now = System.nanoTime();
+        Node<V> node = entries.get(key);
+        if (node == null) {
+            if (evictor.isFull(entries)) {
+                evictor.evict(entries, null);
+            }
+            node = entries.computeIfAbsent(key, k -> new Node<>(load(k, loader), now));
+        }
+        node.touch(now);
+        return node.value;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private V load(K key, Function<? super K, ? extends V> loader) {
+        V value = loader.apply(key);
+        if (value == null) {
+            throw new IllegalStateException("The loader returned null for the key: " + key);
+        }
+        return value;
+    }
+
+    private static final class Node<V> extends LruEvictor.Entry {
+        private final V value;
+
+        private Node(V value, long now) {
+            super(now);
+            this.value = value;
+        }
+    }
+}
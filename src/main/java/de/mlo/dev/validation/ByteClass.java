@@ -0,0 +1,97 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>
+ * An immutable set of byte values, which is checked with a single bit test. Use it with
+ * {@link Statements#onlyBytes(java.nio.ByteBuffer, ByteClass)} to restrict raw payloads before
+ * they are decoded.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * ByteClass identifier = ByteClass.ASCII_LETTERS.union(ByteClass.ASCII_DIGITS).union(ByteClass.of("-_"));
+ * Statements.onlyBytes(payload, identifier);
+ * }</pre>
+ *
+ * @author mlo
+ */
+public final class ByteClass {
+
+    /**
+     * All bytes from <code>0x00</code> to <code>0x7F</code>
+     */
+    public static final ByteClass ASCII = range(0x00, 0x7F);
+    /**
+     * All bytes from <code>0x20</code> (space) to <code>0x7E</code> (<code>~</code>)
+     */
+    public static final ByteClass ASCII_PRINTABLE = range(0x20, 0x7E);
+    public static final ByteClass ASCII_DIGITS = range('0', '9');
+    public static final ByteClass ASCII_LETTERS = range('a', 'z').union(range('A', 'Z'));
+    /**
+     * All bytes from <code>0x80</code> to <code>0xFF</code>, which are part of multibyte UTF-8 sequences
+     */
+    public static final ByteClass NON_ASCII = range(0x80, 0xFF);
+
+    private final long[] bits;
+
+    private ByteClass(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * @param from The first unsigned byte value (inclusive)
+     * @param to   The last unsigned byte value (inclusive)
+     * @return A new class
+     */
+    @NotNull
+    public static ByteClass range(int from, int to) {
+        if (from < 0 || to > 0xFF || from > to) {
+            throw new IllegalArgumentException("Invalid byte range: " + from + " - " + to);
+        }
+        long[] bits = new long[4];
+        for (int value = from; value <= to; value++) {
+            bits[value >>> 6] |= 1L << value;
+        }
+        return new ByteClass(bits);
+    }
+
+    /**
+     * @param chars The allowed characters, every character must be an ASCII character
+     * @return A new class
+     */
+    @NotNull
+    public static ByteClass of(@NotNull String chars) {
+        long[] bits = new long[4];
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (c > 0x7F) {
+                throw new IllegalArgumentException("Not an ASCII character: " + c);
+            }
+            bits[c >>> 6] |= 1L << c;
+        }
+        return new ByteClass(bits);
+    }
+
+    /**
+     * @param other Another class
+     * @return A new class which contains the bytes of both classes
+     */
+    @NotNull
+    public ByteClass union(@NotNull ByteClass other) {
+        long[] union = new long[4];
+        for (int i = 0; i < union.length; i++) {
+            union[i] = bits[i] | other.bits[i];
+        }
+        return new ByteClass(union);
+    }
+
+    /**
+     * @param value Any byte
+     * @return <code>true</code> if the class contains the unsigned value of the byte
+     */
+    public boolean contains(byte value) {
+        int unsigned = value & 0xFF;
+        return (bits[unsigned >>> 6] & (1L << unsigned)) != 0;
+    }
+}
@@ -0,0 +1,118 @@
+package de.mlo.dev.validation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * A regular expression which is compiled once and matched in linear time if possible. Patterns in
+ * the regular subset of the {@link Pattern} syntax (literals, character classes, groups,
+ * alternatives and quantifiers) are compiled to a deterministic automaton, which reads every
+ * character once and never backtracks. A hostile input can't make the match slow. All other
+ * patterns (like back references or lookarounds) are matched by a {@link Pattern} with one reused
+ * {@link Matcher} per thread.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * new ValueValidator<Customer>()
+ *      .add(customer -> Statements.matches(customer.getZipCode(), "\\d{5}"));
+ * }</pre>
+ * {@link #of(String)} and {@link Statements#matches(CharSequence, String)} use a shared bounded
+ * cache, so the pattern is compiled only once. A compiled pattern can be shared by any number of
+ * threads. The pattern always has to match the complete input, like {@link Matcher#matches()}.
+ *
+ * @author mlo
+ */
+public final class CompiledPattern {
+
+    private static final Logger LOGGER = LogManager.getLogger(CompiledPattern.class.getName());
+
+    /**
+     * The maximum number of patterns in the shared cache
+     */
+    public static final int MAXIMUM_CACHED_PATTERNS = 1024;
+    private static final BoundedCache<String, CompiledPattern> CACHE = new BoundedCache<>(MAXIMUM_CACHED_PATTERNS);
+
+    private final Pattern pattern;
+    private final RegexDfa dfa;
+    private final ThreadLocal<Matcher> matchers;
+
+    private CompiledPattern(Pattern pattern, RegexDfa dfa) {
+        this.pattern = pattern;
+        this.dfa = dfa;
+        this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+    }
+
+    /**
+     * @param regex A regular expression
+     * @return The compiled pattern from the shared cache
+     * @throws java.util.regex.PatternSyntaxException If the expression is invalid
+     */
+    @NotNull
+    public static CompiledPattern of(@NotNull String regex) {
+        return CACHE.get(regex, CompiledPattern::compile);
+    }
+
+    /**
+     * Compiles the expression without the shared cache.
+     *
+     * @param regex A regular expression
+     * @return The compiled pattern
+     * @throws java.util.regex.PatternSyntaxException If the expression is invalid
+     */
+    @NotNull
+    public static CompiledPattern compile(@NotNull String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        RegexDfa dfa = RegexDfa.compile(regex);
+        if (dfa == null) {
+            LOGGER.debug("The pattern '{}' is matched by java.util.regex", regex);
+        } else {
+            LOGGER.debug("The pattern '{}' is compiled to an automaton with {} states", regex, dfa.size());
+        }
+        return new CompiledPattern(pattern, dfa);
+    }
+
+    /**
+     * @param input The input to match
+     * @return <code>true</code> if the pattern matches the complete input
+     */
+    public boolean matches(@NotNull CharSequence input) {
+        if (dfa != null) {
+            int result = dfa.match(input);
+            if (result != RegexDfa.FALLBACK) {
+                return result == RegexDfa.MATCH;
+            }
+        }
+        Matcher matcher = matchers.get();
+        try {
+            return matcher.reset(input).matches();
+        } finally {
+            // Don't keep a reference to the input
+            matcher.reset("");
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the pattern is matched in linear time by an automaton
+     */
+    public boolean isLinear() {
+        return dfa != null;
+    }
+
+    /**
+     * @return The regular expression
+     */
+    @NotNull
+    public String pattern() {
+        return pattern.pattern();
+    }
+
+    @Override
+    public String toString() {
+        return pattern.pattern();
+    }
+}
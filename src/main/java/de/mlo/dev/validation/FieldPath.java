@@ -0,0 +1,312 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * The path of a nested field like <code>order.items[3].price</code>. A path is a chain of
+ * segments, every segment is a name or an index and links to its parent. Child paths share the
+ * segments of their parent, so prefixing a path doesn't copy any text. The names are interned
+ * and the text is only rendered on the first call of {@link #toString()}.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * FieldPath items = FieldPath.of("order").child("items");
+ * FieldPath price = items.index(3).child("price"); // order.items[3].price
+ * ValidationInfo info = ValidationInfo.buildInvalid().path(price).message("Negative price").build();
+ * }</pre>
+ * Paths are immutable and can be shared by any number of threads.
+ *
+ * @author mlo
+ * @see ValidationMessage#getPath()
+ */
+public final class FieldPath {
+
+    private static final int NO_INDEX = -1;
+
+    private final FieldPath parent;
+    private final String name;
+    private final int index;
+    private final int length;
+    /**
+     * Lazily rendered text. The racy single check is fine because the text never changes.
+     */
+    private String text;
+
+    private FieldPath(@Nullable FieldPath parent, @Nullable String name, int index) {
+        this.parent = parent;
+        this.name = name == null ? null : name.intern();
+        this.index = index;
+        this.length = parent == null ? 1 : parent.length + 1;
+    }
+
+    /**
+     * @param name The name of the field
+     * @return A path with one segment
+     */
+    @NotNull
+    public static FieldPath of(@NotNull String name) {
+        return new FieldPath(null, requireName(name), NO_INDEX);
+    }
+
+    /**
+     * @param index The index of an element
+     * @return A path with one segment, like <code>[3]</code>
+     */
+    @NotNull
+    public static FieldPath ofIndex(int index) {
+        return new FieldPath(null, null, requireIndex(index));
+    }
+
+    /**
+     * Parses a path like <code>items[3].price</code> or <code>items[].price</code>. A text which
+     * isn't a well-formed path is used as a single name.
+     *
+     * @param path The text of a path
+     * @return The parsed path
+     */
+    @NotNull
+    public static FieldPath parse(@NotNull String path) {
+        FieldPath result = null;
+        int position = 0;
+        int length = path.length();
+        while (position < length) {
+            char c = path.charAt(position);
+            if (c == '[') {
+                int end = path.indexOf(']', position);
+                Integer index = null;
+                if (end == position + 1) {
+                    index = NO_INDEX;
+                } else if (end > position) {
+                    index = parseIndex(path, position + 1, end);
+                }
+                if (index == null) {
+                    return new FieldPath(null, requireName(path), NO_INDEX);
+                }
+                result = new FieldPath(result, null, index);
+                position = end + 1;
+            } else {
+                if (c == '.') {
+                    if (result == null) {
+                        return new FieldPath(null, requireName(path), NO_INDEX);
+                    }
+                    position++;
+                } else if (result != null) {
+                    return new FieldPath(null, requireName(path), NO_INDEX);
+                }
+                int end = position;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == position) {
+                    return new FieldPath(null, requireName(path), NO_INDEX);
+                }
+                result = new FieldPath(result, path.substring(position, end), NO_INDEX);
+                position = end;
+            }
+        }
+        if (result == null) {
+            return new FieldPath(null, requireName(path), NO_INDEX);
+        }
+        result.text = path;
+        return result;
+    }
+
+    private static Integer parseIndex(String path, int from, int to) {
+        if (from == to || to - from > 9) {
+            return null;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * @param name The name of the child field
+     * @return A new path, which shares the segments of this path
+     */
+    @NotNull
+    public FieldPath child(@NotNull String name) {
+        return new FieldPath(this, requireName(name), NO_INDEX);
+    }
+
+    /**
+     * @param index The index of an element
+     * @return A new path, which shares the segments of this path
+     */
+    @NotNull
+    public FieldPath index(int index) {
+        return new FieldPath(this, null, requireIndex(index));
+    }
+
+    /**
+     * Appends a relative path. Only the segments of the relative path are copied.
+     *
+     * @param relative The path below this path
+     * @return The combined path
+     */
+    @NotNull
+    public FieldPath resolve(@NotNull FieldPath relative) {
+        FieldPath base = relative.parent == null ? this : resolve(relative.parent);
+        return new FieldPath(base, relative.name, relative.index);
+    }
+
+    /**
+     * Replaces the indices by the wildcard <code>[]</code>. All elements of a list share the same
+     * path without indices, <code>items[3].price</code> becomes <code>items[].price</code> for example.
+     *
+     * @return The path without indices, this path if it has no index
+     */
+    @NotNull
+    public FieldPath withoutIndices() {
+        if (!hasIndices()) {
+            return this;
+        }
+        FieldPath base = parent == null ? null : parent.withoutIndices();
+        return new FieldPath(base, name, NO_INDEX);
+    }
+
+    /**
+     * @return The indices of the path from the first to the last segment, like <code>[3, 1]</code>
+     * for <code>orders[3].items[1]</code>. Wildcards are skipped.
+     */
+    @NotNull
+    public int[] getIndices() {
+        int count = 0;
+        for (FieldPath current = this; current != null; current = current.parent) {
+            if (current.index >= 0) {
+                count++;
+            }
+        }
+        int[] indices = new int[count];
+        for (FieldPath current = this; current != null; current = current.parent) {
+            if (current.index >= 0) {
+                indices[--count] = current.index;
+            }
+        }
+        return indices;
+    }
+
+    private boolean hasIndices() {
+        for (FieldPath current = this; current != null; current = current.parent) {
+            if (current.index >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The path without the last segment or <code>null</code> if this path has only one segment
+     */
+    @Nullable
+    public FieldPath getParent() {
+        return parent;
+    }
+
+    /**
+     * @return The name of the last segment or <code>null</code> if the last segment is an index
+     */
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The index of the last segment or <code>-1</code> if the last segment is a name or
+     * the wildcard of a path {@link #withoutIndices() without indices}
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return <code>true</code> if the last segment is an index
+     */
+    public boolean isIndex() {
+        return name == null;
+    }
+
+    /**
+     * @return The number of segments
+     */
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FieldPath)) {
+            return false;
+        }
+        FieldPath other = (FieldPath) o;
+        return length == other.length
+                && index == other.index
+                && Objects.equals(name, other.name)
+                && Objects.equals(parent, other.parent);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = parent == null ? 0 : parent.hashCode();
+        return 31 * hash + (name == null ? index : name.hashCode());
+    }
+
+    /**
+     * @return The rendered path, like <code>items[3].price</code>
+     */
+    @Override
+    public String toString() {
+        String rendered = text;
+        if (rendered == null) {
+            FieldPath[] segments = new FieldPath[length];
+            FieldPath current = this;
+            for (int i = length - 1; i >= 0; i--) {
+                segments[i] = current;
+                current = current.parent;
+            }
+            StringBuilder builder = new StringBuilder(length * 8);
+            for (FieldPath segment : segments) {
+                if (segment.name == null && segment.index == NO_INDEX) {
+                    builder.append("[]");
+                } else if (segment.name == null) {
+                    builder.append('[').append(segment.index).append(']');
+                } else {
+                    if (builder.length() > 0) {
+                        builder.append('.');
+                    }
+                    builder.append(segment.name);
+                }
+            }
+            rendered = builder.toString();
+            text = rendered;
+        }
+        return rendered;
+    }
+
+    private static String requireName(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("The name of a field must not be empty");
+        }
+        return name;
+    }
+
+    private static int requireIndex(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("The index must not be negative: " + index);
+        }
+        return index;
+    }
+}
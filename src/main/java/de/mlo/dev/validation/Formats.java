@@ -0,0 +1,341 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Checks common text formats directly on a {@link CharSequence}. The checks scan the text once,
+ * don't allocate any object and don't throw exceptions for invalid input.
+ *
+ * @author mlo
+ */
+final class Formats {
+
+    /**
+     * The result of {@link #compareNumber(CharSequence, long, long, int)}
+     */
+    static final int IN_RANGE = 0;
+    static final int NOT_A_NUMBER = 1;
+    static final int TOO_SMALL = 2;
+    static final int TOO_LARGE = 3;
+    static final int TOO_MANY_FRACTION_DIGITS = 4;
+
+    /**
+     * The length of the IBAN of every country of the IBAN registry, indexed by the two letters
+     * of the country code. <code>0</code> for unknown countries.
+     */
+    private static final byte[] IBAN_LENGTHS = new byte[26 * 26];
+    private static final int IBAN_MIN_LENGTH = 15;
+    private static final int IBAN_MAX_LENGTH = 34;
+
+    private static final int EMAIL_MAX_LENGTH = 254;
+    private static final int EMAIL_LOCAL_MAX_LENGTH = 64;
+    private static final int DOMAIN_LABEL_MAX_LENGTH = 63;
+
+    static {
+        String lengths = "AD24AE23AL28AT20AZ28BA20BE16BG22BH22BR29BY28CH21CR22CY28CZ24DE22DK18DO28EE20EG29"
+                + "ES24FI18FO18FR27GB22GE22GI23GL18GR27GT28HR21HU28IE22IL23IQ23IS26IT27JO30KW30KZ20"
+                + "LB28LC32LI21LT20LU20LV21MC27MD24ME22MK19MR27MT31MU30NL18NO15PK24PL28PS29PT25QA29"
+                + "RO24RS22SA24SC31SE24SI19SK24SM27ST25SV28TL23TN24TR26UA29VA22VG24XK20";
+        for (int i = 0; i < lengths.length(); i += 4) {
+            int country = (lengths.charAt(i) - 'A') * 26 + (lengths.charAt(i + 1) - 'A');
+            IBAN_LENGTHS[country] = (byte) Integer.parseInt(lengths.substring(i + 2, i + 4));
+        }
+    }
+
+    private Formats() {
+    }
+
+    /**
+     * @return <code>true</code> for the canonical form <code>8-4-4-4-12</code> with hex digits of any case
+     */
+    static boolean isUuid(@NotNull CharSequence value) {
+        if (value.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!isHexDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> for an existing date <code>yyyy-MM-dd</code>
+     */
+    static boolean isIsoDate(@NotNull CharSequence value) {
+        return value.length() == 10 && dateEnd(value) == 10;
+    }
+
+    /**
+     * Accepts <code>yyyy-MM-ddTHH:mm</code>, optionally followed by <code>:ss</code>, a fraction of
+     * up to 9 digits and an offset <code>Z</code> or <code>+HH:mm</code>. Unlike {@link java.time.OffsetDateTime#parse(CharSequence)},
+     * the short offset <code>+HH</code> is not accepted.
+     *
+     * @return <code>true</code> for a valid local or offset date-time
+     */
+    static boolean isIsoDateTime(@NotNull CharSequence value) {
+        int length = value.length();
+        if (dateEnd(value) != 10 || length < 16 || value.charAt(10) != 'T') {
+            return false;
+        }
+        if (!isBetween(number(value, 11, 2), 0, 23) || value.charAt(13) != ':' || !isBetween(number(value, 14, 2), 0, 59)) {
+            return false;
+        }
+        int position = 16;
+        if (position < length && value.charAt(position) == ':') {
+            if (length < position + 3 || !isBetween(number(value, position + 1, 2), 0, 59)) {
+                return false;
+            }
+            position += 3;
+            if (position < length && value.charAt(position) == '.') {
+                int digits = 0;
+                position++;
+                while (position < length && isDigit(value.charAt(position))) {
+                    position++;
+                    digits++;
+                }
+                if (digits > 9) {
+                    return false;
+                }
+            }
+        }
+        if (position == length) {
+            return true;
+        }
+        char offset = value.charAt(position);
+        if (offset == 'Z') {
+            return position + 1 == length;
+        }
+        if ((offset == '+' || offset == '-') && length == position + 6 && value.charAt(position + 3) == ':') {
+            int hours = number(value, position + 1, 2);
+            int minutes = number(value, position + 4, 2);
+            return isBetween(hours, 0, 18) && isBetween(minutes, 0, 59) && (hours < 18 || minutes == 0);
+        }
+        return false;
+    }
+
+    /**
+     * Checks the common syntax <code>local@domain</code>: The local part consists of the
+     * characters <code>A-Z a-z 0-9 !#$%&amp;'*+/=?^_`{|}~-</code> and single dots which are not
+     * at the start or the end. The domain has at least two labels of letters, digits and
+     * hyphens. Quoted local parts, IP literals, comments and international domain names are not
+     * accepted.
+     *
+     * @return <code>true</code> for a syntactically valid address
+     */
+    static boolean isEmail(@NotNull CharSequence value) {
+        int length = value.length();
+        if (length > EMAIL_MAX_LENGTH) {
+            return false;
+        }
+        int at = -1;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            boolean dot = c == '.';
+            if (dot ? i == 0 || value.charAt(i - 1) == '.' : !isAtext(c)) {
+                return false;
+            }
+        }
+        if (at <= 0 || at > EMAIL_LOCAL_MAX_LENGTH || value.charAt(at - 1) == '.') {
+            return false;
+        }
+        int labels = 0;
+        int labelStart = at + 1;
+        for (int i = labelStart; i <= length; i++) {
+            char c = i == length ? '.' : value.charAt(i);
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > DOMAIN_LABEL_MAX_LENGTH
+                        || value.charAt(labelStart) == '-' || value.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                labelStart = i + 1;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        return labels >= 2;
+    }
+
+    /**
+     * Checks the electronic format (upper case, no spaces), the length of known countries and
+     * the ISO 7064 mod 97-10 checksum.
+     *
+     * @return <code>true</code> for a valid IBAN
+     */
+    static boolean isIban(@NotNull CharSequence value) {
+        int length = value.length();
+        if (length < IBAN_MIN_LENGTH || length > IBAN_MAX_LENGTH
+                || !isUpperLetter(value.charAt(0)) || !isUpperLetter(value.charAt(1))
+                || !isDigit(value.charAt(2)) || !isDigit(value.charAt(3))) {
+            return false;
+        }
+        int expectedLength = IBAN_LENGTHS[(value.charAt(0) - 'A') * 26 + (value.charAt(1) - 'A')];
+        if (expectedLength != 0 && expectedLength != length) {
+            return false;
+        }
+        // The first four characters are moved to the end
+        int remainder = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt((i + 4) % length);
+            if (isDigit(c)) {
+                remainder = (remainder * 10 + (c - '0')) % 97;
+            } else if (isUpperLetter(c)) {
+                remainder = (remainder * 100 + (c - 'A' + 10)) % 97;
+            } else {
+                return false;
+            }
+        }
+        return remainder == 1;
+    }
+
+    /**
+     * Parses a decimal number like <code>-12</code> or <code>+3.50</code> (no exponent, no
+     * grouping) and compares it with the bounds.
+     *
+     * @param min               The minimum value (inclusive)
+     * @param max               The maximum value (inclusive)
+     * @param maxFractionDigits The maximum number of digits after the decimal point, <code>0</code> for integers
+     * @return {@link #IN_RANGE} or the reason why the number is not accepted
+     */
+    static int compareNumber(@NotNull CharSequence value, long min, long max, int maxFractionDigits) {
+        int length = value.length();
+        int position = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            position++;
+        }
+        int digitsStart = position;
+        // Accumulated negatively, so Long.MIN_VALUE can be represented
+        long integer = 0;
+        boolean overflow = false;
+        while (position < length && isDigit(value.charAt(position))) {
+            int digit = value.charAt(position++) - '0';
+            if (integer < (Long.MIN_VALUE + digit) / 10) {
+                overflow = true;
+            } else {
+                integer = integer * 10 - digit;
+            }
+        }
+        if (position == digitsStart) {
+            return NOT_A_NUMBER;
+        }
+        boolean fraction = false;
+        int fractionDigits = 0;
+        if (position < length && value.charAt(position) == '.') {
+            int fractionStart = ++position;
+            while (position < length && isDigit(value.charAt(position))) {
+                fraction |= value.charAt(position++) != '0';
+            }
+            fractionDigits = position - fractionStart;
+            if (fractionDigits == 0) {
+                return NOT_A_NUMBER;
+            }
+        }
+        // The whole value has to be a number before the number of fraction digits is checked
+        if (position != length) {
+            return NOT_A_NUMBER;
+        }
+        if (fractionDigits > maxFractionDigits) {
+            return TOO_MANY_FRACTION_DIGITS;
+        }
+        if (!negative) {
+            if (overflow || integer == Long.MIN_VALUE) {
+                return TOO_LARGE;
+            }
+            long signed = -integer;
+            if (signed < min) {
+                return TOO_SMALL;
+            }
+            return signed < max || (signed == max && !fraction) ? IN_RANGE : TOO_LARGE;
+        }
+        if (overflow || (integer == Long.MIN_VALUE && fraction)) {
+            return TOO_SMALL;
+        }
+        if (integer > max) {
+            return TOO_LARGE;
+        }
+        return integer > min || (integer == min && !fraction) ? IN_RANGE : TOO_SMALL;
+    }
+
+    /**
+     * @return The index after the date <code>yyyy-MM-dd</code> at the start of the value or <code>-1</code>
+     */
+    private static int dateEnd(CharSequence value) {
+        if (value.length() < 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return -1;
+        }
+        int year = number(value, 0, 4);
+        int month = number(value, 5, 2);
+        int day = number(value, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return -1;
+        }
+        return day <= daysOfMonth(year, month) ? 10 : -1;
+    }
+
+    private static int daysOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * @return The value of the digits or <code>-1</code> if a character is not a digit
+     */
+    private static int number(CharSequence value, int start, int digits) {
+        int number = 0;
+        for (int i = start; i < start + digits; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    private static boolean isBetween(int number, int min, int max) {
+        return number >= min && number <= max;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpperLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isDigit(c) || isUpperLetter(c) || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isAtext(char c) {
+        return isAsciiLetterOrDigit(c) || (c < 0x7F && "!#$%&'*+/=?^_`{|}~-".indexOf(c) >= 0);
+    }
+}
@@ -0,0 +1,137 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * Limits the size of a concurrent cache by evicting the least recently used entries. Every
+ * {@link Entry entry} keeps the time of its last access, so reads only write a single field and
+ * don't need a lock or a shared access order.
+ * </p>
+ * If the maximum size is reached, about a tenth of the entries is evicted at once: the access
+ * times are scanned and the oldest entries are removed. The scan is amortized over many misses
+ * and hot entries survive, regardless of their position in the map. Only one thread evicts at a
+ * time, the others don't wait. Used by the bounded caches of the compiled patterns and messages
+ * and by {@link de.mlo.dev.validation.value.CachedLookup}.
+ *
+ * @author mlo
+ */
+public final class LruEvictor {
+
+    private final int maximumSize;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * @param maximumSize The maximum number of entries
+     */
+    public LruEvictor(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return The maximum number of entries
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @param entries The entries of the cache
+     * @return <code>true</code> if a new entry exceeds the maximum size
+     */
+    public boolean isFull(@NotNull Map<?, ?> entries) {
+        return entries.size() >= maximumSize;
+    }
+
+    /**
+     * Removes the expired entries and, if that is not enough, the least recently used entries
+     * until a tenth of the maximum size is free. Returns immediately if another thread is
+     * evicting the entries.
+     *
+     * @param entries The entries of the cache
+     * @param expired Selects the entries which are removed first or <code>null</code>
+     * @param <K>     The type of the keys
+     * @param <E>     The type of the entries
+     * @return The number of removed entries, which have not been expired
+     */
+    public <K, E extends Entry> int evict(@NotNull ConcurrentMap<K, E> entries, @Nullable Predicate<? super E> expired) {
+        if (!evicting.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            if (expired != null) {
+                entries.values().removeIf(expired);
+            }
+            int excess = entries.size() - (maximumSize - Math.max(1, maximumSize / 10));
+            if (excess <= 0) {
+                return 0;
+            }
+            long[] accessTimes = new long[entries.size()];
+            int size = 0;
+            for (E entry : entries.values()) {
+                if (size == accessTimes.length) {
+                    accessTimes = Arrays.copyOf(accessTimes, size * 2 + 1);
+                }
+                accessTimes[size++] = entry.getLastAccess();
+            }
+            if (size == 0) {
+                return 0;
+            }
+            Arrays.sort(accessTimes, 0, size);
+            long cutoff = accessTimes[Math.min(excess, size) - 1];
+            int evicted = 0;
+            for (Map.Entry<K, E> entry : entries.entrySet()) {
+                if (evicted >= excess) {
+                    break;
+                }
+                // Entries which have been replaced concurrently are kept
+                if (entry.getValue().getLastAccess() <= cutoff && entries.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+            return evicted;
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * An entry of a cache, which keeps the time of its last access
+     */
+    public abstract static class Entry {
+        private volatile long lastAccess;
+
+        /**
+         * @param now The time of the creation, for example {@link System#nanoTime()}
+         */
+        protected Entry(long now) {
+            this.lastAccess = now;
+        }
+
+        /**
+         * Records an access of the entry
+         *
+         * @param now The time of the access, from the same source as the time of the creation
+         */
+        public final void touch(long now) {
+            lastAccess = now;
+        }
+
+        /**
+         * @return The time of the last access
+         */
+        public final long getLastAccess() {
+            return lastAccess;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package de.mlo.dev.validation;
+
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * The {@link MessageCatalog} resolves the {@link ValidationMessage#getCode() code} of a message
+ * into a localized text template and renders it for a requested {@link Locale}. The templates
+ * are loaded from a {@link TemplateSource}, for example from {@link ResourceBundle}s or from a
+ * {@link Map}.
+ * </p>
+ * <p>
+ * Each template is parsed once per locale and kept in a bounded cache, so the same code can be
+ * rendered in many locales without parsing the template again. Messages without a code or
+ * without a template for the code are rendered with {@link ValidationMessage#getText()}.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * MessageCatalog catalog = MessageCatalog.ofResourceBundles(locale -> ResourceBundle.getBundle("messages", locale));
+ * String text = catalog.getMessage(result, Locale.GERMAN);
+ * }</pre>
+ * A catalog is thread safe and should be shared.
+ *
+ * @author mlo
+ */
+public class MessageCatalog {
+
+    /**
+     * The default number of cached templates per locale
+     */
+    public static final int DEFAULT_MAXIMUM_TEMPLATES = 1024;
+    private static final int MAXIMUM_LOCALES = 64;
+    private static final MessageTemplate MISSING = MessageTemplate.compile("");
+    private static final MessageCatalog EMPTY = new MessageCatalog((code, locale) -> null);
+
+    private final TemplateSource templateSource;
+    private final int maximumTemplates;
+    private final BoundedCache<Locale, BoundedCache<String, MessageTemplate>> templates =
+            new BoundedCache<>(MAXIMUM_LOCALES);
+    /**
+     * Compiled default texts of messages without a template, the key is the unformatted text
+     */
+    private final BoundedCache<String, MessageTemplate> defaultTemplates;
+
+    /**
+     * @param templateSource   Loads the uncompiled template of a code
+     * @param maximumTemplates The maximum number of compiled templates per locale
+     */
+    public MessageCatalog(@NotNull TemplateSource templateSource, int maximumTemplates) {
+        this.templateSource = Objects.requireNonNull(templateSource);
+        this.maximumTemplates = maximumTemplates;
+        this.defaultTemplates = new BoundedCache<>(maximumTemplates);
+    }
+
+    /**
+     * @param templateSource Loads the uncompiled template of a code
+     */
+    public MessageCatalog(@NotNull TemplateSource templateSource) {
+        this(templateSource, DEFAULT_MAXIMUM_TEMPLATES);
+    }
+
+    /**
+     * @return A shared catalog without any templates. It renders the default texts of
+     * the messages with {@link #appendText(StringBuilder, ValidationMessage, Locale)}.
+     */
+    @NotNull
+    public static MessageCatalog empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a catalog which loads the templates from {@link ResourceBundle}s. The key of a
+     * template is the code of the message. The bundles must be loaded by the calling module,
+     * so pass a function like <code>locale -> ResourceBundle.getBundle("messages", locale)</code>.
+     *
+     * @param bundles Provides the bundle of a locale
+     * @return A new catalog
+     */
+    @NotNull
+    public static MessageCatalog ofResourceBundles(@NotNull Function<Locale, ResourceBundle> bundles) {
+        Objects.requireNonNull(bundles);
+        return new MessageCatalog((code, locale) -> {
+            try {
+                ResourceBundle bundle = bundles.apply(locale);
+                return bundle != null && bundle.containsKey(code) ? bundle.getString(code) : null;
+            } catch (MissingResourceException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Creates a catalog with the templates of the given map. If there are no templates
+     * for a locale, the templates of the language and then of {@link Locale#ROOT} are used.
+     *
+     * @param templates The templates (code to template) per locale
+     * @return A new catalog
+     */
+    @NotNull
+    public static MessageCatalog ofMap(@NotNull Map<Locale, Map<String, String>> templates) {
+        Map<Locale, Map<String, String>> copy = Map.copyOf(templates);
+        return new MessageCatalog((code, locale) -> {
+            String template = getTemplate(copy, locale, code);
+            if (template == null && !locale.getCountry().isEmpty()) {
+                template = getTemplate(copy, new Locale(locale.getLanguage()), code);
+            }
+            if (template == null) {
+                template = getTemplate(copy, Locale.ROOT, code);
+            }
+            return template;
+        });
+    }
+
+    @Nullable
+    private static String getTemplate(Map<Locale, Map<String, String>> templates, Locale locale, String code) {
+        Map<String, String> localeTemplates = templates.get(locale);
+        return localeTemplates != null ? localeTemplates.get(code) : null;
+    }
+
+    /**
+     * Renders the text of the given message for the given locale.
+     *
+     * @param message The message to render
+     * @param locale  The requested locale
+     * @return The localized text, the {@link ValidationMessage#getText() default text} if there
+     * is no template for the code or <code>null</code> if the message has no text at all
+     */
+    @Nullable
+    public String getText(@NotNull ValidationMessage message, @NotNull Locale locale) {
+        MessageTemplate template = getTemplate(message.getCode(), locale);
+        if (template == MISSING) {
+            return message.getText();
+        }
+        return template.render(message.getField(), message.getParameters(), locale);
+    }
+
+    /**
+     * Renders the text of the given message for the given locale and appends it to the
+     * target without creating an intermediate string. Unlike {@link #getText(ValidationMessage, Locale)}
+     * the {@link ValidationMessage#getUnformattedText() default text} is compiled and cached as well,
+     * its numbers and dates are formatted for the given locale.
+     *
+     * @param target  The text is appended to this builder
+     * @param message The message to render
+     * @param locale  The requested locale
+     * @return <code>false</code> if the message has no text at all, nothing has been appended
+     */
+    public boolean appendText(@NotNull StringBuilder target, @NotNull ValidationMessage message,
+                              @NotNull Locale locale) {
+        MessageTemplate template = getTemplate(message.getCode(), locale);
+        if (template == MISSING) {
+            String defaultText = message.getUnformattedText();
+            if (defaultText == null) {
+                return false;
+            }
+            template = defaultTemplates.get(defaultText, MessageTemplate::compile);
+        }
+        template.appendTo(target, message.getField(), message.getParameters(), locale);
+        return true;
+    }
+
+    /**
+     * @param result The result which contains the messages
+     * @param locale The requested locale
+     * @return The localized texts of all messages. The order is maintained.
+     * @see ValidationResult#getMessagesTextList()
+     */
+    @NotNull
+    public List<String> getMessagesTextList(@NotNull ValidationResult result, @NotNull Locale locale) {
+        List<String> texts = new ArrayList<>();
+        for (ValidationInfo info : result) {
+            String text = getText(info.getMessage(), locale);
+            if (text != null) {
+                texts.add(text);
+            }
+        }
+        return texts;
+    }
+
+    /**
+     * @param result The result which contains the messages
+     * @param locale The requested locale
+     * @return A combined localized message. The messages are separated by the system
+     * default line separator
+     * @see ValidationResult#getMessage()
+     */
+    @NotNull
+    public String getMessage(@NotNull ValidationResult result, @NotNull Locale locale) {
+        return getMessage(result, locale, ValidationResult.LINE_SEPARATOR);
+    }
+
+    /**
+     * Renders all messages of the given result in one pass into one text.
+     *
+     * @param result    The result which contains the messages
+     * @param locale    The requested locale
+     * @param delimiter A custom delimiter which is inserted between messages
+     * @return A combined localized message
+     * @see ValidationResult#getMessage(String)
+     */
+    @NotNull
+    public String getMessage(@NotNull ValidationResult result, @NotNull Locale locale, @NotNull String delimiter) {
+        StringBuilder text = new StringBuilder();
+        for (ValidationInfo info : result) {
+            ValidationMessage message = info.getMessage();
+            MessageTemplate template = getTemplate(message.getCode(), locale);
+            if (template != MISSING) {
+                appendDelimiter(text, delimiter);
+                template.appendTo(text, message.getField(), message.getParameters(), locale);
+            } else {
+                String defaultText = message.getText();
+                if (defaultText != null) {
+                    appendDelimiter(text, delimiter);
+                    text.append(defaultText);
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private static void appendDelimiter(StringBuilder text, String delimiter) {
+        if (text.length() > 0) {
+            text.append(delimiter);
+        }
+    }
+
+    /**
+     * Removes all compiled templates. Call this function if the templates of the source
+     * have been changed.
+     */
+    public void clear() {
+        templates.clear();
+        defaultTemplates.clear();
+    }
+
+    private MessageTemplate getTemplate(@Nullable String code, Locale locale) {
+        if (code == null) {
+            return MISSING;
+        }
+        return templates.get(locale, l -> new BoundedCache<>(maximumTemplates))
+                .get(code, c -> {
+                    String template = templateSource.getTemplate(c, locale);
+                    return template != null ? MessageTemplate.compile(template) : MISSING;
+                });
+    }
+
+    /**
+     * Provides the uncompiled text template of a code
+     */
+    @FunctionalInterface
+    public interface TemplateSource {
+
+        /**
+         * @param code   The technical code of a message
+         * @param locale The requested locale
+         * @return The text template for the code or <code>null</code> if there is none
+         */
+        @Nullable
+        String getTemplate(@NotNull String code, @NotNull Locale locale);
+    }
+}
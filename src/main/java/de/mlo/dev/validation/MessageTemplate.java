@@ -0,0 +1,281 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>
+ * A text template which has been parsed once and can be rendered in a single pass.
+ * The compiled form supports the placeholders which are used by most templates:
+ * </p>
+ * <ul>
+ *     <li><code>{0}</code> - {@link MessageFormat} argument without a format type</li>
+ *     <li><code>{field}</code> - The affected field</li>
+ *     <li><code>%s</code>, <code>%1$s</code>, <code>%%</code> and <code>%n</code> -
+ *     {@link String#format(String, Object...)} placeholders</li>
+ *     <li>Quotes like <code>''</code> and <code>'{literal}'</code></li>
+ * </ul>
+ * <p>
+ * Templates with other placeholders (like <code>{0,number}</code> or <code>%d</code>)
+ * are rendered with the same two passes as {@link ValidationMessage#getText()}.
+ * </p>
+ * <p>
+ * The rendered text matches {@link ValidationMessage#getText()} for the same locale. The two
+ * passes parse the values of <code>%s</code> and <code>{field}</code> again as a
+ * {@link MessageFormat} pattern, <code>O'Brien</code> becomes <code>OBrien</code> for example.
+ * So a text is rendered with the two passes as well, if such a value contains a quote or a
+ * brace, if the field is missing or if there are fewer parameters than <code>%s</code>
+ * placeholders. The <code>{field}</code> placeholder is replaced within quotes too.
+ * </p>
+ *
+ * @author mlo
+ */
+final class MessageTemplate {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final Placeholder FIELD = new Placeholder(-1, true);
+
+    /**
+     * Literal text parts and {@link Placeholder placeholders}
+     */
+    private final Object[] parts;
+    private final String template;
+
+    private MessageTemplate(Object[] parts, String template) {
+        this.parts = parts;
+        this.template = template;
+    }
+
+    /**
+     * @param template A text template like it is used by {@link ValidationMessage}
+     * @return The compiled template
+     */
+    @NotNull
+    static MessageTemplate compile(@NotNull String template) {
+        List<Object> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int sequentialIndex = 0;
+        boolean quoted = false;
+        int length = template.length();
+        for (int i = 0; i < length; i++) {
+            char c = template.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < length && template.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == '%') {
+                int end = parsePercent(template, i, literal, parts);
+                if (end < 0) {
+                    return fallback(template);
+                }
+                if (end == i + 1 && template.charAt(end) == 's') {
+                    addPlaceholder(parts, literal, new Placeholder(sequentialIndex++, true));
+                }
+                i = end;
+            } else if (c == '{' && quoted && template.startsWith("{field}", i)) {
+                // The field is replaced before the quotes are resolved, like in the two passes
+                addPlaceholder(parts, literal, FIELD);
+                i += "{field}".length() - 1;
+            } else if (c == '{' && !quoted) {
+                int close = template.indexOf('}', i);
+                if (close < 0) {
+                    return fallback(template);
+                }
+                String name = template.substring(i + 1, close);
+                if ("field".equals(name)) {
+                    addPlaceholder(parts, literal, FIELD);
+                } else if (isIndex(name)) {
+                    addPlaceholder(parts, literal, new Placeholder(Integer.parseInt(name), false));
+                } else {
+                    return fallback(template);
+                }
+                i = close;
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            parts.add(literal.toString());
+        }
+        return new MessageTemplate(parts.toArray(), template);
+    }
+
+    /**
+     * Parses a percent sequence which starts at the given index.
+     *
+     * @return The index of the last character of the sequence or -1 if the sequence is not supported
+     */
+    private static int parsePercent(String template, int start, StringBuilder literal, List<Object> parts) {
+        int i = start + 1;
+        if (i >= template.length()) {
+            return -1;
+        }
+        char c = template.charAt(i);
+        if (c == '%') {
+            literal.append('%');
+            return i;
+        }
+        if (c == 'n') {
+            literal.append(LINE_SEPARATOR);
+            return i;
+        }
+        if (c == 's') {
+            return i;
+        }
+        int digitsEnd = i;
+        while (digitsEnd < template.length() && Character.isDigit(template.charAt(digitsEnd))) {
+            digitsEnd++;
+        }
+        if (digitsEnd > i && digitsEnd + 1 < template.length()
+                && template.charAt(digitsEnd) == '$' && template.charAt(digitsEnd + 1) == 's') {
+            int index = Integer.parseInt(template.substring(i, digitsEnd)) - 1;
+            if (index < 0) {
+                return -1;
+            }
+            addPlaceholder(parts, literal, new Placeholder(index, true));
+            return digitsEnd + 1;
+        }
+        return -1;
+    }
+
+    private static boolean isIndex(String name) {
+        if (name.isEmpty() || name.length() > 4) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addPlaceholder(List<Object> parts, StringBuilder literal, Placeholder placeholder) {
+        if (literal.length() > 0) {
+            parts.add(literal.toString());
+            literal.setLength(0);
+        }
+        parts.add(placeholder);
+    }
+
+    private static MessageTemplate fallback(String template) {
+        return new MessageTemplate(null, template);
+    }
+
+    /**
+     * @return <code>true</code> if the template is rendered in a single pass
+     */
+    boolean isCompiled() {
+        return parts != null;
+    }
+
+    /**
+     * Renders the template and appends the text to the given target.
+     *
+     * @param target     The text is appended to this builder
+     * @param field      The value of the <code>{field}</code> placeholder
+     * @param parameters The arguments for the placeholders
+     * @param locale     Numbers and dates are formatted for this locale
+     */
+    void appendTo(@NotNull StringBuilder target, @Nullable String field,
+                  @NotNull Object[] parameters, @NotNull Locale locale) {
+        if (parts == null) {
+            target.append(formatTwoPasses(field, parameters, locale));
+            return;
+        }
+        int start = target.length();
+        for (Object part : parts) {
+            if (part instanceof String) {
+                target.append((String) part);
+            } else if (part == FIELD) {
+                if (field == null || isParsedAgain(field)) {
+                    renderTwoPasses(target, start, field, parameters, locale);
+                    return;
+                }
+                target.append(field);
+            } else {
+                Placeholder placeholder = (Placeholder) part;
+                if (placeholder.plain) {
+                    String value = placeholder.index < parameters.length
+                            ? String.valueOf(parameters[placeholder.index]) : null;
+                    if (value == null || isParsedAgain(value)) {
+                        renderTwoPasses(target, start, field, parameters, locale);
+                        return;
+                    }
+                    target.append(value);
+                } else if (placeholder.index >= parameters.length) {
+                    target.append('{').append(placeholder.index).append('}');
+                } else {
+                    appendArgument(target, parameters[placeholder.index], locale);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the already appended part of the text by the text of the two passes
+     */
+    private void renderTwoPasses(StringBuilder target, int start, String field, Object[] parameters, Locale locale) {
+        target.setLength(start);
+        target.append(formatTwoPasses(field, parameters, locale));
+    }
+
+    /**
+     * @return <code>true</code> if the value would be changed by the {@link MessageFormat} pass
+     */
+    private static boolean isParsedAgain(String value) {
+        return value.indexOf('\'') >= 0 || value.indexOf('{') >= 0;
+    }
+
+    @NotNull
+    String render(@Nullable String field, @NotNull Object[] parameters, @NotNull Locale locale) {
+        StringBuilder text = new StringBuilder();
+        appendTo(text, field, parameters, locale);
+        return text.toString();
+    }
+
+    private String formatTwoPasses(String field, Object[] parameters, Locale locale) {
+        String msg = String.format(locale, template, parameters);
+        if (field != null) {
+            msg = msg.replace("{field}", field);
+        }
+        return new MessageFormat(msg, locale).format(parameters);
+    }
+
+    private static void appendArgument(StringBuilder target, Object argument, Locale locale) {
+        if (argument instanceof String) {
+            target.append((String) argument);
+        } else if (argument instanceof Number) {
+            target.append(NumberFormat.getInstance(locale).format(argument));
+        } else if (argument instanceof Date) {
+            target.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(argument));
+        } else {
+            target.append(argument);
+        }
+    }
+
+    /**
+     * A placeholder for an argument. Plain placeholders (<code>%s</code>) are rendered with
+     * {@link String#valueOf(Object)}, the others like {@link MessageFormat} does.
+     */
+    private static final class Placeholder {
+        private final int index;
+        private final boolean plain;
+
+        private Placeholder(int index, boolean plain) {
+            this.index = index;
+            this.plain = plain;
+        }
+    }
+}
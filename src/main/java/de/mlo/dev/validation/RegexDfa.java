@@ -0,0 +1,672 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * A deterministic finite automaton for the regular subset of the {@link java.util.regex.Pattern}
+ * syntax. The automaton reads every character exactly once, so the time of a match only depends
+ * on the length of the input and never backtracks. The supported syntax is:
+ * </p>
+ * <ul>
+ *     <li>Literals, escaped literals, <code>\t \n \r \f \a \e \xhh &#92;uhhhh</code></li>
+ *     <li><code>.</code>, <code>\d \D \w \W \s \S</code> and character classes like
+ *     <code>[a-z_]</code> or <code>[^\s,]</code></li>
+ *     <li>Groups <code>(...)</code> and <code>(?:...)</code>, alternatives <code>|</code></li>
+ *     <li>Greedy and lazy quantifiers <code>* + ? {n} {n,} {n,m}</code></li>
+ *     <li><code>^</code> at the start and <code>$</code> at the end of the pattern</li>
+ * </ul>
+ * Anything else (back references, lookarounds, flags, possessive quantifiers, Unicode
+ * properties, ...) is not compiled and must be matched by the {@link java.util.regex.Pattern}.
+ * The automaton works on UTF-16 characters; inputs with surrogate characters are
+ * {@link #FALLBACK passed back} as well, because the {@link java.util.regex.Pattern} matches
+ * them as code points.
+ *
+ * @author mlo
+ */
+final class RegexDfa {
+
+    static final int NO_MATCH = 0;
+    static final int MATCH = 1;
+    /**
+     * The input contains a surrogate character and must be matched by the {@link java.util.regex.Pattern}
+     */
+    static final int FALLBACK = -1;
+
+    private static final int DEAD = -1;
+    private static final int MAXIMUM_NFA_STATES = 10_000;
+    private static final int MAXIMUM_DFA_STATES = 2_048;
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 20;
+    private static final int ASCII = 128;
+
+    private static final int[] DIGIT = {'0', '9'};
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+    /**
+     * Any character except the line terminators <code>\n</code>, <code>\r</code>, U+0085, U+2028 and U+2029
+     */
+    private static final int[] DOT = {0, '\n' - 1, '\n' + 1, '\r' - 1, '\r' + 1, 0x84, 0x86, 0x2027, 0x202a, Character.MAX_VALUE};
+
+    /**
+     * The next state for every state and character class. The start state is <code>0</code>.
+     */
+    private final int[] transitions;
+    private final boolean[] accepting;
+    private final int classCount;
+    private final int[] asciiClasses;
+    /**
+     * The first character of every class except the first one, which starts at <code>0</code>
+     */
+    private final char[] classStarts;
+
+    private RegexDfa(int[] transitions, boolean[] accepting, int classCount, int[] asciiClasses, char[] classStarts) {
+        this.transitions = transitions;
+        this.accepting = accepting;
+        this.classCount = classCount;
+        this.asciiClasses = asciiClasses;
+        this.classStarts = classStarts;
+    }
+
+    /**
+     * @param regex A valid regular expression
+     * @return The automaton or <code>null</code> if the expression is not in the supported subset
+     * or the automaton would be too large
+     */
+    @Nullable
+    static RegexDfa compile(@NotNull String regex) {
+        try {
+            Node root = new Parser(stripAnchors(regex)).parse();
+            Nfa nfa = new Nfa();
+            int start = nfa.emit(root, nfa.add(Nfa.MATCH, null, -1, -1));
+            return nfa.toDfa(start);
+        } catch (UnsupportedSyntax e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param input The input to match completely
+     * @return {@link #MATCH}, {@link #NO_MATCH} or {@link #FALLBACK}
+     */
+    int match(@NotNull CharSequence input) {
+        int state = 0;
+        int length = input.length();
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (Character.isSurrogate(c)) {
+                return FALLBACK;
+            }
+            state = transitions[state * classCount + classOf(c)];
+            if (state == DEAD) {
+                return NO_MATCH;
+            }
+        }
+        return accepting[state] ? MATCH : NO_MATCH;
+    }
+
+    /**
+     * @return The number of states
+     */
+    int size() {
+        return accepting.length;
+    }
+
+    private int classOf(char c) {
+        if (c < ASCII) {
+            return asciiClasses[c];
+        }
+        int low = 0;
+        int high = classStarts.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (classStarts[middle] <= c) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Removes a leading <code>^</code> and a trailing unescaped <code>$</code>. Both are satisfied
+     * by every complete match.
+     */
+    private static String stripAnchors(String regex) {
+        int start = regex.startsWith("^") ? 1 : 0;
+        int end = regex.length();
+        if (end > start && regex.charAt(end - 1) == '$') {
+            int backslashes = 0;
+            for (int i = end - 2; i >= start && regex.charAt(i) == '\\'; i--) {
+                backslashes++;
+            }
+            if (backslashes % 2 == 0) {
+                end--;
+            }
+        }
+        return regex.substring(start, end);
+    }
+
+    private static final class UnsupportedSyntax extends RuntimeException {
+        private UnsupportedSyntax() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * A node of the syntax tree. A node has either a set of characters, children (concatenated
+     * or alternated) or a repeated child.
+     */
+    private static final class Node {
+        private static final int SET = 0;
+        private static final int CONCAT = 1;
+        private static final int ALTERNATION = 2;
+        private static final int REPEAT = 3;
+
+        private final int kind;
+        private final int[] ranges;
+        private final List<Node> children;
+        private final int min;
+        private final int max;
+
+        private Node(int kind, int[] ranges, List<Node> children, int min, int max) {
+            this.kind = kind;
+            this.ranges = ranges;
+            this.children = children;
+            this.min = min;
+            this.max = max;
+        }
+
+        private static Node set(int[] ranges) {
+            return new Node(SET, ranges, null, 0, 0);
+        }
+
+        private static Node list(int kind, List<Node> children) {
+            return children.size() == 1 ? children.get(0) : new Node(kind, null, children, 0, 0);
+        }
+
+        private static Node repeat(Node child, int min, int max) {
+            return new Node(REPEAT, null, List.of(child), min, max);
+        }
+    }
+
+    private static final class Parser {
+        private final String regex;
+        private int position;
+
+        private Parser(String regex) {
+            this.regex = regex;
+        }
+
+        private Node parse() {
+            Node node = parseAlternation();
+            if (position < regex.length()) {
+                throw new UnsupportedSyntax();
+            }
+            return node;
+        }
+
+        private Node parseAlternation() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseConcat());
+            while (peek() == '|') {
+                position++;
+                alternatives.add(parseConcat());
+            }
+            return Node.list(Node.ALTERNATION, alternatives);
+        }
+
+        private Node parseConcat() {
+            List<Node> items = new ArrayList<>();
+            while (position < regex.length() && peek() != '|' && peek() != ')') {
+                items.add(parseRepeat());
+            }
+            return Node.list(Node.CONCAT, items);
+        }
+
+        private Node parseRepeat() {
+            Node atom = parseAtom();
+            int min;
+            int max;
+            char c = peek();
+            if (c == '*') {
+                min = 0;
+                max = -1;
+            } else if (c == '+') {
+                min = 1;
+                max = -1;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+            } else if (c == '{') {
+                int close = regex.indexOf('}', position);
+                if (close < 0) {
+                    throw new UnsupportedSyntax();
+                }
+                String bounds = regex.substring(position + 1, close);
+                int comma = bounds.indexOf(',');
+                min = parseNumber(comma < 0 ? bounds : bounds.substring(0, comma));
+                max = comma < 0 ? min : comma == bounds.length() - 1 ? -1 : parseNumber(bounds.substring(comma + 1));
+                if (max >= 0 && max < min) {
+                    throw new UnsupportedSyntax();
+                }
+                position = close;
+            } else {
+                return atom;
+            }
+            position++;
+            if (peek() == '?') {
+                // A lazy quantifier accepts the same complete matches
+                position++;
+            }
+            char next = peek();
+            if (next == '+' || next == '*' || next == '?' || next == '{') {
+                throw new UnsupportedSyntax();
+            }
+            return Node.repeat(atom, min, max);
+        }
+
+        private Node parseAtom() {
+            char c = regex.charAt(position++);
+            switch (c) {
+                case '(':
+                    if (peek() == '?') {
+                        if (position + 1 < regex.length() && regex.charAt(position + 1) == ':') {
+                            position += 2;
+                        } else {
+                            throw new UnsupportedSyntax();
+                        }
+                    }
+                    Node group = parseAlternation();
+                    if (peek() != ')') {
+                        throw new UnsupportedSyntax();
+                    }
+                    position++;
+                    return group;
+                case '[':
+                    return Node.set(parseClass());
+                case '.':
+                    return Node.set(DOT);
+                case '\\':
+                    return Node.set(parseEscape());
+                case '^':
+                case '$':
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw new UnsupportedSyntax();
+                default:
+                    return Node.set(single(c));
+            }
+        }
+
+        private int[] parseClass() {
+            boolean negated = false;
+            if (peek() == '^') {
+                negated = true;
+                position++;
+            }
+            if (peek() == ']') {
+                throw new UnsupportedSyntax();
+            }
+            int[] ranges = new int[0];
+            while (true) {
+                if (position >= regex.length()) {
+                    throw new UnsupportedSyntax();
+                }
+                char c = regex.charAt(position++);
+                if (c == ']') {
+                    break;
+                }
+                if (c == '[' || (c == '&' && peek() == '&')) {
+                    throw new UnsupportedSyntax();
+                }
+                int[] item = c == '\\' ? parseEscape() : single(c);
+                if (peek() == '-' && position + 1 < regex.length() && regex.charAt(position + 1) != ']') {
+                    if (item.length != 2 || item[0] != item[1]) {
+                        throw new UnsupportedSyntax();
+                    }
+                    position++;
+                    char endChar = regex.charAt(position++);
+                    if (endChar == '[') {
+                        throw new UnsupportedSyntax();
+                    }
+                    int[] end = endChar == '\\' ? parseEscape() : single(endChar);
+                    if (end.length != 2 || end[0] != end[1] || end[0] < item[0] || peek() == '-') {
+                        throw new UnsupportedSyntax();
+                    }
+                    item = new int[]{item[0], end[0]};
+                }
+                ranges = union(ranges, item);
+            }
+            return negated ? complement(ranges) : ranges;
+        }
+
+        private int[] parseEscape() {
+            if (position >= regex.length()) {
+                throw new UnsupportedSyntax();
+            }
+            char c = regex.charAt(position++);
+            switch (c) {
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return complement(DIGIT);
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return complement(WORD);
+                case 's':
+                    return SPACE;
+                case 'S':
+                    return complement(SPACE);
+                case 't':
+                    return single('\t');
+                case 'n':
+                    return single('\n');
+                case 'r':
+                    return single('\r');
+                case 'f':
+                    return single('\f');
+                case 'a':
+                    return single('\u0007');
+                case 'e':
+                    return single('\u001B');
+                case 'x':
+                    return single(parseHex(2));
+                case 'u':
+                    return single(parseHex(4));
+                default:
+                    if (Character.isLetterOrDigit(c)) {
+                        // Back references and all other escaped constructs
+                        throw new UnsupportedSyntax();
+                    }
+                    return single(c);
+            }
+        }
+
+        private char parseHex(int digits) {
+            if (position + digits > regex.length()) {
+                throw new UnsupportedSyntax();
+            }
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(regex.charAt(position++), 16);
+                if (digit < 0) {
+                    throw new UnsupportedSyntax();
+                }
+                value = value * 16 + digit;
+            }
+            return (char) value;
+        }
+
+        private int parseNumber(String text) {
+            if (text.isEmpty() || text.length() > 4) {
+                throw new UnsupportedSyntax();
+            }
+            int value = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    throw new UnsupportedSyntax();
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+
+        private char peek() {
+            return position < regex.length() ? regex.charAt(position) : '\0';
+        }
+
+        private static int[] single(char c) {
+            if (Character.isSurrogate(c)) {
+                throw new UnsupportedSyntax();
+            }
+            return new int[]{c, c};
+        }
+    }
+
+    /**
+     * @return The union of two sorted lists of disjoint ranges
+     */
+    private static int[] union(int[] a, int[] b) {
+        int[] all = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+        Integer[] order = new Integer[all.length / 2];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> Integer.compare(all[x * 2], all[y * 2]));
+        int[] merged = new int[all.length];
+        int size = 0;
+        for (Integer index : order) {
+            int low = all[index * 2];
+            int high = all[index * 2 + 1];
+            if (size > 0 && low <= merged[size - 1] + 1) {
+                merged[size - 1] = Math.max(merged[size - 1], high);
+            } else {
+                merged[size++] = low;
+                merged[size++] = high;
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    private static int[] complement(int[] ranges) {
+        int[] result = new int[ranges.length + 2];
+        int size = 0;
+        int next = Character.MIN_VALUE;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                result[size++] = next;
+                result[size++] = ranges[i] - 1;
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= Character.MAX_VALUE) {
+            result[size++] = next;
+            result[size++] = Character.MAX_VALUE;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static boolean contains(int[] ranges, char c) {
+        for (int i = 0; i < ranges.length && ranges[i] <= c; i += 2) {
+            if (c <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A Thompson automaton, which is built backwards: Every node is emitted with the state which
+     * follows it.
+     */
+    private static final class Nfa {
+        private static final int SET = 0;
+        private static final int SPLIT = 1;
+        private static final int MATCH = 2;
+
+        private final List<int[]> sets = new ArrayList<>();
+        private int[] kinds = new int[64];
+        private int[] outs = new int[64];
+        private int[] alternativeOuts = new int[64];
+        private int size;
+
+        private int add(int kind, int[] set, int out, int alternativeOut) {
+            if (size == MAXIMUM_NFA_STATES) {
+                throw new UnsupportedSyntax();
+            }
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                outs = Arrays.copyOf(outs, size * 2);
+                alternativeOuts = Arrays.copyOf(alternativeOuts, size * 2);
+            }
+            kinds[size] = kind;
+            outs[size] = out;
+            alternativeOuts[size] = alternativeOut;
+            sets.add(set);
+            return size++;
+        }
+
+        /**
+         * @return The first state of the node
+         */
+        private int emit(Node node, int next) {
+            switch (node.kind) {
+                case Node.SET:
+                    return add(SET, node.ranges, next, -1);
+                case Node.CONCAT: {
+                    int state = next;
+                    for (int i = node.children.size() - 1; i >= 0; i--) {
+                        state = emit(node.children.get(i), state);
+                    }
+                    return state;
+                }
+                case Node.ALTERNATION: {
+                    int last = node.children.size() - 1;
+                    int state = emit(node.children.get(last), next);
+                    for (int i = last - 1; i >= 0; i--) {
+                        state = add(SPLIT, null, emit(node.children.get(i), next), state);
+                    }
+                    return state;
+                }
+                default: {
+                    Node child = node.children.get(0);
+                    int state = next;
+                    if (node.max < 0) {
+                        int loop = add(SPLIT, null, -1, next);
+                        outs[loop] = emit(child, loop);
+                        state = loop;
+                    } else {
+                        for (int i = node.min; i < node.max; i++) {
+                            state = add(SPLIT, null, emit(child, state), next);
+                        }
+                    }
+                    for (int i = 0; i < node.min; i++) {
+                        state = emit(child, state);
+                    }
+                    return state;
+                }
+            }
+        }
+
+        /**
+         * Adds the state and all states which are reachable without reading a character
+         */
+        private void close(int state, BitSet target) {
+            Deque<Integer> pending = new ArrayDeque<>();
+            pending.push(state);
+            BitSet visited = new BitSet(size);
+            while (!pending.isEmpty()) {
+                int current = pending.pop();
+                if (visited.get(current)) {
+                    continue;
+                }
+                visited.set(current);
+                if (kinds[current] == SPLIT) {
+                    pending.push(alternativeOuts[current]);
+                    pending.push(outs[current]);
+                } else {
+                    target.set(current);
+                }
+            }
+        }
+
+        /**
+         * Converts the automaton with the subset construction
+         */
+        private RegexDfa toDfa(int start) {
+            TreeSet<Integer> boundaries = new TreeSet<>();
+            for (int state = 0; state < size; state++) {
+                int[] set = sets.get(state);
+                if (set != null) {
+                    for (int i = 0; i < set.length; i += 2) {
+                        boundaries.add(set[i]);
+                        boundaries.add(set[i + 1] + 1);
+                    }
+                }
+            }
+            boundaries.remove(0);
+            boundaries.remove(Character.MAX_VALUE + 1);
+            char[] classStarts = new char[boundaries.size()];
+            int index = 0;
+            for (int boundary : boundaries) {
+                classStarts[index++] = (char) boundary;
+            }
+            int classCount = classStarts.length + 1;
+
+            List<BitSet> states = new ArrayList<>();
+            Map<BitSet, Integer> ids = new HashMap<>();
+            BitSet initial = new BitSet(size);
+            close(start, initial);
+            states.add(initial);
+            ids.put(initial, 0);
+            int[] transitions = new int[classCount * 16];
+            for (int id = 0; id < states.size(); id++) {
+                BitSet current = states.get(id);
+                for (int characterClass = 0; characterClass < classCount; characterClass++) {
+                    char representative = characterClass == 0 ? 0 : classStarts[characterClass - 1];
+                    BitSet next = new BitSet(size);
+                    for (int state = current.nextSetBit(0); state >= 0; state = current.nextSetBit(state + 1)) {
+                        if (kinds[state] == SET && contains(sets.get(state), representative)) {
+                            close(outs[state], next);
+                        }
+                    }
+                    int nextId = DEAD;
+                    if (!next.isEmpty()) {
+                        Integer known = ids.get(next);
+                        if (known == null) {
+                            if (states.size() == MAXIMUM_DFA_STATES || (long) (states.size() + 1) * classCount > MAXIMUM_TABLE_SIZE) {
+                                throw new UnsupportedSyntax();
+                            }
+                            known = states.size();
+                            states.add(next);
+                            ids.put(next, known);
+                        }
+                        nextId = known;
+                    }
+                    int slot = id * classCount + characterClass;
+                    if (slot >= transitions.length) {
+                        transitions = Arrays.copyOf(transitions, Math.max(slot + 1, transitions.length * 2));
+                    }
+                    transitions[slot] = nextId;
+                }
+            }
+            boolean[] accepting = new boolean[states.size()];
+            for (int id = 0; id < accepting.length; id++) {
+                BitSet state = states.get(id);
+                for (int s = state.nextSetBit(0); s >= 0; s = state.nextSetBit(s + 1)) {
+                    if (kinds[s] == MATCH) {
+                        accepting[id] = true;
+                        break;
+                    }
+                }
+            }
+            int[] asciiClasses = new int[ASCII];
+            int characterClass = 0;
+            for (char c = 0; c < ASCII; c++) {
+                while (characterClass < classStarts.length && classStarts[characterClass] <= c) {
+                    characterClass++;
+                }
+                asciiClasses[c] = characterClass;
+            }
+            return new RegexDfa(Arrays.copyOf(transitions, states.size() * classCount), accepting, classCount,
+                    asciiClasses, classStarts);
+        }
+    }
+}
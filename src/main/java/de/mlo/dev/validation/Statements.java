@@ -1,6 +1,34 @@
 package de.mlo.dev.validation;
 
+import de.mlo.dev.validation.membership.BloomFilter;
+import de.mlo.dev.validation.membership.IntMembership;
+import de.mlo.dev.validation.membership.StringMembership;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
 public class Statements {
+    private static final ValidationInfo NULL_TEXT = ValidationInfo.invalid("Value was null");
+    private static final ValidationInfo BLANK_TEXT = ValidationInfo.invalid("Value was blank");
+    private static final ValidationInfo TOO_SHORT = ValidationInfo.invalid("Text is too short");
+    private static final ValidationInfo TOO_LONG = ValidationInfo.invalid("Text is too long");
+    private static final ValidationInfo NOT_ALLOWED_CHARACTER = ValidationInfo.invalid("Text contains a character which is not allowed");
+    private static final ValidationInfo NOT_ASCII = ValidationInfo.invalid("Text contains a non-ASCII character");
+    private static final ValidationInfo CONTROL_CHARACTER = ValidationInfo.invalid("Text contains a control character");
+    private static final ValidationInfo NOT_UTF8 = ValidationInfo.invalid("Bytes are not well-formed UTF-8");
+    private static final ValidationInfo NOT_ALLOWED_BYTE = ValidationInfo.invalid("Bytes contain a byte which is not allowed");
+    private static final ValidationInfo NOT_A_UUID = ValidationInfo.invalid("Value is not a UUID");
+    private static final ValidationInfo NOT_A_DATE = ValidationInfo.invalid("Value is not an ISO-8601 date");
+    private static final ValidationInfo NOT_A_DATE_TIME = ValidationInfo.invalid("Value is not an ISO-8601 date-time");
+    private static final ValidationInfo NOT_AN_EMAIL = ValidationInfo.invalid("Value is not an e-mail address");
+    private static final ValidationInfo NOT_AN_IBAN = ValidationInfo.invalid("Value is not a valid IBAN");
+    private static final ValidationInfo NOT_A_NUMBER = ValidationInfo.invalid("Value is not a number");
+    private static final ValidationInfo TOO_SMALL = ValidationInfo.invalid("Number is too small");
+    private static final ValidationInfo TOO_LARGE = ValidationInfo.invalid("Number is too large");
+    private static final ValidationInfo TOO_MANY_FRACTION_DIGITS = ValidationInfo.invalid("Number has too many fraction digits");
+    private static final ValidationInfo NOT_TRIMMED = ValidationInfo.invalid("Text has leading or trailing whitespace");
+
     private Statements(){
 
     }
@@ -43,4 +71,381 @@ public class Statements {
         }
         return ValidationInfo.valid();
     }
+
+    /**
+     * @param value   The value to check
+     * @param allowed A compact set like {@link de.mlo.dev.validation.membership.IntHashSet}
+     * @return An INVALID info if the set doesn't contain the value
+     */
+    public static ValidationInfo memberOf(int value, IntMembership allowed){
+        if(!allowed.contains(value)){
+            return ValidationInfo.invalid("Value {0} is not allowed", value);
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * @param value   The value to check
+     * @param allowed A compact set like {@link de.mlo.dev.validation.membership.PerfectHashStringSet}
+     * @return An INVALID info if the set doesn't contain the value
+     */
+    public static ValidationInfo memberOf(String value, StringMembership allowed){
+        if(!allowed.contains(value)){
+            return ValidationInfo.invalid("Value {0} is not allowed", value);
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * @param value      The value to check
+     * @param preCheck   Rejects most values, which are not allowed, without the exact check
+     * @param exactCheck The exact (expensive) check, which is only executed if the filter might contain the value
+     * @return An INVALID info if the value is not allowed
+     */
+    public static ValidationInfo memberOf(String value, BloomFilter preCheck, Predicate<String> exactCheck){
+        if(!preCheck.mightContain(value) || !exactCheck.test(value)){
+            return ValidationInfo.invalid("Value {0} is not allowed", value);
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * @param value The value to check
+     * @param regex A regular expression, which must match the complete value. The compiled
+     *              pattern is cached, see {@link CompiledPattern}.
+     * @return An INVALID info if the value is <code>null</code> or doesn't match
+     */
+    public static ValidationInfo matches(CharSequence value, String regex){
+        return matches(value, CompiledPattern.of(regex));
+    }
+
+    /**
+     * @param value   The value to check
+     * @param pattern The pattern, which must match the complete value
+     * @return An INVALID info if the value is <code>null</code> or doesn't match
+     */
+    public static ValidationInfo matches(CharSequence value, CompiledPattern pattern){
+        if(value == null || !pattern.matches(value)){
+            return ValidationInfo.invalid("Value {0} does not match the pattern {1}", value, pattern.pattern());
+        }
+        return ValidationInfo.valid();
+    }
+
+    /*
+     * The following statements accept any CharSequence (like a StringBuilder or a CharBuffer),
+     * scan it once without creating a String and return shared infos.
+     */
+
+    /**
+     * @param value The text to check
+     * @return An INVALID info if the text is <code>null</code> or contains whitespace only
+     */
+    public static ValidationInfo notBlank(CharSequence value){
+        if(value == null){
+            return BLANK_TEXT;
+        }
+        for(int i = 0; i < value.length(); i++){
+            if(!Character.isWhitespace(value.charAt(i))){
+                return ValidationInfo.valid();
+            }
+        }
+        return BLANK_TEXT;
+    }
+
+    /**
+     * @param value     The text to check
+     * @param minLength The minimum number of chars (inclusive)
+     * @param maxLength The maximum number of chars (inclusive)
+     * @return An INVALID info if the text is <code>null</code>, too short or too long
+     */
+    public static ValidationInfo lengthBetween(CharSequence value, int minLength, int maxLength){
+        if(value == null){
+            return NULL_TEXT;
+        } else if(value.length() < minLength){
+            return TOO_SHORT;
+        } else if(value.length() > maxLength){
+            return TOO_LONG;
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * Example: <code>Statements.onlyCharacters(name, Character::isLetterOrDigit)</code>
+     *
+     * @param value   The text to check
+     * @param allowed Tests every code point of the text
+     * @return An INVALID info if the text is <code>null</code> or contains a code point which is not allowed
+     */
+    public static ValidationInfo onlyCharacters(CharSequence value, IntPredicate allowed){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        int length = value.length();
+        for(int i = 0; i < length; ){
+            int codePoint = Character.codePointAt(value, i);
+            if(!allowed.test(codePoint)){
+                return NOT_ALLOWED_CHARACTER;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * @param value The text to check
+     * @return An INVALID info if the text is <code>null</code> or contains a char above <code>0x7F</code>
+     */
+    public static ValidationInfo ascii(CharSequence value){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        for(int i = 0; i < value.length(); i++){
+            if(value.charAt(i) > 0x7F){
+                return NOT_ASCII;
+            }
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * Tabs and line breaks are control characters as well.
+     *
+     * @param value The text to check
+     * @return An INVALID info if the text is <code>null</code> or contains an ISO control character
+     * @see Character#isISOControl(char)
+     */
+    public static ValidationInfo noControlCharacters(CharSequence value){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        for(int i = 0; i < value.length(); i++){
+            if(Character.isISOControl(value.charAt(i))){
+                return CONTROL_CHARACTER;
+            }
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * @param value The text to check
+     * @return An INVALID info if the text is <code>null</code> or starts or ends with whitespace
+     */
+    public static ValidationInfo trimmed(CharSequence value){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        int length = value.length();
+        if(length > 0 && (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(length - 1)))){
+            return NOT_TRIMMED;
+        }
+        return ValidationInfo.valid();
+    }
+
+    /*
+     * The following statements check raw bytes before they are decoded. Buffers are checked
+     * between their position and limit; the position is not changed.
+     */
+
+    /**
+     * @param value The bytes to check, a heap or a direct buffer
+     * @return An INVALID info if the bytes are <code>null</code> or not well-formed UTF-8
+     */
+    public static ValidationInfo utf8(ByteBuffer value){
+        if(value == null){
+            return NULL_TEXT;
+        } else if(Utf8.codePointCount(value) == Utf8.MALFORMED){
+            return NOT_UTF8;
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * @param value  The bytes to check
+     * @param offset The index of the first byte
+     * @param length The number of bytes
+     * @return An INVALID info if the bytes are <code>null</code> or not well-formed UTF-8
+     */
+    public static ValidationInfo utf8(byte[] value, int offset, int length){
+        if(value == null){
+            return NULL_TEXT;
+        } else if(Utf8.codePointCount(value, offset, length) == Utf8.MALFORMED){
+            return NOT_UTF8;
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * @param value         The UTF-8 bytes to check
+     * @param minCodePoints The minimum number of code points (inclusive)
+     * @param maxCodePoints The maximum number of code points (inclusive)
+     * @return An INVALID info if the bytes are <code>null</code>, not well-formed UTF-8, too short or too long
+     */
+    public static ValidationInfo utf8LengthBetween(ByteBuffer value, int minCodePoints, int maxCodePoints){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        return codePointsBetween(Utf8.codePointCount(value), minCodePoints, maxCodePoints);
+    }
+
+    /**
+     * @param value         The UTF-8 bytes to check
+     * @param offset        The index of the first byte
+     * @param length        The number of bytes
+     * @param minCodePoints The minimum number of code points (inclusive)
+     * @param maxCodePoints The maximum number of code points (inclusive)
+     * @return An INVALID info if the bytes are <code>null</code>, not well-formed UTF-8, too short or too long
+     */
+    public static ValidationInfo utf8LengthBetween(byte[] value, int offset, int length, int minCodePoints, int maxCodePoints){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        return codePointsBetween(Utf8.codePointCount(value, offset, length), minCodePoints, maxCodePoints);
+    }
+
+    /**
+     * @param value   The bytes to check
+     * @param allowed The allowed bytes, like {@link ByteClass#ASCII_PRINTABLE}
+     * @return An INVALID info if the bytes are <code>null</code> or contain a byte which is not allowed
+     */
+    public static ValidationInfo onlyBytes(ByteBuffer value, ByteClass allowed){
+        if(value == null){
+            return NULL_TEXT;
+        } else if(!Utf8.containsOnly(value, allowed)){
+            return NOT_ALLOWED_BYTE;
+        }
+        return ValidationInfo.valid();
+    }
+
+    /**
+     * @param value   The bytes to check
+     * @param offset  The index of the first byte
+     * @param length  The number of bytes
+     * @param allowed The allowed bytes, like {@link ByteClass#ASCII_PRINTABLE}
+     * @return An INVALID info if the bytes are <code>null</code> or contain a byte which is not allowed
+     */
+    public static ValidationInfo onlyBytes(byte[] value, int offset, int length, ByteClass allowed){
+        if(value == null){
+            return NULL_TEXT;
+        } else if(!Utf8.containsOnly(value, offset, length, allowed)){
+            return NOT_ALLOWED_BYTE;
+        }
+        return ValidationInfo.valid();
+    }
+
+    private static ValidationInfo codePointsBetween(int codePoints, int minCodePoints, int maxCodePoints){
+        if(codePoints == Utf8.MALFORMED){
+            return NOT_UTF8;
+        } else if(codePoints < minCodePoints){
+            return TOO_SHORT;
+        } else if(codePoints > maxCodePoints){
+            return TOO_LONG;
+        }
+        return ValidationInfo.valid();
+    }
+
+    /*
+     * The following format statements parse the text once, don't allocate and don't throw
+     * exceptions for invalid input. They replace regular expressions and try/catch blocks
+     * around UUID.fromString, LocalDate.parse or Long.parseLong.
+     */
+
+    /**
+     * @param value The text to check
+     * @return An INVALID info if the text is <code>null</code> or not a UUID in the canonical
+     * form <code>123e4567-e89b-12d3-a456-426614174000</code> (any case)
+     */
+    public static ValidationInfo uuid(CharSequence value){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        return Formats.isUuid(value) ? ValidationInfo.valid() : NOT_A_UUID;
+    }
+
+    /**
+     * @param value The text to check
+     * @return An INVALID info if the text is <code>null</code> or not an existing date <code>yyyy-MM-dd</code>
+     */
+    public static ValidationInfo isoDate(CharSequence value){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        return Formats.isIsoDate(value) ? ValidationInfo.valid() : NOT_A_DATE;
+    }
+
+    /**
+     * Accepts local and offset date-times like <code>2024-02-29T13:45</code>,
+     * <code>2024-02-29T13:45:30.123Z</code> or <code>2024-02-29T13:45:30+01:00</code>.
+     *
+     * @param value The text to check
+     * @return An INVALID info if the text is <code>null</code> or not an ISO-8601 date-time
+     */
+    public static ValidationInfo isoDateTime(CharSequence value){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        return Formats.isIsoDateTime(value) ? ValidationInfo.valid() : NOT_A_DATE_TIME;
+    }
+
+    /**
+     * Checks the common syntax of an address like <code>first.last+tag@mail.example.com</code>.
+     * Quoted local parts, IP literals and international domain names are not accepted.
+     *
+     * @param value The text to check
+     * @return An INVALID info if the text is <code>null</code> or not an e-mail address
+     */
+    public static ValidationInfo email(CharSequence value){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        return Formats.isEmail(value) ? ValidationInfo.valid() : NOT_AN_EMAIL;
+    }
+
+    /**
+     * Checks the electronic format without spaces, the length of the country and the checksum.
+     *
+     * @param value The text to check, like <code>DE89370400440532013000</code>
+     * @return An INVALID info if the text is <code>null</code> or not a valid IBAN
+     */
+    public static ValidationInfo iban(CharSequence value){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        return Formats.isIban(value) ? ValidationInfo.valid() : NOT_AN_IBAN;
+    }
+
+    /**
+     * @param value The text to check, like <code>-42</code> or <code>+7</code>
+     * @param min   The minimum value (inclusive)
+     * @param max   The maximum value (inclusive)
+     * @return An INVALID info if the text is <code>null</code>, not an integer or out of range
+     */
+    public static ValidationInfo integerBetween(CharSequence value, long min, long max){
+        return decimalBetween(value, min, max, 0);
+    }
+
+    /**
+     * @param value             The text to check, like <code>12.50</code> (no exponent, no grouping)
+     * @param min               The minimum value (inclusive)
+     * @param max               The maximum value (inclusive)
+     * @param maxFractionDigits The maximum number of digits after the decimal point
+     * @return An INVALID info if the text is <code>null</code>, not a decimal number, out of range
+     * or has too many fraction digits
+     */
+    public static ValidationInfo decimalBetween(CharSequence value, long min, long max, int maxFractionDigits){
+        if(value == null){
+            return NULL_TEXT;
+        }
+        switch (Formats.compareNumber(value, min, max, maxFractionDigits)){
+            case Formats.IN_RANGE:
+                return ValidationInfo.valid();
+            case Formats.TOO_SMALL:
+                return TOO_SMALL;
+            case Formats.TOO_LARGE:
+                return TOO_LARGE;
+            case Formats.TOO_MANY_FRACTION_DIGITS:
+                return TOO_MANY_FRACTION_DIGITS;
+            default:
+                return NOT_A_NUMBER;
+        }
+    }
 }
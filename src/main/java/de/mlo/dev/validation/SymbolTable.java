@@ -0,0 +1,129 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * The {@link SymbolTable} assigns dense integer ids to strings like message codes
+ * and field names. The first registered name gets the id <code>0</code>, the next
+ * one <code>1</code> and so on. Ids are never reused or removed, so they can be
+ * used as array indices to group, compare and count messages without comparing
+ * strings.
+ * </p>
+ * <p>
+ * There is one shared table for {@link #codes() codes} and one for
+ * {@link #fields() fields}. Lookups are lock-free, only the registration of a new
+ * name is synchronized.
+ * </p>
+ * <p>
+ * <b>Caution</b>: The tables only grow. Intern constant names only and do not
+ * register dynamically built names (like <code>items[42].price</code>).
+ * </p>
+ *
+ * @author mlo
+ */
+public final class SymbolTable {
+
+    /**
+     * The id of <code>null</code> and of names which have not been registered
+     */
+    public static final int NONE = -1;
+
+    private static final SymbolTable CODES = new SymbolTable();
+    private static final SymbolTable FIELDS = new SymbolTable();
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private int size;
+
+    private SymbolTable() {
+    }
+
+    /**
+     * @return The shared table of the technical {@link ValidationMessage#getCode() codes}
+     */
+    @NotNull
+    public static SymbolTable codes() {
+        return CODES;
+    }
+
+    /**
+     * @return The shared table of the {@link ValidationMessage#getField() field names}
+     */
+    @NotNull
+    public static SymbolTable fields() {
+        return FIELDS;
+    }
+
+    /**
+     * Returns the id of the given name. If the name is unknown, it will be registered
+     * and gets the next free id.
+     *
+     * @param name The name to intern
+     * @return The dense id of the name or {@link #NONE} if the name is <code>null</code>
+     */
+    public int idOf(@Nullable String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        return register(name);
+    }
+
+    /**
+     * Returns the id of the given name without registering it.
+     *
+     * @param name The name to look up
+     * @return The dense id of the name or {@link #NONE} if the name is <code>null</code>
+     * or has not been registered yet
+     */
+    public int lookup(@Nullable String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer id = ids.get(name);
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * @param id A dense id which was returned by {@link #idOf(String)}
+     * @return The registered name or <code>null</code> if the id is unknown
+     */
+    @Nullable
+    public String nameOf(int id) {
+        String[] current = names;
+        if (id < 0 || id >= current.length) {
+            return null;
+        }
+        return current[id];
+    }
+
+    /**
+     * @return The number of registered names. All ids are lower than this value.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized int register(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = name;
+        names = current;
+        ids.put(name, size);
+        return size++;
+    }
+}
@@ -0,0 +1,30 @@
+package de.mlo.dev.validation;
+
+/**
+ * The reason why a validation process has been stopped before all statements have been executed.
+ *
+ * @author mlo
+ * @see ValidationBudget
+ */
+public enum TruncationReason {
+
+    /**
+     * The deadline or the time budget has been exceeded
+     */
+    DEADLINE,
+
+    /**
+     * The maximum number of failures has been reached
+     */
+    FAILURE_LIMIT,
+
+    /**
+     * The cost budget has been used up
+     */
+    COST_LIMIT,
+
+    /**
+     * The maximum depth of nested references has been reached
+     */
+    DEPTH_LIMIT
+}
@@ -0,0 +1,176 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Scans raw UTF-8 bytes without decoding them. Runs of ASCII bytes are skipped eight bytes at a
+ * time. Heap buffers are scanned through their array, all other buffers (direct, read-only) by
+ * absolute reads. The position of a buffer is never changed.
+ * <br>
+ * A well-formed sequence follows the table 3-7 of the Unicode standard: No overlong encodings,
+ * no surrogates and nothing above <code>U+10FFFF</code>.
+ *
+ * @author mlo
+ */
+final class Utf8 {
+
+    /**
+     * Returned instead of a number of code points, if the bytes are not well-formed
+     */
+    static final int MALFORMED = -1;
+
+    private static final long NON_ASCII_BITS = 0x8080808080808080L;
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private Utf8() {
+    }
+
+    /**
+     * @return The number of code points or {@link #MALFORMED}
+     */
+    static int codePointCount(@NotNull byte[] bytes, int offset, int length) {
+        int end = checkRange(bytes.length, offset, length);
+        int count = 0;
+        int i = offset;
+        while (i < end) {
+            while (end - i >= Long.BYTES && ((long) LONGS.get(bytes, i) & NON_ASCII_BITS) == 0) {
+                i += Long.BYTES;
+                count += Long.BYTES;
+            }
+            if (i == end) {
+                break;
+            }
+            int lead = bytes[i] & 0xFF;
+            if (lead < 0x80) {
+                i++;
+            } else {
+                int size = sequenceLength(lead);
+                if (size == 0 || end - i < size || !isValidSecond(lead, bytes[i + 1] & 0xFF)) {
+                    return MALFORMED;
+                }
+                for (int k = 2; k < size; k++) {
+                    if (!isContinuation(bytes[i + k])) {
+                        return MALFORMED;
+                    }
+                }
+                i += size;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of code points between the position and the limit or {@link #MALFORMED}
+     */
+    static int codePointCount(@NotNull ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return codePointCount(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        int end = buffer.limit();
+        int count = 0;
+        int i = buffer.position();
+        while (i < end) {
+            while (end - i >= Long.BYTES && (buffer.getLong(i) & NON_ASCII_BITS) == 0) {
+                i += Long.BYTES;
+                count += Long.BYTES;
+            }
+            if (i == end) {
+                break;
+            }
+            int lead = buffer.get(i) & 0xFF;
+            if (lead < 0x80) {
+                i++;
+            } else {
+                int size = sequenceLength(lead);
+                if (size == 0 || end - i < size || !isValidSecond(lead, buffer.get(i + 1) & 0xFF)) {
+                    return MALFORMED;
+                }
+                for (int k = 2; k < size; k++) {
+                    if (!isContinuation(buffer.get(i + k))) {
+                        return MALFORMED;
+                    }
+                }
+                i += size;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return <code>true</code> if the class contains every byte of the range
+     */
+    static boolean containsOnly(@NotNull byte[] bytes, int offset, int length, @NotNull ByteClass allowed) {
+        int end = checkRange(bytes.length, offset, length);
+        for (int i = offset; i < end; i++) {
+            if (!allowed.contains(bytes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the class contains every byte between the position and the limit
+     */
+    static boolean containsOnly(@NotNull ByteBuffer buffer, @NotNull ByteClass allowed) {
+        if (buffer.hasArray()) {
+            return containsOnly(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), allowed);
+        }
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (!allowed.contains(buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of bytes of the sequence or <code>0</code> if the byte can't start a sequence
+     */
+    private static int sequenceLength(int lead) {
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            return 2;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            return 3;
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            return 4;
+        }
+        return 0;
+    }
+
+    /**
+     * The second byte excludes overlong encodings, surrogates and code points above <code>U+10FFFF</code>
+     */
+    private static boolean isValidSecond(int lead, int second) {
+        switch (lead) {
+            case 0xE0:
+                return second >= 0xA0 && second <= 0xBF;
+            case 0xED:
+                return second >= 0x80 && second <= 0x9F;
+            case 0xF0:
+                return second >= 0x90 && second <= 0xBF;
+            case 0xF4:
+                return second >= 0x80 && second <= 0x8F;
+            default:
+                return second >= 0x80 && second <= 0xBF;
+        }
+    }
+
+    private static boolean isContinuation(byte value) {
+        return (value & 0xC0) == 0x80;
+    }
+
+    private static int checkRange(int size, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > size - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + size);
+        }
+        return offset + length;
+    }
+}
@@ -0,0 +1,339 @@
+package de.mlo.dev.validation;
+
+import de.mlo.dev.validation.basic.ValidationResult;
+import de.mlo.dev.validation.basic.ValidationRunners;
+import de.mlo.dev.validation.value.ValueValidationRunners;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A {@link ValidationBudget} limits a validation process. The budget runners
+ * {@link ValidationRunners#withBudget(ValidationBudget)} and
+ * {@link ValueValidationRunners#withBudget(ValidationBudget)} stop the process cleanly if
+ * any limit is hit and {@link ValidationResult#markTruncated(TruncationReason) mark} the
+ * result as truncated:
+ * </p>
+ * <ul>
+ *     <li>A time budget or a deadline: {@link TruncationReason#DEADLINE}</li>
+ *     <li>A maximum number of INVALID infos: {@link TruncationReason#FAILURE_LIMIT}. The result
+ *     never contains more failures than allowed.</li>
+ *     <li>A cost budget: {@link TruncationReason#COST_LIMIT}. Every instruction executed by a budget
+ *     runner costs 1, statements can {@link Tracker#charge(long) charge} additional costs.</li>
+ * </ul>
+ * Example:
+ * <pre>{@code
+ * ValidationBudget budget = ValidationBudget.unlimited()
+ *      .withTimeout(Duration.ofMillis(50))
+ *      .withMaxFailures(100);
+ * validator.setValidationRunner(ValueValidationRunners.withBudget(budget));
+ * }</pre>
+ * A budget is immutable and can be shared. The limits are tracked per validation process by a
+ * {@link Tracker}, which is available to the statements by {@link #current()}. Nested budget
+ * runners share the limits of the outer runners.
+ *
+ * @author mlo
+ */
+public final class ValidationBudget {
+
+    private static final ValidationBudget UNLIMITED = new ValidationBudget(null, null, Integer.MAX_VALUE, Long.MAX_VALUE);
+    private static final ThreadLocal<Tracker> CURRENT = new ThreadLocal<>();
+
+    private final Duration timeout;
+    private final Instant deadline;
+    private final int maxFailures;
+    private final long maxCost;
+
+    private ValidationBudget(@Nullable Duration timeout, @Nullable Instant deadline, int maxFailures, long maxCost) {
+        this.timeout = timeout;
+        this.deadline = deadline;
+        this.maxFailures = maxFailures;
+        this.maxCost = maxCost;
+    }
+
+    /**
+     * @return A budget without any limits. Use the <code>with</code> functions to add limits.
+     */
+    @NotNull
+    public static ValidationBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * @param timeout The time budget, which starts when the budget runner starts
+     * @return A copy of this budget with the given time budget
+     */
+    @NotNull
+    public ValidationBudget withTimeout(@NotNull Duration timeout) {
+        return new ValidationBudget(Objects.requireNonNull(timeout), deadline, maxFailures, maxCost);
+    }
+
+    /**
+     * @param deadline An absolute point in time, for example the deadline of the request
+     * @return A copy of this budget with the given deadline
+     */
+    @NotNull
+    public ValidationBudget withDeadline(@NotNull Instant deadline) {
+        return new ValidationBudget(timeout, Objects.requireNonNull(deadline), maxFailures, maxCost);
+    }
+
+    /**
+     * @param maxFailures The maximum number of INVALID infos
+     * @return A copy of this budget with the given failure limit
+     */
+    @NotNull
+    public ValidationBudget withMaxFailures(int maxFailures) {
+        if (maxFailures <= 0) {
+            throw new IllegalArgumentException("The maximum number of failures must be positive: " + maxFailures);
+        }
+        return new ValidationBudget(timeout, deadline, maxFailures, maxCost);
+    }
+
+    /**
+     * @param maxCost The maximum cost of the validation process
+     * @return A copy of this budget with the given cost budget
+     */
+    @NotNull
+    public ValidationBudget withMaxCost(long maxCost) {
+        if (maxCost <= 0) {
+            throw new IllegalArgumentException("The maximum cost must be positive: " + maxCost);
+        }
+        return new ValidationBudget(timeout, deadline, maxFailures, maxCost);
+    }
+
+    /**
+     * @return The tracker of the budget runner, which is executed by the current thread or
+     * <code>null</code> if there is no budget runner
+     */
+    @Nullable
+    public static Tracker current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts tracking this budget for the current thread. If the thread already tracks a budget,
+     * the new tracker also respects the limits of the outer tracker. Close the tracker when the
+     * validation process is finished:
+     * <pre>{@code
+     * try (ValidationBudget.Tracker tracker = budget.start()) {
+     *     ...
+     * }
+     * }</pre>
+     *
+     * @return The new tracker
+     */
+    @NotNull
+    public Tracker start() {
+        Tracker tracker = new Tracker(this, CURRENT.get());
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    /**
+     * Tracks the usage of a {@link ValidationBudget} during one validation process. A tracker can
+     * be used by several threads, for example by parallel statements.
+     */
+    public static final class Tracker implements AutoCloseable {
+        private final ValidationBudget budget;
+        private final Tracker parent;
+        private final long deadlineNanos;
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicLong cost = new AtomicLong();
+        private final Queue<Future<?>> cancellables = new ConcurrentLinkedQueue<>();
+        private volatile TruncationReason reason;
+
+        private Tracker(ValidationBudget budget, @Nullable Tracker parent) {
+            this.budget = budget;
+            this.parent = parent;
+            long now = System.nanoTime();
+            long deadline = Long.MAX_VALUE;
+            if (budget.timeout != null) {
+                deadline = saturatedAdd(now, budget.timeout.toNanos());
+            }
+            if (budget.deadline != null) {
+                long remainingMillis = budget.deadline.toEpochMilli() - System.currentTimeMillis();
+                deadline = Math.min(deadline, saturatedAdd(now, Duration.ofMillis(remainingMillis).toNanos()));
+            }
+            this.deadlineNanos = deadline;
+        }
+
+        private static long saturatedAdd(long first, long second) {
+            long sum = first + second;
+            return ((first ^ sum) & (second ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+        }
+
+        /**
+         * Checks all limits. Long-running statements should call this function regularly and
+         * stop if the budget is exhausted.
+         *
+         * @return <code>true</code> if any limit has been hit
+         */
+        public boolean isExhausted() {
+            if (reason != null) {
+                return true;
+            }
+            if (parent != null && parent.isExhausted()) {
+                return exhaust(parent.reason);
+            }
+            if (failures.get() >= budget.maxFailures) {
+                return exhaust(TruncationReason.FAILURE_LIMIT);
+            }
+            if (cost.get() >= budget.maxCost) {
+                return exhaust(TruncationReason.COST_LIMIT);
+            }
+            if (deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos >= 0) {
+                return exhaust(TruncationReason.DEADLINE);
+            }
+            return false;
+        }
+
+        private boolean exhaust(TruncationReason truncationReason) {
+            if (reason == null) {
+                reason = truncationReason;
+            }
+            Future<?> future;
+            while ((future = cancellables.poll()) != null) {
+                future.cancel(true);
+            }
+            return true;
+        }
+
+        /**
+         * @return The reason why the budget is exhausted or <code>null</code>
+         */
+        @Nullable
+        public TruncationReason getReason() {
+            return reason;
+        }
+
+        /**
+         * @return The number of INVALID infos which can still be added before the failure limit
+         * of this tracker or of an outer tracker is exceeded
+         */
+        public int remainingFailures() {
+            int remaining = Math.max(0, budget.maxFailures - failures.get());
+            if (parent != null) {
+                remaining = Math.min(remaining, parent.remainingFailures());
+            }
+            return remaining;
+        }
+
+        /**
+         * Adds a cost to this tracker and to the outer trackers.
+         *
+         * @param amount The cost of an operation
+         */
+        public void charge(long amount) {
+            cost.addAndGet(amount);
+            if (parent != null) {
+                parent.charge(amount);
+            }
+        }
+
+        /**
+         * @return The remaining time in nanoseconds, {@link Long#MAX_VALUE} if there is no deadline.
+         * Use this to wait for asynchronous statements.
+         */
+        public long remainingNanos() {
+            long remaining = deadlineNanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+            if (parent != null) {
+                remaining = Math.min(remaining, parent.remainingNanos());
+            }
+            return Math.max(0, remaining);
+        }
+
+        /**
+         * Registers an asynchronous or parallel statement, which is cancelled as soon as the budget
+         * is exhausted. If the budget is already exhausted, the future is cancelled immediately.
+         *
+         * @param future The future of the statement
+         */
+        public void register(@NotNull Future<?> future) {
+            cancellables.add(future);
+            if (isExhausted()) {
+                exhaust(reason);
+            }
+        }
+
+        /**
+         * Adds the infos of the source to the target until the failure limit is reached. If the
+         * source is truncated or the limit is reached, the target is marked as truncated.
+         *
+         * @param target The aggregated result of the runner
+         * @param source The result of an instruction
+         * @return <code>false</code> if the failure limit has been exceeded
+         */
+        public boolean addWithinLimit(@NotNull ValidationResult target, @NotNull ValidationResult source) {
+            target.markTruncated(source.getTruncationReason());
+            for (ValidationInfo info : source) {
+                if (info.isInvalid() && !addFailure()) {
+                    target.markTruncated(TruncationReason.FAILURE_LIMIT);
+                    return false;
+                }
+                target.add(info);
+            }
+            return true;
+        }
+
+        /**
+         * The failures are not passed to the outer trackers, because the outer runners add the
+         * truncated result again
+         */
+        private boolean addFailure() {
+            if (failures.incrementAndGet() > budget.maxFailures) {
+                exhaust(TruncationReason.FAILURE_LIMIT);
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Executes the task with this tracker as the {@link ValidationBudget#current() current}
+         * tracker of the calling thread, for example on the threads of an executor. Nested budget
+         * runners and loops of the task share the limits of this tracker. The previous tracker of
+         * the thread is restored afterwards.
+         *
+         * @param task The task to execute
+         * @param <T>  The type of the result of the task
+         * @return The result of the task
+         */
+        public <T> T within(@NotNull Supplier<T> task) {
+            Tracker previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+
+        /**
+         * Stops tracking for the current thread and restores the outer tracker.
+         */
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+            cancellables.clear();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A {@link ValidationCode} is the constant part of a failed validation: the technical
+ * code, the affected field and the text template. The instance holds one shared
+ * invalid {@link ValidationInfo} which can be returned by every statement that fails
+ * for this reason, so no new message and info objects are created per failure.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * static final ValidationCode NO_COUNTRY = ValidationCodes.define("NO_COUNTRY", "country", "Country is missing");
+ *
+ * ValidationInfo validateCountry(Address address){
+ *     if(address.getCountry() == null){
+ *         return NO_COUNTRY.invalid();
+ *     }
+ *     return ValidationInfo.valid();
+ * }
+ * }</pre>
+ * Create instances with {@link ValidationCodes#define(String, String, String)}.
+ *
+ * @author mlo
+ */
+public final class ValidationCode {
+
+    private final String code;
+    private final String field;
+    private final String text;
+    private final int codeId;
+    private final int fieldId;
+    private final ValidationMessage message;
+    private final ValidationInfo invalidInfo;
+
+    ValidationCode(@NotNull String code, @Nullable String field, @Nullable String text) {
+        this.code = Objects.requireNonNull(code);
+        this.field = field;
+        this.text = text;
+        this.codeId = SymbolTable.codes().idOf(code);
+        this.fieldId = SymbolTable.fields().idOf(field);
+        this.message = new ValidationMessage(field, code, text, null, fieldId, codeId);
+        this.invalidInfo = new ValidationInfo(false, message);
+    }
+
+    /**
+     * @return The shared invalid {@link ValidationInfo} of this code. Every call returns
+     * the same instance.
+     */
+    @NotNull
+    public ValidationInfo invalid() {
+        return invalidInfo;
+    }
+
+    /**
+     * Creates an invalid {@link ValidationInfo} with parameters for the placeholders of the
+     * text template. The code, field and template are shared with the constant info.
+     *
+     * @param parameters The arguments for the placeholders, see {@link String#format(String, Object...)}
+     *                   and {@link MessageFormat#format(String, Object...)}
+     * @return A new invalid {@link ValidationInfo} or the shared one if there are no parameters
+     */
+    @NotNull
+    public ValidationInfo invalid(@Nullable Object... parameters) {
+        if (parameters == null || parameters.length == 0) {
+            return invalidInfo;
+        }
+        return new ValidationInfo(false, new ValidationMessage(field, code, text, parameters, fieldId, codeId));
+    }
+
+    /**
+     * @return The shared message of this code without parameters
+     */
+    @NotNull
+    public ValidationMessage getMessage() {
+        return message;
+    }
+
+    /**
+     * @param info Any validation info
+     * @return <code>true</code> if the info carries this code
+     */
+    public boolean matches(@Nullable ValidationInfo info) {
+        return info != null && info.getMessage().getCodeId() == codeId;
+    }
+
+    @NotNull
+    public String getCode() {
+        return code;
+    }
+
+    @Nullable
+    public String getField() {
+        return field;
+    }
+
+    @Nullable
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return The dense id of the code within {@link SymbolTable#codes()}
+     */
+    public int getCodeId() {
+        return codeId;
+    }
+
+    /**
+     * @return The dense id of the field within {@link SymbolTable#fields()} or
+     * {@link SymbolTable#NONE} if there is no field
+     */
+    public int getFieldId() {
+        return fieldId;
+    }
+
+    boolean isDefinedAs(@Nullable String field, @Nullable String text) {
+        return Objects.equals(this.field, field) && Objects.equals(this.text, text);
+    }
+
+    @Override
+    public String toString() {
+        return message.toString();
+    }
+}
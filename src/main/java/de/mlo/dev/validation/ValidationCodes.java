@@ -0,0 +1,82 @@
+package de.mlo.dev.validation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link ValidationCodes} is the catalog of all {@link ValidationCode constant validation codes}.
+ * A code is defined once, usually as a <code>static final</code> constant, and can be looked up
+ * by its name afterwards.
+ *
+ * @author mlo
+ */
+public final class ValidationCodes {
+
+    private static final ConcurrentHashMap<String, ValidationCode> CODES = new ConcurrentHashMap<>();
+
+    private ValidationCodes() {
+    }
+
+    /**
+     * Defines a new code without a field.
+     *
+     * @param code A technical code which represents the message text
+     * @param text A text template, see {@link ValidationMessage#getText()}
+     * @return The defined code
+     * @see #define(String, String, String)
+     */
+    @NotNull
+    public static ValidationCode define(@NotNull String code, @Nullable String text) {
+        return define(code, null, text);
+    }
+
+    /**
+     * Defines a new code. Defining the same code with the same field and template again
+     * returns the already existing instance.
+     *
+     * @param code  A technical code which represents the message text
+     * @param field The affected field
+     * @param text  A text template, see {@link ValidationMessage#getText()}
+     * @return The defined code
+     * @throws IllegalStateException If the code is already defined with another field or template
+     */
+    @NotNull
+    public static ValidationCode define(@NotNull String code, @Nullable String field, @Nullable String text) {
+        ValidationCode validationCode = CODES.computeIfAbsent(Objects.requireNonNull(code),
+                c -> new ValidationCode(c, field, text));
+        if (!validationCode.isDefinedAs(field, text)) {
+            throw new IllegalStateException(MessageFormat.format(
+                    "The code ''{0}'' is already defined with another field or text: {1}", code, validationCode));
+        }
+        return validationCode;
+    }
+
+    /**
+     * @param code A technical code
+     * @return The defined code or <code>null</code> if the code is unknown
+     */
+    @Nullable
+    public static ValidationCode get(@Nullable String code) {
+        return code != null ? CODES.get(code) : null;
+    }
+
+    /**
+     * Shortcut for <code>ValidationCodes.get(code).invalid()</code>
+     *
+     * @param code A defined technical code
+     * @return The shared invalid {@link ValidationInfo} of the code
+     * @throws IllegalArgumentException If the code is unknown
+     */
+    @NotNull
+    public static ValidationInfo invalid(@NotNull String code) {
+        ValidationCode validationCode = get(code);
+        if (validationCode == null) {
+            throw new IllegalArgumentException(MessageFormat.format("The code ''{0}'' is not defined", code));
+        }
+        return validationCode.invalid();
+    }
+}
@@ -204,6 +204,25 @@ public class ValidationInfo implements Comparable<ValidationInfo> {
         return message.getField();
     }
 
+    /**
+     * @return The structured version of the {@link #getField() field}, see {@link ValidationMessage#getPath()}
+     */
+    @Nullable
+    public FieldPath getPath() {
+        return message.getPath();
+    }
+
+    /**
+     * Creates a copy of this info for a nested value, see {@link ValidationMessage#withPathPrefix(FieldPath)}
+     *
+     * @param prefix The path of the nested value
+     * @return A new info with the prefixed path
+     */
+    @NotNull
+    public ValidationInfo withPathPrefix(@NotNull FieldPath prefix) {
+        return new ValidationInfo(valid, message.withPathPrefix(prefix));
+    }
+
     @Override
     public int compareTo(@NotNull ValidationInfo o) {
         return Comparator.comparing(this::compareValid)
@@ -219,6 +238,7 @@ public class ValidationInfo implements Comparable<ValidationInfo> {
 
         private final boolean valid;
         private String field;
+        private FieldPath path;
         private String code;
         private String message;
         private Object[] parameter;
@@ -240,6 +260,11 @@ public class ValidationInfo implements Comparable<ValidationInfo> {
             return this;
         }
 
+        public Builder path(FieldPath path){
+            this.path = path;
+            return this;
+        }
+
         public Builder code(String code) {
             this.code = code;
             return this;
@@ -256,6 +281,9 @@ public class ValidationInfo implements Comparable<ValidationInfo> {
         }
 
         public ValidationInfo build() {
+            if (path != null) {
+                return new ValidationInfo(valid, ValidationMessage.ofPath(path, code, message, parameter));
+            }
             return new ValidationInfo(valid, new ValidationMessage(field, code, message, parameter));
         }
     }
@@ -15,10 +15,30 @@ import java.util.stream.Stream;
 public class ValidationMessage implements Comparable<ValidationMessage> {
     private static final ValidationMessage EMPTY = new ValidationMessage(null, null, null);
     private static final Object[] EMPTY_PARAMETERS = new Object[0];
+    private static final Comparator<String> NULLS_LAST_IGNORE_CASE = Comparator.nullsLast(String::compareToIgnoreCase);
+    private static final int UNRESOLVED = Integer.MIN_VALUE;
     private final String field;
+    /**
+     * The structured field, if the message has been created with a path. Its text is rendered lazily.
+     */
+    private final FieldPath fieldPath;
+    /**
+     * Lazily parsed path of a text {@link #field}, see {@link #getPath()}
+     */
+    private FieldPath parsedPath;
     private final String text;
     private final Object[] parameters;
     private final String code;
+    /**
+     * Lazily resolved id of the code within the {@link SymbolTable#codes() code table}.
+     * The racy single check is fine because the id of a code never changes and an int is
+     * written atomically. A reader which sees the initial value resolves the id again.
+     */
+    private int codeId = UNRESOLVED;
+    /**
+     * Lazily resolved id of the field within the {@link SymbolTable#fields() field table}
+     */
+    private int fieldId = UNRESOLVED;
 
     /**
      * Creates a new {@link ValidationMessage} with a technical code und a text template with parameters.
@@ -30,10 +50,42 @@ public class ValidationMessage implements Comparable<ValidationMessage> {
      *                   placeholders from the text template
      */
     public ValidationMessage(@Nullable String field, @Nullable String code, @Nullable String text, @Nullable Object... parameters) {
+        this(field, null, code, text, parameters, UNRESOLVED, UNRESOLVED);
+    }
+
+    private ValidationMessage(@Nullable String field, @Nullable FieldPath fieldPath, @Nullable String code,
+                              @Nullable String text, @Nullable Object[] parameters, int fieldId, int codeId) {
         this.field = field;
+        this.fieldPath = fieldPath;
         this.code = code;
         this.text = text;
         this.parameters = Objects.requireNonNullElse(parameters, EMPTY_PARAMETERS);
+        this.fieldId = fieldId;
+        this.codeId = codeId;
+    }
+
+    /**
+     * Creates a new messages object with a structured field. The text of the field is rendered
+     * on the first call of {@link #getField()}.
+     *
+     * @param path       The affected field
+     * @param code       A technical code which represents the message text
+     * @param text       A text template, see {@link #ValidationMessage(String, String, String, Object...)}
+     * @param parameters The arguments for the placeholders
+     * @return A new instance of a {@link ValidationMessage}
+     */
+    @NotNull
+    public static ValidationMessage ofPath(@NotNull FieldPath path, @Nullable String code, @Nullable String text,
+                                           @Nullable Object... parameters) {
+        return new ValidationMessage(null, Objects.requireNonNull(path), code, text, parameters, UNRESOLVED, UNRESOLVED);
+    }
+
+    /**
+     * Creates a message with already resolved symbol ids. Used by {@link ValidationCode}.
+     */
+    ValidationMessage(@Nullable String field, @Nullable String code, @Nullable String text,
+                      @Nullable Object[] parameters, int fieldId, int codeId) {
+        this(field, null, code, text, parameters, fieldId, codeId);
     }
 
     /**
@@ -178,7 +230,7 @@ public class ValidationMessage implements Comparable<ValidationMessage> {
      */
     @Nullable
     public String getText() {
-        return format(field, text, parameters);
+        return format(getField(), text, parameters);
     }
 
     /**
@@ -230,9 +282,92 @@ public class ValidationMessage implements Comparable<ValidationMessage> {
 
     @Nullable
     public String getField() {
+        if (fieldPath != null) {
+            return fieldPath.toString();
+        }
         return field;
     }
 
+    /**
+     * @return The structured version of the {@link #getField() field} or <code>null</code> if there
+     * is no field. A text field is parsed on the first call.
+     */
+    @Nullable
+    public FieldPath getPath() {
+        if (fieldPath != null) {
+            return fieldPath;
+        }
+        FieldPath result = parsedPath;
+        if (result == null && field != null) {
+            result = FieldPath.parse(field);
+            parsedPath = result;
+        }
+        return result;
+    }
+
+    /**
+     * Unlike {@link #getPath()}, a text field is neither parsed nor rendered. Use this to group
+     * messages by their field without rendering the text of every path.
+     *
+     * @return The path, if the message has been created with a structured field, otherwise <code>null</code>
+     */
+    @Nullable
+    public FieldPath getStructuredPath() {
+        return fieldPath;
+    }
+
+    /**
+     * Creates a copy of this message for a nested value. The text, the code and the parameters are
+     * shared, the field of the copy is the given prefix followed by the field of this message.
+     * No text is rendered until {@link #getField()} is called.
+     *
+     * @param prefix The path of the nested value, like <code>items[3]</code>
+     * @return A new message with the prefixed path
+     */
+    @NotNull
+    public ValidationMessage withPathPrefix(@NotNull FieldPath prefix) {
+        FieldPath relative = getPath();
+        FieldPath prefixed = relative == null ? prefix : prefix.resolve(relative);
+        return new ValidationMessage(null, prefixed, code, text, parameters, UNRESOLVED, codeId);
+    }
+
+    /**
+     * The dense id of the {@link #getCode() code} within the {@link SymbolTable#codes() code table}.
+     * The code is not registered by this call, codes are registered by {@link ValidationCodes#define}.
+     *
+     * @return The id of the code or {@link SymbolTable#NONE} if there is no code or the code
+     * has not been registered
+     */
+    public int getCodeId() {
+        int id = codeId;
+        if (id == UNRESOLVED) {
+            id = SymbolTable.codes().lookup(code);
+            if (id != SymbolTable.NONE) {
+                codeId = id;
+            }
+        }
+        return id;
+    }
+
+    /**
+     * The dense id of the {@link #getField() field} within the {@link SymbolTable#fields() field table}.
+     * The field is not registered by this call, so dynamic paths like <code>items[42].price</code>
+     * don't grow the table.
+     *
+     * @return The id of the field or {@link SymbolTable#NONE} if there is no field or the field
+     * has not been registered
+     */
+    public int getFieldId() {
+        int id = fieldId;
+        if (id == UNRESOLVED) {
+            id = SymbolTable.fields().lookup(getField());
+            if (id != SymbolTable.NONE) {
+                fieldId = id;
+            }
+        }
+        return id;
+    }
+
     public boolean isEmpty() {
         return code == null && text == null;
     }
@@ -248,11 +383,26 @@ public class ValidationMessage implements Comparable<ValidationMessage> {
         return Stream.of(c, m).filter(Objects::nonNull).collect(Collectors.joining(" | "));
     }
 
+    /**
+     * Compares the code and then the formatted text, ignoring the case. Messages
+     * which share the same code id, text template and parameters (like messages
+     * of the same {@link ValidationCode}) are compared without touching the strings.
+     */
     @Override
     public int compareTo(@NotNull ValidationMessage o) {
-        return Comparator
-                .comparing(ValidationMessage::getCode, Comparator.nullsLast(String::compareToIgnoreCase))
-                .thenComparing(ValidationMessage::getText, Comparator.nullsLast(String::compareToIgnoreCase))
-                .compare(this, o);
+        if (this == o) {
+            return 0;
+        }
+        boolean sameCode = code == o.code || (codeId != UNRESOLVED && codeId == o.codeId);
+        if (!sameCode) {
+            int result = NULLS_LAST_IGNORE_CASE.compare(code, o.code);
+            if (result != 0) {
+                return result;
+            }
+        }
+        if (text == o.text && parameters == o.parameters) {
+            return 0;
+        }
+        return NULLS_LAST_IGNORE_CASE.compare(getText(), o.getText());
     }
 }
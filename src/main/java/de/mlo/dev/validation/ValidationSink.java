@@ -0,0 +1,62 @@
+package de.mlo.dev.validation;
+
+import de.mlo.dev.validation.basic.ValidationResult;
+import de.mlo.dev.validation.basic.Validator;
+import de.mlo.dev.validation.value.ValueValidator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * A {@link ValidationSink} receives every {@link ValidationInfo} as soon as it has been
+ * created by a statement, instead of collecting all infos in a {@link ValidationResult}
+ * first. The sink can write the infos to a file, a socket or just count them, so the
+ * memory usage does not grow with the number of infos.
+ * </p>
+ * <p>
+ * The sink can stop the validation process by returning <code>false</code>. No further
+ * statements will be executed in this case.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * validator.validateInto(order, info -> {
+ *     if (info.isInvalid()) {
+ *         writer.write(info.getMessageText());
+ *     }
+ *     return true;
+ * });
+ * }</pre>
+ *
+ * @author mlo
+ * @see Validator#validateInto(ValidationSink)
+ * @see ValueValidator#validateInto(Object, ValidationSink)
+ */
+@FunctionalInterface
+public interface ValidationSink {
+
+    /**
+     * Receives the info of an executed statement.
+     *
+     * @param info The info of the executed statement
+     * @return <code>true</code> to continue the validation, <code>false</code> to stop it
+     */
+    boolean accept(@NotNull ValidationInfo info);
+
+    /**
+     * Creates a sink which adds every info to the given result. Use an
+     * {@link de.mlo.dev.validation.basic.AggregatedValidationResult} to collapse
+     * repeated infos while they arrive.
+     *
+     * @param result The result which collects the infos
+     * @return A sink which never stops the validation
+     */
+    @NotNull
+    static ValidationSink into(@NotNull ValidationResult result) {
+        Objects.requireNonNull(result);
+        return info -> {
+            result.add(info);
+            return true;
+        };
+    }
+}
@@ -0,0 +1,386 @@
+package de.mlo.dev.validation.basic;
+
+import de.mlo.dev.validation.FieldPath;
+import de.mlo.dev.validation.SymbolTable;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * The {@link AggregatedValidationResult} collapses {@link ValidationInfo}s with the same
+ * validity, code, field and text template into one {@link Entry}. The indices of the field are
+ * ignored, so the failures of <code>items[0].price</code> and <code>items[1].price</code> share
+ * the entry of <code>items[].price</code>. Only the first info of an entry is stored as a
+ * regular info of this result, every further info just increments the counter of the entry.
+ * Each entry keeps a bounded sample of the parameters, of the field indices and of the
+ * positions of the collapsed infos.
+ * </p>
+ * <p>
+ * The size of the result and of the combined {@link #getMessage() message} is bounded by the
+ * number of distinct failures, regardless of how many values have been validated:
+ * </p>
+ * <pre>{@code
+ * AggregatedValidationResult result = new AggregatedValidationResult();
+ * for (LineItem item : order.getItems()) {
+ *     result.add(LINE_ITEM_VALIDATOR.validate(item));
+ * }
+ * result.getTopEntries(3).forEach(e -> log(e.getCount() + "x " + e.getInfo().getMessageText()));
+ * }</pre>
+ *
+ * @author mlo
+ */
+public class AggregatedValidationResult extends ValidationResult {
+
+    /**
+     * The default number of samples per entry
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 10;
+
+    private final int sampleSize;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>();
+    private long occurrences;
+
+    /**
+     * Creates a new result which keeps {@link #DEFAULT_SAMPLE_SIZE} samples per entry
+     */
+    public AggregatedValidationResult() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * @param sampleSize The maximum number of parameter and index samples per entry
+     */
+    public AggregatedValidationResult(int sampleSize) {
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException("The sample size must not be negative: " + sampleSize);
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Adds the info to the matching entry. Only the first info of an entry is added to
+     * the list of infos.
+     *
+     * @param validationInfo Single information about the validation process
+     * @return An instance of this {@link AggregatedValidationResult}
+     */
+    @Override
+    public AggregatedValidationResult add(ValidationInfo validationInfo) {
+        if (validationInfo != null) {
+            long index = occurrences++;
+            Key key = new Key(validationInfo);
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(validationInfo, key.field);
+                entries.put(key, entry);
+                super.add(validationInfo);
+            }
+            entry.record(validationInfo.getMessage().getParameters(), key.indices, index, sampleSize);
+        }
+        return this;
+    }
+
+    /**
+     * Merges the given result into this result. The counters and samples of another
+     * {@link AggregatedValidationResult} are merged without expanding them.
+     *
+     * @param validationResult An already existent result container
+     * @return An instance of this {@link AggregatedValidationResult}
+     */
+    @Override
+    public AggregatedValidationResult add(ValidationResult validationResult) {
+        if (!(validationResult instanceof AggregatedValidationResult)) {
+            return (AggregatedValidationResult) super.add(validationResult);
+        }
+        AggregatedValidationResult other = (AggregatedValidationResult) validationResult;
+        markTruncated(other.getTruncationReason());
+        long offset = occurrences;
+        for (Entry otherEntry : other.entries.values()) {
+            Key key = new Key(otherEntry.info);
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(otherEntry.info, key.field);
+                entries.put(key, entry);
+                super.add(otherEntry.info);
+            }
+            entry.merge(otherEntry, offset, sampleSize);
+        }
+        occurrences += other.occurrences;
+        return this;
+    }
+
+    @Override
+    public AggregatedValidationResult add(Collection<ValidationInfo> validationInfos) {
+        return (AggregatedValidationResult) super.add(validationInfos);
+    }
+
+    @Override
+    public AggregatedValidationResult add(ValidationInfo first, ValidationInfo... more) {
+        return (AggregatedValidationResult) super.add(first, more);
+    }
+
+    /**
+     * @return All entries in the order of their first occurrence
+     */
+    @NotNull
+    public List<Entry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * @return All entries of INVALID infos in the order of their first occurrence
+     */
+    @NotNull
+    public List<Entry> getInvalidEntries() {
+        List<Entry> invalidEntries = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.info.isInvalid()) {
+                invalidEntries.add(entry);
+            }
+        }
+        return invalidEntries;
+    }
+
+    /**
+     * @param limit The maximum number of entries
+     * @return The INVALID entries with the highest counts, the most frequent entry first
+     */
+    @NotNull
+    public List<Entry> getTopEntries(int limit) {
+        List<Entry> invalidEntries = getInvalidEntries();
+        invalidEntries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return invalidEntries.subList(0, Math.min(limit, invalidEntries.size()));
+    }
+
+    /**
+     * @param info Any info
+     * @return The number of collapsed infos which match the given info, regardless of the
+     * indices of the field
+     */
+    public long getCount(@NotNull ValidationInfo info) {
+        Entry entry = entries.get(new Key(info));
+        return entry != null ? entry.count : 0;
+    }
+
+    /**
+     * Counts the collapsed INVALID infos with the given code
+     *
+     * @param code A technical code
+     * @return The number of invalid infos with the given code, including the collapsed ones
+     */
+    @Override
+    public int countCode(String code) {
+        if (code == null) {
+            return 0;
+        }
+        int codeId = SymbolTable.codes().lookup(code);
+        long count = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.info.isInvalid() && hasCode(entry.info.getMessage(), code, codeId)) {
+                count += entry.count;
+            }
+        }
+        return SymbolCounter.saturatedCast(count);
+    }
+
+    /**
+     * @return The number of INVALID infos per technical code, including the collapsed ones
+     */
+    @Override
+    public Map<String, Integer> getCodeCounts() {
+        SymbolCounter counter = SymbolCounter.codes();
+        for (Entry entry : entries.values()) {
+            if (entry.info.isInvalid()) {
+                counter.add(entry.info.getMessage(), entry.count);
+            }
+        }
+        return counter.toMap();
+    }
+
+    /**
+     * @return The number of INVALID infos per field without indices, like <code>items[].price</code>,
+     * including the collapsed ones
+     */
+    @Override
+    public Map<String, Integer> getFieldCounts() {
+        SymbolCounter counter = SymbolCounter.fields();
+        for (Entry entry : entries.values()) {
+            if (entry.info.isInvalid() && entry.field != null) {
+                counter.add(entry.field, entry.count);
+            }
+        }
+        return counter.toMap();
+    }
+
+    /**
+     * @return The number of all added infos, including the collapsed ones
+     */
+    public long getOccurrences() {
+        return occurrences;
+    }
+
+    /**
+     * A group of infos with the same validity, code, field without indices and text template
+     */
+    public static final class Entry {
+        private static final Object[][] NO_PARAMETERS = new Object[0][];
+        private static final long[] NO_INDICES = new long[0];
+        private static final int[][] NO_FIELD_INDICES = new int[0][];
+
+        private final ValidationInfo info;
+        private final FieldPath field;
+        private long count;
+        private Object[][] sampleParameters = NO_PARAMETERS;
+        private long[] sampleIndices = NO_INDICES;
+        private int[][] sampleFieldIndices = NO_FIELD_INDICES;
+
+        private Entry(ValidationInfo info, @Nullable FieldPath field) {
+            this.info = info;
+            this.field = field;
+        }
+
+        private void record(Object[] parameters, int[] fieldIndices, long index, int sampleSize) {
+            count++;
+            if (sampleIndices.length < sampleSize) {
+                sampleIndices = Arrays.copyOf(sampleIndices, sampleIndices.length + 1);
+                sampleIndices[sampleIndices.length - 1] = index;
+                if (parameters.length > 0) {
+                    sampleParameters = Arrays.copyOf(sampleParameters, sampleParameters.length + 1);
+                    sampleParameters[sampleParameters.length - 1] = parameters;
+                }
+                if (fieldIndices.length > 0) {
+                    sampleFieldIndices = Arrays.copyOf(sampleFieldIndices, sampleFieldIndices.length + 1);
+                    sampleFieldIndices[sampleFieldIndices.length - 1] = fieldIndices;
+                }
+            }
+        }
+
+        private void merge(Entry other, long indexOffset, int sampleSize) {
+            count += other.count;
+            for (int i = 0; i < other.sampleIndices.length && sampleIndices.length < sampleSize; i++) {
+                sampleIndices = Arrays.copyOf(sampleIndices, sampleIndices.length + 1);
+                sampleIndices[sampleIndices.length - 1] = other.sampleIndices[i] + indexOffset;
+            }
+            for (int i = 0; i < other.sampleParameters.length && sampleParameters.length < sampleSize; i++) {
+                sampleParameters = Arrays.copyOf(sampleParameters, sampleParameters.length + 1);
+                sampleParameters[sampleParameters.length - 1] = other.sampleParameters[i];
+            }
+            for (int i = 0; i < other.sampleFieldIndices.length && sampleFieldIndices.length < sampleSize; i++) {
+                sampleFieldIndices = Arrays.copyOf(sampleFieldIndices, sampleFieldIndices.length + 1);
+                sampleFieldIndices[sampleFieldIndices.length - 1] = other.sampleFieldIndices[i];
+            }
+        }
+
+        /**
+         * @return The first info of this entry
+         */
+        @NotNull
+        public ValidationInfo getInfo() {
+            return info;
+        }
+
+        /**
+         * @return The field of the collapsed infos without indices, like <code>items[].price</code>,
+         * or <code>null</code> if the infos have no field
+         */
+        @Nullable
+        public FieldPath getField() {
+            return field;
+        }
+
+        /**
+         * @return The number of infos which have been collapsed into this entry
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The parameters of the first infos. Infos without parameters are not sampled.
+         */
+        @NotNull
+        public List<Object[]> getSampleParameters() {
+            return Collections.unmodifiableList(Arrays.asList(sampleParameters));
+        }
+
+        /**
+         * @return The indices of the fields of the first infos, like <code>[3]</code> for
+         * <code>items[3].price</code>. Infos without indices are not sampled.
+         */
+        @NotNull
+        public List<int[]> getSampleFieldIndices() {
+            return Collections.unmodifiableList(Arrays.asList(sampleFieldIndices));
+        }
+
+        /**
+         * @return The positions of the first infos within all added infos of the result
+         */
+        @NotNull
+        public long[] getSampleIndices() {
+            return sampleIndices.clone();
+        }
+
+        @Override
+        public String toString() {
+            return count + "x " + info.getMessage();
+        }
+    }
+
+    /**
+     * The identity of an entry: Validity, code, field without indices and the unformatted text
+     */
+    private static final class Key {
+        private static final int[] NO_INDICES = new int[0];
+
+        private final boolean valid;
+        private final String code;
+        private final FieldPath field;
+        private final String text;
+        private final int hash;
+        /**
+         * The removed indices of the field, which are not part of the identity
+         */
+        private final int[] indices;
+
+        private Key(ValidationInfo info) {
+            ValidationMessage message = info.getMessage();
+            FieldPath path = message.getPath();
+            this.valid = info.isValid();
+            this.code = message.getCode();
+            this.field = path == null ? null : path.withoutIndices();
+            this.text = message.getUnformattedText();
+            this.indices = path == null || path == field ? NO_INDICES : path.getIndices();
+            this.hash = Objects.hash(valid, code, field, text);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return valid == key.valid && Objects.equals(code, key.code)
+                    && Objects.equals(field, key.field) && Objects.equals(text, key.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package de.mlo.dev.validation.basic;
+
+import de.mlo.dev.validation.ValidationSink;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * An immutable snapshot of a {@link Validator}, created by {@link Validator#freeze()}. The
+ * statements and the runner are stored in final fields and can't be changed, nested
+ * {@link Validator}s are frozen as well. An instance can be published safely and be shared
+ * by any number of threads, as long as the added statements and the runner are thread safe.
+ * </p>
+ * Unlike {@link Validator#validateAndStopOnFirstFail()}, the
+ * {@link #validateAndStopOnFirstFail()} function of a frozen validator does not change the
+ * runner.
+ *
+ * @author mlo
+ */
+public final class FrozenValidator implements ValidationSummarizer {
+
+    private final List<ValidationSummarizer> summarizers;
+    private final ValidationRunner validationRunner;
+
+    FrozenValidator(@NotNull ValidationSummarizer[] summarizers, @NotNull ValidationRunner validationRunner) {
+        this.summarizers = List.of(summarizers);
+        this.validationRunner = Objects.requireNonNull(validationRunner);
+    }
+
+    /**
+     * Executes the statements with the runner of the frozen validator.
+     *
+     * @return The aggregated result of all executed statements
+     * @see Validator#validate()
+     */
+    @NotNull
+    @Override
+    public ValidationResult validate() {
+        return validationRunner.validate(summarizers);
+    }
+
+    /**
+     * Executes the statements with the runner of the frozen validator and passes the infos to the sink.
+     *
+     * @param sink Receives the infos of the executed statements
+     * @return <code>false</code> if the sink has stopped the validation process
+     * @see Validator#validateInto(ValidationSink)
+     */
+    @Override
+    public boolean validateInto(@NotNull ValidationSink sink) {
+        return validationRunner.validateInto(summarizers, Objects.requireNonNull(sink));
+    }
+
+    /**
+     * Executes the statements until the first statement fails, regardless of the runner of
+     * the frozen validator.
+     *
+     * @return The result of the validation process
+     */
+    @NotNull
+    public ValidationResult validateAndStopOnFirstFail() {
+        return ValidationRunners.VALIDATE_STOP_ON_FIRST_FAIL.validate(summarizers);
+    }
+
+    /**
+     * @return The number of top level statements and summarizers
+     */
+    public int size() {
+        return summarizers.size();
+    }
+}
@@ -0,0 +1,125 @@
+package de.mlo.dev.validation.basic;
+
+import de.mlo.dev.validation.FieldPath;
+import de.mlo.dev.validation.SymbolTable;
+import de.mlo.dev.validation.ValidationMessage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts the codes or the fields of messages by their dense {@link SymbolTable} ids. Only
+ * symbols which are not registered are counted by their text. Fields with a
+ * {@link ValidationMessage#getStructuredPath() structured path} are grouped by the path and
+ * rendered once per distinct path. The {@link SymbolTable} is not changed.
+ *
+ * @author mlo
+ */
+final class SymbolCounter {
+
+    private final SymbolTable table;
+    private final boolean fields;
+    private long[] counts;
+    private Map<String, Long> unregistered;
+    private Map<FieldPath, Long> paths;
+
+    private SymbolCounter(SymbolTable table, boolean fields) {
+        this.table = table;
+        this.fields = fields;
+    }
+
+    /**
+     * @return A counter of the {@link ValidationMessage#getCode() codes}
+     */
+    static SymbolCounter codes() {
+        return new SymbolCounter(SymbolTable.codes(), false);
+    }
+
+    /**
+     * @return A counter of the {@link ValidationMessage#getField() fields}
+     */
+    static SymbolCounter fields() {
+        return new SymbolCounter(SymbolTable.fields(), true);
+    }
+
+    /**
+     * Adds the code or the field of the message. Messages without a code or field are ignored.
+     *
+     * @param message The message of an info
+     * @param count   The number of occurrences of the message
+     */
+    void add(ValidationMessage message, long count) {
+        if (!fields) {
+            add(message.getCodeId(), message.getCode(), count);
+            return;
+        }
+        FieldPath path = message.getStructuredPath();
+        if (path != null) {
+            add(path, count);
+        } else {
+            add(message.getFieldId(), message.getField(), count);
+        }
+    }
+
+    /**
+     * Adds a field, which is rendered once per distinct path
+     *
+     * @param path  The field
+     * @param count The number of occurrences of the field
+     */
+    void add(FieldPath path, long count) {
+        if (paths == null) {
+            paths = new HashMap<>();
+        }
+        paths.merge(path, count, Long::sum);
+    }
+
+    private void add(int id, String name, long count) {
+        if (id != SymbolTable.NONE) {
+            if (counts == null) {
+                counts = new long[Math.max(id + 1, table.size())];
+            } else if (id >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+            }
+            counts[id] += count;
+        } else if (name != null) {
+            if (unregistered == null) {
+                unregistered = new HashMap<>();
+            }
+            unregistered.merge(name, count, Long::sum);
+        }
+    }
+
+    /**
+     * @return The counts per code or field, sorted by the text. Counts which exceed the int
+     * range are capped.
+     */
+    Map<String, Integer> toMap() {
+        if (paths != null) {
+            Map<FieldPath, Long> grouped = paths;
+            paths = null;
+            grouped.forEach((path, count) -> {
+                String field = path.toString();
+                add(table.lookup(field), field, count);
+            });
+        }
+        Map<String, Integer> result = new TreeMap<>();
+        if (counts != null) {
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] > 0) {
+                    result.put(table.nameOf(id), saturatedCast(counts[id]));
+                }
+            }
+        }
+        if (unregistered != null) {
+            unregistered.forEach((name, count) -> result.put(name, saturatedCast(count)));
+        }
+        return result;
+    }
+
+    static int saturatedCast(long count) {
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+}
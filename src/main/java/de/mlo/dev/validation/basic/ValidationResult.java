@@ -1,5 +1,7 @@
 package de.mlo.dev.validation.basic;
 
+import de.mlo.dev.validation.SymbolTable;
+import de.mlo.dev.validation.TruncationReason;
 import de.mlo.dev.validation.ValidationInfo;
 import de.mlo.dev.validation.ValidationMessage;
 import lombok.EqualsAndHashCode;
@@ -22,6 +24,7 @@ public class ValidationResult implements Iterable<ValidationInfo> {
     public static final String LINE_SEPARATOR = System.getProperty("line.separator");
     private final List<ValidationInfo> infos = new ArrayList<>();
     private boolean valid = true;
+    private TruncationReason truncationReason;
 
     /**
      * Convenient function: Creates a {@link ValidationResult} with on {@link ValidationInfo}
@@ -46,6 +49,7 @@ public class ValidationResult implements Iterable<ValidationInfo> {
      * @return An instance of this {@link ValidationResult}
      */
     public ValidationResult add(ValidationResult validationResult) {
+        markTruncated(validationResult.truncationReason);
         return add(validationResult.infos);
     }
 
@@ -91,6 +95,38 @@ public class ValidationResult implements Iterable<ValidationInfo> {
         return this;
     }
 
+    /**
+     * Records that the validation process has been stopped before all statements have been
+     * executed, for example by a {@link de.mlo.dev.validation.ValidationBudget}. The first
+     * reason is kept. The reason is transferred if this result is {@link #add(ValidationResult) added}
+     * to another result.
+     *
+     * @param reason The reason why the validation has been stopped. <code>null</code> is ignored.
+     * @return An instance of this {@link ValidationResult}
+     */
+    public ValidationResult markTruncated(TruncationReason reason) {
+        if (truncationReason == null) {
+            truncationReason = reason;
+        }
+        return this;
+    }
+
+    /**
+     * @return <code>true</code> if the validation process has been stopped before all
+     * statements have been executed. The result may miss some failures.
+     */
+    public boolean isTruncated() {
+        return truncationReason != null;
+    }
+
+    /**
+     * @return The reason why the validation process has been stopped or <code>null</code>
+     * if the result is complete
+     */
+    public TruncationReason getTruncationReason() {
+        return truncationReason;
+    }
+
     /**
      * @return <code>true</code> if all {@link ValidationInfo}s are valid
      */
@@ -170,6 +206,66 @@ public class ValidationResult implements Iterable<ValidationInfo> {
                 .collect(Collectors.toCollection(TreeSet::new));
     }
 
+    /**
+     * Counts the INVALID {@link ValidationInfo}s with the given code. Registered codes are
+     * compared by their {@link ValidationMessage#getCodeId() ids}, other codes by their text.
+     * The {@link SymbolTable} is not changed.
+     *
+     * @param code A technical code
+     * @return The number of invalid infos with the given code
+     */
+    public int countCode(String code) {
+        if (code == null) {
+            return 0;
+        }
+        int codeId = SymbolTable.codes().lookup(code);
+        int count = 0;
+        for (ValidationInfo info : infos) {
+            if (info.isInvalid() && hasCode(info.getMessage(), code, codeId)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of INVALID {@link ValidationInfo}s per technical code. Infos
+     * without a code are not counted. Registered codes are counted by their
+     * {@link ValidationMessage#getCodeId() ids}.
+     */
+    public Map<String, Integer> getCodeCounts() {
+        return countInvalid(SymbolCounter.codes());
+    }
+
+    /**
+     * @return The number of INVALID {@link ValidationInfo}s per field. Infos without a
+     * field are not counted. Registered fields are counted by their
+     * {@link ValidationMessage#getFieldId() ids}, structured paths are rendered once per
+     * distinct path.
+     */
+    public Map<String, Integer> getFieldCounts() {
+        return countInvalid(SymbolCounter.fields());
+    }
+
+    static boolean hasCode(ValidationMessage message, String code, int codeId) {
+        if (codeId != SymbolTable.NONE) {
+            int messageCodeId = message.getCodeId();
+            if (messageCodeId != SymbolTable.NONE) {
+                return messageCodeId == codeId;
+            }
+        }
+        return code.equals(message.getCode());
+    }
+
+    private Map<String, Integer> countInvalid(SymbolCounter counter) {
+        for (ValidationInfo info : infos) {
+            if (info.isInvalid()) {
+                counter.add(info.getMessage(), 1);
+            }
+        }
+        return counter.toMap();
+    }
+
     public Set<String> getFields(){
         return infos.stream()
                 .map(ValidationInfo::getField)
@@ -1,5 +1,7 @@
 package de.mlo.dev.validation.basic;
 
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -29,4 +31,23 @@ public interface ValidationRunner {
      */
     @NotNull
     ValidationResult validate(List<ValidationSummarizer> validators);
+
+    /**
+     * Executes the given instructions like {@link #validate(List)} but passes every
+     * {@link ValidationInfo} to the given sink instead of aggregating them. The default
+     * implementation aggregates the result first, the predefined runners push the infos
+     * directly.
+     *
+     * @param validators A list of instructions which has to be executed
+     * @param sink       Receives the infos of the executed instructions
+     * @return <code>false</code> if the sink has stopped the validation process
+     */
+    default boolean validateInto(List<ValidationSummarizer> validators, @NotNull ValidationSink sink) {
+        for (ValidationInfo info : validate(validators)) {
+            if (!sink.accept(info)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -1,10 +1,14 @@
 package de.mlo.dev.validation.basic;
 
+import de.mlo.dev.validation.ValidationBudget;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * @author mlo
@@ -21,7 +25,7 @@ public class ValidationRunners {
      * The validation result also contains the result of every single instructions
      * and can aggregate all failure messages: {@link ValidationResult#getMessage()}.
      */
-    public static final ValidationRunner VALIDATE_ALL = ValidationRunners::validateAll;
+    public static final ValidationRunner VALIDATE_ALL = new DefaultRunner(false);
     /**
      * Executes the given {@link ValidationStatement}s in the order they have been
      * added until the first {@link ValidationStatement} fail. If a single instruction
@@ -31,7 +35,7 @@ public class ValidationRunners {
      * The validation result also contains the result of every single instructions
      * and can aggregate all failure messages: {@link ValidationResult#getMessage()}.
      */
-    public static final ValidationRunner VALIDATE_STOP_ON_FIRST_FAIL = ValidationRunners::validateStopOnFirstFail;
+    public static final ValidationRunner VALIDATE_STOP_ON_FIRST_FAIL = new DefaultRunner(true);
 
     private ValidationRunners() {
     }
@@ -94,4 +98,105 @@ public class ValidationRunners {
         LOGGER.debug("Validation was successful");
         return result;
     }
+
+    /**
+     * Creates a runner, which executes the instructions in the order they have been added
+     * until the given budget is exhausted. The result is
+     * {@link ValidationResult#markTruncated(de.mlo.dev.validation.TruncationReason) marked as truncated}
+     * if the runner has stopped early and never contains more failures than the budget allows.
+     *
+     * @param budget The limits of the validation process
+     * @return A new runner
+     */
+    @NotNull
+    public static ValidationRunner withBudget(@NotNull ValidationBudget budget) {
+        Objects.requireNonNull(budget);
+        return instructions -> validateWithBudget(instructions, budget);
+    }
+
+    @NotNull
+    private static ValidationResult validateWithBudget(List<ValidationSummarizer> instructions, ValidationBudget budget) {
+        LOGGER.debug("Start validating {} instructions with a budget", instructions.size());
+        ValidationResult result = new ValidationResult();
+        try (ValidationBudget.Tracker tracker = budget.start()) {
+            for (int i = 0; i < instructions.size(); i++) {
+                if (tracker.isExhausted()) {
+                    LOGGER.debug("Validation stopped before instruction number {}: {}", i + 1, tracker.getReason());
+                    result.markTruncated(tracker.getReason());
+                    break;
+                }
+                tracker.charge(1);
+                if (!tracker.addWithinLimit(result, instructions.get(i).validate())) {
+                    LOGGER.debug("Validation stopped: Instruction number {} exceeded the failure limit", i + 1);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes the infos of the given instructions directly to the sink.
+     *
+     * @param instructions    The instructions which have to be executed
+     * @param sink            Receives the infos of the executed instructions
+     * @param stopOnFirstFail <code>true</code> to stop after the first INVALID info
+     * @return <code>false</code> if the sink has stopped the validation process
+     */
+    private static boolean validateInto(List<ValidationSummarizer> instructions, ValidationSink sink,
+                                        boolean stopOnFirstFail) {
+        LOGGER.debug("Start streaming {} instructions", instructions.size());
+        FailureTrackingSink trackingSink = stopOnFirstFail ? new FailureTrackingSink(sink) : null;
+        for (int i = 0; i < instructions.size(); i++) {
+            if (!instructions.get(i).validateInto(trackingSink != null ? trackingSink : sink)) {
+                LOGGER.debug("Validation stopped by the sink: Instruction number {}", i + 1);
+                return false;
+            }
+            if (trackingSink != null && trackingSink.failed) {
+                LOGGER.debug("Validation failed: Instruction number {}", i + 1);
+                return true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The predefined runners, which implement the aggregating and the streaming mode
+     */
+    private static final class DefaultRunner implements ValidationRunner {
+        private final boolean stopOnFirstFail;
+
+        private DefaultRunner(boolean stopOnFirstFail) {
+            this.stopOnFirstFail = stopOnFirstFail;
+        }
+
+        @NotNull
+        @Override
+        public ValidationResult validate(List<ValidationSummarizer> validators) {
+            return stopOnFirstFail ? validateStopOnFirstFail(validators) : validateAll(validators);
+        }
+
+        @Override
+        public boolean validateInto(List<ValidationSummarizer> validators, @NotNull ValidationSink sink) {
+            return ValidationRunners.validateInto(validators, sink, stopOnFirstFail);
+        }
+    }
+
+    /**
+     * Remembers if an INVALID info has been passed to the delegate
+     */
+    private static final class FailureTrackingSink implements ValidationSink {
+        private final ValidationSink delegate;
+        private boolean failed;
+
+        private FailureTrackingSink(ValidationSink delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean accept(@NotNull ValidationInfo info) {
+            failed |= info.isInvalid();
+            return delegate.accept(info);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package de.mlo.dev.validation.basic;
 
 import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -51,4 +52,15 @@ public interface ValidationStatement extends ValidationSummarizer {
     default ValidationResult validate() {
         return new ValidationResult().add(execute());
     }
+
+    /**
+     * Passes the result of {@link #execute()} directly to the sink
+     * <hr>
+     * {@inheritDoc}
+     */
+    @Override
+    default boolean validateInto(@NotNull ValidationSink sink) {
+        ValidationInfo info = execute();
+        return info == null || sink.accept(info);
+    }
 }
@@ -1,5 +1,7 @@
 package de.mlo.dev.validation.basic;
 
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -17,4 +19,21 @@ public interface ValidationSummarizer {
      */
     @NotNull
     ValidationResult validate();
+
+    /**
+     * Executes the validation process like {@link #validate()} but passes every
+     * {@link ValidationInfo} to the given sink. The default implementation collects
+     * the result first, implementations should push the infos directly.
+     *
+     * @param sink Receives the infos of the executed parts
+     * @return <code>false</code> if the sink has stopped the validation process
+     */
+    default boolean validateInto(@NotNull ValidationSink sink) {
+        for (ValidationInfo info : validate()) {
+            if (!sink.accept(info)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
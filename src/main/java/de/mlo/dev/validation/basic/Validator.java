@@ -1,5 +1,7 @@
 package de.mlo.dev.validation.basic;
 
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -153,6 +155,20 @@ public class Validator implements ValidationSummarizer {
         return validationRunner.validate(aggregators);
     }
 
+    /**
+     * Starts the validation process like {@link #validate()} but passes every
+     * {@link ValidationInfo} directly to the given sink. No {@link ValidationResult}
+     * is created for the added statements, so the memory usage does not depend on
+     * the number of infos. The sink can stop the process by returning <code>false</code>.
+     *
+     * @param sink Receives the infos of the executed statements
+     * @return <code>false</code> if the sink has stopped the validation process
+     */
+    @Override
+    public boolean validateInto(@NotNull ValidationSink sink) {
+        return validationRunner.validateInto(aggregators, Objects.requireNonNull(sink));
+    }
+
     /**
      * Shortcut for
      * <pre>{@code
@@ -220,6 +236,25 @@ public class Validator implements ValidationSummarizer {
         return this;
     }
 
+    /**
+     * Creates an immutable snapshot of this validator. The added statements and summarizers
+     * are copied, nested {@link Validator}s are frozen recursively. Later changes of this
+     * validator don't affect the snapshot.<br>
+     * Freeze a validator once and share the snapshot instead of creating the validator for
+     * every validation.
+     *
+     * @return A thread safe, immutable {@link FrozenValidator}
+     */
+    @NotNull
+    public FrozenValidator freeze() {
+        ValidationSummarizer[] summarizers = new ValidationSummarizer[aggregators.size()];
+        for (int i = 0; i < summarizers.length; i++) {
+            ValidationSummarizer summarizer = aggregators.get(i);
+            summarizers[i] = summarizer instanceof Validator ? ((Validator) summarizer).freeze() : summarizer;
+        }
+        return new FrozenValidator(summarizers, validationRunner);
+    }
+
     Validator build() {
         return this;
     }
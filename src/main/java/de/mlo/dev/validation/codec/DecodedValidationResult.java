@@ -0,0 +1,382 @@
+package de.mlo.dev.validation.codec;
+
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationMessage;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static de.mlo.dev.validation.codec.ValidationBinaryCodec.*;
+
+/**
+ * <p>
+ * A lazy view of a {@link ValidationResult} which has been encoded by the
+ * {@link ValidationBinaryCodec}. The view reads directly from the encoded buffer: Strings are
+ * decoded and {@link ValidationInfo}s are materialized on the first access and cached
+ * afterwards. The validity, the codes and the fields of the infos can be read without
+ * materializing the infos.
+ * </p>
+ * Use {@link #toValidationResult()} to get a regular {@link ValidationResult}.
+ *
+ * @author mlo
+ */
+public class DecodedValidationResult implements Iterable<ValidationInfo> {
+
+    private final ByteBuffer data;
+    private final boolean valid;
+    private final int[] stringOffsets;
+    private final int[] stringLengths;
+    private final String[] strings;
+    private final int[] infoOffsets;
+    private final ValidationInfo[] infos;
+
+    private DecodedValidationResult(ByteBuffer data, boolean valid, int[] stringOffsets,
+                                    int[] stringLengths, int[] infoOffsets) {
+        this.data = data;
+        this.valid = valid;
+        this.stringOffsets = stringOffsets;
+        this.stringLengths = stringLengths;
+        this.strings = new String[stringOffsets.length];
+        this.infoOffsets = infoOffsets;
+        this.infos = new ValidationInfo[infoOffsets.length];
+    }
+
+    static DecodedValidationResult read(ByteBuffer buffer) {
+        ByteBuffer data = buffer.slice();
+        try {
+            Cursor cursor = new Cursor();
+            if (data.get(cursor.position++) != MAGIC) {
+                throw new IllegalArgumentException("The buffer does not contain an encoded validation result");
+            }
+            byte version = data.get(cursor.position++);
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported version of the encoded validation result: " + version);
+            }
+            boolean valid = data.get(cursor.position++) != 0;
+            // Every string and every info takes at least one byte
+            int stringCount = readLength(data, cursor);
+            int[] stringOffsets = new int[stringCount];
+            int[] stringLengths = new int[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                stringLengths[i] = readLength(data, cursor);
+                stringOffsets[i] = cursor.position;
+                cursor.position += stringLengths[i];
+            }
+            int infoCount = readLength(data, cursor);
+            int[] infoOffsets = new int[infoCount];
+            for (int i = 0; i < infoCount; i++) {
+                infoOffsets[i] = cursor.position;
+                skipInfo(data, cursor, stringCount);
+            }
+            if (cursor.position > data.limit()) {
+                throw new BufferUnderflowException();
+            }
+            buffer.position(buffer.position() + cursor.position);
+            return new DecodedValidationResult(data, valid, stringOffsets, stringLengths, infoOffsets);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("The buffer does not contain a complete validation result", e);
+        }
+    }
+
+    private static void skipInfo(ByteBuffer data, Cursor cursor, int stringCount) {
+        int flags = data.get(cursor.position++);
+        int references = Integer.bitCount(flags & (FLAG_FIELD | FLAG_CODE | FLAG_TEXT));
+        for (int i = 0; i < references; i++) {
+            long stringIndex = readVarLong(data, cursor);
+            if (stringIndex < 0 || stringIndex >= stringCount) {
+                throw new IllegalArgumentException("Invalid string reference " + stringIndex + " at position " + cursor.position);
+            }
+        }
+        if ((flags & FLAG_COUNT) != 0) {
+            readVarLong(data, cursor);
+        }
+        int parameterCount = readLength(data, cursor);
+        for (int i = 0; i < parameterCount; i++) {
+            byte type = data.get(cursor.position++);
+            switch (type) {
+                case TYPE_NULL:
+                case TYPE_TRUE:
+                case TYPE_FALSE:
+                    break;
+                case TYPE_INT:
+                case TYPE_LONG:
+                    readVarLong(data, cursor);
+                    break;
+                case TYPE_BYTE:
+                    cursor.position += 1;
+                    break;
+                case TYPE_SHORT:
+                case TYPE_CHAR:
+                    cursor.position += 2;
+                    break;
+                case TYPE_FLOAT:
+                    cursor.position += 4;
+                    break;
+                case TYPE_DOUBLE:
+                    cursor.position += 8;
+                    break;
+                case TYPE_STRING:
+                case TYPE_BIG_INTEGER:
+                case TYPE_BIG_DECIMAL:
+                    int length = readLength(data, cursor);
+                    cursor.position += length;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown parameter type: " + type);
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the encoded result was valid
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return <code>true</code> if the encoded result was invalid
+     */
+    public boolean isInvalid() {
+        return !valid;
+    }
+
+    /**
+     * @return The number of encoded infos
+     */
+    public int size() {
+        return infoOffsets.length;
+    }
+
+    /**
+     * @param index The index of the info
+     * @return <code>true</code> if the info is VALID. The info is not materialized.
+     */
+    public boolean isValid(int index) {
+        return (data.get(infoOffsets[index]) & FLAG_VALID) != 0;
+    }
+
+    /**
+     * @param index The index of the info
+     * @return The field of the info. The info is not materialized.
+     */
+    @Nullable
+    public String getField(int index) {
+        return readHeader(index).field;
+    }
+
+    /**
+     * @param index The index of the info
+     * @return The code of the info. The info is not materialized.
+     */
+    @Nullable
+    public String getCode(int index) {
+        return readHeader(index).code;
+    }
+
+    /**
+     * @param index The index of the info
+     * @return The number of collapsed infos if an
+     * {@link de.mlo.dev.validation.basic.AggregatedValidationResult} has been encoded, otherwise 1
+     */
+    public long getCount(int index) {
+        return readHeader(index).count;
+    }
+
+    /**
+     * Materializes the info with the given index. The info is cached.
+     *
+     * @param index The index of the info
+     * @return The decoded info
+     */
+    @NotNull
+    public ValidationInfo getInfo(int index) {
+        ValidationInfo info = infos[index];
+        if (info == null) {
+            info = readInfo(index);
+            infos[index] = info;
+        }
+        return info;
+    }
+
+    /**
+     * @return A new regular result with all materialized infos
+     */
+    @NotNull
+    public ValidationResult toValidationResult() {
+        ValidationResult result = new ValidationResult();
+        for (ValidationInfo info : this) {
+            result.add(info);
+        }
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public Iterator<ValidationInfo> iterator() {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < infoOffsets.length;
+            }
+
+            @Override
+            public ValidationInfo next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getInfo(index++);
+            }
+        };
+    }
+
+    private Header readHeader(int index) {
+        Cursor cursor = new Cursor();
+        cursor.position = infoOffsets[index];
+        Header header = new Header();
+        header.flags = data.get(cursor.position++);
+        header.field = readString(header.flags, FLAG_FIELD, cursor);
+        header.code = readString(header.flags, FLAG_CODE, cursor);
+        header.text = readString(header.flags, FLAG_TEXT, cursor);
+        header.count = (header.flags & FLAG_COUNT) != 0 ? readVarLong(data, cursor) : 1;
+        header.end = cursor.position;
+        return header;
+    }
+
+    private ValidationInfo readInfo(int index) {
+        Header header = readHeader(index);
+        Cursor cursor = new Cursor();
+        cursor.position = header.end;
+        Object[] parameters = new Object[readLength(data, cursor)];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = readParameter(cursor);
+        }
+        ValidationMessage message = new ValidationMessage(header.field, header.code, header.text, parameters);
+        return new ValidationInfo((header.flags & FLAG_VALID) != 0, message);
+    }
+
+    @Nullable
+    private String readString(int flags, int flag, Cursor cursor) {
+        if ((flags & flag) == 0) {
+            return null;
+        }
+        int stringIndex = readVarInt(data, cursor);
+        String string = strings[stringIndex];
+        if (string == null) {
+            string = decodeUtf8(stringOffsets[stringIndex], stringLengths[stringIndex]);
+            strings[stringIndex] = string;
+        }
+        return string;
+    }
+
+    @Nullable
+    private Object readParameter(Cursor cursor) {
+        byte type = data.get(cursor.position++);
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_INT:
+                int zigZagInt = readVarInt(data, cursor);
+                return (zigZagInt >>> 1) ^ -(zigZagInt & 1);
+            case TYPE_LONG:
+                long zigZagLong = readVarLong(data, cursor);
+                return (zigZagLong >>> 1) ^ -(zigZagLong & 1);
+            case TYPE_BYTE:
+                return data.get(cursor.position++);
+            case TYPE_SHORT:
+                short shortValue = data.getShort(cursor.position);
+                cursor.position += 2;
+                return shortValue;
+            case TYPE_CHAR:
+                char charValue = data.getChar(cursor.position);
+                cursor.position += 2;
+                return charValue;
+            case TYPE_FLOAT:
+                float floatValue = data.getFloat(cursor.position);
+                cursor.position += 4;
+                return floatValue;
+            case TYPE_DOUBLE:
+                double doubleValue = data.getDouble(cursor.position);
+                cursor.position += 8;
+                return doubleValue;
+            default:
+                int length = readLength(data, cursor);
+                String string = decodeUtf8(cursor.position, length);
+                cursor.position += length;
+                if (type == TYPE_BIG_INTEGER) {
+                    return new BigInteger(string);
+                }
+                return type == TYPE_BIG_DECIMAL ? new BigDecimal(string) : string;
+        }
+    }
+
+    private String decodeUtf8(int offset, int length) {
+        if (data.hasArray()) {
+            return new String(data.array(), data.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        data.duplicate().position(offset).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a count or a length, which must not exceed the remaining bytes of the buffer, so a
+     * crafted buffer can neither allocate huge arrays nor move the cursor backwards.
+     */
+    private static int readLength(ByteBuffer data, Cursor cursor) {
+        long length = readVarLong(data, cursor);
+        if (length < 0 || length > data.limit() - cursor.position) {
+            throw new IllegalArgumentException("Invalid length " + length + " at position " + cursor.position);
+        }
+        return (int) length;
+    }
+
+    private static int readVarInt(ByteBuffer data, Cursor cursor) {
+        return (int) readVarLong(data, cursor);
+    }
+
+    private static long readVarLong(ByteBuffer data, Cursor cursor) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint at position " + cursor.position);
+            }
+            b = data.get(cursor.position++);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static final class Cursor {
+        private int position;
+    }
+
+    /**
+     * The decoded header of an info: Flags, strings and count
+     */
+    private static final class Header {
+        private int flags;
+        private String field;
+        private String code;
+        private String text;
+        private long count;
+        private int end;
+    }
+}
@@ -0,0 +1,377 @@
+package de.mlo.dev.validation.codec;
+
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationMessage;
+import de.mlo.dev.validation.basic.AggregatedValidationResult;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * The {@link ValidationBinaryCodec} encodes a {@link ValidationResult} into a compact binary
+ * format, which can be exchanged between services and workers. Codes, fields and text templates
+ * are written once into a string table and referenced by varint encoded indices, parameters are
+ * written with a type tag.
+ * </p>
+ * Format:
+ * <pre>
+ * magic 'V', version, valid flag
+ * varint number of strings, per string: varint UTF-8 length, UTF-8 bytes
+ * varint number of infos, per info:
+ *   flags (valid, field, code, text, count), varint string indices, [varint count],
+ *   varint number of parameters, per parameter: type tag, value
+ * </pre>
+ * Encoding:
+ * <pre>{@code
+ * ValidationBinaryCodec codec = new ValidationBinaryCodec();
+ * ByteBuffer buffer = codec.encode(result);
+ * DecodedValidationResult decoded = ValidationBinaryCodec.decode(buffer);
+ * }</pre>
+ * The encoder keeps its string table between the calls, so an instance is <b>not</b> thread
+ * safe. {@link #decode(ByteBuffer)} can be called concurrently.
+ *
+ * @author mlo
+ */
+public class ValidationBinaryCodec {
+
+    static final byte MAGIC = 'V';
+    static final byte VERSION = 1;
+
+    static final int FLAG_VALID = 1;
+    static final int FLAG_FIELD = 1 << 1;
+    static final int FLAG_CODE = 1 << 2;
+    static final int FLAG_TEXT = 1 << 3;
+    static final int FLAG_COUNT = 1 << 4;
+
+    static final byte TYPE_NULL = 0;
+    static final byte TYPE_STRING = 1;
+    static final byte TYPE_INT = 2;
+    static final byte TYPE_LONG = 3;
+    static final byte TYPE_DOUBLE = 4;
+    static final byte TYPE_FLOAT = 5;
+    static final byte TYPE_TRUE = 6;
+    static final byte TYPE_FALSE = 7;
+    static final byte TYPE_SHORT = 8;
+    static final byte TYPE_BYTE = 9;
+    static final byte TYPE_CHAR = 10;
+    static final byte TYPE_BIG_INTEGER = 11;
+    static final byte TYPE_BIG_DECIMAL = 12;
+
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Encodes the given result into a new heap buffer with the exact size. The returned
+     * buffer is ready to be read.
+     *
+     * @param result The result to encode
+     * @return The encoded result
+     */
+    @NotNull
+    public ByteBuffer encode(@NotNull ValidationResult result) {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(result));
+        encode(result, buffer);
+        return buffer.flip();
+    }
+
+    /**
+     * Encodes the given result into the target, starting at its current position. The position
+     * is moved behind the encoded result, so several results can be written in a row. Numbers are
+     * always written in big-endian byte order.
+     *
+     * @param result The result to encode
+     * @param target The target buffer
+     * @throws BufferOverflowException If the remaining space of the target is less than
+     *                                 {@link #encodedSize(ValidationResult)}. Nothing is written in this case.
+     */
+    public void encode(@NotNull ValidationResult result, @NotNull ByteBuffer target) {
+        int size = encodedSize(result);
+        if (target.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        ByteOrder order = target.order();
+        try {
+            target.order(ByteOrder.BIG_ENDIAN);
+            write(result, target);
+        } finally {
+            target.order(order);
+        }
+    }
+
+    private void write(ValidationResult result, ByteBuffer target) {
+        AggregatedValidationResult aggregated = result instanceof AggregatedValidationResult
+                ? (AggregatedValidationResult) result : null;
+        target.put(MAGIC).put(VERSION).put((byte) (result.isValid() ? 1 : 0));
+        putVarInt(target, strings.size());
+        for (String string : strings) {
+            putVarInt(target, utf8Length(string));
+            putUtf8(target, string);
+        }
+        putVarInt(target, countInfos(result));
+        for (ValidationInfo info : result) {
+            ValidationMessage message = info.getMessage();
+            int flags = flags(info, aggregated);
+            target.put((byte) flags);
+            if ((flags & FLAG_FIELD) != 0) {
+                putVarInt(target, stringIndices.get(message.getField()));
+            }
+            if ((flags & FLAG_CODE) != 0) {
+                putVarInt(target, stringIndices.get(message.getCode()));
+            }
+            if ((flags & FLAG_TEXT) != 0) {
+                putVarInt(target, stringIndices.get(message.getUnformattedText()));
+            }
+            if (aggregated != null) {
+                putVarLong(target, aggregated.getCount(info));
+            }
+            Object[] parameters = message.getParameters();
+            putVarInt(target, parameters.length);
+            for (Object parameter : parameters) {
+                putParameter(target, parameter);
+            }
+        }
+    }
+
+    /**
+     * Builds the string table of the given result and computes the size of the encoded result.
+     *
+     * @param result The result to encode
+     * @return The number of bytes needed to encode the result
+     */
+    public int encodedSize(@NotNull ValidationResult result) {
+        stringIndices.clear();
+        strings.clear();
+        boolean aggregated = result instanceof AggregatedValidationResult;
+        int size = 3;
+        int infos = 0;
+        int infoSize = 0;
+        for (ValidationInfo info : result) {
+            ValidationMessage message = info.getMessage();
+            infos++;
+            infoSize += 1 + stringSize(message.getField()) + stringSize(message.getCode())
+                    + stringSize(message.getUnformattedText());
+            if (aggregated) {
+                infoSize += varLongSize(((AggregatedValidationResult) result).getCount(info));
+            }
+            Object[] parameters = message.getParameters();
+            infoSize += varIntSize(parameters.length);
+            for (Object parameter : parameters) {
+                infoSize += parameterSize(parameter);
+            }
+        }
+        size += varIntSize(strings.size());
+        for (String string : strings) {
+            int length = utf8Length(string);
+            size += varIntSize(length) + length;
+        }
+        return size + varIntSize(infos) + infoSize;
+    }
+
+    /**
+     * Decodes a result from the current position of the given buffer. Only the header and the
+     * positions of the infos are read, the infos are materialized on access. The position of the
+     * buffer is moved behind the encoded result. The content of the buffer must not be changed
+     * while the decoded result is used.
+     *
+     * @param buffer The buffer which contains an encoded result
+     * @return A lazy view of the encoded result
+     * @throws IllegalArgumentException If the buffer does not contain an encoded result
+     */
+    @NotNull
+    public static DecodedValidationResult decode(@NotNull ByteBuffer buffer) {
+        return DecodedValidationResult.read(buffer);
+    }
+
+    private static int countInfos(ValidationResult result) {
+        int count = 0;
+        for (ValidationInfo ignored : result) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int flags(ValidationInfo info, @Nullable AggregatedValidationResult aggregated) {
+        ValidationMessage message = info.getMessage();
+        int flags = info.isValid() ? FLAG_VALID : 0;
+        if (message.getField() != null) {
+            flags |= FLAG_FIELD;
+        }
+        if (message.getCode() != null) {
+            flags |= FLAG_CODE;
+        }
+        if (message.getUnformattedText() != null) {
+            flags |= FLAG_TEXT;
+        }
+        if (aggregated != null) {
+            flags |= FLAG_COUNT;
+        }
+        return flags;
+    }
+
+    private int stringSize(@Nullable String string) {
+        if (string == null) {
+            return 0;
+        }
+        Integer index = stringIndices.get(string);
+        if (index == null) {
+            index = strings.size();
+            stringIndices.put(string, index);
+            strings.add(string);
+        }
+        return varIntSize(index);
+    }
+
+    private static int parameterSize(@Nullable Object parameter) {
+        if (parameter == null || parameter instanceof Boolean) {
+            return 1;
+        } else if (parameter instanceof Integer) {
+            return 1 + varIntSize(zigZag((Integer) parameter));
+        } else if (parameter instanceof Long) {
+            return 1 + varLongSize(zigZag((Long) parameter));
+        } else if (parameter instanceof Short) {
+            return 3;
+        } else if (parameter instanceof Byte) {
+            return 2;
+        } else if (parameter instanceof Character) {
+            return 3;
+        } else if (parameter instanceof Double) {
+            return 9;
+        } else if (parameter instanceof Float) {
+            return 5;
+        }
+        int length = utf8Length(parameterString(parameter));
+        return 1 + varIntSize(length) + length;
+    }
+
+    private static void putParameter(ByteBuffer target, @Nullable Object parameter) {
+        if (parameter == null) {
+            target.put(TYPE_NULL);
+        } else if (parameter instanceof Boolean) {
+            target.put((Boolean) parameter ? TYPE_TRUE : TYPE_FALSE);
+        } else if (parameter instanceof Integer) {
+            target.put(TYPE_INT);
+            putVarInt(target, zigZag((Integer) parameter));
+        } else if (parameter instanceof Long) {
+            target.put(TYPE_LONG);
+            putVarLong(target, zigZag((Long) parameter));
+        } else if (parameter instanceof Short) {
+            target.put(TYPE_SHORT).putShort((Short) parameter);
+        } else if (parameter instanceof Byte) {
+            target.put(TYPE_BYTE).put((Byte) parameter);
+        } else if (parameter instanceof Character) {
+            target.put(TYPE_CHAR).putChar((Character) parameter);
+        } else if (parameter instanceof Double) {
+            target.put(TYPE_DOUBLE).putDouble((Double) parameter);
+        } else if (parameter instanceof Float) {
+            target.put(TYPE_FLOAT).putFloat((Float) parameter);
+        } else {
+            if (parameter instanceof BigInteger) {
+                target.put(TYPE_BIG_INTEGER);
+            } else if (parameter instanceof BigDecimal) {
+                target.put(TYPE_BIG_DECIMAL);
+            } else {
+                target.put(TYPE_STRING);
+            }
+            String string = parameterString(parameter);
+            putVarInt(target, utf8Length(string));
+            putUtf8(target, string);
+        }
+    }
+
+    /**
+     * Parameters without a dedicated type are transferred as strings
+     */
+    private static String parameterString(Object parameter) {
+        return String.valueOf(parameter);
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int varIntSize(int value) {
+        return varLongSize(value & 0xFFFFFFFFL);
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarInt(ByteBuffer target, int value) {
+        putVarLong(target, value & 0xFFFFFFFFL);
+    }
+
+    private static void putVarLong(ByteBuffer target, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    private static int utf8Length(String string) {
+        int length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < string.length()
+                    && Character.isLowSurrogate(string.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void putUtf8(ByteBuffer target, String string) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                target.put((byte) c);
+            } else if (c < 0x800) {
+                target.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < string.length()
+                    && Character.isLowSurrogate(string.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                target.put((byte) (0xF0 | codePoint >> 18))
+                        .put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+                        .put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates can't be encoded
+                target.put((byte) '?');
+            } else {
+                target.put((byte) (0xE0 | c >> 12))
+                        .put((byte) (0x80 | c >> 6 & 0x3F))
+                        .put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+}
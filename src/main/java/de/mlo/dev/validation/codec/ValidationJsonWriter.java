@@ -0,0 +1,389 @@
+package de.mlo.dev.validation.codec;
+
+import de.mlo.dev.validation.MessageCatalog;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationMessage;
+import de.mlo.dev.validation.basic.AggregatedValidationResult;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * <p>
+ * The {@link ValidationJsonWriter} writes a {@link ValidationResult} as JSON directly to an
+ * {@link Appendable} or to an {@link OutputStream} (UTF-8). Field, code, rendered text and
+ * parameters of every message are written in one pass, the texts are rendered into a reused
+ * buffer by a {@link MessageCatalog}. No intermediate lists, sets or maps are created.
+ * </p>
+ * Output:
+ * <pre>{@code
+ * {"valid":false,"messages":[{"valid":false,"field":"price","code":"NEGATIVE","text":"Price -1 is negative","parameters":[-1]}]}
+ * }</pre>
+ * <ul>
+ *     <li>Only INVALID infos are written, use {@link #setIncludeValid(boolean)} to write all infos</li>
+ *     <li>Missing fields, codes and texts are omitted</li>
+ *     <li>Numbers and booleans are written as JSON literals, all other parameters as strings</li>
+ *     <li>The messages of an {@link AggregatedValidationResult} contain the <code>count</code>
+ *     of the collapsed infos</li>
+ * </ul>
+ * A writer keeps its buffers between the calls, so it is <b>not</b> thread safe. Use one
+ * writer per thread, for example in a {@link ThreadLocal}.
+ *
+ * @author mlo
+ */
+public class ValidationJsonWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageCatalog catalog;
+    private final Locale locale;
+    private final StringBuilder text = new StringBuilder(128);
+    private final char[] digits = new char[20];
+    private final AppendableOutput appendableOutput = new AppendableOutput();
+    private final Utf8Output utf8Output = new Utf8Output();
+    private boolean includeValid;
+
+    /**
+     * Creates a writer which writes the default texts of the messages, formatted for the
+     * default locale
+     */
+    public ValidationJsonWriter() {
+        this(MessageCatalog.empty(), Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * @param catalog Renders the texts of the messages
+     * @param locale  The requested locale of the texts
+     */
+    public ValidationJsonWriter(@NotNull MessageCatalog catalog, @NotNull Locale locale) {
+        this.catalog = Objects.requireNonNull(catalog);
+        this.locale = Objects.requireNonNull(locale);
+    }
+
+    /**
+     * @param includeValid <code>true</code> to write VALID infos as well
+     * @return The instance of this writer
+     */
+    @NotNull
+    public ValidationJsonWriter setIncludeValid(boolean includeValid) {
+        this.includeValid = includeValid;
+        return this;
+    }
+
+    /**
+     * Writes the given result to the target.
+     *
+     * @param result The result to write
+     * @param target Receives the JSON text
+     * @throws IOException If the target can't be written
+     */
+    public void write(@NotNull ValidationResult result, @NotNull Appendable target) throws IOException {
+        appendableOutput.target = Objects.requireNonNull(target);
+        try {
+            write(result, appendableOutput);
+        } finally {
+            appendableOutput.target = null;
+        }
+    }
+
+    /**
+     * Writes the given result UTF-8 encoded to the target. The stream is neither flushed
+     * nor closed.
+     *
+     * @param result The result to write
+     * @param target Receives the encoded JSON text
+     * @throws IOException If the target can't be written
+     */
+    public void write(@NotNull ValidationResult result, @NotNull OutputStream target) throws IOException {
+        utf8Output.target = Objects.requireNonNull(target);
+        try {
+            write(result, utf8Output);
+            utf8Output.flush();
+        } finally {
+            utf8Output.target = null;
+            utf8Output.position = 0;
+        }
+    }
+
+    /**
+     * @param result The result to write
+     * @return The JSON text of the given result
+     */
+    @NotNull
+    public String toJson(@NotNull ValidationResult result) {
+        StringBuilder json = new StringBuilder(64);
+        try {
+            write(result, json);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return json.toString();
+    }
+
+    private void write(ValidationResult result, Output out) throws IOException {
+        AggregatedValidationResult aggregated = result instanceof AggregatedValidationResult
+                ? (AggregatedValidationResult) result : null;
+        out.write("{\"valid\":");
+        out.write(result.isValid() ? "true" : "false");
+        out.write(",\"messages\":[");
+        boolean first = true;
+        for (ValidationInfo info : result) {
+            if (info.isValid() && !includeValid) {
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            writeInfo(info, aggregated, out);
+        }
+        out.write("]}");
+    }
+
+    private void writeInfo(ValidationInfo info, @Nullable AggregatedValidationResult aggregated,
+                           Output out) throws IOException {
+        ValidationMessage message = info.getMessage();
+        out.write("{\"valid\":");
+        out.write(info.isValid() ? "true" : "false");
+        writeStringProperty("field", message.getField(), out);
+        writeStringProperty("code", message.getCode(), out);
+
+        text.setLength(0);
+        if (catalog.appendText(text, message, locale)) {
+            out.write(",\"text\":");
+            writeString(text, out);
+        }
+        Object[] parameters = message.getParameters();
+        if (parameters.length > 0) {
+            out.write(",\"parameters\":[");
+            for (int i = 0; i < parameters.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeValue(parameters[i], out);
+            }
+            out.write(']');
+        }
+        if (aggregated != null) {
+            out.write(",\"count\":");
+            writeLong(aggregated.getCount(info), out);
+        }
+        out.write('}');
+    }
+
+    private void writeStringProperty(String name, @Nullable String value, Output out) throws IOException {
+        if (value != null) {
+            out.write(",\"");
+            out.write(name);
+            out.write("\":");
+            writeString(value, out);
+        }
+    }
+
+    private void writeValue(@Nullable Object value, Output out) throws IOException {
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue(), out);
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isFinite(number)) {
+                out.write(value.toString());
+            } else {
+                writeString(value.toString(), out);
+            }
+        } else if (value instanceof BigInteger || value instanceof BigDecimal) {
+            out.write(value.toString());
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? "true" : "false");
+        } else {
+            writeString(value instanceof CharSequence ? (CharSequence) value : String.valueOf(value), out);
+        }
+    }
+
+    private void writeLong(long value, Output out) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.write(Long.toString(value));
+            return;
+        }
+        boolean negative = value < 0;
+        long remaining = negative ? -value : value;
+        int position = digits.length;
+        do {
+            digits[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (negative) {
+            digits[--position] = '-';
+        }
+        out.write(digits, position, digits.length);
+    }
+
+    private static void writeString(CharSequence value, Output out) throws IOException {
+        out.write('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            if (i > start) {
+                out.write(value, start, i);
+            }
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                case '\b':
+                    out.write("\\b");
+                    break;
+                case '\f':
+                    out.write("\\f");
+                    break;
+                default:
+                    out.write("\\u");
+                    out.write(HEX[c >> 12 & 0xF]);
+                    out.write(HEX[c >> 8 & 0xF]);
+                    out.write(HEX[c >> 4 & 0xF]);
+                    out.write(HEX[c & 0xF]);
+            }
+        }
+        if (length > start) {
+            out.write(value, start, length);
+        }
+        out.write('"');
+    }
+
+    /**
+     * The target of the JSON text
+     */
+    private abstract static class Output {
+
+        abstract void write(char c) throws IOException;
+
+        abstract void write(CharSequence chars, int start, int end) throws IOException;
+
+        abstract void write(char[] chars, int start, int end) throws IOException;
+
+        void write(String value) throws IOException {
+            write(value, 0, value.length());
+        }
+    }
+
+    private static final class AppendableOutput extends Output {
+        private Appendable target;
+
+        @Override
+        void write(char c) throws IOException {
+            target.append(c);
+        }
+
+        @Override
+        void write(CharSequence chars, int start, int end) throws IOException {
+            target.append(chars, start, end);
+        }
+
+        @Override
+        void write(char[] chars, int start, int end) throws IOException {
+            for (int i = start; i < end; i++) {
+                target.append(chars[i]);
+            }
+        }
+    }
+
+    /**
+     * Encodes the text into a reused byte buffer, which is written to the stream when it is full
+     */
+    private static final class Utf8Output extends Output {
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private OutputStream target;
+        private int position;
+
+        @Override
+        void write(char c) throws IOException {
+            if (position + 3 > buffer.length) {
+                flush();
+            }
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else {
+                encode(c, (char) 0);
+            }
+        }
+
+        @Override
+        void write(CharSequence chars, int start, int end) throws IOException {
+            for (int i = start; i < end; i++) {
+                if (position + 4 > buffer.length) {
+                    flush();
+                }
+                char c = chars.charAt(i);
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (Character.isHighSurrogate(c) && i + 1 < end
+                        && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                    encode(c, chars.charAt(++i));
+                } else {
+                    encode(c, (char) 0);
+                }
+            }
+        }
+
+        @Override
+        void write(char[] chars, int start, int end) throws IOException {
+            for (int i = start; i < end; i++) {
+                write(chars[i]);
+            }
+        }
+
+        private void encode(char c, char low) {
+            if (low != 0) {
+                int codePoint = Character.toCodePoint(c, low);
+                buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates can't be encoded
+                buffer[position++] = '?';
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
+        private void flush() throws IOException {
+            if (position > 0) {
+                target.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package de.mlo.dev.validation.membership;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * <p>
+ * A Bloom filter is a compact pre-check for an expensive membership check (for example a
+ * database query or a {@link de.mlo.dev.validation.value.CachedLookup}). If the filter doesn't
+ * contain a value, the value is certainly not in the set. If the filter might contain the value,
+ * the exact check has to be executed. The rate of false positives is chosen when the filter is
+ * built; 1% needs about 10 bits per value.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * private static final BloomFilter KNOWN_SKUS = BloomFilter.of(loadAllSkus(), 0.01);
+ *
+ * new ValueValidator<Item>()
+ *      .add(item -> Statements.memberOf(item.getSku(), KNOWN_SKUS, skuRepository::exists));
+ * }</pre>
+ * The filter is built once and can't be changed.
+ *
+ * @author mlo
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bits = new long[(int) ((bitCount + 63) >>> 6)];
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * @param values                   The values of the filter
+     * @param falsePositiveProbability The expected rate of false positives, for example <code>0.01</code>
+     * @return A new filter
+     */
+    @NotNull
+    public static BloomFilter of(@NotNull Collection<String> values, double falsePositiveProbability) {
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException("The probability must be between 0 and 1: " + falsePositiveProbability);
+        }
+        int expected = Math.max(1, values.size());
+        double ln2 = Math.log(2);
+        long bitCount = Math.max(64, (long) Math.ceil(-expected * Math.log(falsePositiveProbability) / (ln2 * ln2)));
+        if (bitCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The filter would be too large: " + bitCount + " bits");
+        }
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * ln2));
+        BloomFilter filter = new BloomFilter(bitCount, hashCount);
+        for (String value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("The filter must not contain null");
+            }
+            filter.put(value);
+        }
+        return filter;
+    }
+
+    /**
+     * @param value Any value
+     * @return <code>false</code> if the value is certainly not contained, <code>true</code> if
+     * the value might be contained
+     */
+    public boolean mightContain(String value) {
+        if (value == null) {
+            return false;
+        }
+        long hash = Hashing.hash(value, 0);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The size of the filter in bits
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * @return The number of hash functions
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private void put(String value) {
+        long hash = Hashing.hash(value, 0);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Maps a combined hash (Kirsch-Mitzenmacher double hashing) to a bit
+     */
+    private long index(int combined) {
+        return ((combined & 0xffffffffL) * bitCount) >>> 32;
+    }
+}
@@ -0,0 +1,57 @@
+package de.mlo.dev.validation.membership;
+
+/**
+ * The hash functions of the membership sets
+ *
+ * @author mlo
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * Spreads the bits of an int (the finalizer of MurmurHash3)
+     */
+    static int mix(int value) {
+        int h = value;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Spreads the bits of a long (the finalizer of MurmurHash3)
+     */
+    static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * A seeded 64 bit hash of the characters. Unlike {@link String#hashCode()}, strings with
+     * equal hash codes get different hashes for most seeds.
+     */
+    static long hash(String value, long seed) {
+        long h = seed * 0x9e3779b97f4a7c15L + value.length();
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * @return A value from <code>0</code> (inclusive) to <code>bound</code> (exclusive)
+     */
+    static int reduce(long hash, int bound) {
+        return (int) (((hash >>> 32) * bound) >>> 32);
+    }
+}
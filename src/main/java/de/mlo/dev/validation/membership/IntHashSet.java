@@ -0,0 +1,110 @@
+package de.mlo.dev.validation.membership;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * <p>
+ * An {@link IntMembership} backed by an open-addressing hash table of primitive values. Unlike a
+ * <code>HashSet&lt;Integer&gt;</code> there are no boxed values and no nodes: The table needs
+ * 6 to 12 bytes per value and a lookup usually reads one or two neighboring slots.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * private static final IntHashSet CATALOG = IntHashSet.of(catalogRepository.findAllSkus());
+ *
+ * new ValueValidator<Item>()
+ *      .add(item -> Statements.memberOf(item.getSku(), CATALOG));
+ * }</pre>
+ * The set is built once and can't be changed.
+ *
+ * @author mlo
+ * @see SortedIntSet
+ */
+public final class IntHashSet implements IntMembership {
+
+    /**
+     * Marks an empty slot. The value <code>0</code> itself is stored in {@link #containsZero}.
+     */
+    private static final int EMPTY = 0;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final int[] table;
+    private final int mask;
+    private final boolean containsZero;
+    private final int size;
+
+    private IntHashSet(int[] values) {
+        // The load factor is at most 2/3, so the probe sequences stay short
+        long minimumCapacity = Math.max(2L, values.length + (long) values.length / 2);
+        if (minimumCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Too many values: " + values.length);
+        }
+        int capacity = Integer.highestOneBit((int) minimumCapacity - 1) << 1;
+        int[] slots = new int[capacity];
+        int mask = capacity - 1;
+        boolean zero = false;
+        int count = 0;
+        for (int value : values) {
+            if (value == EMPTY) {
+                if (!zero) {
+                    zero = true;
+                    count++;
+                }
+                continue;
+            }
+            int slot = Hashing.mix(value) & mask;
+            while (slots[slot] != EMPTY && slots[slot] != value) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots[slot] == EMPTY) {
+                slots[slot] = value;
+                count++;
+            }
+        }
+        this.table = slots;
+        this.mask = mask;
+        this.containsZero = zero;
+        this.size = count;
+    }
+
+    /**
+     * @param values The values of the set, duplicates are removed
+     * @return A new set
+     */
+    @NotNull
+    public static IntHashSet of(int... values) {
+        return new IntHashSet(values);
+    }
+
+    /**
+     * @param values The values of the set, duplicates are removed
+     * @return A new set
+     */
+    @NotNull
+    public static IntHashSet of(@NotNull Collection<Integer> values) {
+        return new IntHashSet(values.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Override
+    public boolean contains(int value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int slot = Hashing.mix(value) & mask;
+        int current;
+        while ((current = table[slot]) != EMPTY) {
+            if (current == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
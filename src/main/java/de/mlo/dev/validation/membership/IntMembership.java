@@ -0,0 +1,24 @@
+package de.mlo.dev.validation.membership;
+
+/**
+ * A read-only set of primitive <code>int</code> values, which can be shared by any number of
+ * threads. Use {@link de.mlo.dev.validation.Statements#memberOf(int, IntMembership)} to check a
+ * value.
+ *
+ * @author mlo
+ * @see SortedIntSet
+ * @see IntHashSet
+ */
+public interface IntMembership {
+
+    /**
+     * @param value Any value
+     * @return <code>true</code> if the set contains the value
+     */
+    boolean contains(int value);
+
+    /**
+     * @return The number of distinct values
+     */
+    int size();
+}
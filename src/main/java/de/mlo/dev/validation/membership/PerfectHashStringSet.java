@@ -0,0 +1,173 @@
+package de.mlo.dev.validation.membership;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * A {@link StringMembership} backed by a minimal perfect hash function: Every value of the set
+ * has its own slot in an array of exactly {@link #size()} slots. A lookup computes the slot of
+ * the given string and compares it with the one string in this slot. There are no nodes and no
+ * boxed hash codes, the set needs the strings themselves plus 8 bytes per value on top of them.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * private static final PerfectHashStringSet COUNTRIES = PerfectHashStringSet.of(loadIsoCountryCodes());
+ *
+ * new ValueValidator<Address>()
+ *      .add(address -> Statements.memberOf(address.getCountry(), COUNTRIES));
+ * }</pre>
+ * The function is built with the "hash and displace" method: The values are distributed into
+ * buckets, and for every bucket (largest first) a seed is searched which maps all of its values
+ * to free slots. Buckets with a single value are stored in a free slot directly. Building the
+ * set takes linear time; the set can't be changed afterwards.
+ *
+ * @author mlo
+ */
+public final class PerfectHashStringSet implements StringMembership {
+
+    /**
+     * The maximum number of seeds tried for one bucket
+     */
+    private static final int MAXIMUM_ATTEMPTS = 1 << 20;
+
+    private final String[] values;
+    /**
+     * The seed of every bucket. A negative entry <code>-slot - 1</code> points to the slot of a
+     * bucket with a single value.
+     */
+    private final int[] seeds;
+
+    private PerfectHashStringSet(String[] values, int[] seeds) {
+        this.values = values;
+        this.seeds = seeds;
+    }
+
+    /**
+     * @param values The values of the set, duplicates are removed
+     * @return A new set
+     * @throws IllegalArgumentException If a value is <code>null</code>
+     */
+    @NotNull
+    public static PerfectHashStringSet of(@NotNull Collection<String> values) {
+        Set<String> distinct = new LinkedHashSet<>(values.size() * 2);
+        for (String value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("The set must not contain null");
+            }
+            distinct.add(value);
+        }
+        int size = distinct.size();
+        if (size == 0) {
+            return new PerfectHashStringSet(new String[0], new int[0]);
+        }
+        List<List<String>> buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>(1));
+        }
+        for (String value : distinct) {
+            buckets.get(bucket(value, size)).add(value);
+        }
+        // Process the largest buckets first, while most slots are still free
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        String[] slots = new String[size];
+        int[] seeds = new int[size];
+        int[] candidates = new int[0];
+        int position = 0;
+        for (; position < size && buckets.get(order[position]).size() > 1; position++) {
+            List<String> bucket = buckets.get(order[position]);
+            if (candidates.length < bucket.size()) {
+                candidates = new int[bucket.size()];
+            }
+            int seed = findSeed(bucket, slots, candidates);
+            for (int i = 0; i < bucket.size(); i++) {
+                slots[candidates[i]] = bucket.get(i);
+            }
+            seeds[order[position]] = seed;
+        }
+        int freeSlot = 0;
+        for (; position < size && buckets.get(order[position]).size() == 1; position++) {
+            while (slots[freeSlot] != null) {
+                freeSlot++;
+            }
+            slots[freeSlot] = buckets.get(order[position]).get(0);
+            seeds[order[position]] = -freeSlot - 1;
+        }
+        return new PerfectHashStringSet(slots, seeds);
+    }
+
+    /**
+     * @param values The values of the set, duplicates are removed
+     * @return A new set
+     */
+    @NotNull
+    public static PerfectHashStringSet of(@NotNull String... values) {
+        return of(Arrays.asList(values));
+    }
+
+    @Override
+    public boolean contains(String value) {
+        if (value == null || values.length == 0) {
+            return false;
+        }
+        int seed = seeds[bucket(value, values.length)];
+        int slot = seed < 0 ? -seed - 1 : slot(value, seed, values.length);
+        return value.equals(values[slot]);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Uses the cached {@link String#hashCode()}, so the bucket is found without reading the characters
+     */
+    private static int bucket(String value, int size) {
+        return Hashing.reduce(Hashing.mix((long) value.hashCode()), size);
+    }
+
+    private static int slot(String value, int seed, int size) {
+        return Hashing.reduce(Hashing.hash(value, seed), size);
+    }
+
+    /**
+     * @return The first seed which maps all values of the bucket to distinct free slots. The slots
+     * are written to the candidates.
+     */
+    private static int findSeed(List<String> bucket, String[] slots, int[] candidates) {
+        for (int seed = 1; seed <= MAXIMUM_ATTEMPTS; seed++) {
+            if (fits(bucket, seed, slots, candidates)) {
+                return seed;
+            }
+        }
+        throw new IllegalStateException("No perfect hash function found for the values: " + bucket);
+    }
+
+    private static boolean fits(List<String> bucket, int seed, String[] slots, int[] candidates) {
+        for (int i = 0; i < bucket.size(); i++) {
+            int slot = slot(bucket.get(i), seed, slots.length);
+            if (slots[slot] != null) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (candidates[j] == slot) {
+                    return false;
+                }
+            }
+            candidates[i] = slot;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+package de.mlo.dev.validation.membership;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * <p>
+ * An {@link IntMembership} backed by a sorted array. It needs 4 bytes per value, which is the
+ * smallest representation without compression, and finds a value with a binary search.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * private static final SortedIntSet ALLOWED_PLANTS = SortedIntSet.of(1000, 1010, 2000);
+ *
+ * new ValueValidator<Order>()
+ *      .add(order -> Statements.memberOf(order.getPlant(), ALLOWED_PLANTS));
+ * }</pre>
+ * Prefer the {@link IntHashSet} for large sets with many lookups, it finds a value with one or two
+ * memory accesses but needs two to three times the memory.
+ *
+ * @author mlo
+ */
+public final class SortedIntSet implements IntMembership {
+
+    private final int[] values;
+
+    private SortedIntSet(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * @param values The values of the set, duplicates are removed
+     * @return A new set
+     */
+    @NotNull
+    public static SortedIntSet of(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return new SortedIntSet(size == sorted.length ? sorted : Arrays.copyOf(sorted, size));
+    }
+
+    /**
+     * @param values The values of the set, duplicates are removed
+     * @return A new set
+     */
+    @NotNull
+    public static SortedIntSet of(@NotNull Collection<Integer> values) {
+        return of(values.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
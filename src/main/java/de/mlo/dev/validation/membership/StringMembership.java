@@ -0,0 +1,22 @@
+package de.mlo.dev.validation.membership;
+
+/**
+ * A read-only set of strings, which can be shared by any number of threads. Use
+ * {@link de.mlo.dev.validation.Statements#memberOf(String, StringMembership)} to check a value.
+ *
+ * @author mlo
+ * @see PerfectHashStringSet
+ */
+public interface StringMembership {
+
+    /**
+     * @param value Any value, <code>null</code> is never contained
+     * @return <code>true</code> if the set contains the value
+     */
+    boolean contains(String value);
+
+    /**
+     * @return The number of distinct values
+     */
+    int size();
+}
@@ -0,0 +1,302 @@
+package de.mlo.dev.validation.report;
+
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
+import de.mlo.dev.validation.basic.AggregatedValidationResult;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * The {@link ValidationReport} collects live totals of many validations, for example how many
+ * requests failed with the code <code>NO_COUNTRY</code>. Any number of threads can
+ * {@link #record(String, ValidationResult) record} their results concurrently. The counters
+ * are {@link LongAdder}s, so recording does not lock.
+ * </p>
+ * <p>
+ * Counted are the validations and failed validations per validator and the INVALID infos
+ * per code and per field. The collapsed infos of an {@link AggregatedValidationResult} are
+ * counted with their full count. Fields are counted by their path without indices, so
+ * <code>items[42].price</code> is counted as <code>items[].price</code>. At most
+ * {@link #MAXIMUM_FIELDS} distinct fields are counted, further fields only count as INVALID
+ * infos. A report created with {@link #ValidationReport(Duration, int)} also
+ * counts in time buckets, which can be summed up for a window like the last hour.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * static final ValidationReport REPORT = new ValidationReport(Duration.ofMinutes(1), 60);
+ *
+ * REPORT.record("order", ORDER_VALIDATOR.validate(order));
+ * long lastHour = REPORT.snapshot(Duration.ofHours(1)).getCodeCount("NO_COUNTRY");
+ * }</pre>
+ *
+ * @author mlo
+ */
+public class ValidationReport {
+
+    /**
+     * The maximum number of distinct fields per report or time bucket
+     */
+    public static final int MAXIMUM_FIELDS = 10_000;
+
+    private final Counters totals = new Counters(0);
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Counters> buckets;
+    private final LongSupplier clock;
+
+    /**
+     * Creates a report without time buckets
+     */
+    public ValidationReport() {
+        this.bucketMillis = 0;
+        this.buckets = null;
+        this.clock = System::currentTimeMillis;
+    }
+
+    /**
+     * Creates a report, which additionally counts in time buckets.
+     *
+     * @param bucketDuration The duration of one bucket
+     * @param bucketCount    The number of buckets. The longest window is
+     *                       <code>bucketDuration * bucketCount</code>
+     */
+    public ValidationReport(@NotNull Duration bucketDuration, int bucketCount) {
+        this(bucketDuration, bucketCount, System::currentTimeMillis);
+    }
+
+    ValidationReport(@NotNull Duration bucketDuration, int bucketCount, @NotNull LongSupplier clock) {
+        if (bucketDuration.toMillis() <= 0) {
+            throw new IllegalArgumentException("The bucket duration must be at least one millisecond: " + bucketDuration);
+        }
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("The number of buckets must be positive: " + bucketCount);
+        }
+        this.bucketMillis = bucketDuration.toMillis();
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Records a result without a validator name
+     *
+     * @param result The result of a validation
+     */
+    public void record(@NotNull ValidationResult result) {
+        record(null, result);
+    }
+
+    /**
+     * Records the result of one validation.
+     *
+     * @param validator The name of the validator, can be <code>null</code>
+     * @param result    The result of the validation
+     */
+    public void record(@Nullable String validator, @NotNull ValidationResult result) {
+        Counters bucket = currentBucket();
+        totals.record(validator, result);
+        if (bucket != null) {
+            bucket.record(validator, result);
+        }
+    }
+
+    /**
+     * Records a single info, which has been created outside of a result
+     *
+     * @param info An info of a validation
+     */
+    public void record(@NotNull ValidationInfo info) {
+        Counters bucket = currentBucket();
+        totals.record(info);
+        if (bucket != null) {
+            bucket.record(info);
+        }
+    }
+
+    /**
+     * Creates a sink, which records the streamed infos. The sink counts the INVALID infos
+     * per code and per field, but no validations, because it does not know where a validation
+     * ends.
+     *
+     * @return A sink which never stops the validation
+     */
+    @NotNull
+    public ValidationSink sink() {
+        return info -> {
+            record(info);
+            return true;
+        };
+    }
+
+    /**
+     * @return The totals since the report has been created
+     */
+    @NotNull
+    public ValidationReportSnapshot snapshot() {
+        return totals.snapshot();
+    }
+
+    /**
+     * Sums up the buckets of the given window. The current bucket is always included, so
+     * the window is rounded up to full buckets.
+     *
+     * @param window The window, for example the last hour
+     * @return The totals of the window
+     * @throws IllegalStateException If the report has been created without time buckets
+     */
+    @NotNull
+    public ValidationReportSnapshot snapshot(@NotNull Duration window) {
+        if (buckets == null) {
+            throw new IllegalStateException("The report has been created without time buckets");
+        }
+        long current = clock.getAsLong() / bucketMillis;
+        long count = Math.min(buckets.length(), Math.max(1, (window.toMillis() + bucketMillis - 1) / bucketMillis));
+        ValidationReportSnapshot snapshot = ValidationReportSnapshot.EMPTY;
+        for (int i = 0; i < buckets.length(); i++) {
+            Counters bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch > current - count && bucket.epoch <= current) {
+                snapshot = snapshot.merge(bucket.snapshot());
+            }
+        }
+        return snapshot;
+    }
+
+    @Nullable
+    private Counters currentBucket() {
+        if (buckets == null) {
+            return null;
+        }
+        long epoch = clock.getAsLong() / bucketMillis;
+        int slot = (int) (epoch % buckets.length());
+        Counters bucket = buckets.get(slot);
+        while (bucket == null || bucket.epoch < epoch) {
+            Counters next = new Counters(epoch);
+            if (buckets.compareAndSet(slot, bucket, next)) {
+                return next;
+            }
+            bucket = buckets.get(slot);
+        }
+        // A bucket of a newer epoch wins against late writers
+        return bucket.epoch == epoch ? bucket : null;
+    }
+
+    /**
+     * @param field A field like <code>items[42].price</code>
+     * @return The field without the indices, like <code>items[].price</code>
+     */
+    @NotNull
+    static String withoutIndices(@NotNull String field) {
+        int open = field.indexOf('[');
+        if (open < 0) {
+            return field;
+        }
+        StringBuilder builder = new StringBuilder(field.length());
+        boolean inIndex = false;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '[') {
+                inIndex = true;
+            } else if (c == ']') {
+                inIndex = false;
+            } else if (inIndex) {
+                continue;
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The counters of the whole report or of one time bucket
+     */
+    private static final class Counters {
+        private final long epoch;
+        private final LongAdder validations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder invalidInfos = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> codes = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, LongAdder> fields = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, LongAdder> validatorValidations = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, LongAdder> validatorFailures = new ConcurrentHashMap<>();
+
+        private Counters(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private void record(@Nullable String validator, ValidationResult result) {
+            validations.increment();
+            if (validator != null) {
+                increment(validatorValidations, validator);
+            }
+            if (result.isInvalid()) {
+                failures.increment();
+                if (validator != null) {
+                    increment(validatorFailures, validator);
+                }
+            }
+            if (result instanceof AggregatedValidationResult) {
+                for (AggregatedValidationResult.Entry entry : ((AggregatedValidationResult) result).getEntries()) {
+                    record(entry.getInfo(), entry.getCount());
+                }
+            } else {
+                for (ValidationInfo info : result) {
+                    record(info, 1);
+                }
+            }
+        }
+
+        private void record(ValidationInfo info) {
+            record(info, 1);
+        }
+
+        private void record(ValidationInfo info, long count) {
+            if (info.isValid()) {
+                return;
+            }
+            invalidInfos.add(count);
+            String code = info.getMessageCode();
+            if (code != null) {
+                add(codes, code, count, Integer.MAX_VALUE);
+            }
+            String field = info.getField();
+            if (field != null) {
+                add(fields, withoutIndices(field), count, MAXIMUM_FIELDS);
+            }
+        }
+
+        private static void add(ConcurrentHashMap<String, LongAdder> counters, String key, long count, int maximumKeys) {
+            LongAdder counter = counters.get(key);
+            if (counter == null) {
+                if (counters.size() >= maximumKeys) {
+                    return;
+                }
+                counter = counters.computeIfAbsent(key, k -> new LongAdder());
+            }
+            counter.add(count);
+        }
+
+        private static void increment(ConcurrentHashMap<String, LongAdder> counters, String key) {
+            add(counters, key, 1, Integer.MAX_VALUE);
+        }
+
+        private ValidationReportSnapshot snapshot() {
+            return new ValidationReportSnapshot(validations.sum(), failures.sum(), invalidInfos.sum(),
+                    sums(codes), sums(fields), sums(validatorValidations), sums(validatorFailures));
+        }
+
+        private static Map<String, Long> sums(ConcurrentHashMap<String, LongAdder> counters) {
+            Map<String, Long> sums = new TreeMap<>();
+            counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+            return sums;
+        }
+    }
+}
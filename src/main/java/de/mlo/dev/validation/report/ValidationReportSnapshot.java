@@ -0,0 +1,151 @@
+package de.mlo.dev.validation.report;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable copy of the counters of a {@link ValidationReport}. Snapshots of different
+ * reports, for example of several instances of a service, can be {@link #merge(ValidationReportSnapshot) merged}.
+ *
+ * @author mlo
+ */
+@ToString
+@EqualsAndHashCode
+public final class ValidationReportSnapshot {
+
+    /**
+     * A snapshot without any counts
+     */
+    public static final ValidationReportSnapshot EMPTY = new ValidationReportSnapshot(0, 0, 0,
+            Map.of(), Map.of(), Map.of(), Map.of());
+
+    private final long validations;
+    private final long failures;
+    private final long invalidInfos;
+    private final Map<String, Long> codeCounts;
+    private final Map<String, Long> fieldCounts;
+    private final Map<String, Long> validatorValidations;
+    private final Map<String, Long> validatorFailures;
+
+    ValidationReportSnapshot(long validations, long failures, long invalidInfos,
+                             Map<String, Long> codeCounts, Map<String, Long> fieldCounts,
+                             Map<String, Long> validatorValidations, Map<String, Long> validatorFailures) {
+        this.validations = validations;
+        this.failures = failures;
+        this.invalidInfos = invalidInfos;
+        this.codeCounts = Collections.unmodifiableMap(codeCounts);
+        this.fieldCounts = Collections.unmodifiableMap(fieldCounts);
+        this.validatorValidations = Collections.unmodifiableMap(validatorValidations);
+        this.validatorFailures = Collections.unmodifiableMap(validatorFailures);
+    }
+
+    /**
+     * @param other Another snapshot
+     * @return A new snapshot with the sums of both snapshots
+     */
+    @NotNull
+    public ValidationReportSnapshot merge(@NotNull ValidationReportSnapshot other) {
+        return new ValidationReportSnapshot(validations + other.validations, failures + other.failures,
+                invalidInfos + other.invalidInfos,
+                merge(codeCounts, other.codeCounts), merge(fieldCounts, other.fieldCounts),
+                merge(validatorValidations, other.validatorValidations),
+                merge(validatorFailures, other.validatorFailures));
+    }
+
+    private static Map<String, Long> merge(Map<String, Long> first, Map<String, Long> second) {
+        Map<String, Long> merged = new TreeMap<>(first);
+        second.forEach((key, count) -> merged.merge(key, count, Long::sum));
+        return merged;
+    }
+
+    /**
+     * @return The number of recorded validations
+     */
+    public long getValidations() {
+        return validations;
+    }
+
+    /**
+     * @return The number of recorded validations with an INVALID result
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return The number of recorded INVALID infos
+     */
+    public long getInvalidInfos() {
+        return invalidInfos;
+    }
+
+    /**
+     * @param code The code of a message
+     * @return The number of INVALID infos with the given code
+     */
+    public long getCodeCount(@NotNull String code) {
+        return codeCounts.getOrDefault(code, 0L);
+    }
+
+    /**
+     * @param field The field of a message. Indices are ignored, so <code>items[3].price</code>
+     *              and <code>items[].price</code> return the same count.
+     * @return The number of INVALID infos for the given field
+     */
+    public long getFieldCount(@NotNull String field) {
+        return fieldCounts.getOrDefault(ValidationReport.withoutIndices(field), 0L);
+    }
+
+    /**
+     * @param validator The name of a validator
+     * @return The number of validations of the given validator
+     */
+    public long getValidations(@NotNull String validator) {
+        return validatorValidations.getOrDefault(validator, 0L);
+    }
+
+    /**
+     * @param validator The name of a validator
+     * @return The number of failed validations of the given validator
+     */
+    public long getFailures(@NotNull String validator) {
+        return validatorFailures.getOrDefault(validator, 0L);
+    }
+
+    /**
+     * @return The number of INVALID infos per code, sorted by code
+     */
+    @NotNull
+    public Map<String, Long> getCodeCounts() {
+        return codeCounts;
+    }
+
+    /**
+     * @return The number of INVALID infos per field without indices, sorted by field
+     */
+    @NotNull
+    public Map<String, Long> getFieldCounts() {
+        return fieldCounts;
+    }
+
+    /**
+     * @return The number of validations per validator, sorted by name
+     */
+    @NotNull
+    public Map<String, Long> getValidatorValidations() {
+        return validatorValidations;
+    }
+
+    /**
+     * @return The number of failed validations per validator, sorted by name
+     */
+    @NotNull
+    public Map<String, Long> getValidatorFailures() {
+        return validatorFailures;
+    }
+}
@@ -0,0 +1,303 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationInfo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * The {@link BatchLookup} resolves the keys of many values with one bulk call instead of one
+ * point lookup per value. The statements are created by {@link #on(Function)} and can be added
+ * to any {@link ValueValidator}. The keys are collected in two ways:
+ * </p>
+ * <ul>
+ *     <li>In a batch run: {@link #validateBatch(Collection, Function, IsValueValidator)} or
+ *     {@link #prefetch(Collection, Function)} resolve the keys of all values with one bulk call
+ *     before the values are validated.</li>
+ *     <li>In a time window: With {@link #setBatchWindow(Duration, int)} concurrent statements
+ *     wait a short time for each other and are completed by one bulk call.</li>
+ * </ul>
+ * Example:
+ * <pre>{@code
+ * BatchLookup<String> skuActive = BatchLookup.of(skuService::areActive,
+ *      sku -> ValidationInfo.invalid("Inactive SKU: " + sku));
+ * ValueValidator<Item> validator = new ValueValidator<Item>()
+ *      .add(Statements::notNull)
+ *      .add(skuActive.on(Item::getSku));
+ * List<ValueValidationResult<Item>> results = skuActive.validateBatch(items, Item::getSku, validator);
+ * }</pre>
+ * Keys which have neither been prefetched nor are collected by a window are resolved with a bulk
+ * call of a single key. Exceptions of the bulk call are passed to every waiting statement.
+ *
+ * @param <K> The type of the key
+ * @author mlo
+ */
+public class BatchLookup<K> {
+
+    private static final Logger LOGGER = LogManager.getLogger(BatchLookup.class.getName());
+
+    private final Function<Set<K>, Map<K, ValidationInfo>> bulkLookup;
+    private final List<Batch> activeBatches = new CopyOnWriteArrayList<>();
+    private final LongAdder bulkCallCount = new LongAdder();
+    private final Object lock = new Object();
+    private long windowNanos;
+    private int maximumBatchSize = Integer.MAX_VALUE;
+    private Executor executor = ForkJoinPool.commonPool();
+    private PendingBatch pending;
+
+    /**
+     * @param bulkLookup Resolves a set of keys and must return an info for every key
+     */
+    public BatchLookup(@NotNull Function<Set<K>, Map<K, ValidationInfo>> bulkLookup) {
+        this.bulkLookup = Objects.requireNonNull(bulkLookup);
+    }
+
+    /**
+     * @param bulkLookup Returns <code>true</code> for every valid key. Missing keys are invalid.
+     * @param failure    Creates the info of an invalid key
+     * @param <K>        The type of the key
+     * @return A new lookup
+     */
+    @NotNull
+    public static <K> BatchLookup<K> of(@NotNull Function<Set<K>, Map<K, Boolean>> bulkLookup,
+                                        @NotNull Function<K, ValidationInfo> failure) {
+        Objects.requireNonNull(bulkLookup);
+        Objects.requireNonNull(failure);
+        return new BatchLookup<>(keys -> {
+            Map<K, Boolean> flags = bulkLookup.apply(keys);
+            Map<K, ValidationInfo> infos = new HashMap<>();
+            for (K key : keys) {
+                infos.put(key, Boolean.TRUE.equals(flags.get(key)) ? ValidationInfo.valid() : failure.apply(key));
+            }
+            return infos;
+        });
+    }
+
+    /**
+     * Collects the keys of concurrent statements for the given time and resolves them with one
+     * bulk call. The first statement of a window waits at most for the window, a full batch is
+     * resolved immediately.
+     *
+     * @param window           The time the first key waits for more keys
+     * @param maximumBatchSize The maximum number of keys of one bulk call
+     * @return The instance of this lookup
+     */
+    @NotNull
+    public BatchLookup<K> setBatchWindow(@NotNull Duration window, int maximumBatchSize) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("The window must be positive: " + window);
+        }
+        if (maximumBatchSize <= 0) {
+            throw new IllegalArgumentException("The maximum batch size must be positive: " + maximumBatchSize);
+        }
+        this.windowNanos = window.toNanos();
+        this.maximumBatchSize = maximumBatchSize;
+        return this;
+    }
+
+    /**
+     * @param executor Executes the bulk calls at the end of a window. The default is the common
+     *                 {@link ForkJoinPool}. Use a dedicated executor for blocking lookups.
+     * @return The instance of this lookup
+     */
+    @NotNull
+    public BatchLookup<K> setExecutor(@NotNull Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * @param keyExtractor Extracts the key from the value to validate
+     * @param <V>          The type of the value to validate
+     * @return A statement which resolves the key with this lookup
+     */
+    @NotNull
+    public <V> ValueValidationStatement<V> on(@NotNull Function<V, ? extends K> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        return value -> get(keyExtractor.apply(value));
+    }
+
+    /**
+     * Resolves the keys of all values with one bulk call. The resolved infos are used by the
+     * statements of this lookup until the batch is closed.
+     * <pre>{@code
+     * try (BatchLookup<String>.Batch batch = skuActive.prefetch(items, Item::getSku)) {
+     *     items.parallelStream().map(validator::validate)...
+     * }
+     * }</pre>
+     *
+     * @param values       The values which will be validated
+     * @param keyExtractor Extracts the key from a value. <code>null</code> keys are skipped.
+     * @param <V>          The type of the values
+     * @return The batch, which must be closed after the validation
+     */
+    @NotNull
+    public <V> Batch prefetch(@NotNull Collection<? extends V> values, @NotNull Function<V, ? extends K> keyExtractor) {
+        Set<K> keys = new HashSet<>();
+        for (V value : values) {
+            K key = keyExtractor.apply(value);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        Batch batch = new Batch(keys.isEmpty() ? Collections.emptyMap() : resolve(keys));
+        activeBatches.add(batch);
+        return batch;
+    }
+
+    /**
+     * Prefetches the keys of all values and validates the values in their order.
+     *
+     * @param values       The values to validate
+     * @param keyExtractor Extracts the key from a value
+     * @param validator    Validates the values, usually with a statement of this lookup
+     * @param <V>          The type of the values
+     * @return The results in the order of the values
+     */
+    @NotNull
+    public <V> List<ValueValidationResult<V>> validateBatch(@NotNull Collection<? extends V> values,
+                                                            @NotNull Function<V, ? extends K> keyExtractor,
+                                                            @NotNull IsValueValidator<V> validator) {
+        List<ValueValidationResult<V>> results = new ArrayList<>(values.size());
+        try (Batch ignored = prefetch(values, keyExtractor)) {
+            for (V value : values) {
+                results.add(validator.validate(value));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @param key The key to resolve
+     * @return The prefetched info or the info of a new bulk call
+     */
+    @NotNull
+    public ValidationInfo get(@Nullable K key) {
+        if (key != null) {
+            for (Batch batch : activeBatches) {
+                ValidationInfo info = batch.infos.get(key);
+                if (info != null) {
+                    return info;
+                }
+            }
+        }
+        if (windowNanos > 0) {
+            return getInWindow(key);
+        }
+        return resolve(Collections.singleton(key)).get(key);
+    }
+
+    /**
+     * @return The number of executed bulk calls
+     */
+    public long getBulkCallCount() {
+        return bulkCallCount.sum();
+    }
+
+    private ValidationInfo getInWindow(K key) {
+        CompletableFuture<ValidationInfo> future;
+        PendingBatch full = null;
+        synchronized (lock) {
+            if (pending == null) {
+                PendingBatch batch = new PendingBatch();
+                pending = batch;
+                CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS, executor)
+                        .execute(() -> dispatch(batch));
+            }
+            future = pending.futures.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (pending.futures.size() >= maximumBatchSize) {
+                full = pending;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void dispatch(PendingBatch batch) {
+        synchronized (lock) {
+            if (batch.dispatched) {
+                return;
+            }
+            batch.dispatched = true;
+            if (pending == batch) {
+                pending = null;
+            }
+        }
+        try {
+            Map<K, ValidationInfo> infos = resolve(batch.futures.keySet());
+            batch.futures.forEach((key, future) -> future.complete(infos.get(key)));
+        } catch (RuntimeException | Error e) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private Map<K, ValidationInfo> resolve(Set<K> keys) {
+        LOGGER.debug("Resolve {} keys with one bulk call", keys.size());
+        bulkCallCount.increment();
+        Map<K, ValidationInfo> infos = bulkLookup.apply(Collections.unmodifiableSet(keys));
+        for (K key : keys) {
+            if (infos == null || infos.get(key) == null) {
+                throw new IllegalStateException("The bulk lookup returned no info for the key: " + key);
+            }
+        }
+        return infos;
+    }
+
+    private final class PendingBatch {
+        private final Map<K, CompletableFuture<ValidationInfo>> futures = new HashMap<>();
+        private boolean dispatched;
+    }
+
+    /**
+     * The infos of prefetched keys. The infos are used until the batch is closed.
+     */
+    public final class Batch implements AutoCloseable {
+        private final Map<K, ValidationInfo> infos;
+
+        private Batch(Map<K, ValidationInfo> infos) {
+            this.infos = infos;
+        }
+
+        /**
+         * @return The number of prefetched keys
+         */
+        public int size() {
+            return infos.size();
+        }
+
+        @Override
+        public void close() {
+            activeBatches.remove(this);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.LruEvictor;
+import de.mlo.dev.validation.ValidationInfo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * The {@link CachedLookup} caches the {@link ValidationInfo} of an expensive statement per key.
+ * Use it if the outcome of a statement only depends on a small part of the value, for example
+ * "the VAT id exists" or "the SKU is active". The key is extracted by
+ * {@link #on(Function)}, so one lookup (and its cache) can be shared by the statements of
+ * several validators, even for different value types.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * CachedLookup<String> vatIdExists = new CachedLookup<>(this::lookupVatId)
+ *      .setMaximumSize(10_000)
+ *      .setExpireAfterWrite(Duration.ofHours(1))
+ *      .setRefreshAfterWrite(Duration.ofMinutes(5), refreshExecutor);
+ *
+ * new ValueValidator<Customer>().add(vatIdExists.on(Customer::getVatId));
+ * new ValueValidator<Invoice>().add(vatIdExists.on(Invoice::getVatId));
+ * }</pre>
+ * <p>
+ * Entries are removed after the {@link #setExpireAfterWrite(Duration) expiration} and
+ * entries are evicted if the {@link #setMaximumSize(int) maximum size} is reached (expired
+ * entries first, otherwise the least recently used entries, see {@link LruEvictor}). Entries which are older than the
+ * {@link #setRefreshAfterWrite(Duration) refresh time} are reloaded on the next access. With a
+ * refresh executor the stale info is returned immediately and reloaded in the background
+ * (stale-while-revalidate).
+ * </p>
+ * Concurrent misses of the same key wait for one lookup, the lookup itself runs outside of any
+ * lock of the cache. A lookup must not access its own key in the same cache, that is rejected
+ * with an {@link IllegalStateException}. Exceptions of the lookup are passed to the caller and
+ * are not cached. A <code>null</code> key is looked up without caching. If the maximum size is
+ * reached, about a tenth of the entries is evicted at once, so the eviction scan is amortized
+ * over many misses. The time of the last access is taken from the {@link #setTicker(LongSupplier) ticker}.
+ * Configure the lookup before it is used, the configuration functions are not
+ * thread safe.
+ *
+ * @param <K> The type of the key
+ * @author mlo
+ */
+public class CachedLookup<K> {
+
+    private static final Logger LOGGER = LogManager.getLogger(CachedLookup.class.getName());
+
+    private final Function<? super K, ValidationInfo> lookup;
+    private final ConcurrentHashMap<K, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Loading> loadings = new ConcurrentHashMap<>();
+    private LruEvictor evictor = new LruEvictor(Integer.MAX_VALUE);
+    private long expireAfterWriteNanos;
+    private long refreshAfterWriteNanos;
+    private Executor refreshExecutor;
+    private LongSupplier ticker = System::nanoTime;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param lookup The expensive lookup, which must not return <code>null</code>
+     */
+    public CachedLookup(@NotNull Function<? super K, ValidationInfo> lookup) {
+        this.lookup = Objects.requireNonNull(lookup);
+    }
+
+    /**
+     * @param maximumSize The maximum number of cached keys
+     * @return The instance of this lookup
+     */
+    @NotNull
+    public CachedLookup<K> setMaximumSize(int maximumSize) {
+        this.evictor = new LruEvictor(maximumSize);
+        return this;
+    }
+
+    /**
+     * @param expireAfterWrite The time after which an entry is removed and looked up again
+     * @return The instance of this lookup
+     */
+    @NotNull
+    public CachedLookup<K> setExpireAfterWrite(@NotNull Duration expireAfterWrite) {
+        this.expireAfterWriteNanos = requirePositive(expireAfterWrite);
+        return this;
+    }
+
+    /**
+     * Entries older than the given time are looked up again on the next access. The caller waits
+     * for the new info. Should be shorter than the {@link #setExpireAfterWrite(Duration) expiration}.
+     *
+     * @param refreshAfterWrite The time after which an entry is refreshed
+     * @return The instance of this lookup
+     */
+    @NotNull
+    public CachedLookup<K> setRefreshAfterWrite(@NotNull Duration refreshAfterWrite) {
+        this.refreshAfterWriteNanos = requirePositive(refreshAfterWrite);
+        this.refreshExecutor = null;
+        return this;
+    }
+
+    /**
+     * Entries older than the given time are refreshed by the executor on the next access. Until
+     * the refresh has finished, the stale info is returned. A failed refresh is logged and retried
+     * on the next access. Should be shorter than the {@link #setExpireAfterWrite(Duration) expiration}.
+     *
+     * @param refreshAfterWrite The time after which an entry is refreshed
+     * @param executor          Executes the refreshes
+     * @return The instance of this lookup
+     */
+    @NotNull
+    public CachedLookup<K> setRefreshAfterWrite(@NotNull Duration refreshAfterWrite, @NotNull Executor executor) {
+        this.refreshAfterWriteNanos = requirePositive(refreshAfterWrite);
+        this.refreshExecutor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * @param ticker The source of the time in nanoseconds. The default is {@link System#nanoTime()}.
+     * @return The instance of this lookup
+     */
+    @NotNull
+    public CachedLookup<K> setTicker(@NotNull LongSupplier ticker) {
+        this.ticker = Objects.requireNonNull(ticker);
+        return this;
+    }
+
+    /**
+     * @param keyExtractor Extracts the key from the value to validate
+     * @param <V>          The type of the value to validate
+     * @return A statement which looks up the info of the key in this cache
+     */
+    @NotNull
+    public <V> ValueValidationStatement<V> on(@NotNull Function<V, ? extends K> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        return value -> get(keyExtractor.apply(value));
+    }
+
+    /**
+     * @param key The key to look up
+     * @return The cached info or the info of a new lookup
+     */
+    @NotNull
+    public ValidationInfo get(@Nullable K key) {
+        if (key == null) {
+            return load(null);
+        }
+        long now = ticker.getAsLong();
+        Entry entry = entries.get(key);
+        if (entry != null && !isExpired(entry, now)) {
+            hitCount.increment();
+            entry.touch(now);
+            if (refreshAfterWriteNanos > 0 && now - entry.writeTime >= refreshAfterWriteNanos) {
+                if (refreshExecutor == null) {
+                    refreshCount.increment();
+                    return reload(key, entry);
+                }
+                refreshAsync(key, entry);
+            }
+            return entry.info;
+        }
+        missCount.increment();
+        return reload(key, entry);
+    }
+
+    /**
+     * Removes the cached info of the key
+     *
+     * @param key The key
+     */
+    public void invalidate(@NotNull K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all cached infos
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return The number of cached keys, including expired keys which have not been removed yet
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The number of accesses which have found a cached info, including stale infos
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return The number of accesses which had to wait for a lookup
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return The share of the accesses which have found a cached info or <code>1.0</code>
+     * if there has been no access
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * @return The number of started refreshes
+     */
+    public long getRefreshCount() {
+        return refreshCount.sum();
+    }
+
+    /**
+     * @return The number of entries which have been evicted because the maximum size was reached
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Looks up the key, unless another thread has already replaced the outdated entry. Concurrent
+     * callers of the same key wait for the lookup of the first caller.
+     */
+    private ValidationInfo reload(K key, @Nullable Entry outdated) {
+        Loading own = new Loading();
+        Loading loading = loadings.putIfAbsent(key, own);
+        if (loading != null) {
+            return loading.await(key);
+        }
+        try {
+            Entry current = entries.get(key);
+            if (current != null && current != outdated && !isExpired(current, ticker.getAsLong())) {
+                own.future.complete(current.info);
+                return current.info;
+            }
+            ValidationInfo info = load(key);
+            if (current == null && evictor.isFull(entries)) {
+                long now = ticker.getAsLong();
+                LOGGER.debug("Evict the cached infos, the maximum size {} is reached", evictor.getMaximumSize());
+                evictionCount.add(evictor.evict(entries, entry -> isExpired(entry, now)));
+            }
+            entries.put(key, new Entry(info, ticker.getAsLong()));
+            own.future.complete(info);
+            return info;
+        } catch (RuntimeException | Error e) {
+            own.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadings.remove(key, own);
+        }
+    }
+
+    private void refreshAsync(K key, Entry stale) {
+        if (!stale.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshCount.increment();
+        LOGGER.debug("Refresh the cached info of the key {}", key);
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    ValidationInfo info = load(key);
+                    entries.replace(key, stale, new Entry(info, ticker.getAsLong()));
+                } catch (RuntimeException e) {
+                    LOGGER.debug("The refresh of the key {} failed", key, e);
+                    stale.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            LOGGER.debug("The refresh of the key {} was rejected", key, e);
+            stale.refreshing.set(false);
+        }
+    }
+
+    private ValidationInfo load(K key) {
+        ValidationInfo info = lookup.apply(key);
+        if (info == null) {
+            throw new IllegalStateException("The lookup returned null for the key: " + key);
+        }
+        return info;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return expireAfterWriteNanos > 0 && now - entry.writeTime >= expireAfterWriteNanos;
+    }
+
+    private static long requirePositive(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("The duration must be positive: " + duration);
+        }
+        return duration.toNanos();
+    }
+
+    /**
+     * The lookup of a key, which is in progress
+     */
+    private static final class Loading {
+        private final CompletableFuture<ValidationInfo> future = new CompletableFuture<>();
+        private final Thread thread = Thread.currentThread();
+
+        private ValidationInfo await(Object key) {
+            if (thread == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive lookup of the key: " + key);
+            }
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final class Entry extends LruEvictor.Entry {
+        private final ValidationInfo info;
+        private final long writeTime;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(ValidationInfo info, long writeTime) {
+            super(writeTime);
+            this.info = info;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.TruncationReason;
+import de.mlo.dev.validation.ValidationBudget;
+import de.mlo.dev.validation.ValidationInfo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * The {@link CoalescingValueValidator} merges concurrent validations of equal values. The first
+ * thread executes the wrapped validator, all threads which validate a value with the same key
+ * while the validation is running wait for it and receive the same result. The result is
+ * immutable, all functions which would change it throw an {@link UnsupportedOperationException}.
+ * </p>
+ * <p>
+ * Nothing is cached: As soon as the validation has finished, the next call executes the wrapped
+ * validator again. If the wrapped validator throws an exception, all waiting threads receive it.
+ * </p>
+ * <p>
+ * A waiting thread honours the deadline of its {@link ValidationBudget#current() budget}. If the
+ * deadline passes before the running validation has finished, the thread receives an
+ * <b>invalid</b> result with the code {@link #TIMEOUT_CODE}, which is
+ * {@link ValueValidationResult#markTruncated(TruncationReason) truncated} with
+ * {@link TruncationReason#DEADLINE}. The value has not been validated, so it must not be accepted.
+ * If a waiting thread is interrupted, the interrupt flag is restored and an
+ * {@link IllegalStateException} is thrown. If the wrapped
+ * validator validates a value with the same key again on the same thread, for example through
+ * {@link ValueValidator#reference(String, Function, IsValueValidator) references}, an
+ * {@link IllegalStateException} is thrown instead of waiting for itself.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * IsValueValidator<Cart> validator = CoalescingValueValidator.of(cartValidator, Cart::getId);
+ * }</pre>
+ * The {@link ValueValidationResult#getValue() value} of a shared result is the value of the
+ * thread which has executed the validation. The keys must be equal only if the values would
+ * produce the same result.
+ *
+ * @param <V> The type of the value to validate
+ * @param <K> The type of the key
+ * @author mlo
+ */
+public class CoalescingValueValidator<V, K> implements IsValueValidator<V> {
+
+    private static final Logger LOGGER = LogManager.getLogger(CoalescingValueValidator.class.getName());
+
+    /**
+     * The code of the failure, which is returned to a waiting thread when its deadline has passed
+     */
+    public static final String TIMEOUT_CODE = "VALIDATION_TIMEOUT";
+
+    private final IsValueValidator<V> validator;
+    private final Function<V, K> keyExtractor;
+    private final ConcurrentMap<K, Validation<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param validator    The wrapped validator, which must be thread safe
+     * @param keyExtractor Extracts the key of a value, the key must implement equals and hashCode
+     */
+    public CoalescingValueValidator(@NotNull IsValueValidator<V> validator, @NotNull Function<V, K> keyExtractor) {
+        this.validator = Objects.requireNonNull(validator);
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+    }
+
+    /**
+     * @param validator The wrapped validator, which must be thread safe
+     * @param <V>       The type of the value, which is used as key
+     * @return A new validator, which merges concurrent validations of equal values
+     */
+    @NotNull
+    public static <V> CoalescingValueValidator<V, V> of(@NotNull IsValueValidator<V> validator) {
+        return new CoalescingValueValidator<>(validator, Function.identity());
+    }
+
+    /**
+     * @param validator    The wrapped validator, which must be thread safe
+     * @param keyExtractor Extracts the key of a value
+     * @param <V>          The type of the value
+     * @param <K>          The type of the key
+     * @return A new validator, which merges concurrent validations of values with equal keys
+     */
+    @NotNull
+    public static <V, K> CoalescingValueValidator<V, K> of(@NotNull IsValueValidator<V> validator,
+                                                          @NotNull Function<V, K> keyExtractor) {
+        return new CoalescingValueValidator<>(validator, keyExtractor);
+    }
+
+    /**
+     * Executes the wrapped validator or waits for a running validation of a value with the same key.
+     *
+     * @param value The value to validate.
+     * @return The immutable result, which may be shared with other threads
+     */
+    @NotNull
+    @Override
+    public ValueValidationResult<V> validate(V value) {
+        K key = keyExtractor.apply(value);
+        if (key == null) {
+            return ImmutableValueValidationResult.of(validator.validate(value));
+        }
+        Validation<V> own = new Validation<>();
+        Validation<V> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            LOGGER.debug("Join the running validation of the key {}", key);
+            return running.await(key, value);
+        }
+        try {
+            ValueValidationResult<V> result = ImmutableValueValidationResult.of(validator.validate(value));
+            own.future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * @return The number of validations, which are currently running
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * The validation of a key, which is in progress
+     */
+    private static final class Validation<V> {
+        private final CompletableFuture<ValueValidationResult<V>> future = new CompletableFuture<>();
+        private final Thread thread = Thread.currentThread();
+
+        private ValueValidationResult<V> await(Object key, V value) {
+            if (thread == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive validation of the key: " + key);
+            }
+            ValidationBudget.Tracker tracker = ValidationBudget.current();
+            long remainingNanos = tracker == null ? Long.MAX_VALUE : tracker.remainingNanos();
+            try {
+                return remainingNanos == Long.MAX_VALUE
+                        ? future.get()
+                        : future.get(remainingNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                LOGGER.debug("Stop waiting for the validation of the key {} (deadline exceeded)", key);
+                tracker.isExhausted();
+                return timedOut(value);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the validation of the key: " + key, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private static <V> ValueValidationResult<V> timedOut(V value) {
+            ValueValidationResult<V> result = new ValueValidationResult<>(value)
+                    .add(ValidationInfo.invalidCode(TIMEOUT_CODE, "The validation did not finish before the deadline"))
+                    .markTruncated(TruncationReason.DEADLINE);
+            return ImmutableValueValidationResult.of(result);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.FieldPath;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Adds the path of a nested value to the failed infos of the nested validation.
+ *
+ * @author mlo
+ */
+final class FieldPaths {
+
+    private FieldPaths() {
+    }
+
+    /**
+     * @param result The result of a nested value
+     * @param prefix The path of the nested value, like <code>items[42]</code>
+     * @return The given result if it is valid, otherwise a copy with prefixed failed infos
+     */
+    @NotNull
+    static ValidationResult prefixFailures(@NotNull ValidationResult result, @NotNull FieldPath prefix) {
+        if (result.isValid()) {
+            return result;
+        }
+        ValidationResult prefixed = new ValidationResult().markTruncated(result.getTruncationReason());
+        for (ValidationInfo info : result) {
+            prefixed.add(info.isInvalid() ? info.withPathPrefix(prefix) : info);
+        }
+        return prefixed;
+    }
+
+    /**
+     * @param sink   Receives the infos of a nested value
+     * @param prefix The path of the nested value
+     * @return A sink which prefixes the failed infos
+     */
+    @NotNull
+    static ValidationSink prefixFailures(@NotNull ValidationSink sink, @NotNull FieldPath prefix) {
+        return info -> sink.accept(info.isInvalid() ? info.withPathPrefix(prefix) : info);
+    }
+}
@@ -0,0 +1,168 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationSink;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * An immutable snapshot of a {@link ValueValidator}, created by {@link ValueValidator#freeze()}.
+ * The statements, the runner, the condition, the tags and the profiles are stored in final fields
+ * and can't be changed, nested groups, conditions, switches, loops, graphs, switched and referenced
+ * validators are frozen as well. An instance can be published safely and be shared by any number of
+ * threads, as long as the added statements and the runner are thread safe.
+ * </p>
+ * Unlike {@link ValueValidator#validateAndStopOnFirstFail(Object)}, the
+ * {@link #validateAndStopOnFirstFail(Object)} function of a frozen validator does not change the
+ * runner.
+ *
+ * @param <V> The type of the value to validate
+ * @author mlo
+ */
+public final class FrozenValueValidator<V> implements IsValueValidator<V>, ValueValidationSummarizer<V> {
+
+    private static final Logger LOGGER = LogManager.getLogger(FrozenValueValidator.class.getName());
+
+    private final List<ValueValidationSummarizer<V>> summarizers;
+    private final ValueValidationRunner<V> validationRunner;
+    private final Predicate<V> condition;
+    private final Map<String, BitSet> tagIndex;
+    private final Map<String, Set<String>> profiles;
+
+    FrozenValueValidator(@NotNull ValueValidationSummarizer<V>[] summarizers,
+                         @NotNull ValueValidationRunner<V> validationRunner,
+                         @Nullable Predicate<V> condition,
+                         @NotNull Map<String, BitSet> tagIndex,
+                         @NotNull Map<String, Set<String>> profiles) {
+        this.summarizers = List.of(summarizers);
+        this.validationRunner = Objects.requireNonNull(validationRunner);
+        this.condition = condition;
+        this.tagIndex = Map.copyOf(tagIndex);
+        this.profiles = Map.copyOf(profiles);
+    }
+
+    /**
+     * Executes the statements with the runner of the frozen validator.
+     *
+     * @param value The value to validate.
+     * @return The result of the validation process.
+     * @see ValueValidator#validate(Object)
+     */
+    @NotNull
+    @Override
+    public ValueValidationResult<V> validate(V value) {
+        if (isSkipped(value)) {
+            return new ValueValidationResult<>(value);
+        }
+        ValidationScope scope = ValidationScope.enter();
+        try {
+            return validationRunner.validate(value, summarizers);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    /**
+     * Executes only the statements with the given tags, the tags are frozen with the statements.
+     *
+     * @param value    The value to validate.
+     * @param onlyTags The tags of the statements, which have to be executed
+     * @return The result of the executed statements
+     * @see ValueValidator#validate(Object, Set)
+     */
+    @NotNull
+    public ValueValidationResult<V> validate(V value, @NotNull Set<String> onlyTags) {
+        return new ValidationPlan<>(ValueValidator.selectPlan(summarizers, tagIndex, onlyTags), validationRunner, condition)
+                .validate(value);
+    }
+
+    /**
+     * Executes only the statements which have a tag of the given profile, the profiles are
+     * frozen with the statements.
+     *
+     * @param value   The value to validate.
+     * @param profile The name of the profile
+     * @return The result of the executed statements
+     * @see ValueValidator#validateProfile(Object, String)
+     */
+    @NotNull
+    public ValueValidationResult<V> validateProfile(V value, @NotNull String profile) {
+        return validate(value, ValueValidator.getProfile(profiles, profile));
+    }
+
+    /**
+     * @return The plan of the statements with the given tags or <code>null</code> if no statement
+     * would be executed
+     */
+    @Nullable
+    ValidationPlan<V> select(Set<String> onlyTags) {
+        List<ValueValidationSummarizer<V>> plan = ValueValidator.selectPlan(summarizers, tagIndex, onlyTags);
+        return plan.isEmpty() ? null : new ValidationPlan<>(plan, validationRunner, condition);
+    }
+
+    /**
+     * Executes the statements with the runner of the frozen validator and passes the infos to the sink.
+     *
+     * @param value The value to validate.
+     * @param sink  Receives the infos of the executed statements
+     * @return <code>false</code> if the sink has stopped the validation process
+     * @see ValueValidator#validateInto(Object, ValidationSink)
+     */
+    @Override
+    public boolean validateInto(V value, @NotNull ValidationSink sink) {
+        if (isSkipped(value)) {
+            return true;
+        }
+        Objects.requireNonNull(sink);
+        ValidationScope scope = ValidationScope.enter();
+        try {
+            return validationRunner.validateInto(value, summarizers, sink);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    /**
+     * Executes the statements until the first statement fails, regardless of the runner of
+     * the frozen validator.
+     *
+     * @param value The value to validate.
+     * @return The result of the validation process.
+     */
+    @NotNull
+    public ValueValidationResult<V> validateAndStopOnFirstFail(V value) {
+        if (isSkipped(value)) {
+            return new ValueValidationResult<>(value);
+        }
+        ValidationScope scope = ValidationScope.enter();
+        try {
+            return ValueValidationRunners.<V>validateStopOnFirstFail().validate(value, summarizers);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    /**
+     * @return The number of top level statements and summarizers
+     */
+    public int size() {
+        return summarizers.size();
+    }
+
+    private boolean isSkipped(V value) {
+        if (condition != null && !condition.test(value)) {
+            LOGGER.debug("Skip validating (condition not met)");
+            return true;
+        }
+        return false;
+    }
+}
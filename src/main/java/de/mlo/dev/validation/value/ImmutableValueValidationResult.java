@@ -0,0 +1,100 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.TruncationReason;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * A read-only copy of a {@link ValueValidationResult}, which can be shared by several threads.
+ * All functions which would change the result throw an {@link UnsupportedOperationException}.
+ *
+ * @author mlo
+ */
+final class ImmutableValueValidationResult<V> extends ValueValidationResult<V> {
+
+    private final boolean sealed;
+
+    private ImmutableValueValidationResult(ValueValidationResult<V> result) {
+        super(result.getValue());
+        super.add(result);
+        super.markTruncated(result.getTruncationReason());
+        this.sealed = true;
+    }
+
+    /**
+     * @param result Any result
+     * @param <V>    The type of the value
+     * @return The given result if it is already immutable, otherwise a read-only copy
+     */
+    @NotNull
+    static <V> ValueValidationResult<V> of(@NotNull ValueValidationResult<V> result) {
+        if (result instanceof ImmutableValueValidationResult) {
+            return result;
+        }
+        return new ImmutableValueValidationResult<>(result);
+    }
+
+    @Override
+    public ValueValidationResult<V> add(Collection<ValidationInfo> validationInfos) {
+        if (sealed) {
+            throw unsupported();
+        }
+        return super.add(validationInfos);
+    }
+
+    @Override
+    public ValueValidationResult<V> add(ValidationInfo first, ValidationInfo... more) {
+        if (sealed) {
+            throw unsupported();
+        }
+        return super.add(first, more);
+    }
+
+    @Override
+    public ValueValidationResult<V> add(ValidationInfo validationInfo) {
+        if (sealed) {
+            throw unsupported();
+        }
+        return super.add(validationInfo);
+    }
+
+    @Override
+    public ValueValidationResult<V> add(ValidationResult validationResult) {
+        if (sealed) {
+            throw unsupported();
+        }
+        return super.add(validationResult);
+    }
+
+    @Override
+    public ValueValidationResult<V> markTruncated(TruncationReason reason) {
+        if (sealed) {
+            throw unsupported();
+        }
+        return super.markTruncated(reason);
+    }
+
+    @Override
+    public Iterator<ValidationInfo> iterator() {
+        Iterator<ValidationInfo> iterator = super.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public ValidationInfo next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("The result is shared and can't be changed");
+    }
+}
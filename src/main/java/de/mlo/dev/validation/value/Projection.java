@@ -0,0 +1,94 @@
+package de.mlo.dev.validation.value;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * A {@link Projection} maps a value to a part of it, like the mapper of
+ * {@link ValueValidator#switchValue(Function)}. Within one validation process, a projection is
+ * evaluated only once per source value and key. All branches which use a projection with the
+ * same key receive the same projected value.
+ * </p>
+ * Example: The address is parsed once, although three validators need it
+ * <pre>{@code
+ * static final Projection<Order, Address> ADDRESS = Projection.of("address", o -> parseAddress(o.getJson()));
+ *
+ * new ValueValidator<Order>()
+ *      .switchValue(ADDRESS)
+ *      .add(this::validateStreet)
+ *      .switchBack(Order.class)
+ *      .switchValue(ADDRESS)
+ *      .add(this::validateZipCode)
+ *      .switchBack(Order.class)
+ *      .validate(order);
+ * }</pre>
+ * Plain mappers passed to {@link ValueValidator#switchValue(Function)} are not memorized, they are
+ * applied on every call. Only projections are memorized: The projected values are kept until the
+ * outermost validator has finished, so use projections for expensive mappings only and not
+ * within loops over many elements. Projections are shared by the validators of one thread;
+ * validators executed by other threads evaluate the projection again.
+ *
+ * @param <V> The type of the source value
+ * @param <P> The type of the projected value
+ * @author mlo
+ */
+public final class Projection<V, P> implements Function<V, P> {
+
+    private final Object key;
+    private final Function<V, P> mapper;
+
+    private Projection(Object key, Function<V, P> mapper) {
+        this.key = key;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @param key    All projections with the same key must return the same value for the same source value
+     * @param mapper Maps the source value
+     * @param <V>    The type of the source value
+     * @param <P>    The type of the projected value
+     * @return A new projection
+     */
+    @NotNull
+    public static <V, P> Projection<V, P> of(@NotNull String key, @NotNull Function<V, P> mapper) {
+        return new Projection<>(Objects.requireNonNull(key), Objects.requireNonNull(mapper));
+    }
+
+    /**
+     * Memorizes a mapper by its identity. Use {@link #of(String, Function)} for mappers which are
+     * created more than once, for example lambdas in different methods.
+     *
+     * @param mapper Maps the source value, the mapper itself is used as key
+     * @param <V>    The type of the source value
+     * @param <P>    The type of the projected value
+     * @return The given projection or a new projection
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <V, P> Projection<V, P> of(@NotNull Function<V, P> mapper) {
+        if (mapper instanceof Projection) {
+            return (Projection<V, P>) mapper;
+        }
+        return new Projection<>(Objects.requireNonNull(mapper), mapper);
+    }
+
+    /**
+     * @param value The source value
+     * @return The projected value, which is evaluated only once per validation process
+     */
+    @Override
+    public P apply(V value) {
+        return ValidationScope.project(value, key, mapper);
+    }
+
+    /**
+     * @return The key of the projection
+     */
+    @NotNull
+    public Object getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,89 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationSink;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The statements of a validator, which are selected by a set of tags (see
+ * {@link ValueValidator#validate(Object, java.util.Set)}). The plan is computed once per selective
+ * validation and is executed with the runner and the condition of the validator, so nested
+ * plans are not computed again while the value is validated.
+ *
+ * @param <V> The type of the value to validate
+ * @author mlo
+ */
+final class ValidationPlan<V> implements IsValueValidator<V>, ValueValidationSummarizer<V> {
+
+    private static final Logger LOGGER = LogManager.getLogger(ValidationPlan.class.getName());
+
+    private final List<ValueValidationSummarizer<V>> summarizers;
+    private final ValueValidationRunner<V> validationRunner;
+    private final Predicate<V> condition;
+
+    ValidationPlan(@NotNull List<ValueValidationSummarizer<V>> summarizers,
+                   @NotNull ValueValidationRunner<V> validationRunner,
+                   @Nullable Predicate<V> condition) {
+        this.summarizers = summarizers;
+        this.validationRunner = Objects.requireNonNull(validationRunner);
+        this.condition = condition;
+    }
+
+    /**
+     * @return <code>true</code> if no statement would be executed
+     */
+    boolean isEmpty() {
+        return summarizers.isEmpty();
+    }
+
+    /**
+     * @param condition The condition of the validator, which is checked before the plan is executed
+     * @return A plan with the same statements and the given condition
+     */
+    @NotNull
+    ValidationPlan<V> withCondition(@Nullable Predicate<V> condition) {
+        return new ValidationPlan<>(summarizers, validationRunner, condition);
+    }
+
+    @NotNull
+    @Override
+    public ValueValidationResult<V> validate(V value) {
+        if (isSkipped(value)) {
+            return new ValueValidationResult<>(value);
+        }
+        ValidationScope scope = ValidationScope.enter();
+        try {
+            return validationRunner.validate(value, summarizers);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    @Override
+    public boolean validateInto(V value, @NotNull ValidationSink sink) {
+        if (isSkipped(value)) {
+            return true;
+        }
+        Objects.requireNonNull(sink);
+        ValidationScope scope = ValidationScope.enter();
+        try {
+            return validationRunner.validateInto(value, summarizers, sink);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    private boolean isSkipped(V value) {
+        if (condition != null && !condition.test(value)) {
+            LOGGER.debug("Skip validating (condition not met)");
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,190 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.TruncationReason;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Holds the state of one validation process of the current thread. The scope is entered by
+ * every {@link ValueValidator} and is cleared when the outermost validator has finished.
+ *
+ * @author mlo
+ */
+final class ValidationScope {
+
+    private static final ThreadLocal<ValidationScope> CURRENT = ThreadLocal.withInitial(ValidationScope::new);
+    private static final Object NULL = new Object();
+    private static final ValidationResult VISITING = new ValidationResult();
+
+    private int depth;
+    private Map<ProjectionKey, Object> projections;
+    private Map<ProjectionKey, ValidationResult> visited;
+    private int referenceDepth;
+
+    private ValidationScope() {
+    }
+
+    /**
+     * Enters the scope of the current thread. Every call must be followed by {@link #exit()}.
+     *
+     * @return The scope of the current thread
+     */
+    static ValidationScope enter() {
+        ValidationScope scope = CURRENT.get();
+        scope.depth++;
+        return scope;
+    }
+
+    /**
+     * Leaves the scope. The memorized values are removed, when the outermost validator leaves the scope.
+     */
+    void exit() {
+        if (--depth == 0) {
+            if (projections != null) {
+                projections.clear();
+            }
+            if (visited != null) {
+                visited.clear();
+            }
+            referenceDepth = 0;
+        }
+    }
+
+    /**
+     * Applies the mapper only once per validation process, source value (compared by identity)
+     * and key. Outside a validation process, the mapper is always applied.
+     */
+    @SuppressWarnings("unchecked")
+    static <V, P> P project(V value, Object key, Function<V, P> mapper) {
+        ValidationScope scope = CURRENT.get();
+        if (scope.depth == 0) {
+            return mapper.apply(value);
+        }
+        if (scope.projections == null) {
+            scope.projections = new HashMap<>();
+        }
+        ProjectionKey projectionKey = new ProjectionKey(value, key);
+        Object projected = scope.projections.get(projectionKey);
+        if (projected == null) {
+            P result = mapper.apply(value);
+            scope.projections.put(projectionKey, result == null ? NULL : result);
+            return result;
+        }
+        return projected == NULL ? null : (P) projected;
+    }
+
+    /**
+     * Validates a referenced object only once per validation process and validator. A reference
+     * to an object, which is currently validated (a cycle), is skipped. The result is relative to
+     * the referenced object, the caller has to add the path of the reference.
+     *
+     * @param target    The referenced object
+     * @param validator The validator of the referenced object
+     * @param maxDepth  The maximum number of nested references
+     * @return The cached or new result, an empty result for cycles or a truncated result if the
+     * maximum depth has been reached
+     */
+    <T> ValidationResult validateReference(T target, IsValueValidator<T> validator, int maxDepth) {
+        return validateReference(target, validator, null, validator, maxDepth);
+    }
+
+    /**
+     * Validates a referenced object only once per validation process, validator and set of
+     * tags, see {@link #validateReference(Object, IsValueValidator, int)}.
+     *
+     * @param target    The referenced object
+     * @param validator The validator of the referenced object
+     * @param onlyTags  The tags of a selective validation or <code>null</code>
+     * @param execution Executes the selected statements of the validator
+     * @param maxDepth  The maximum number of nested references
+     * @return The cached or new result, an empty result for cycles or a truncated result if the
+     * maximum depth has been reached
+     */
+    <T> ValidationResult validateReference(T target, IsValueValidator<T> validator, @Nullable Set<String> onlyTags,
+                                           IsValueValidator<T> execution, int maxDepth) {
+        if (visited == null) {
+            visited = new HashMap<>();
+        }
+        // The validator is compared by identity, because ProjectionKey compares the key by equals
+        ProjectionKey key = new ProjectionKey(target, new IdentityKey(validator, onlyTags));
+        ValidationResult cached = visited.get(key);
+        if (cached == VISITING) {
+            return new ValidationResult();
+        }
+        if (cached != null) {
+            return cached;
+        }
+        if (referenceDepth >= maxDepth) {
+            return new ValidationResult().markTruncated(TruncationReason.DEPTH_LIMIT);
+        }
+        visited.put(key, VISITING);
+        referenceDepth++;
+        ValidationResult result;
+        try {
+            result = execution.validate(target);
+        } catch (RuntimeException e) {
+            visited.remove(key);
+            throw e;
+        } finally {
+            referenceDepth--;
+        }
+        visited.put(key, result);
+        return result;
+    }
+
+    private static final class IdentityKey {
+        private final Object object;
+        private final Object variant;
+
+        private IdentityKey(Object object, @Nullable Object variant) {
+            this.object = object;
+            this.variant = variant;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof IdentityKey)) {
+                return false;
+            }
+            IdentityKey other = (IdentityKey) o;
+            return other.object == object && Objects.equals(other.variant, variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(object) + Objects.hashCode(variant);
+        }
+    }
+
+    private static final class ProjectionKey {
+        private final Object source;
+        private final Object key;
+        private final int hash;
+
+        private ProjectionKey(Object source, Object key) {
+            this.source = source;
+            this.key = key;
+            this.hash = 31 * System.identityHashCode(source) + key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ProjectionKey)) {
+                return false;
+            }
+            ProjectionKey other = (ProjectionKey) o;
+            return source == other.source && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package de.mlo.dev.validation.value;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * The {@link ValidatorRegistry} selects a validator by the runtime type of a value. Validators
+ * are registered for a class or an interface; a value is validated by the validator of the most
+ * specific registered type which is assignable from the type of the value. This replaces an
+ * <code>instanceof</code> chain for heterogeneous values.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * ValidatorRegistry registry = new ValidatorRegistry()
+ *      .register(Event.class, eventValidator)
+ *      .register(OrderEvent.class, orderEventValidator)
+ *      .register(Auditable.class, auditValidator);
+ * registry.validate(new OrderCreatedEvent()); // executes the orderEventValidator
+ * }</pre>
+ * The resolved validator is cached per type with a {@link ClassValue}, so the lookup is lock-free
+ * after the first value of a type. Registering a validator resets the cache. If the most specific
+ * type is ambiguous (a value implements two registered interfaces, which are not related), the
+ * resolution fails with an {@link IllegalStateException}. Register a validator for a more
+ * specific type to resolve the conflict.
+ *
+ * @author mlo
+ */
+public class ValidatorRegistry implements IsValueValidator<Object> {
+
+    private static final Logger LOGGER = LogManager.getLogger(ValidatorRegistry.class.getName());
+
+    private final Map<Class<?>, IsValueValidator<?>> validators = new LinkedHashMap<>();
+    private volatile ClassValue<IsValueValidator<?>> resolved = newCache();
+
+    /**
+     * Registers the validator for the given type and all of its subtypes, unless a more specific
+     * type is registered.
+     *
+     * @param type      A class or an interface
+     * @param validator The validator for the values of this type
+     * @param <T>       The type of the values
+     * @return The instance of this registry
+     */
+    @NotNull
+    public synchronized <T> ValidatorRegistry register(@NotNull Class<T> type, @NotNull IsValueValidator<? super T> validator) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(validator);
+        if (type.isPrimitive()) {
+            throw new IllegalArgumentException("Register the wrapper type instead of the primitive type: " + type);
+        }
+        validators.put(type, validator);
+        resolved = newCache();
+        return this;
+    }
+
+    /**
+     * @param type The runtime type of a value
+     * @return The validator of the most specific registered type or <code>null</code> if no
+     * registered type is assignable from the given type
+     * @throws IllegalStateException If the most specific type is ambiguous
+     */
+    @Nullable
+    public IsValueValidator<?> resolve(@NotNull Class<?> type) {
+        return resolved.get(Objects.requireNonNull(type));
+    }
+
+    /**
+     * Validates the value with the validator of the most specific registered type.
+     *
+     * @param value The value to validate
+     * @return The result of the resolved validator
+     * @throws IllegalArgumentException If the value is <code>null</code> or there is no validator for its type
+     */
+    @NotNull
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueValidationResult<Object> validate(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The type of a null value can't be resolved");
+        }
+        IsValueValidator<Object> validator = (IsValueValidator<Object>) resolve(value.getClass());
+        if (validator == null) {
+            throw new IllegalArgumentException("No validator registered for the type: " + value.getClass().getName());
+        }
+        return validator.validate(value);
+    }
+
+    private ClassValue<IsValueValidator<?>> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected IsValueValidator<?> computeValue(Class<?> type) {
+                return findMostSpecific(type);
+            }
+        };
+    }
+
+    private synchronized IsValueValidator<?> findMostSpecific(Class<?> type) {
+        IsValueValidator<?> exactMatch = validators.get(type);
+        if (exactMatch != null) {
+            return exactMatch;
+        }
+        List<Class<?>> candidates = new ArrayList<>();
+        for (Class<?> registered : validators.keySet()) {
+            if (registered.isAssignableFrom(type)) {
+                candidates.removeIf(candidate -> candidate.isAssignableFrom(registered));
+                if (candidates.stream().noneMatch(registered::isAssignableFrom)) {
+                    candidates.add(registered);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            LOGGER.debug("No validator for the type {}", type.getName());
+            return null;
+        }
+        if (candidates.size() > 1) {
+            throw new IllegalStateException("The validator for the type " + type.getName()
+                    + " is ambiguous, register a validator for a more specific type: " + candidates);
+        }
+        LOGGER.debug("Resolved the validator of {} for the type {}", candidates.get(0).getName(), type.getName());
+        return validators.get(candidates.get(0));
+    }
+}
@@ -1,5 +1,6 @@
 package de.mlo.dev.validation.value;
 
+import de.mlo.dev.validation.TruncationReason;
 import de.mlo.dev.validation.ValidationInfo;
 import de.mlo.dev.validation.basic.ValidationResult;
 
@@ -51,6 +52,12 @@ public class ValueValidationResult<V> extends ValidationResult {
         return (ValueValidationResult<V>) super.add(validationResult);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public ValueValidationResult<V> markTruncated(TruncationReason reason) {
+        return (ValueValidationResult<V>) super.markTruncated(reason);
+    }
+
     public V getValue() {
         return value;
     }
@@ -1,5 +1,7 @@
 package de.mlo.dev.validation.value;
 
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -30,4 +32,25 @@ public interface ValueValidationRunner<V> {
      */
     @NotNull
     ValueValidationResult<V> validate(V value, List<ValueValidationSummarizer<V>> validators);
+
+    /**
+     * Executes the given instructions like {@link #validate(Object, List)} but passes every
+     * {@link ValidationInfo} to the given sink instead of aggregating them. The default
+     * implementation aggregates the result first, the predefined runners
+     * {@link ValueValidationRunners#validateAll()} and
+     * {@link ValueValidationRunners#validateStopOnFirstFail()} push the infos directly.
+     *
+     * @param value      The value which has to be validated
+     * @param validators A list of instructions which has to be executed
+     * @param sink       Receives the infos of the executed instructions
+     * @return <code>false</code> if the sink has stopped the validation process
+     */
+    default boolean validateInto(V value, List<ValueValidationSummarizer<V>> validators, @NotNull ValidationSink sink) {
+        for (ValidationInfo info : validate(value, validators)) {
+            if (!sink.accept(info)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -1,21 +1,51 @@
 package de.mlo.dev.validation.value;
 
+import de.mlo.dev.validation.ValidationBudget;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
 import de.mlo.dev.validation.basic.ValidationResult;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * @author mlo
  */
 public class ValueValidationRunners {
     private static final Logger LOGGER = LogManager.getLogger(ValueValidationRunners.class.getName());
+    @SuppressWarnings("rawtypes")
+    private static final ValueValidationRunner VALIDATE_ALL = new DefaultRunner<>(false);
+    @SuppressWarnings("rawtypes")
+    private static final ValueValidationRunner VALIDATE_STOP_ON_FIRST_FAIL = new DefaultRunner<>(true);
 
     private ValueValidationRunners() {
     }
 
+    /**
+     * @param <V> The type of the value
+     * @return The shared runner which executes all instructions, see {@link #validateAll(Object, List)}.
+     * The runner supports the streaming mode.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <V> ValueValidationRunner<V> validateAll() {
+        return VALIDATE_ALL;
+    }
+
+    /**
+     * @param <V> The type of the value
+     * @return The shared runner which stops on the first failed instruction, see
+     * {@link #validateStopOnFirstFail(Object, List)}. The runner supports the streaming mode.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <V> ValueValidationRunner<V> validateStopOnFirstFail() {
+        return VALIDATE_STOP_ON_FIRST_FAIL;
+    }
+
     /**
      * Executes all added {@link ValueValidationStatement}s in the order they have been
      * added. If a single instruction fails, the {@link ValueValidationResult#isValid()}
@@ -80,4 +110,109 @@ public class ValueValidationRunners {
         LOGGER.debug("Validation was successful");
         return result;
     }
+
+    /**
+     * Creates a runner, which executes the instructions in the order they have been added
+     * until the given budget is exhausted. The result is
+     * {@link ValueValidationResult#markTruncated(de.mlo.dev.validation.TruncationReason) marked as truncated}
+     * if the runner has stopped early and never contains more failures than the budget allows.
+     *
+     * @param budget The limits of the validation process
+     * @param <V>    The type of the value
+     * @return A new runner
+     */
+    @NotNull
+    public static <V> ValueValidationRunner<V> withBudget(@NotNull ValidationBudget budget) {
+        Objects.requireNonNull(budget);
+        return (value, instructions) -> validateWithBudget(value, instructions, budget);
+    }
+
+    @NotNull
+    private static <V> ValueValidationResult<V> validateWithBudget(V value, List<ValueValidationSummarizer<V>> instructions,
+                                                                  ValidationBudget budget) {
+        LOGGER.debug("Start validating {} instructions with a budget", instructions.size());
+        ValueValidationResult<V> result = new ValueValidationResult<>(value);
+        try (ValidationBudget.Tracker tracker = budget.start()) {
+            for (int i = 0; i < instructions.size(); i++) {
+                if (tracker.isExhausted()) {
+                    LOGGER.debug("Validation stopped before instruction number {}: {}", i + 1, tracker.getReason());
+                    result.markTruncated(tracker.getReason());
+                    break;
+                }
+                tracker.charge(1);
+                if (!tracker.addWithinLimit(result, instructions.get(i).validate(value))) {
+                    LOGGER.debug("Validation stopped: Instruction number {} exceeded the failure limit", i + 1);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes the infos of the given instructions directly to the sink.
+     *
+     * @param value           The value which has to be validated
+     * @param instructions    The instructions which have to be executed
+     * @param sink            Receives the infos of the executed instructions
+     * @param stopOnFirstFail <code>true</code> to stop after the first INVALID info
+     * @param <V>             The type of the value
+     * @return <code>false</code> if the sink has stopped the validation process
+     */
+    private static <V> boolean validateInto(V value, List<ValueValidationSummarizer<V>> instructions,
+                                            ValidationSink sink, boolean stopOnFirstFail) {
+        LOGGER.debug("Start streaming {} instructions", instructions.size());
+        FailureTrackingSink trackingSink = stopOnFirstFail ? new FailureTrackingSink(sink) : null;
+        for (int i = 0; i < instructions.size(); i++) {
+            if (!instructions.get(i).validateInto(value, trackingSink != null ? trackingSink : sink)) {
+                LOGGER.debug("Validation stopped by the sink: Instruction number {}", i + 1);
+                return false;
+            }
+            if (trackingSink != null && trackingSink.failed) {
+                LOGGER.debug("Validation failed: Instruction number {}", i + 1);
+                return true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The predefined runners, which implement the aggregating and the streaming mode
+     */
+    private static final class DefaultRunner<V> implements ValueValidationRunner<V> {
+        private final boolean stopOnFirstFail;
+
+        private DefaultRunner(boolean stopOnFirstFail) {
+            this.stopOnFirstFail = stopOnFirstFail;
+        }
+
+        @NotNull
+        @Override
+        public ValueValidationResult<V> validate(V value, List<ValueValidationSummarizer<V>> validators) {
+            return stopOnFirstFail ? validateStopOnFirstFail(value, validators) : validateAll(value, validators);
+        }
+
+        @Override
+        public boolean validateInto(V value, List<ValueValidationSummarizer<V>> validators, @NotNull ValidationSink sink) {
+            return ValueValidationRunners.validateInto(value, validators, sink, stopOnFirstFail);
+        }
+    }
+
+    /**
+     * Remembers if an INVALID info has been passed to the delegate
+     */
+    private static final class FailureTrackingSink implements ValidationSink {
+        private final ValidationSink delegate;
+        private boolean failed;
+
+        private FailureTrackingSink(ValidationSink delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean accept(@NotNull ValidationInfo info) {
+            failed |= info.isInvalid();
+            return delegate.accept(info);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package de.mlo.dev.validation.value;
 
 import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
 import de.mlo.dev.validation.basic.ValidationResult;
 import org.jetbrains.annotations.NotNull;
 
@@ -53,4 +54,15 @@ public interface ValueValidationStatement<V> extends ValueValidationSummarizer<V
     default ValidationResult validate(V value) {
         return new ValidationResult().add(execute(value));
     }
+
+    /**
+     * Passes the result of {@link #execute(Object)} directly to the sink
+     * <hr>
+     * {@inheritDoc}
+     */
+    @Override
+    default boolean validateInto(V value, @NotNull ValidationSink sink) {
+        ValidationInfo info = execute(value);
+        return info == null || sink.accept(info);
+    }
 }
@@ -1,5 +1,7 @@
 package de.mlo.dev.validation.value;
 
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
 import de.mlo.dev.validation.basic.ValidationResult;
 import org.jetbrains.annotations.NotNull;
 
@@ -20,4 +22,22 @@ public interface ValueValidationSummarizer<V> {
      */
     @NotNull
     ValidationResult validate(V value);
+
+    /**
+     * Executes the validation process like {@link #validate(Object)} but passes every
+     * {@link ValidationInfo} to the given sink. The default implementation collects
+     * the result first, implementations should push the infos directly.
+     *
+     * @param value The value to validate.
+     * @param sink  Receives the infos of the executed parts
+     * @return <code>false</code> if the sink has stopped the validation process
+     */
+    default boolean validateInto(V value, @NotNull ValidationSink sink) {
+        for (ValidationInfo info : validate(value)) {
+            if (!sink.accept(info)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -1,13 +1,26 @@
 package de.mlo.dev.validation.value;
 
+import de.mlo.dev.validation.FieldPath;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationSink;
+import de.mlo.dev.validation.basic.ValidationResult;
 import de.mlo.dev.validation.basic.ValidationRunner;
 import de.mlo.dev.validation.basic.ValidationSummarizer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -48,6 +61,16 @@ import java.util.function.Supplier;
  */
 public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSummarizer<V> {
 
+    /**
+     * The default limit of nested {@link #reference(String, Function, IsValueValidator) references}
+     */
+    public static final int DEFAULT_MAX_REFERENCE_DEPTH = 64;
+
+    /**
+     * The validators which are frozen at the moment by the current thread, see {@link #freeze()}
+     */
+    private static final ThreadLocal<Map<ValueValidator<?>, FrozenReference<?>>> FREEZING = new ThreadLocal<>();
+
     /**
      * The list contains {@link ValueValidationSummarizer} which has to be executed
      * from a {@link ValueValidationRunner}
@@ -58,20 +81,31 @@ public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSu
      * The applied {@link ValueValidationRunner} defines how the list of added
      * statements are executed.
      */
-    private ValueValidationRunner<V> validationRunner = ValueValidationRunners::validateAll;
+    private ValueValidationRunner<V> validationRunner = ValueValidationRunners.validateAll();
     private ValueValidator<?> parentValidator;
+    /**
+     * The tags of the summarizers, the index matches the index in {@link #aggregators}.
+     * Untagged summarizers have <code>null</code> tags.
+     */
+    private final List<Set<String>> aggregatorTags = new ArrayList<>();
+    private final Map<String, Set<String>> profiles = new HashMap<>();
+    /**
+     * The indices of the summarizers per tag. The index is built on the first tagged validation
+     * and is reset when the validator is changed.
+     */
+    private volatile Map<String, BitSet> tagIndex;
 
     public ValueValidator(){
 
     }
 
-    private <P> ValueValidator(ValueValidator<P> parentValidator, Function<P, V> mapper){
-        parentValidator.addSummarizer(p -> validate(mapper.apply(p)));
+    private <P> ValueValidator(ValueValidator<P> parentValidator, Function<P, V> mapper, @Nullable FieldPath path){
+        parentValidator.addSummarizer(new SwitchedSummarizer<>(this, mapper, path));
         this.parentValidator = parentValidator;
     }
 
     private ValueValidator(ValueValidator<?> parentValidator, Supplier<V> mapper){
-        parentValidator.addSummarizer(p -> validate(mapper.get()));
+        parentValidator.addSummarizer(new SwitchedSummarizer<>(this, p -> mapper.get(), null));
         this.parentValidator = parentValidator;
     }
 
@@ -146,10 +180,64 @@ public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSu
     public ValueValidator<V> addSummarizer(@Nullable ValueValidationSummarizer<V> validationSummarizer) {
         if (validationSummarizer != null) {
             aggregators.add(validationSummarizer);
+            aggregatorTags.add(null);
+            tagIndex = null;
         }
         return this;
     }
 
+    /**
+     * <p>
+     * Validates a referenced object of an object graph. Within one validation process every
+     * referenced object is validated only once per validator (the objects are compared by
+     * identity), other references to the same object reuse the result. A reference to an object
+     * which is currently validated (a cycle) is skipped. The failed infos get the field of the
+     * reference as path prefix, like <code>customer.name</code>.
+     * </p>
+     * Example: A category references its parent category
+     * <pre>{@code
+     * ValueValidator<Category> categoryValidator = new ValueValidator<>();
+     * categoryValidator
+     *      .add(c -> validateName(c.getName()))
+     *      .reference("parent", Category::getParent, categoryValidator);
+     * }</pre>
+     * Nested references are limited to {@value #DEFAULT_MAX_REFERENCE_DEPTH} levels, the result
+     * is marked as truncated with {@link de.mlo.dev.validation.TruncationReason#DEPTH_LIMIT} if
+     * the limit is reached. <code>null</code> references are ignored.
+     *
+     * @param field     The name of the reference
+     * @param reference Extracts the referenced object
+     * @param validator The validator of the referenced object, which can be this validator
+     * @param <T>       The type of the referenced object
+     * @return The instance of this validator
+     */
+    @NotNull
+    public <T> ValueValidator<V> reference(@NotNull String field, @NotNull Function<V, T> reference,
+                                           @NotNull IsValueValidator<T> validator) {
+        return reference(field, reference, validator, DEFAULT_MAX_REFERENCE_DEPTH);
+    }
+
+    /**
+     * Like {@link #reference(String, Function, IsValueValidator)} with a custom limit of nested
+     * references.
+     *
+     * @param field     The name of the reference
+     * @param reference Extracts the referenced object
+     * @param validator The validator of the referenced object, which can be this validator
+     * @param maxDepth  The maximum number of nested references
+     * @param <T>       The type of the referenced object
+     * @return The instance of this validator
+     */
+    @NotNull
+    public <T> ValueValidator<V> reference(@NotNull String field, @NotNull Function<V, T> reference,
+                                           @NotNull IsValueValidator<T> validator, int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("The maximum depth must be positive: " + maxDepth);
+        }
+        return addSummarizer(new ReferenceSummarizer<>(Objects.requireNonNull(field), Objects.requireNonNull(reference),
+                Objects.requireNonNull(validator), maxDepth));
+    }
+
     /**
      * Starts a new {@link ValueValidatorGroup validation group} which can have multiple
      * {@link ValueValidationStatement statements} and can aggregate the result of these. Use
@@ -176,6 +264,55 @@ public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSu
         return new ValueValidatorConditional<>(this, condition);
     }
 
+    /**
+     * Starts a new {@link ValueValidatorSwitch switch}, which executes only the branch that
+     * matches the key of the value. The key is extracted once and the branch is selected by a
+     * table lookup. Finish the switch by calling {@link ValueValidatorSwitch#build() build()}
+     *
+     * @param keyExtractor Extracts the key of the value, for example the type of an event
+     * @param <K>          The type of the key
+     * @return A new instance of {@link ValueValidatorSwitch}. Return to this validator
+     * with {@link ValueValidatorSwitch#build()}
+     */
+    public <K> ValueValidatorSwitch<V, K, ? extends ValueValidator<V>> switchOn(Function<V, K> keyExtractor) {
+        return new ValueValidatorSwitch<>(this, keyExtractor);
+    }
+
+    /**
+     * Starts a new {@link ValueValidatorForEach loop}, which validates every element of a
+     * collection with the given element validator. The failed infos get the path of the
+     * element, like <code>items[42].price</code>. Finish the loop by calling
+     * {@link ValueValidatorForEach#build() build()}, which {@link #tag(String...) tags} the loop
+     * with the field.
+     *
+     * @param field            The name of the collection, which is the first part of the paths
+     * @param elements         Extracts the collection from the value
+     * @param elementValidator Validates every element
+     * @param <E>              The type of the elements
+     * @return A new instance of {@link ValueValidatorForEach}. Return to this validator
+     * with {@link ValueValidatorForEach#build()}
+     */
+    public <E> ValueValidatorForEach<V, E, ? extends ValueValidator<V>> forEach(String field,
+                                                                                 Function<V, ? extends Collection<E>> elements,
+                                                                                 IsValueValidator<E> elementValidator) {
+        return new ValueValidatorForEach<>(this, field, elements, elementValidator);
+    }
+
+    /**
+     * Like {@link #forEach(String, Function, IsValueValidator)}, but the paths only contain the
+     * index of the element, like <code>[42].price</code>.
+     *
+     * @param elements         Extracts the collection from the value
+     * @param elementValidator Validates every element
+     * @param <E>              The type of the elements
+     * @return A new instance of {@link ValueValidatorForEach}. Return to this validator
+     * with {@link ValueValidatorForEach#build()}
+     */
+    public <E> ValueValidatorForEach<V, E, ? extends ValueValidator<V>> forEach(Function<V, ? extends Collection<E>> elements,
+                                                                                 IsValueValidator<E> elementValidator) {
+        return forEach(null, elements, elementValidator);
+    }
+
     /**
      * This will start the validation process. The execution process depends on the used
      * runner but usually the added {@link ValueValidationStatement statements} will be executed
@@ -194,7 +331,239 @@ public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSu
      */
     @NotNull
     public ValueValidationResult<V> validate(V value) {
-        return validationRunner.validate(value, aggregators);
+        ValidationScope scope = ValidationScope.enter();
+        try {
+            return validationRunner.validate(value, aggregators);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    /**
+     * Starts the validation process like {@link #validate(Object)} but passes every
+     * {@link ValidationInfo} directly to the given sink. No {@link ValueValidationResult}
+     * is created for the added statements, so the memory usage does not depend on
+     * the number of infos. The sink can stop the process by returning <code>false</code>.
+     *
+     * @param value The value to validate.
+     * @param sink  Receives the infos of the executed statements
+     * @return <code>false</code> if the sink has stopped the validation process
+     */
+    @Override
+    public boolean validateInto(V value, @NotNull ValidationSink sink) {
+        Objects.requireNonNull(sink);
+        ValidationScope scope = ValidationScope.enter();
+        try {
+            return validationRunner.validateInto(value, aggregators, sink);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    /**
+     * <p>
+     * Tags the last added statement or summarizer, for example a group, a condition or a
+     * {@link #switchValue(Function) switched value}. Use the tags to validate only a part of the
+     * value with {@link #validate(Object, Set)}.
+     * </p>
+     * Example:
+     * <pre>{@code
+     * new ValueValidator<Person>()
+     *      .add(p -> validateName(p.getName())).tag("name")
+     *      .add(p -> validateAge(p.getAge())).tag("age", "adult")
+     *      .validate(person, Set.of("name"));
+     * }</pre>
+     *
+     * @param tags The tags or field names of the last added statement
+     * @return The instance of this validator
+     */
+    @NotNull
+    public ValueValidator<V> tag(@NotNull String... tags) {
+        if (aggregators.isEmpty()) {
+            throw new IllegalStateException("There is no statement to tag");
+        }
+        int last = aggregatorTags.size() - 1;
+        Set<String> merged = aggregatorTags.get(last) == null ? new HashSet<>() : new HashSet<>(aggregatorTags.get(last));
+        merged.addAll(Arrays.asList(tags));
+        aggregatorTags.set(last, Collections.unmodifiableSet(merged));
+        tagIndex = null;
+        return this;
+    }
+
+    /**
+     * Defines a named set of tags, which can be validated with {@link #validateProfile(Object, String)},
+     * similar to the groups of Jakarta Bean Validation.
+     *
+     * @param name The name of the profile
+     * @param tags The tags of the statements, which belong to the profile
+     * @return The instance of this validator
+     */
+    @NotNull
+    public ValueValidator<V> profile(@NotNull String name, @NotNull String... tags) {
+        profiles.put(Objects.requireNonNull(name), Set.copyOf(Arrays.asList(tags)));
+        return this;
+    }
+
+    /**
+     * <p>
+     * Executes only the statements and summarizers which have at least one of the given tags.
+     * A tagged group, condition, switch, loop or reference is executed completely. Untagged
+     * groups, conditions, switched values, switches, loops and references are searched for
+     * tagged statements, other untagged statements are skipped. Use this for partial updates,
+     * which only have to validate the changed fields.
+     * </p>
+     * The indices of the tagged statements are computed once per change of the validator. The
+     * selected statements are the union of the indices of the given tags, so any combination of
+     * tags can be validated without growing a cache. The plan of the nested validators is
+     * computed once per call and is passed down, so later changes of a nested validator are
+     * respected. A referenced validator is searched when the reference is validated for the first
+     * time, because references may be cyclic.
+     *
+     * @param value    The value to validate.
+     * @param onlyTags The tags of the statements, which have to be executed
+     * @return The result of the executed statements
+     */
+    @NotNull
+    public ValueValidationResult<V> validate(V value, @NotNull Set<String> onlyTags) {
+        return new ValidationPlan<>(getPlan(onlyTags), validationRunner, null).validate(value);
+    }
+
+    /**
+     * Executes only the statements which have a tag of the given {@link #profile(String, String...) profile}.
+     *
+     * @param value   The value to validate.
+     * @param profile The name of the profile
+     * @return The result of the executed statements
+     * @see #validate(Object, Set)
+     */
+    @NotNull
+    public ValueValidationResult<V> validateProfile(V value, @NotNull String profile) {
+        return validate(value, getProfile(profiles, profile));
+    }
+
+    static Set<String> getProfile(Map<String, Set<String>> profiles, String profile) {
+        Set<String> tags = profiles.get(profile);
+        if (tags == null) {
+            throw new IllegalArgumentException("Unknown profile: " + profile);
+        }
+        return tags;
+    }
+
+    /**
+     * @return The plan of the statements with the given tags or <code>null</code> if no statement
+     * would be executed
+     */
+    @Nullable
+    ValidationPlan<V> select(Set<String> onlyTags) {
+        List<ValueValidationSummarizer<V>> plan = getPlan(onlyTags);
+        return plan.isEmpty() ? null : new ValidationPlan<>(plan, validationRunner, null);
+    }
+
+    private List<ValueValidationSummarizer<V>> getPlan(Set<String> onlyTags) {
+        Map<String, BitSet> index = tagIndex;
+        if (index == null) {
+            index = buildTagIndex(aggregatorTags);
+            tagIndex = index;
+        }
+        return selectPlan(aggregators, index, onlyTags);
+    }
+
+    /**
+     * @return The indices of the summarizers per tag
+     */
+    static Map<String, BitSet> buildTagIndex(List<Set<String>> aggregatorTags) {
+        Map<String, BitSet> index = new HashMap<>();
+        for (int i = 0; i < aggregatorTags.size(); i++) {
+            Set<String> tags = aggregatorTags.get(i);
+            if (tags != null) {
+                for (String tag : tags) {
+                    index.computeIfAbsent(tag, t -> new BitSet()).set(i);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return The summarizers which have at least one of the given tags and the selected parts of
+     * the other summarizers, an empty list if no statement would be executed
+     */
+    static <V> List<ValueValidationSummarizer<V>> selectPlan(List<ValueValidationSummarizer<V>> summarizers,
+                                                             Map<String, BitSet> index,
+                                                             Set<String> onlyTags) {
+        BitSet selected = new BitSet(summarizers.size());
+        for (String tag : onlyTags) {
+            BitSet indices = index.get(tag);
+            if (indices != null) {
+                selected.or(indices);
+            }
+        }
+        List<ValueValidationSummarizer<V>> plan = new ArrayList<>();
+        for (int i = 0; i < summarizers.size(); i++) {
+            ValueValidationSummarizer<V> summarizer = summarizers.get(i);
+            if (selected.get(i)) {
+                plan.add(summarizer);
+            } else {
+                ValueValidationSummarizer<V> part = selectSummarizer(summarizer, onlyTags);
+                if (part != null) {
+                    plan.add(part);
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * @return The part of the summarizer, which executes the statements with the given tags, or
+     * <code>null</code> if the summarizer has no such statements or can't be searched
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <V> ValueValidationSummarizer<V> selectSummarizer(ValueValidationSummarizer<V> summarizer, Set<String> onlyTags) {
+        if (summarizer instanceof ValueValidator) {
+            return ((ValueValidator<V>) summarizer).select(onlyTags);
+        }
+        if (summarizer instanceof FrozenValueValidator) {
+            return ((FrozenValueValidator<V>) summarizer).select(onlyTags);
+        }
+        if (summarizer instanceof SwitchedSummarizer) {
+            return ((SwitchedSummarizer<V, ?>) summarizer).select(onlyTags);
+        }
+        if (summarizer instanceof ValueValidatorSwitch) {
+            return ((ValueValidatorSwitch<V, ?, ?>) summarizer).select(onlyTags);
+        }
+        if (summarizer instanceof ValueValidatorForEach) {
+            return ((ValueValidatorForEach<V, ?, ?>) summarizer).select(onlyTags);
+        }
+        if (summarizer instanceof ReferenceSummarizer) {
+            return ((ReferenceSummarizer<V, ?>) summarizer).select(onlyTags);
+        }
+        return null;
+    }
+
+    /**
+     * @return The plan of the validator, which executes the statements with the given tags, or
+     * <code>null</code> if the validator has no such statements or can't be searched
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <V> ValidationPlan<V> selectValidator(IsValueValidator<V> validator, Set<String> onlyTags) {
+        if (validator instanceof ValueValidator) {
+            return ((ValueValidator<V>) validator).select(onlyTags);
+        }
+        if (validator instanceof FrozenValueValidator) {
+            return ((FrozenValueValidator<V>) validator).select(onlyTags);
+        }
+        if (validator instanceof FrozenReference) {
+            return ((FrozenReference<V>) validator).frozen.select(onlyTags);
+        }
+        return null;
+    }
+
+    private static boolean isSelectable(IsValueValidator<?> validator) {
+        return validator instanceof ValueValidator
+                || validator instanceof FrozenValueValidator
+                || validator instanceof FrozenReference;
     }
 
     /**
@@ -231,7 +600,7 @@ public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSu
      */
     @NotNull
     public ValueValidator<V> setValidateAll() {
-        return setValidationRunner(ValueValidationRunners::validateAll);
+        return setValidationRunner(ValueValidationRunners.validateAll());
     }
 
     /**
@@ -247,7 +616,7 @@ public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSu
      */
     @NotNull
     public ValueValidator<V> setValidateAndStopOnFirstFail() {
-        return setValidationRunner(ValueValidationRunners::validateStopOnFirstFail);
+        return setValidationRunner(ValueValidationRunners.validateStopOnFirstFail());
     }
 
     /**
@@ -283,6 +652,11 @@ public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSu
      * wont be executed, if the validation has failed while executing the previous
      * statements.
      * </p>
+     * <p>
+     * The mapper is applied every time the new validator is executed. Pass a
+     * {@link Projection} to evaluate an expensive mapping only once per validation
+     * process and value, if it is used by several branches.
+     * </p>
      *
      * @param mapper The mapper is used to switch value within a bean
      * @return A new {@link ValueValidator}. The type of the new validator is the
@@ -291,7 +665,36 @@ public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSu
      */
     @NotNull
     public <P> ValueValidator<P> switchValue(Function<V, P> mapper){
-        return new ValueValidator<>(this, mapper);
+        return new ValueValidator<>(this, mapper, null);
+    }
+
+    /**
+     * <p>
+     * Like {@link #switchValue(Function)}, but the failed infos of the new validator get the
+     * given field as path prefix. A failure of the field <code>zipCode</code> is reported as
+     * <code>address.zipCode</code> for example:
+     * </p>
+     * <pre>{@code
+     * new ValueValidator<Person>()
+     *  .switchValue("address", Person::getAddress)
+     *  .add(a -> validateZipCode(a.getZipCode())) // <-- Field 'zipCode' becomes 'address.zipCode'
+     *  .switchBack(Person.class)
+     *  .validate(person);
+     * }</pre>
+     * Only the failed infos are copied, the paths share their segments and are rendered lazily.
+     * The switched value is {@link #tag(String...) tagged} with the field.
+     *
+     * @param field  The name of the switched value
+     * @param mapper The mapper is used to switch value within a bean
+     * @return A new {@link ValueValidator}. The type of the new validator is the
+     * type of the value you switched too.
+     * @param <P> Type of the value you would like to switch too
+     */
+    @NotNull
+    public <P> ValueValidator<P> switchValue(@NotNull String field, Function<V, P> mapper){
+        ValueValidator<P> child = new ValueValidator<>(this, mapper, FieldPath.of(field));
+        tag(field);
+        return child;
     }
 
     /**
@@ -413,5 +816,218 @@ public class ValueValidator<V> implements IsValueValidator<V>, ValueValidationSu
         return this;
     }
 
+    /**
+     * Creates an immutable snapshot of this validator. The added statements and summarizers
+     * are copied, nested groups, conditions, switched and referenced validators are frozen recursively.
+     * Later changes of this validator don't affect the snapshot.<br>
+     * Freeze a validator once, for example in a static field, and share the snapshot with all
+     * threads instead of creating the validator for every validation:
+     * <pre>{@code
+     * static final FrozenValueValidator<Person> PERSON_VALIDATOR = new ValueValidator<Person>()
+     *      .add(p -> validateName(p.getName()))
+     *      .add(p -> validateAge(p.getAge()))
+     *      .freeze();
+     * }</pre>
+     *
+     * @return A thread safe, immutable {@link FrozenValueValidator}
+     */
+    @NotNull
+    public FrozenValueValidator<V> freeze() {
+        return freeze(null);
+    }
+
+    @NotNull
+    FrozenValueValidator<V> freeze(@Nullable Predicate<V> condition) {
+        Map<ValueValidator<?>, FrozenReference<?>> freezing = FREEZING.get();
+        boolean root = freezing == null;
+        if (root) {
+            freezing = new IdentityHashMap<>();
+            FREEZING.set(freezing);
+        }
+        try {
+            FrozenReference<V> reference = new FrozenReference<>();
+            freezing.put(this, reference);
+            @SuppressWarnings("unchecked")
+            ValueValidationSummarizer<V>[] summarizers = new ValueValidationSummarizer[aggregators.size()];
+            for (int i = 0; i < summarizers.length; i++) {
+                summarizers[i] = freezeSummarizer(aggregators.get(i));
+            }
+            FrozenValueValidator<V> frozen = new FrozenValueValidator<>(summarizers, validationRunner, condition,
+                    buildTagIndex(aggregatorTags), profiles);
+            reference.frozen = frozen;
+            return frozen;
+        } finally {
+            if (root) {
+                FREEZING.remove();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> ValueValidationSummarizer<V> freezeSummarizer(ValueValidationSummarizer<V> summarizer) {
+        if (summarizer instanceof ValueValidator) {
+            return ((ValueValidator<V>) summarizer).freeze();
+        }
+        if (summarizer instanceof SwitchedSummarizer) {
+            return ((SwitchedSummarizer<V, ?>) summarizer).freeze();
+        }
+        if (summarizer instanceof ValueValidatorSwitch) {
+            return ((ValueValidatorSwitch<V, ?, ?>) summarizer).freeze();
+        }
+        if (summarizer instanceof ValueValidatorForEach) {
+            return ((ValueValidatorForEach<V, ?, ?>) summarizer).freeze();
+        }
+        if (summarizer instanceof ReferenceSummarizer) {
+            return ((ReferenceSummarizer<V, ?>) summarizer).freeze();
+        }
+        if (summarizer instanceof ValueValidatorGraph) {
+            return ((ValueValidatorGraph<V>) summarizer).freeze();
+        }
+        return summarizer;
+    }
+
+    /**
+     * Maps the value of the parent validator and passes it to the child validator
+     *
+     * @param <P> The type of the value of the parent validator
+     * @param <V> The type of the value of the child validator
+     */
+    private static final class SwitchedSummarizer<P, V> implements ValueValidationSummarizer<P> {
+        private final ValueValidationSummarizer<V> validator;
+        private final Function<P, V> mapper;
+        private final FieldPath path;
+
+        private SwitchedSummarizer(ValueValidationSummarizer<V> validator, Function<P, V> mapper, @Nullable FieldPath path) {
+            this.validator = validator;
+            this.mapper = mapper;
+            this.path = path;
+        }
+
+        /**
+         * @return A summarizer which only executes the statements with the given tags or
+         * <code>null</code> if there are no such statements
+         */
+        @Nullable
+        private SwitchedSummarizer<P, V> select(Set<String> onlyTags) {
+            ValueValidationSummarizer<V> selected = ValueValidator.selectSummarizer(validator, onlyTags);
+            return selected == null ? null : new SwitchedSummarizer<>(selected, mapper, path);
+        }
+
+        private SwitchedSummarizer<P, V> freeze() {
+            return new SwitchedSummarizer<>(ValueValidator.freezeSummarizer(validator), mapper, path);
+        }
+
+        @NotNull
+        @Override
+        public ValidationResult validate(P value) {
+            ValidationResult result = validator.validate(mapper.apply(value));
+            return path == null ? result : FieldPaths.prefixFailures(result, path);
+        }
+
+        @Override
+        public boolean validateInto(P value, @NotNull ValidationSink sink) {
+            return validator.validateInto(mapper.apply(value), path == null ? sink : FieldPaths.prefixFailures(sink, path));
+        }
+    }
+
+    /**
+     * Validates a referenced object once per validation process, see {@link ValidationScope}
+     *
+     * @param <V> The type of the value of the validator
+     * @param <T> The type of the referenced object
+     */
+    private static final class ReferenceSummarizer<V, T> implements ValueValidationSummarizer<V> {
+        private final FieldPath field;
+        private final Function<V, T> reference;
+        private final IsValueValidator<T> validator;
+        private final int maxDepth;
+        private final Set<String> onlyTags;
+        private volatile IsValueValidator<T> selected;
+
+        private ReferenceSummarizer(String field, Function<V, T> reference, IsValueValidator<T> validator, int maxDepth) {
+            this(FieldPath.of(field), reference, validator, maxDepth, null);
+        }
+
+        private ReferenceSummarizer(FieldPath field, Function<V, T> reference, IsValueValidator<T> validator,
+                                    int maxDepth, @Nullable Set<String> onlyTags) {
+            this.field = field;
+            this.reference = reference;
+            this.validator = validator;
+            this.maxDepth = maxDepth;
+            this.onlyTags = onlyTags;
+        }
+
+        /**
+         * A referenced validator which is frozen at the moment is not frozen again, the reference
+         * points to its snapshot instead. This keeps cyclic references like a validator which
+         * references itself finite.
+         */
+        @SuppressWarnings("unchecked")
+        private ReferenceSummarizer<V, T> freeze() {
+            if (!(validator instanceof ValueValidator)) {
+                return this;
+            }
+            FrozenReference<T> frozen = (FrozenReference<T>) FREEZING.get().get(validator);
+            IsValueValidator<T> target = frozen != null ? frozen : ((ValueValidator<T>) validator).freeze();
+            return new ReferenceSummarizer<>(field, reference, target, maxDepth, onlyTags);
+        }
+
+        /**
+         * The referenced validator may reference the validator of this summarizer, so its plan
+         * is computed when the first object is referenced.
+         *
+         * @return A reference which only executes the statements of the referenced validator
+         * with the given tags or <code>null</code> if the referenced validator can't be searched
+         */
+        @Nullable
+        private ReferenceSummarizer<V, T> select(Set<String> onlyTags) {
+            if (!isSelectable(validator)) {
+                return null;
+            }
+            return new ReferenceSummarizer<>(field, reference, validator, maxDepth, Set.copyOf(onlyTags));
+        }
+
+        @NotNull
+        @Override
+        public ValidationResult validate(V value) {
+            T target = reference.apply(value);
+            if (target == null) {
+                return new ValidationResult();
+            }
+            ValidationScope scope = ValidationScope.enter();
+            try {
+                ValidationResult result = onlyTags == null
+                        ? scope.validateReference(target, validator, maxDepth)
+                        : scope.validateReference(target, validator, onlyTags, getSelected(), maxDepth);
+                return FieldPaths.prefixFailures(result, field);
+            } finally {
+                scope.exit();
+            }
+        }
+
+        private IsValueValidator<T> getSelected() {
+            IsValueValidator<T> plan = selected;
+            if (plan == null) {
+                ValidationPlan<T> selectedPlan = selectValidator(validator, onlyTags);
+                plan = selectedPlan != null ? selectedPlan : ValueValidationResult::new;
+                selected = plan;
+            }
+            return plan;
+        }
+    }
+
+    /**
+     * Points to the snapshot of a validator, which is frozen at the moment. The snapshot is set
+     * as soon as the validator is frozen completely.
+     *
+     * @param <V> The type of the value of the validator
+     */
+    private static final class FrozenReference<V> implements IsValueValidator<V> {
+        private volatile FrozenValueValidator<V> frozen;
 
+        @Override
+        public ValueValidationResult<V> validate(V value) {
+            return frozen.validate(value);
+        }
+    }
 }
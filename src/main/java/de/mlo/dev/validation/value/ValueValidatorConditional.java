@@ -1,10 +1,14 @@
 package de.mlo.dev.validation.value;
 
+import de.mlo.dev.validation.ValidationSink;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -50,6 +54,35 @@ public class ValueValidatorConditional<V, P extends ValueValidator<V>> extends V
         return (ValueValidatorConditional<V, P>) super.addSummarizer(validationSummarizer);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    public ValueValidatorConditional<V, P> tag(@NotNull String... tags) {
+        return (ValueValidatorConditional<V, P>) super.tag(tags);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    public <T> ValueValidatorConditional<V, P> reference(@NotNull String field, @NotNull Function<V, T> reference,
+                                                         @NotNull IsValueValidator<T> validator) {
+        return (ValueValidatorConditional<V, P>) super.reference(field, reference, validator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    public <T> ValueValidatorConditional<V, P> reference(@NotNull String field, @NotNull Function<V, T> reference,
+                                                         @NotNull IsValueValidator<T> validator, int maxDepth) {
+        return (ValueValidatorConditional<V, P>) super.reference(field, reference, validator, maxDepth);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -59,6 +92,36 @@ public class ValueValidatorConditional<V, P extends ValueValidator<V>> extends V
         return (ValueValidatorGroup<V, ? extends ValueValidatorConditional<V, P>>) super.groupBuilder();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E> ValueValidatorForEach<V, E, ? extends ValueValidatorConditional<V, P>> forEach(String field,
+                                                                          Function<V, ? extends Collection<E>> elements,
+                                                                          IsValueValidator<E> elementValidator) {
+        return (ValueValidatorForEach<V, E, ? extends ValueValidatorConditional<V, P>>) super.forEach(field, elements, elementValidator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E> ValueValidatorForEach<V, E, ? extends ValueValidatorConditional<V, P>> forEach(Function<V, ? extends Collection<E>> elements,
+                                                                          IsValueValidator<E> elementValidator) {
+        return (ValueValidatorForEach<V, E, ? extends ValueValidatorConditional<V, P>>) super.forEach(elements, elementValidator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K> ValueValidatorSwitch<V, K, ? extends ValueValidatorConditional<V, P>> switchOn(Function<V, K> keyExtractor) {
+        return (ValueValidatorSwitch<V, K, ? extends ValueValidatorConditional<V, P>>) super.switchOn(keyExtractor);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -84,6 +147,61 @@ public class ValueValidatorConditional<V, P extends ValueValidator<V>> extends V
         return new ValueValidationResult<>(value);
     }
 
+    /**
+     * <p>
+     * The validation won't be executed if the given condition is not met.
+     * </p>
+     * <hr>
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull ValueValidationResult<V> validate(V value, @NotNull Set<String> onlyTags) {
+        if (condition.test(value)) {
+            return super.validate(value, onlyTags);
+        }
+        LOGGER.debug("Skip validating (condition not met)");
+        return new ValueValidationResult<>(value);
+    }
+
+    /**
+     * The selected plan keeps the condition of this validator.
+     */
+    @Nullable
+    @Override
+    ValidationPlan<V> select(Set<String> onlyTags) {
+        ValidationPlan<V> plan = super.select(onlyTags);
+        return plan == null ? null : plan.withCondition(condition);
+    }
+
+    /**
+     * <p>
+     * Nothing is passed to the sink if the given condition is not met.
+     * </p>
+     * <hr>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean validateInto(V value, @NotNull ValidationSink sink) {
+        if (condition.test(value)) {
+            return super.validateInto(value, sink);
+        }
+        LOGGER.debug("Skip validating (condition not met)");
+        return true;
+    }
+
+    /**
+     * <p>
+     * The snapshot keeps the condition of this validator.
+     * </p>
+     * <hr>
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    public FrozenValueValidator<V> freeze() {
+        return freeze(condition);
+    }
+
     /**
      * {@inheritDoc}
      */
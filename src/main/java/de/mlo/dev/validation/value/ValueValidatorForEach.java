@@ -0,0 +1,325 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.FieldPath;
+import de.mlo.dev.validation.TruncationReason;
+import de.mlo.dev.validation.ValidationBudget;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * The {@link ValueValidatorForEach} validates every element of a collection with an element
+ * validator. The field of every failed info gets the path of the element, for example
+ * <code>items[42].price</code> if the element validator has returned a failure for the field
+ * <code>price</code> of the 43rd element of <code>items</code>. The paths are only created for
+ * failed infos.
+ * </p>
+ * <p>
+ * To start a new loop, use the {@link ValueValidator#forEach(String, Function, IsValueValidator)}
+ * and call {@link #build()} when you are done.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * new ValueValidator<Order>()
+ *      .forEach("items", Order::getItems, itemValidator)
+ *      .setStopOnFirstFailingElement()
+ *      .setParallelThreshold(10_000)
+ *      .build()
+ *      .validate(order);
+ * }</pre>
+ * Large collections can be split across a {@link ForkJoinPool}, see
+ * {@link #setParallelThreshold(int)}. The infos are in the order of the elements in any case.
+ * Use <code>Arrays::asList</code> to validate the elements of an array.
+ * <p>
+ * Within a budget runner the loop checks the {@link ValidationBudget#current() budget} before
+ * every element. If the budget is exhausted or the element failures exceed the remaining
+ * failure limit, the remaining elements are skipped and the result is marked as truncated.
+ * </p>
+ *
+ * @param <V> The type of the value to validate
+ * @param <E> The type of the elements
+ * @param <P> The type of the parent validator
+ * @author mlo
+ */
+public class ValueValidatorForEach<V, E, P extends ValueValidator<V>> implements ValueValidationSummarizer<V> {
+
+    private static final Logger LOGGER = LogManager.getLogger(ValueValidatorForEach.class.getName());
+
+    /**
+     * The number of elements, which are validated by one fork join task
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    private final P parent;
+    private final String field;
+    private final FieldPath fieldPath;
+    private final Function<V, ? extends Collection<E>> elements;
+    private final IsValueValidator<E> elementValidator;
+    private boolean stopOnFirstFailingElement;
+    private int parallelThreshold = Integer.MAX_VALUE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    ValueValidatorForEach(P parent, @Nullable String field, Function<V, ? extends Collection<E>> elements,
+                          IsValueValidator<E> elementValidator) {
+        this.parent = parent;
+        this.field = field;
+        this.fieldPath = field == null ? null : FieldPath.of(field);
+        this.elements = Objects.requireNonNull(elements);
+        this.elementValidator = Objects.requireNonNull(elementValidator);
+    }
+
+    /**
+     * The remaining elements are not validated, after the first element has failed.
+     *
+     * @return The instance of this loop
+     */
+    @NotNull
+    public ValueValidatorForEach<V, E, P> setStopOnFirstFailingElement() {
+        this.stopOnFirstFailingElement = true;
+        return this;
+    }
+
+    /**
+     * Collections with at least the given number of elements are split into chunks, which are
+     * validated by the common {@link ForkJoinPool}. The element validator must be thread safe.
+     *
+     * @param parallelThreshold The minimum size of a collection, which is validated in parallel
+     * @return The instance of this loop
+     */
+    @NotNull
+    public ValueValidatorForEach<V, E, P> setParallelThreshold(int parallelThreshold) {
+        return setParallelThreshold(parallelThreshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Collections with at least the given number of elements are split into chunks, which are
+     * validated by the given pool. The element validator must be thread safe.
+     *
+     * @param parallelThreshold The minimum size of a collection, which is validated in parallel
+     * @param pool              The pool which executes the chunks
+     * @return The instance of this loop
+     */
+    @NotNull
+    public ValueValidatorForEach<V, E, P> setParallelThreshold(int parallelThreshold, @NotNull ForkJoinPool pool) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("The threshold must be positive: " + parallelThreshold);
+        }
+        this.parallelThreshold = parallelThreshold;
+        this.pool = Objects.requireNonNull(pool);
+        return this;
+    }
+
+    /**
+     * Validates the elements of the collection. A <code>null</code> collection is treated like
+     * an empty collection.
+     *
+     * @param value The value to validate.
+     * @return The infos of all validated elements
+     */
+    @NotNull
+    @Override
+    public ValidationResult validate(V value) {
+        Collection<E> collection = elements.apply(value);
+        if (collection == null || collection.isEmpty()) {
+            return new ValueValidationResult<>(value);
+        }
+        ValidationBudget.Tracker tracker = ValidationBudget.current();
+        int maximumFailures = tracker == null ? Integer.MAX_VALUE : tracker.remainingFailures();
+        if (collection.size() >= parallelThreshold) {
+            List<E> list = collection instanceof List && collection instanceof RandomAccess
+                    ? (List<E>) collection
+                    : new ArrayList<>(collection);
+            LOGGER.debug("Validate {} elements in parallel", list.size());
+            ValueValidationResult<V> result = new ValueValidationResult<>(value);
+            ChunkTask task = new ChunkTask(list, 0, list.size(), new AtomicInteger(Integer.MAX_VALUE),
+                    tracker, new AtomicInteger(), maximumFailures);
+            return result.add(pool.invoke(task));
+        }
+        ValueValidationResult<V> result = new ValueValidationResult<>(value);
+        int index = 0;
+        int failures = 0;
+        for (E element : collection) {
+            if (isStopped(result, tracker, failures, maximumFailures)) {
+                LOGGER.debug("Validation stopped before element number {}: {}", index + 1, result.getTruncationReason());
+                break;
+            }
+            int elementFailures = addElementResult(result, index++, element);
+            if (elementFailures > 0 && stopOnFirstFailingElement) {
+                LOGGER.debug("Validation stopped: Element number {} failed", index);
+                break;
+            }
+            failures += elementFailures;
+        }
+        return result;
+    }
+
+    /**
+     * Finishes the loop and adds it to the parent validator. A loop with a field is tagged with
+     * the name of the field, like {@link ValueValidator#switchValue(String, Function)}.
+     *
+     * @return The parent validator
+     */
+    @NotNull
+    public P build() {
+        parent.addSummarizer(this);
+        if (field != null) {
+            parent.tag(field);
+        }
+        return parent;
+    }
+
+    /**
+     * @return The number of INVALID infos of the element, <code>0</code> if the element is valid
+     */
+    private int addElementResult(ValidationResult target, int index, E element) {
+        ValidationResult elementResult = elementValidator.validate(element);
+        if (elementResult.isValid()) {
+            target.add(elementResult);
+            return 0;
+        }
+        FieldPath elementPath = fieldPath == null ? FieldPath.ofIndex(index) : fieldPath.index(index);
+        target.add(FieldPaths.prefixFailures(elementResult, elementPath));
+        int failures = 0;
+        for (ValidationInfo info : elementResult) {
+            if (info.isInvalid()) {
+                failures++;
+            }
+        }
+        return Math.max(1, failures);
+    }
+
+    /**
+     * Marks the result as truncated if the budget is exhausted or the failures exceed the
+     * remaining failure limit of the budget.
+     *
+     * @return <code>true</code> if the remaining elements must be skipped
+     */
+    private static boolean isStopped(ValidationResult result, @Nullable ValidationBudget.Tracker tracker,
+                                     int failures, int maximumFailures) {
+        if (failures > maximumFailures) {
+            result.markTruncated(TruncationReason.FAILURE_LIMIT);
+            return true;
+        }
+        if (tracker != null && tracker.isExhausted()) {
+            result.markTruncated(tracker.getReason());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return A copy of this loop with a frozen element validator, which is not linked to the parent
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    ValueValidatorForEach<V, E, P> freeze() {
+        IsValueValidator<E> frozenValidator = elementValidator instanceof ValueValidator
+                ? ((ValueValidator<E>) elementValidator).freeze()
+                : elementValidator;
+        return copy(frozenValidator);
+    }
+
+    /**
+     * @return A copy of this loop, which only executes the statements of the element validator
+     * with the given tags, or <code>null</code> if the element validator has no such statements
+     */
+    @Nullable
+    ValueValidatorForEach<V, E, P> select(Set<String> onlyTags) {
+        IsValueValidator<E> selected = ValueValidator.selectValidator(elementValidator, onlyTags);
+        return selected == null ? null : copy(selected);
+    }
+
+    private ValueValidatorForEach<V, E, P> copy(IsValueValidator<E> validator) {
+        ValueValidatorForEach<V, E, P> copy = new ValueValidatorForEach<>(null, field, elements, validator);
+        copy.stopOnFirstFailingElement = stopOnFirstFailingElement;
+        copy.parallelThreshold = parallelThreshold;
+        copy.pool = pool;
+        return copy;
+    }
+
+    /**
+     * Validates the elements from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+     * In the stop on first fail mode, the lowest index of a failed element is shared, so chunks
+     * behind a failed element are skipped. The tasks run on the threads of the pool, so the
+     * tracker of the budget is passed explicitly. Forked tasks are registered at the tracker and
+     * are cancelled if the budget is exhausted.
+     */
+    private final class ChunkTask extends RecursiveTask<ValidationResult> {
+        private final List<E> list;
+        private final int from;
+        private final int to;
+        private final AtomicInteger firstFailedIndex;
+        private final ValidationBudget.Tracker tracker;
+        private final AtomicInteger failures;
+        private final int maximumFailures;
+
+        private ChunkTask(List<E> list, int from, int to, AtomicInteger firstFailedIndex,
+                          @Nullable ValidationBudget.Tracker tracker, AtomicInteger failures, int maximumFailures) {
+            this.list = list;
+            this.from = from;
+            this.to = to;
+            this.firstFailedIndex = firstFailedIndex;
+            this.tracker = tracker;
+            this.failures = failures;
+            this.maximumFailures = maximumFailures;
+        }
+
+        @Override
+        protected ValidationResult compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                ChunkTask right = new ChunkTask(list, middle, to, firstFailedIndex, tracker, failures, maximumFailures);
+                right.fork();
+                if (tracker != null) {
+                    tracker.register(right);
+                }
+                ValidationResult result = new ChunkTask(list, from, middle, firstFailedIndex, tracker, failures,
+                        maximumFailures).compute();
+                ValidationResult rightResult;
+                try {
+                    rightResult = right.join();
+                } catch (CancellationException e) {
+                    rightResult = new ValidationResult().markTruncated(tracker.getReason());
+                }
+                if (stopOnFirstFailingElement && result.isInvalid()) {
+                    return result;
+                }
+                return result.add(rightResult);
+            }
+            ValidationResult result = new ValidationResult();
+            for (int i = from; i < to; i++) {
+                if (stopOnFirstFailingElement && i > firstFailedIndex.get()) {
+                    break;
+                }
+                if (isStopped(result, tracker, failures.get(), maximumFailures)) {
+                    break;
+                }
+                int elementFailures = addElementResult(result, i, list.get(i));
+                if (elementFailures > 0) {
+                    failures.addAndGet(elementFailures);
+                    if (stopOnFirstFailingElement) {
+                        firstFailedIndex.accumulateAndGet(i, Math::min);
+                        break;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.TruncationReason;
+import de.mlo.dev.validation.ValidationBudget;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * The {@link ValueValidatorGraph} executes statements and summarizers (for example whole
+ * {@link ValueValidator}s or groups) which depend on each other. Every node has a unique id
+ * and can declare the ids of its prerequisites. A node is executed as soon as all of its
+ * prerequisites have passed, independent nodes are executed concurrently by the
+ * {@link #setExecutor(Executor) executor}. If a prerequisite fails or has been skipped, the
+ * dependent node is skipped and does not add any info to the result.
+ * </p>
+ * The infos of the result are always in the order the nodes have been declared, regardless of
+ * the order the nodes have been finished.
+ * <hr>
+ * Example: The address and the identity of a customer are checked in parallel. The geo lookup
+ * only runs if the address is valid, the credit check only runs if the identity is valid.
+ * <pre>{@code
+ * ValueValidatorGraph<Customer> graph = new ValueValidatorGraph<Customer>()
+ *      .add("address", this::validateAddress)
+ *      .add("geo", this::lookupGeo, "address")
+ *      .add("identity", this::validateIdentity)
+ *      .addSummarizer("credit", creditValidator, "identity")
+ *      .setExecutor(lookupExecutor);
+ * ValueValidationResult<Customer> result = graph.validate(customer);
+ * }</pre>
+ * The nodes can be declared in any order. Unknown prerequisites and cycles are detected on the
+ * first validation after a change and raise an {@link IllegalStateException}. If the graph is
+ * executed by a {@link ValidationBudget budget runner}, the futures of the nodes are registered
+ * at the {@link ValidationBudget.Tracker tracker} and are cancelled when the budget is
+ * exhausted. The nodes are executed {@link ValidationBudget.Tracker#within(java.util.function.Supplier) within}
+ * the tracker, so nested budget runners and loops see the limits on the threads of the executor.
+ * The failures of the finished nodes are counted, nodes which start after the failure limit has
+ * been reached are skipped.
+ *
+ * @param <V> The type of the value to validate
+ * @author mlo
+ */
+public class ValueValidatorGraph<V> implements IsValueValidator<V>, ValueValidationSummarizer<V> {
+
+    private static final Logger LOGGER = LogManager.getLogger(ValueValidatorGraph.class.getName());
+
+    private final List<Node<V>> nodes = new ArrayList<>();
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private Executor executor = ForkJoinPool.commonPool();
+    private volatile int[] executionOrder;
+
+    /**
+     * Adds a statement to the graph.
+     *
+     * @param id            The unique id of the node
+     * @param statement     The statement to execute
+     * @param prerequisites The ids of the nodes which have to pass before the statement is executed
+     * @return The instance of this graph
+     */
+    @NotNull
+    public ValueValidatorGraph<V> add(@NotNull String id, @NotNull ValueValidationStatement<V> statement, String... prerequisites) {
+        return addSummarizer(id, statement, prerequisites);
+    }
+
+    /**
+     * Adds a summarizer, for example a {@link ValueValidator} or another graph, to the graph.
+     *
+     * @param id            The unique id of the node
+     * @param summarizer    The summarizer to execute
+     * @param prerequisites The ids of the nodes which have to pass before the summarizer is executed
+     * @return The instance of this graph
+     */
+    @NotNull
+    public ValueValidatorGraph<V> addSummarizer(@NotNull String id, @NotNull ValueValidationSummarizer<V> summarizer,
+                                                String... prerequisites) {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(summarizer);
+        if (indexById.containsKey(id)) {
+            throw new IllegalArgumentException("The id is already used by another node: " + id);
+        }
+        indexById.put(id, nodes.size());
+        nodes.add(new Node<>(id, summarizer, prerequisites == null ? new String[0] : prerequisites.clone()));
+        executionOrder = null;
+        return this;
+    }
+
+    /**
+     * @param executor Executes the nodes of the graph. The default is the common {@link ForkJoinPool}.
+     *                 Use a dedicated executor for blocking lookups.
+     * @return The instance of this graph
+     */
+    @NotNull
+    public ValueValidatorGraph<V> setExecutor(@NotNull Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * Executes all nodes of the graph. The function blocks until all nodes have been finished
+     * or skipped. If a node throws an exception, it is rethrown by this function.
+     *
+     * @param value The value to validate.
+     * @return The aggregated result of all executed nodes in declaration order
+     */
+    @NotNull
+    @Override
+    public ValueValidationResult<V> validate(V value) {
+        int[] order = getExecutionOrder();
+        ValidationBudget.Tracker tracker = ValidationBudget.current();
+        Execution<V> execution = new Execution<>(value, tracker);
+        List<CompletableFuture<ValidationResult>> futures = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            futures.add(null);
+        }
+        for (int index : order) {
+            Node<V> node = nodes.get(index);
+            CompletableFuture<ValidationResult> future;
+            if (node.prerequisiteIndices.length == 0) {
+                future = CompletableFuture.supplyAsync(() -> execution.execute(node), executor);
+            } else {
+                CompletableFuture<?>[] prerequisites = new CompletableFuture<?>[node.prerequisiteIndices.length];
+                for (int p = 0; p < prerequisites.length; p++) {
+                    prerequisites[p] = futures.get(node.prerequisiteIndices[p]);
+                }
+                future = CompletableFuture.allOf(prerequisites).thenApplyAsync(ignored -> {
+                    for (CompletableFuture<?> prerequisite : prerequisites) {
+                        ValidationResult result = (ValidationResult) prerequisite.join();
+                        if (result == null || result.isInvalid()) {
+                            LOGGER.debug("Skip node '{}' (prerequisite failed)", node.id);
+                            return null;
+                        }
+                    }
+                    return execution.execute(node);
+                }, executor);
+            }
+            if (tracker != null) {
+                tracker.register(future);
+            }
+            futures.set(index, future);
+        }
+        ValueValidationResult<V> result = new ValueValidationResult<>(value);
+        for (CompletableFuture<ValidationResult> future : futures) {
+            ValidationResult nodeResult = join(future, tracker);
+            if (nodeResult != null) {
+                result.add(nodeResult);
+            }
+        }
+        if (tracker != null && tracker.getReason() != null) {
+            result.markTruncated(tracker.getReason());
+        }
+        if (execution.failureLimitReached) {
+            result.markTruncated(TruncationReason.FAILURE_LIMIT);
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of nodes
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @return A copy of this graph with frozen nodes. The prerequisites are resolved, so an
+     * invalid graph can't be frozen.
+     */
+    @NotNull
+    ValueValidatorGraph<V> freeze() {
+        ValueValidatorGraph<V> frozen = new ValueValidatorGraph<>();
+        for (Node<V> node : nodes) {
+            frozen.addSummarizer(node.id, ValueValidator.freezeSummarizer(node.summarizer), node.prerequisites);
+        }
+        frozen.executor = executor;
+        frozen.getExecutionOrder();
+        return frozen;
+    }
+
+    private static ValidationResult join(CompletableFuture<ValidationResult> future, ValidationBudget.Tracker tracker) {
+        try {
+            return future.join();
+        } catch (CancellationException e) {
+            return cancelled(tracker);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                return cancelled(tracker);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Futures are only cancelled by an exhausted budget, so the reason of the tracker is used
+     */
+    private static ValidationResult cancelled(ValidationBudget.Tracker tracker) {
+        TruncationReason reason = tracker == null ? null : tracker.getReason();
+        return new ValidationResult().markTruncated(reason == null ? TruncationReason.DEADLINE : reason);
+    }
+
+    /**
+     * Resolves the prerequisites and sorts the nodes topologically (Kahn's algorithm). The
+     * order is cached until the next node is added.
+     */
+    private int[] getExecutionOrder() {
+        int[] order = executionOrder;
+        if (order != null) {
+            return order;
+        }
+        int size = nodes.size();
+        int[] missingPrerequisites = new int[size];
+        List<List<Integer>> dependents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            Node<V> node = nodes.get(i);
+            int[] indices = new int[node.prerequisites.length];
+            for (int p = 0; p < indices.length; p++) {
+                Integer index = indexById.get(node.prerequisites[p]);
+                if (index == null) {
+                    throw new IllegalStateException("The node '" + node.id + "' depends on the unknown node '" + node.prerequisites[p] + "'");
+                }
+                indices[p] = index;
+                dependents.get(index).add(i);
+            }
+            node.prerequisiteIndices = indices;
+            missingPrerequisites[i] = indices.length;
+        }
+        order = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < size; i++) {
+            if (missingPrerequisites[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            for (int dependent : dependents.get(order[head++])) {
+                if (--missingPrerequisites[dependent] == 0) {
+                    order[tail++] = dependent;
+                }
+            }
+        }
+        if (tail < size) {
+            List<String> cycle = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (missingPrerequisites[i] > 0) {
+                    cycle.add(nodes.get(i).id);
+                }
+            }
+            throw new IllegalStateException("The nodes contain a cycle: " + cycle);
+        }
+        executionOrder = order;
+        return order;
+    }
+
+    /**
+     * The state of one validation process. The nodes run on the threads of the executor, so the
+     * tracker of the budget is passed explicitly.
+     */
+    private static final class Execution<V> {
+        private final V value;
+        private final ValidationBudget.Tracker tracker;
+        private final int maximumFailures;
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile boolean failureLimitReached;
+
+        private Execution(V value, @Nullable ValidationBudget.Tracker tracker) {
+            this.value = value;
+            this.tracker = tracker;
+            this.maximumFailures = tracker == null ? Integer.MAX_VALUE : tracker.remainingFailures();
+        }
+
+        private ValidationResult execute(Node<V> node) {
+            if (failures.get() >= maximumFailures) {
+                LOGGER.debug("Skip node '{}' (failure limit reached)", node.id);
+                failureLimitReached = true;
+                return null;
+            }
+            if (tracker != null && tracker.isExhausted()) {
+                LOGGER.debug("Skip node '{}' (budget exhausted)", node.id);
+                return null;
+            }
+            LOGGER.debug("Execute node '{}'", node.id);
+            ValidationResult result = tracker == null
+                    ? node.summarizer.validate(value)
+                    : tracker.within(() -> node.summarizer.validate(value));
+            int nodeFailures = 0;
+            for (ValidationInfo info : result) {
+                if (info.isInvalid()) {
+                    nodeFailures++;
+                }
+            }
+            failures.addAndGet(nodeFailures);
+            return result;
+        }
+    }
+
+    private static final class Node<V> {
+        private final String id;
+        private final ValueValidationSummarizer<V> summarizer;
+        private final String[] prerequisites;
+        private int[] prerequisiteIndices;
+
+        private Node(String id, ValueValidationSummarizer<V> summarizer, String[] prerequisites) {
+            this.id = id;
+            this.summarizer = summarizer;
+            this.prerequisites = prerequisites;
+        }
+    }
+}
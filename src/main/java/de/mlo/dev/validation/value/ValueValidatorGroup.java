@@ -3,6 +3,8 @@ package de.mlo.dev.validation.value;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -45,12 +47,71 @@ public class ValueValidatorGroup<V, P extends ValueValidator<V>> extends ValueVa
         return (ValueValidatorGroup<V, P>) super.addSummarizer(validationSummarizer);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    public ValueValidatorGroup<V, P> tag(@NotNull String... tags) {
+        return (ValueValidatorGroup<V, P>) super.tag(tags);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    public <T> ValueValidatorGroup<V, P> reference(@NotNull String field, @NotNull Function<V, T> reference,
+                                                   @NotNull IsValueValidator<T> validator) {
+        return (ValueValidatorGroup<V, P>) super.reference(field, reference, validator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    public <T> ValueValidatorGroup<V, P> reference(@NotNull String field, @NotNull Function<V, T> reference,
+                                                   @NotNull IsValueValidator<T> validator, int maxDepth) {
+        return (ValueValidatorGroup<V, P>) super.reference(field, reference, validator, maxDepth);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public ValueValidatorGroup<V, ? extends ValueValidatorGroup<V, P>> groupBuilder() {
         return (ValueValidatorGroup<V, ? extends ValueValidatorGroup<V, P>>) super.groupBuilder();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E> ValueValidatorForEach<V, E, ? extends ValueValidatorGroup<V, P>> forEach(String field,
+                                                                          Function<V, ? extends Collection<E>> elements,
+                                                                          IsValueValidator<E> elementValidator) {
+        return (ValueValidatorForEach<V, E, ? extends ValueValidatorGroup<V, P>>) super.forEach(field, elements, elementValidator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E> ValueValidatorForEach<V, E, ? extends ValueValidatorGroup<V, P>> forEach(Function<V, ? extends Collection<E>> elements,
+                                                                          IsValueValidator<E> elementValidator) {
+        return (ValueValidatorForEach<V, E, ? extends ValueValidatorGroup<V, P>>) super.forEach(elements, elementValidator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K> ValueValidatorSwitch<V, K, ? extends ValueValidatorGroup<V, P>> switchOn(Function<V, K> keyExtractor) {
+        return (ValueValidatorSwitch<V, K, ? extends ValueValidatorGroup<V, P>>) super.switchOn(keyExtractor);
+    }
+
     /**
      * {@inheritDoc}
      */
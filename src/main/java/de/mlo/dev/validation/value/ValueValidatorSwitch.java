@@ -0,0 +1,205 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationSink;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * The {@link ValueValidatorSwitch} selects one branch by the key of the value. The key is
+ * extracted once and the branch is looked up in a table (indexed by the ordinal for enum keys,
+ * hashed for any other key), so the cost doesn't depend on the number of branches. This replaces
+ * a chain of {@link ValueValidator#conditionBuilder(java.util.function.Predicate) conditions}
+ * which tests every predicate for every value.
+ * </p>
+ * <p>
+ * To start a new switch, use the {@link ValueValidator#switchOn(Function)} and call
+ * {@link #build()} when you are done.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * new ValueValidator<Event>()
+ *      .add(Statements::notNull)
+ *      .switchOn(Event::getType)
+ *      .when(EventType.CREATED, createdValidator)
+ *      .when(EventType.DELETED, deletedValidator)
+ *      .otherwise(e -> new ValidationResult().add(ValidationInfo.invalid("Unknown type")))
+ *      .build()
+ *      .validate(event);
+ * }</pre>
+ * If no branch matches and there is no {@link #otherwise(ValueValidationSummarizer) otherwise}
+ * branch, nothing is validated.
+ *
+ * @param <V> The type of the value to validate
+ * @param <K> The type of the key
+ * @param <P> The type of the parent validator
+ * @author mlo
+ */
+public class ValueValidatorSwitch<V, K, P extends ValueValidator<V>> implements ValueValidationSummarizer<V> {
+
+    private static final Logger LOGGER = LogManager.getLogger(ValueValidatorSwitch.class.getName());
+
+    private final P parent;
+    private final Function<V, K> keyExtractor;
+    private final Map<K, ValueValidationSummarizer<V>> branches;
+    private Class<?> enumType;
+    private ValueValidationSummarizer<V>[] branchesByOrdinal;
+    private ValueValidationSummarizer<V> otherwise;
+
+    ValueValidatorSwitch(P parent, Function<V, K> keyExtractor) {
+        this.parent = parent;
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+        this.branches = new HashMap<>();
+    }
+
+    /**
+     * Adds a branch, which is executed if the key of the value equals the given key.
+     *
+     * @param key    The key of the branch
+     * @param branch A {@link ValueValidator} or any other summarizer
+     * @return The instance of this switch
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public ValueValidatorSwitch<V, K, P> when(@NotNull K key, @NotNull ValueValidationSummarizer<V> branch) {
+        Objects.requireNonNull(branch);
+        if (key == null) {
+            throw new IllegalArgumentException("The key must not be null, use otherwise() instead");
+        }
+        if (branches.putIfAbsent(key, branch) != null) {
+            throw new IllegalArgumentException("There is already a branch for the key: " + key);
+        }
+        if (branches.size() == 1 && key instanceof Enum) {
+            enumType = ((Enum<?>) key).getDeclaringClass();
+            branchesByOrdinal = new ValueValidationSummarizer[enumType.getEnumConstants().length];
+        }
+        if (branchesByOrdinal != null) {
+            if (key instanceof Enum && ((Enum<?>) key).getDeclaringClass() == enumType) {
+                branchesByOrdinal[((Enum<?>) key).ordinal()] = branch;
+            } else {
+                // Keys of different types, only the hash table can be used
+                branchesByOrdinal = null;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param branch The branch which is executed, if the key of the value doesn't match any other
+     *               branch or is <code>null</code>
+     * @return The instance of this switch
+     */
+    @NotNull
+    public ValueValidatorSwitch<V, K, P> otherwise(@NotNull ValueValidationSummarizer<V> branch) {
+        this.otherwise = Objects.requireNonNull(branch);
+        return this;
+    }
+
+    /**
+     * Executes the branch which matches the key of the value.
+     *
+     * @param value The value to validate.
+     * @return The result of the selected branch or an empty result if no branch matches
+     */
+    @NotNull
+    @Override
+    public ValidationResult validate(V value) {
+        ValueValidationSummarizer<V> branch = selectBranch(value);
+        if (branch == null) {
+            return new ValueValidationResult<>(value);
+        }
+        return branch.validate(value);
+    }
+
+    /**
+     * Executes the branch which matches the key of the value and passes the infos to the sink.
+     *
+     * @param value The value to validate.
+     * @param sink  Receives the infos of the selected branch
+     * @return <code>false</code> if the sink has stopped the validation process
+     */
+    @Override
+    public boolean validateInto(V value, @NotNull ValidationSink sink) {
+        ValueValidationSummarizer<V> branch = selectBranch(value);
+        return branch == null || branch.validateInto(value, sink);
+    }
+
+    /**
+     * Finishes the switch and adds it to the parent validator.
+     *
+     * @return The parent validator
+     */
+    @NotNull
+    public P build() {
+        parent.addSummarizer(this);
+        return parent;
+    }
+
+    @Nullable
+    private ValueValidationSummarizer<V> selectBranch(V value) {
+        K key = keyExtractor.apply(value);
+        ValueValidationSummarizer<V> branch = null;
+        if (key != null) {
+            if (branchesByOrdinal != null && key instanceof Enum && ((Enum<?>) key).getDeclaringClass() == enumType) {
+                branch = branchesByOrdinal[((Enum<?>) key).ordinal()];
+            } else {
+                branch = branches.get(key);
+            }
+        }
+        if (branch == null) {
+            LOGGER.debug("No branch for the key '{}'", key);
+            return otherwise;
+        }
+        return branch;
+    }
+
+    /**
+     * A branch without statements with the given tags is replaced by an empty branch, so its
+     * keys don't fall through to the otherwise branch.
+     *
+     * @return A copy of this switch, which only executes the statements of the branches with
+     * the given tags, or <code>null</code> if no branch has such statements
+     */
+    @Nullable
+    ValueValidatorSwitch<V, K, P> select(Set<String> onlyTags) {
+        ValueValidatorSwitch<V, K, P> selected = new ValueValidatorSwitch<>(null, keyExtractor);
+        boolean found = false;
+        for (Map.Entry<K, ValueValidationSummarizer<V>> entry : branches.entrySet()) {
+            ValueValidationSummarizer<V> branch = ValueValidator.selectSummarizer(entry.getValue(), onlyTags);
+            found |= branch != null;
+            selected.when(entry.getKey(), branch != null ? branch : v -> new ValidationResult());
+        }
+        if (otherwise != null) {
+            ValueValidationSummarizer<V> branch = ValueValidator.selectSummarizer(otherwise, onlyTags);
+            if (branch != null) {
+                selected.otherwise(branch);
+                found = true;
+            }
+        }
+        return found ? selected : null;
+    }
+
+    /**
+     * @return A copy of this switch with frozen branches, which is not linked to the parent
+     */
+    @NotNull
+    ValueValidatorSwitch<V, K, P> freeze() {
+        ValueValidatorSwitch<V, K, P> frozen = new ValueValidatorSwitch<>(null, keyExtractor);
+        for (Map.Entry<K, ValueValidationSummarizer<V>> entry : branches.entrySet()) {
+            frozen.when(entry.getKey(), ValueValidator.freezeSummarizer(entry.getValue()));
+        }
+        if (otherwise != null) {
+            frozen.otherwise(ValueValidator.freezeSummarizer(otherwise));
+        }
+        return frozen;
+    }
+}
@@ -7,5 +7,8 @@ open module de.mlo.dev.validation {
     exports de.mlo.dev.validation;
     exports de.mlo.dev.validation.value;
     exports de.mlo.dev.validation.basic;
+    exports de.mlo.dev.validation.codec;
+    exports de.mlo.dev.validation.report;
+    exports de.mlo.dev.validation.membership;
     exports de.mlo.dev.validation.value.jakarta;
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package de.mlo.dev.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class BoundedCacheTest {
+
+    @Test
+    void testHotEntriesSurvive() {
+        AtomicInteger loads = new AtomicInteger();
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        for (int i = 0; i < 100; i++) {
+            cache.get("hot", k -> k + loads.incrementAndGet());
+            cache.get("k" + i, k -> k + loads.incrementAndGet());
+            assertTrue(cache.size() <= 10);
+        }
+        assertEquals("hot1", cache.get("hot", k -> k + loads.incrementAndGet()));
+        assertEquals(101, loads.get());
+    }
+
+    @Test
+    void testInvalidUsage() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        assertThrows(IllegalStateException.class, () -> cache.get("a", k -> null));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,104 @@
+package de.mlo.dev.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class CompiledPatternTest {
+
+    private static final String ALPHABET = "ab01_-. \nä ";
+
+    private static List<String> inputs() {
+        Random random = new Random(7);
+        List<String> inputs = new ArrayList<>(List.of("", "a", "ab", "abab", "a\n", "00000", "a.b", "😀", "a😀"));
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            inputs.add(input.toString());
+        }
+        return inputs;
+    }
+
+    private static final String[] LINEAR_PATTERNS = {
+            "", "a", "ab", "a|b", "a|", "(a|b)*", "(?:ab)+", "a*?b", "a{2}", "a{1,3}b?", "[ab]{2,}",
+            "\\d+", "\\D*", "\\w+", "\\W", "\\s", "\\S+", ".", ".*", "a.b", "[^a]", "[^\\s]*",
+            "[a-b0-1]+", "[-a]", "[a-]", "[\\d_]+", "\\.", "\\x61", "\\u00e4+", "^ab$", "a$", "^a|b$",
+            "\\$", "()*a", "(a|ab)(c|bcd)?", "[.]", "(a*)*b", "(0|1(01*0)*1)*", "\\t|\\n",
+            "a{0}b", "[^-]", "[\\-.]+", "[a\\]]", "[ä-ö]", "\\W\\w"
+    };
+
+    private static final String[] FALLBACK_PATTERNS = {
+            "(a)\\1", "a(?=b)", "(?i)a", "a*+", "\\bfoo", "\\p{L}+", "[a-z&&[^b]]", "\\Qa*\\E", "a\\Z", "(?<x>a)"
+    };
+
+    @Test
+    void testSameResultAsPattern() {
+        List<String> inputs = inputs();
+        for (String regex : LINEAR_PATTERNS) {
+            assertTrue(CompiledPattern.compile(regex).isLinear(), regex);
+            assertSameResult(regex, inputs);
+        }
+    }
+
+    @Test
+    void testFallback() {
+        List<String> inputs = inputs();
+        for (String regex : FALLBACK_PATTERNS) {
+            assertFalse(CompiledPattern.compile(regex).isLinear(), regex);
+            assertSameResult(regex, inputs);
+        }
+    }
+
+    private static void assertSameResult(String regex, List<String> inputs) {
+        CompiledPattern compiled = CompiledPattern.compile(regex);
+        Pattern pattern = Pattern.compile(regex);
+        for (String input : inputs) {
+            assertEquals(pattern.matcher(input).matches(), compiled.matches(input), () -> regex + " on '" + input + "'");
+        }
+    }
+
+    @Test
+    void testCatastrophicPatternIsLinear() {
+        CompiledPattern compiled = CompiledPattern.compile("(a+)+b");
+        String hostile = "a".repeat(100_000) + "c";
+
+        assertTrue(compiled.isLinear());
+        assertFalse(compiled.matches(hostile));
+        assertTrue(compiled.matches("aaab"));
+    }
+
+    @Test
+    void testLargeAutomatonFallsBack() {
+        CompiledPattern compiled = CompiledPattern.compile("(a|b)*a(a|b){15}");
+
+        assertFalse(compiled.isLinear());
+        assertTrue(compiled.matches("a" + "b".repeat(15)));
+    }
+
+    @Test
+    void testCache() {
+        assertSame(CompiledPattern.of("\\d{5}"), CompiledPattern.of("\\d{5}"));
+        assertNotSame(CompiledPattern.compile("\\d{5}"), CompiledPattern.compile("\\d{5}"));
+        assertThrows(PatternSyntaxException.class, () -> CompiledPattern.of("(a"));
+    }
+
+    @Test
+    void testStatement() {
+        assertTrue(Statements.matches("12345", "\\d{5}").isValid());
+        assertTrue(Statements.matches(new StringBuilder("12345"), "\\d{5}").isValid());
+        assertEquals("Value 1234 does not match the pattern \\d{5}", Statements.matches("1234", "\\d{5}").getMessage().getText());
+        assertTrue(Statements.matches(null, "\\d{5}").isInvalid());
+    }
+}
@@ -0,0 +1,109 @@
+package de.mlo.dev.validation;
+
+import de.mlo.dev.validation.value.ValueValidationResult;
+import de.mlo.dev.validation.value.ValueValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class FieldPathTest {
+
+    @Test
+    void testBuildAndRender() {
+        FieldPath items = FieldPath.of("order").child("items");
+        FieldPath price = items.index(3).child("price");
+
+        assertEquals("order.items[3].price", price.toString());
+        assertEquals("[7].name", FieldPath.ofIndex(7).child("name").toString());
+        assertEquals(4, price.length());
+        assertSame(items, price.getParent().getParent());
+        assertEquals("price", price.getName());
+        assertTrue(price.getParent().isIndex());
+        assertEquals(3, price.getParent().getIndex());
+        assertSame(price.toString(), price.toString());
+    }
+
+    @Test
+    void testParse() {
+        FieldPath parsed = FieldPath.parse("order.items[3].price");
+        assertEquals(FieldPath.of("order").child("items").index(3).child("price"), parsed);
+        assertEquals(FieldPath.of("order").child("items").index(3).child("price").hashCode(), parsed.hashCode());
+        assertEquals(FieldPath.ofIndex(2).index(5), FieldPath.parse("[2][5]"));
+        // Texts which aren't paths are single names
+        for (String text : new String[]{"first name", "a..b", ".a", "a.", "a[x]", "a[3]b", "a[3"}) {
+            FieldPath path = FieldPath.parse(text);
+            assertEquals(1, path.length(), text);
+            assertEquals(text, path.toString());
+        }
+        assertThrows(IllegalArgumentException.class, () -> FieldPath.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> FieldPath.ofIndex(-1));
+    }
+
+    @Test
+    void testWithoutIndices() {
+        FieldPath path = FieldPath.of("orders").index(3).child("items").index(12).child("price");
+        FieldPath pattern = path.withoutIndices();
+
+        assertEquals("orders[].items[].price", pattern.toString());
+        assertEquals(FieldPath.of("orders").index(7).child("items").index(0).child("price").withoutIndices(), pattern);
+        assertEquals(pattern, FieldPath.parse("orders[].items[].price"));
+        assertArrayEquals(new int[]{3, 12}, path.getIndices());
+        assertEquals(0, pattern.getIndices().length);
+        FieldPath withoutIndex = FieldPath.of("address").child("zip");
+        assertSame(withoutIndex, withoutIndex.withoutIndices());
+        assertSame(pattern, pattern.withoutIndices());
+    }
+
+    @Test
+    void testResolve() {
+        FieldPath prefix = FieldPath.of("items").index(1);
+        FieldPath resolved = prefix.resolve(FieldPath.parse("address.zip"));
+        assertEquals("items[1].address.zip", resolved.toString());
+        assertSame(prefix, resolved.getParent().getParent());
+    }
+
+    @Test
+    void testMessagePrefix() {
+        ValidationInfo info = ValidationInfo.buildInvalid().field("zip").code("ZIP").message("Invalid {field}").build();
+        ValidationInfo prefixed = info.withPathPrefix(FieldPath.of("order").child("address"));
+
+        assertEquals("order.address.zip", prefixed.getField());
+        assertEquals("ZIP", prefixed.getMessageCode());
+        assertEquals("Invalid order.address.zip", prefixed.getMessageText());
+        assertFalse(prefixed.isValid());
+        assertEquals("zip", info.getField());
+
+        ValidationInfo withoutField = ValidationInfo.invalid("Broken").withPathPrefix(FieldPath.ofIndex(0));
+        assertEquals("[0]", withoutField.getField());
+        ValidationInfo withPath = ValidationInfo.buildInvalid().path(FieldPath.of("a").index(1)).build();
+        assertEquals("a[1]", withPath.getField());
+        assertEquals(SymbolTable.fields().idOf("a[1]"), withPath.getMessage().getFieldId());
+    }
+
+    @Test
+    void testSwitchValueWithField() {
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .switchValue("trimmed", String::trim)
+                .add(s -> s.isEmpty() ? ValidationInfo.invalid("Empty") : ValidationInfo.valid())
+                .switchValue("length", String::length)
+                .add(l -> l > 2 ? ValidationInfo.invalidField("value", "Too long") : ValidationInfo.valid())
+                .switchBack(String.class)
+                .switchBack(String.class);
+
+        ValueValidationResult<String> result = validator.validate(" abc ");
+        assertThat(result.getValidationInfos().stream().filter(ValidationInfo::isInvalid)
+                .map(ValidationInfo::getField).collect(Collectors.toList()))
+                .containsExactly("trimmed.length.value");
+        assertEquals("trimmed", validator.validate("  ").getValidationInfos().get(0).getField());
+        assertFalse(validator.validateInto("  ", info -> {
+            assertEquals("trimmed", info.getField());
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,188 @@
+package de.mlo.dev.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class FormatsTest {
+
+    @Test
+    void testUuid() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            String uuid = new UUID(random.nextLong(), random.nextLong()).toString();
+            assertTrue(Formats.isUuid(uuid), uuid);
+            assertTrue(Formats.isUuid(uuid.toUpperCase()), uuid);
+        }
+        String[] invalid = {"", "123e4567e89b12d3a456426614174000", "123e4567-e89b-12d3-a456-42661417400",
+                "123e4567-e89b-12d3-a456-4266141740000", "123e4567-e89b-12d3-a456_426614174000",
+                "123e4567-e89b-12d3-a456-42661417400g", "123e4567-e89b-12d3-a456-42661417400٠",
+                "1-1-1-1-1"};
+        for (String value : invalid) {
+            assertFalse(Formats.isUuid(value), value);
+        }
+        assertTrue(Statements.uuid("123e4567-e89b-12d3-a456-426614174000").isValid());
+        assertEquals("Value is not a UUID", Statements.uuid("123e4567").getMessage().getText());
+        assertEquals("Value was null", Statements.uuid(null).getMessage().getText());
+    }
+
+    @Test
+    void testIsoDateMatchesLocalDate() {
+        LocalDate date = LocalDate.of(1999, 1, 1);
+        while (date.getYear() < 2005) {
+            assertTrue(Formats.isIsoDate(date.toString()), date.toString());
+            date = date.plusDays(1);
+        }
+        String[] values = {"2024-02-29", "2023-02-29", "1900-02-29", "2000-02-29", "2024-04-31", "2024-13-01",
+                "2024-00-10", "2024-01-00", "2024-01-32", "2024-1-01", "2024/01/01", "24-01-01", "2024-01-011",
+                "+2024-01-01", "0000-01-01", "9999-12-31", "2024-0a-01", "2024-01-01T00:00", ""};
+        for (String value : values) {
+            assertEquals(parses(() -> LocalDate.parse(value)), Formats.isIsoDate(value), value);
+        }
+        assertTrue(Statements.isoDate("2024-02-29").isValid());
+        assertEquals("Value is not an ISO-8601 date", Statements.isoDate("2023-02-29").getMessage().getText());
+    }
+
+    @Test
+    void testIsoDateTimeMatchesJavaTime() {
+        String[] values = {"2024-02-29T13:45", "2024-02-29T13:45:30", "2024-02-29T13:45:30.1",
+                "2024-02-29T13:45:30.123456789", "2024-02-29T13:45:30.1234567891", "2024-02-29T13:45:30.",
+                "2024-02-29T24:00", "2024-02-29T23:60", "2024-02-29T23:59:60", "2024-02-29T1:45",
+                "2024-02-29 13:45", "2024-02-29T13", "2024-02-29T13:45:3", "2024-02-29T13:45Z",
+                "2024-02-29T13:45:30Z", "2024-02-29T13:45:30.5+01:00", "2024-02-29T13:45-18:00",
+                "2024-02-29T13:45+18:01", "2024-02-29T13:45+19:00", "2024-02-29T13:45+0100",
+                "2024-02-29T13:45ZZ", "2024-02-29T13:45+01:00Z", "2023-02-29T13:45", "2024-02-29T2a:45",
+                "2024-02-29T13:4a", "2024-02-29T13:45:a0", "2024-02-29T13:45+0a:00"};
+        for (String value : values) {
+            boolean expected = parses(() -> LocalDateTime.parse(value)) || parses(() -> OffsetDateTime.parse(value));
+            assertEquals(expected, Formats.isIsoDateTime(value), value);
+        }
+        assertFalse(Formats.isIsoDateTime("2024-02-29T13:45+01"));
+        assertTrue(Statements.isoDateTime("2024-02-29T13:45:30Z").isValid());
+        assertEquals("Value is not an ISO-8601 date-time",
+                Statements.isoDateTime("2024-02-29").getMessage().getText());
+    }
+
+    @Test
+    void testEmail() {
+        String[] valid = {"a@b.de", "first.last@example.com", "first.last+tag@mail.example.com",
+                "!#$%&'*+/=?^_`{|}~-@example.com", "x@a-b.c-d.org", "1@2.3", "a@" + "d".repeat(63) + ".de"};
+        for (String value : valid) {
+            assertTrue(Formats.isEmail(value), value);
+        }
+        String[] invalid = {"", "@example.com", "a@", "a", "a@b", "a@b.", "a@.b", "a@b..c", ".a@b.de", "a.@b.de",
+                "a..b@c.de", "a@-b.de", "a@b-.de", "a@b_c.de", "a b@c.de", "\"a\"@b.de", "a@[127.0.0.1]",
+                "a@b@c.de", "ä@b.de", "a@bä.de", "a@" + "d".repeat(64) + ".de",
+                "l".repeat(65) + "@b.de", "l@" + "d.".repeat(126) + "de"};
+        for (String value : invalid) {
+            assertFalse(Formats.isEmail(value), value);
+        }
+        assertTrue(Statements.email("first.last@example.com").isValid());
+        assertEquals("Value is not an e-mail address", Statements.email("a@b").getMessage().getText());
+    }
+
+    @Test
+    void testIban() {
+        String[] valid = {"DE89370400440532013000", "GB82WEST12345698765432", "NL91ABNA0417164300",
+                "NO9386011117947", "FR1420041010050500013M02606", "CH9300762011623852957", "MT84MALT011000012345MTLCAST001S"};
+        for (String value : valid) {
+            assertTrue(Formats.isIban(value), value);
+        }
+        String[] invalid = {"", "DE88370400440532013000", "DE8937040044053201300", "DE893704004405320130000",
+                "de89370400440532013000", "DE89 3704 0044 0532 0130 00", "DEAB370400440532013000",
+                "GB82west12345698765432", "D189370400440532013000", "NO938601111794"};
+        for (String value : invalid) {
+            assertFalse(Formats.isIban(value), value);
+        }
+        assertTrue(Statements.iban("DE89370400440532013000").isValid());
+        assertEquals("Value is not a valid IBAN", Statements.iban("DE88370400440532013000").getMessage().getText());
+    }
+
+    @Test
+    void testIntegerMatchesParseLong() {
+        String[] values = {"0", "-0", "+0", "42", "-42", "+42", "007", "9223372036854775807", "9223372036854775808",
+                "-9223372036854775808", "-9223372036854775809", "99999999999999999999999", "-99999999999999999999999",
+                "", "-", "+", "1-", "1 ", " 1", "1.0", "1e3", "0x10", "1_000", "--1", "4.7.7", "1.2+"};
+        for (String value : values) {
+            int expected;
+            try {
+                Long.parseLong(value);
+                expected = Formats.IN_RANGE;
+            } catch (NumberFormatException e) {
+                boolean number = value.matches("[+-]?[0-9]+");
+                expected = !number ? Formats.NOT_A_NUMBER : value.startsWith("-") ? Formats.TOO_SMALL : Formats.TOO_LARGE;
+            }
+            int actual = Formats.compareNumber(value, Long.MIN_VALUE, Long.MAX_VALUE, 0);
+            if (value.equals("1.0")) {
+                assertEquals(Formats.TOO_MANY_FRACTION_DIGITS, actual, value);
+            } else {
+                assertEquals(expected, actual, value);
+            }
+        }
+    }
+
+    @Test
+    void testNumberRange() {
+        long[][] ranges = {{-10, 10}, {0, 100}, {-100, -1}, {Long.MIN_VALUE, 0}, {0, Long.MAX_VALUE},
+                {Long.MIN_VALUE, Long.MAX_VALUE}, {5, 5}};
+        String[] values = {"-11", "-10", "-10.0", "-10.5", "-9.99", "-1", "-0.5", "0", "0.5", "4.99", "5", "5.00",
+                "5.01", "10", "10.00", "10.001", "100", "100.5", "9223372036854775807", "9223372036854775807.5",
+                "-9223372036854775808", "-9223372036854775808.1", "1e2", ".5", "5.", "-.5", "4.79.7", "1.2+", "1.234x",
+                "5.001.1", "0.123 ", "9.999e1"};
+        for (long[] range : ranges) {
+            for (String value : values) {
+                assertEquals(compareWithBigDecimal(value, range[0], range[1], 2),
+                        Formats.compareNumber(value, range[0], range[1], 2), value + " in " + range[0] + ".." + range[1]);
+            }
+        }
+    }
+
+    @Test
+    void testNumberStatements() {
+        assertTrue(Statements.integerBetween("42", 0, 100).isValid());
+        assertEquals("Number is too large", Statements.integerBetween("101", 0, 100).getMessage().getText());
+        assertEquals("Number is too small", Statements.integerBetween("-1", 0, 100).getMessage().getText());
+        assertEquals("Value is not a number", Statements.integerBetween("4x", 0, 100).getMessage().getText());
+        assertEquals("Value is not a number", Statements.integerBetween("١", 0, 100).getMessage().getText());
+        assertEquals("Value was null", Statements.integerBetween(null, 0, 100).getMessage().getText());
+        assertTrue(Statements.decimalBetween("19.99", 0, 100, 2).isValid());
+        assertEquals("Number has too many fraction digits",
+                Statements.decimalBetween("19.999", 0, 100, 2).getMessage().getText());
+        assertEquals("Value is not a number", Statements.decimalBetween("4.79.7", 0, 100, 0).getMessage().getText());
+        assertEquals("Value is not a number", Statements.decimalBetween("1.234+", 0, 100, 2).getMessage().getText());
+    }
+
+    private static int compareWithBigDecimal(String value, long min, long max, int maxFractionDigits) {
+        if (!value.matches("[+-]?[0-9]+(\\.[0-9]+)?")) {
+            return Formats.NOT_A_NUMBER;
+        }
+        BigDecimal number = new BigDecimal(value);
+        if (Math.max(number.scale(), 0) > maxFractionDigits) {
+            return Formats.TOO_MANY_FRACTION_DIGITS;
+        }
+        if (number.compareTo(BigDecimal.valueOf(min)) < 0) {
+            return Formats.TOO_SMALL;
+        }
+        return number.compareTo(BigDecimal.valueOf(max)) > 0 ? Formats.TOO_LARGE : Formats.IN_RANGE;
+    }
+
+    private static boolean parses(Runnable parser) {
+        try {
+            parser.run();
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
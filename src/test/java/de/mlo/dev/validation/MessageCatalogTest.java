@@ -0,0 +1,154 @@
+package de.mlo.dev.validation;
+
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class MessageCatalogTest {
+
+    private static final Map<Locale, Map<String, String>> TEMPLATES = Map.of(
+            Locale.ROOT, Map.of("NO_COUNTRY", "The country ''{0}'' does not exist"),
+            Locale.GERMAN, Map.of(
+                    "NO_COUNTRY", "Das Land ''{0}'' existiert nicht",
+                    "EMPTY", "Das Feld {field} ist leer"));
+
+    @Test
+    void testGetText() {
+        MessageCatalog catalog = MessageCatalog.ofMap(TEMPLATES);
+        ValidationMessage message = ValidationMessage.formatted("country", "NO_COUNTRY", "Unknown country", "Narnia");
+        assertEquals("Das Land 'Narnia' existiert nicht", catalog.getText(message, Locale.GERMANY));
+        assertEquals("The country 'Narnia' does not exist", catalog.getText(message, Locale.ENGLISH));
+
+        ValidationMessage withField = ValidationMessage.formatted("name", "EMPTY", "Empty");
+        assertEquals("Das Feld name ist leer", catalog.getText(withField, Locale.GERMAN));
+
+        // No template: The default text is used
+        assertEquals("Empty", catalog.getText(withField, Locale.ENGLISH));
+        assertEquals("Fail", catalog.getText(ValidationMessage.justText("Fail"), Locale.GERMAN));
+        assertNull(catalog.getText(ValidationMessage.empty(), Locale.GERMAN));
+    }
+
+    @Test
+    void testRenderResult() {
+        MessageCatalog catalog = MessageCatalog.ofMap(TEMPLATES);
+        ValidationResult result = new ValidationResult()
+                .add(ValidationInfo.invalid(ValidationMessage.formatted(null, "NO_COUNTRY", "Unknown", "Genovia")))
+                .add(ValidationInfo.valid())
+                .add(ValidationInfo.invalid("Fail"))
+                .add(ValidationInfo.invalid(ValidationMessage.formatted("zip", "EMPTY", "Empty")));
+        assertEquals("Das Land 'Genovia' existiert nicht | Fail | Das Feld zip ist leer",
+                catalog.getMessage(result, Locale.GERMAN, " | "));
+        assertThat(catalog.getMessagesTextList(result, Locale.ENGLISH))
+                .containsExactly("The country 'Genovia' does not exist", "Fail", "Empty");
+    }
+
+    @Test
+    void testTemplatesAreCached() {
+        AtomicInteger loads = new AtomicInteger();
+        MessageCatalog catalog = new MessageCatalog((code, locale) -> {
+            loads.incrementAndGet();
+            return "UNKNOWN".equals(code) ? null : locale.getLanguage() + ": {0}";
+        });
+        ValidationMessage message = ValidationMessage.formatted(null, "CODE", "Text", 1);
+        ValidationMessage unknown = ValidationMessage.formatted(null, "UNKNOWN", "Text {0}", 2);
+        for (int i = 0; i < 10; i++) {
+            assertEquals("de: 1", catalog.getText(message, Locale.GERMAN));
+            assertEquals("fr: 1", catalog.getText(message, Locale.FRENCH));
+            assertEquals("Text 2", catalog.getText(unknown, Locale.FRENCH));
+        }
+        assertEquals(3, loads.get());
+
+        catalog.clear();
+        catalog.getText(message, Locale.GERMAN);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testResourceBundles() {
+        ListResourceBundle bundle = new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][]{{"NO_COUNTRY", "Le pays ''{0}'' n''existe pas"}};
+            }
+        };
+        MessageCatalog catalog = MessageCatalog.ofResourceBundles(locale -> {
+            if (Locale.FRENCH.equals(locale)) {
+                return bundle;
+            }
+            throw new MissingResourceException("No bundle", "messages", "");
+        });
+        ValidationMessage message = ValidationMessage.formatted(null, "NO_COUNTRY", "Unknown {0}", "Narnia");
+        assertEquals("Le pays 'Narnia' n'existe pas", catalog.getText(message, Locale.FRENCH));
+        assertEquals("Unknown Narnia", catalog.getText(message, Locale.ITALIAN));
+    }
+
+    @Test
+    void testCompiledTemplateMatchesDefaultFormatter() {
+        String[] templates = {
+                "Plain text",
+                "%s - {1} - {field}",
+                "%2$s before %1$s",
+                "It''s {0}",
+                "'{0}' is quoted",
+                "100%% of {0}"
+        };
+        Object[] parameters = {"a", "b"};
+        for (String template : templates) {
+            ValidationMessage message = ValidationMessage.formatted("name", null, template, parameters);
+            MessageTemplate compiled = MessageTemplate.compile(template);
+            assertEquals(message.getText(), compiled.render("name", parameters, Locale.getDefault()), template);
+        }
+        assertTrue(MessageTemplate.compile("%s - {1} - {field}").isCompiled());
+        assertFalse(MessageTemplate.compile("Value {0,number,#.##}").isCompiled());
+    }
+
+    @Test
+    void testRenderMatchesGetText() {
+        String[] templates = {
+                "Plain text", "%s", "%s - {1}", "%s - {1} - {field}", "%2$s before %1$s", "'{0}' is quoted",
+                "100%% of {0}", ": {0}", "a{0}b", "{0} is negative", "It''s {0}", "Invalid {field}",
+                "Das Feld {field} ist leer", "Das Land ''{0}'' existiert nicht", "Le pays ''{0}'' n''existe pas",
+                "Name ''{0}'' is invalid", "Price %s is negative", "Price {0} is negative", "Größe {0} 😀",
+                "Value {0,number,#.##}", "'{field}' is wrong", "Name '%s' is wrong", "Name %s is wrong",
+                "'%s' and '{field}' and {0}", "%s %s %s"
+        };
+        Object[][] parameterSets = {{}, {"a", "b"}, {"O'Brien", "x"}, {"{x}", "y"}, {1234.5, 7}, {null, "b"}};
+        String[] fields = {"name", "it's", "a{b}", null};
+        for (String template : templates) {
+            MessageTemplate compiled = MessageTemplate.compile(template);
+            for (Object[] parameters : parameterSets) {
+                for (String field : fields) {
+                    ValidationMessage message = ValidationMessage.formatted(field, null, template, parameters);
+                    String description = template + " " + Arrays.toString(parameters) + " " + field;
+                    assertEquals(textOrException(message::getText),
+                            textOrException(() -> compiled.render(field, parameters, Locale.getDefault())), description);
+                }
+            }
+        }
+        assertTrue(MessageTemplate.compile("'{field}' is wrong").isCompiled());
+        assertEquals("name is wrong", MessageTemplate.compile("'{field}' is wrong").render("name", new Object[0], Locale.ROOT));
+        assertEquals("Name OBrien is wrong",
+                MessageTemplate.compile("Name '%s' is wrong").render(null, new Object[]{"O'Brien"}, Locale.ROOT));
+    }
+
+    private static String textOrException(Supplier<String> text) {
+        try {
+            return text.get();
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+}
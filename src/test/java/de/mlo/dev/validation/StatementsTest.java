@@ -0,0 +1,65 @@
+package de.mlo.dev.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class StatementsTest {
+
+    private static CharSequence slice(String text, int start, int end) {
+        return CharBuffer.wrap(text).subSequence(start, end);
+    }
+
+    @Test
+    void testNotBlank() {
+        assertTrue(Statements.notBlank(new StringBuilder(" x ")).isValid());
+        assertTrue(Statements.notBlank(slice("  x", 0, 2)).isInvalid());
+        assertTrue(Statements.notBlank((CharSequence) null).isInvalid());
+        assertSame(Statements.notBlank(slice(" ", 0, 1)), Statements.notBlank(new StringBuilder("\t")));
+    }
+
+    @Test
+    void testLengthBetween() {
+        CharSequence value = slice("abcdef", 1, 4);
+        assertTrue(Statements.lengthBetween(value, 3, 3).isValid());
+        assertEquals("Text is too short", Statements.lengthBetween(value, 4, 10).getMessage().getText());
+        assertEquals("Text is too long", Statements.lengthBetween(value, 0, 2).getMessage().getText());
+        assertEquals("Value was null", Statements.lengthBetween(null, 0, 2).getMessage().getText());
+    }
+
+    @Test
+    void testOnlyCharacters() {
+        assertTrue(Statements.onlyCharacters(slice("ab12-", 0, 4), Character::isLetterOrDigit).isValid());
+        assertTrue(Statements.onlyCharacters(slice("ab12-", 0, 5), Character::isLetterOrDigit).isInvalid());
+        // A supplementary letter is tested as one code point
+        assertTrue(Statements.onlyCharacters("a𐐀", Character::isLetter).isValid());
+        assertSame(Statements.onlyCharacters("-", Character::isDigit), Statements.onlyCharacters("+", Character::isDigit));
+    }
+
+    @Test
+    void testAscii() {
+        assertTrue(Statements.ascii(new StringBuilder("Hello ~")).isValid());
+        assertTrue(Statements.ascii(CharBuffer.wrap("Grüße")).isInvalid());
+        assertTrue(Statements.ascii("").isValid());
+    }
+
+    @Test
+    void testNoControlCharacters() {
+        assertTrue(Statements.noControlCharacters(CharBuffer.wrap("Name")).isValid());
+        assertTrue(Statements.noControlCharacters(CharBuffer.wrap("Na\u0000me")).isInvalid());
+        assertTrue(Statements.noControlCharacters("a\tb").isInvalid());
+    }
+
+    @Test
+    void testTrimmed() {
+        assertTrue(Statements.trimmed(slice(" abc ", 1, 4)).isValid());
+        assertTrue(Statements.trimmed(slice(" abc ", 0, 4)).isInvalid());
+        assertTrue(Statements.trimmed(new StringBuilder("abc\n")).isInvalid());
+        assertTrue(Statements.trimmed("").isValid());
+    }
+}
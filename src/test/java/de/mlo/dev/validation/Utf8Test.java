@@ -0,0 +1,102 @@
+package de.mlo.dev.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class Utf8Test {
+
+    /**
+     * @return The number of code points decoded by the JDK or {@link Utf8#MALFORMED}
+     */
+    private static int decode(byte[] bytes) {
+        try {
+            String text = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes))
+                    .toString();
+            return text.codePointCount(0, text.length());
+        } catch (CharacterCodingException e) {
+            return Utf8.MALFORMED;
+        }
+    }
+
+    private static List<ByteBuffer> buffers(byte[] bytes) {
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 3);
+        direct.position(3);
+        direct.put(bytes);
+        direct.position(3);
+        ByteBuffer padded = ByteBuffer.allocate(bytes.length + 5);
+        padded.position(2);
+        padded.put(bytes);
+        padded.position(2).limit(2 + bytes.length);
+        return List.of(ByteBuffer.wrap(bytes), ByteBuffer.wrap(bytes).asReadOnlyBuffer(), direct, padded.slice());
+    }
+
+    @Test
+    void testSameResultAsDecoder() {
+        Random random = new Random(3);
+        byte[] alphabet = {'a', 'Z', 0x7F, (byte) 0x80, (byte) 0xBF, (byte) 0xC2, (byte) 0xDF, (byte) 0xE0, (byte) 0xED,
+                (byte) 0xEF, (byte) 0xF0, (byte) 0xF4, (byte) 0xF5, (byte) 0xC0, (byte) 0x9F, (byte) 0xA0, (byte) 0x8F, (byte) 0x90};
+        for (int run = 0; run < 20_000; run++) {
+            byte[] bytes = new byte[random.nextInt(24)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            int expected = decode(bytes);
+            assertEquals(expected, Utf8.codePointCount(bytes, 0, bytes.length));
+            for (ByteBuffer buffer : buffers(bytes)) {
+                int position = buffer.position();
+                assertEquals(expected, Utf8.codePointCount(buffer));
+                assertEquals(position, buffer.position());
+            }
+        }
+    }
+
+    @Test
+    void testText() {
+        String text = "Grüße aus Köln 😀 and a long ASCII run without any multibyte characters";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        for (ByteBuffer buffer : buffers(bytes)) {
+            assertEquals(text.codePointCount(0, text.length()), Utf8.codePointCount(buffer));
+        }
+    }
+
+    @Test
+    void testRange() {
+        byte[] bytes = "xäx".getBytes(StandardCharsets.UTF_8);
+        assertEquals(1, Utf8.codePointCount(bytes, 1, 2));
+        assertEquals(Utf8.MALFORMED, Utf8.codePointCount(bytes, 1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> Utf8.codePointCount(bytes, 2, 3));
+    }
+
+    @Test
+    void testStatements() {
+        ByteBuffer name = ByteBuffer.wrap("Jürgen".getBytes(StandardCharsets.UTF_8));
+        byte[] overlong = {'a', (byte) 0xC0, (byte) 0xAF};
+
+        assertTrue(Statements.utf8(name).isValid());
+        assertTrue(Statements.utf8(overlong, 0, 1).isValid());
+        assertEquals("Bytes are not well-formed UTF-8", Statements.utf8(overlong, 0, 3).getMessage().getText());
+        assertTrue(Statements.utf8LengthBetween(name, 6, 6).isValid());
+        assertTrue(Statements.utf8LengthBetween(name, 7, 10).isInvalid());
+        assertTrue(Statements.utf8LengthBetween(overlong, 0, 3, 0, 10).isInvalid());
+        assertTrue(Statements.onlyBytes(name, ByteClass.ASCII_LETTERS.union(ByteClass.NON_ASCII)).isValid());
+        assertTrue(Statements.onlyBytes(name, ByteClass.ASCII_PRINTABLE).isInvalid());
+        assertTrue(Statements.onlyBytes("a-1".getBytes(StandardCharsets.US_ASCII), 0, 3,
+                ByteClass.ASCII_LETTERS.union(ByteClass.ASCII_DIGITS).union(ByteClass.of("-_"))).isValid());
+        assertTrue(Statements.utf8((ByteBuffer) null).isInvalid());
+        assertEquals(0, name.position());
+    }
+}
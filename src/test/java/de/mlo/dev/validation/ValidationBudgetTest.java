@@ -0,0 +1,185 @@
+package de.mlo.dev.validation;
+
+import de.mlo.dev.validation.basic.ValidationResult;
+import de.mlo.dev.validation.basic.ValidationRunners;
+import de.mlo.dev.validation.basic.Validator;
+import de.mlo.dev.validation.value.ValueValidationResult;
+import de.mlo.dev.validation.value.ValueValidationRunners;
+import de.mlo.dev.validation.value.ValueValidator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValidationBudgetTest {
+
+    @Test
+    void testFailureLimit() {
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .add(s -> ValidationInfo.invalid("1"))
+                .add(s -> ValidationInfo.valid())
+                .add(s -> ValidationInfo.invalid("2"))
+                .add(s -> ValidationInfo.invalid("3"))
+                .setValidationRunner(ValueValidationRunners.withBudget(ValidationBudget.unlimited().withMaxFailures(2)));
+
+        ValueValidationResult<String> result = validator.validate("abc");
+        assertThat(result.getMessagesTextList()).containsExactly("1", "2");
+        assertTrue(result.isTruncated());
+        assertEquals(TruncationReason.FAILURE_LIMIT, result.getTruncationReason());
+    }
+
+    @Test
+    void testFailureLimitWithinOneStatement() {
+        Validator validator = new Validator()
+                .add(() -> new ValidationResult()
+                        .add(ValidationInfo.invalid("1"))
+                        .add(ValidationInfo.invalid("2"))
+                        .add(ValidationInfo.invalid("3")))
+                .setValidationRunner(ValidationRunners.withBudget(ValidationBudget.unlimited().withMaxFailures(2)));
+
+        ValidationResult result = validator.validate();
+        assertThat(result.getMessagesTextList()).containsExactly("1", "2");
+        assertEquals(TruncationReason.FAILURE_LIMIT, result.getTruncationReason());
+    }
+
+    @Test
+    void testLimitNotReached() {
+        Validator validator = new Validator()
+                .add(() -> ValidationInfo.invalid("1"))
+                .add(() -> ValidationInfo.invalid("2"))
+                .setValidationRunner(ValidationRunners.withBudget(ValidationBudget.unlimited().withMaxFailures(2).withMaxCost(2)));
+
+        ValidationResult result = validator.validate();
+        assertEquals(2, result.getValidationInfos().size());
+        assertFalse(result.isTruncated());
+        assertNull(result.getTruncationReason());
+    }
+
+    @Test
+    void testCostLimit() {
+        AtomicInteger executed = new AtomicInteger();
+        Validator validator = new Validator()
+                .add(() -> {
+                    executed.incrementAndGet();
+                    ValidationBudget.Tracker tracker = ValidationBudget.current();
+                    assertNotNull(tracker);
+                    tracker.charge(5);
+                    return ValidationInfo.valid();
+                })
+                .add(() -> {
+                    executed.incrementAndGet();
+                    return ValidationInfo.valid();
+                })
+                .setValidationRunner(ValidationRunners.withBudget(ValidationBudget.unlimited().withMaxCost(5)));
+
+        ValidationResult result = validator.validate();
+        assertEquals(1, executed.get());
+        assertEquals(TruncationReason.COST_LIMIT, result.getTruncationReason());
+        assertNull(ValidationBudget.current());
+    }
+
+    @Test
+    void testDeadline() {
+        AtomicInteger executed = new AtomicInteger();
+        Validator validator = new Validator()
+                .add(() -> {
+                    executed.incrementAndGet();
+                    return ValidationInfo.valid();
+                })
+                .setValidationRunner(ValidationRunners.withBudget(ValidationBudget.unlimited()
+                        .withDeadline(Instant.now().minusSeconds(1))));
+
+        ValidationResult result = validator.validate();
+        assertEquals(0, executed.get());
+        assertTrue(result.isValid());
+        assertEquals(TruncationReason.DEADLINE, result.getTruncationReason());
+    }
+
+    @Test
+    void testTimeout() {
+        Validator validator = new Validator()
+                .add(() -> {
+                    sleep();
+                    return ValidationInfo.invalid("Slow");
+                })
+                .add(() -> ValidationInfo.invalid("Not executed"))
+                .setValidationRunner(ValidationRunners.withBudget(ValidationBudget.unlimited()
+                        .withTimeout(Duration.ofMillis(5))));
+
+        ValidationResult result = validator.validate();
+        assertThat(result.getMessagesTextList()).containsExactly("Slow");
+        assertEquals(TruncationReason.DEADLINE, result.getTruncationReason());
+    }
+
+    @Test
+    void testNestedRunnerSharesOuterLimits() {
+        AtomicInteger executed = new AtomicInteger();
+        Validator inner = new Validator()
+                .add(() -> {
+                    executed.incrementAndGet();
+                    return ValidationInfo.valid();
+                })
+                .add(() -> {
+                    executed.incrementAndGet();
+                    return ValidationInfo.valid();
+                })
+                .setValidationRunner(ValidationRunners.withBudget(ValidationBudget.unlimited()));
+        Validator outer = new Validator()
+                .add(inner)
+                .add(() -> ValidationInfo.invalid("Not executed"))
+                .setValidationRunner(ValidationRunners.withBudget(ValidationBudget.unlimited().withMaxCost(2)));
+
+        ValidationResult result = outer.validate();
+        // The outer runner charges 1, the inner runner charges 1 for its first statement
+        assertEquals(1, executed.get());
+        assertTrue(result.isValid());
+        assertEquals(TruncationReason.COST_LIMIT, result.getTruncationReason());
+    }
+
+    @Test
+    void testRegisteredFuturesAreCancelled() {
+        CompletableFuture<ValidationInfo> future = new CompletableFuture<>();
+        Validator validator = new Validator()
+                .add(() -> {
+                    ValidationBudget.current().register(future);
+                    return ValidationInfo.invalid("1");
+                })
+                .add(() -> ValidationInfo.invalid("2"))
+                .setValidationRunner(ValidationRunners.withBudget(ValidationBudget.unlimited().withMaxFailures(1)));
+
+        ValidationResult result = validator.validate();
+        assertThat(result.getMessagesTextList()).containsExactly("1");
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    void testTruncationIsPropagated() {
+        ValidationResult truncated = new ValidationResult().markTruncated(TruncationReason.DEADLINE);
+        ValidationResult result = new ValidationResult()
+                .add(truncated)
+                .markTruncated(TruncationReason.COST_LIMIT);
+        assertEquals(TruncationReason.DEADLINE, result.getTruncationReason());
+    }
+
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> ValidationBudget.unlimited().withMaxFailures(0));
+        assertThrows(IllegalArgumentException.class, () -> ValidationBudget.unlimited().withMaxCost(-1));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package de.mlo.dev.validation;
+
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValidationCodesTest {
+
+    @Test
+    void testDefine() {
+        ValidationCode code = ValidationCodes.define("TEST_NO_COUNTRY", "country", "Country is missing");
+        assertSame(code, ValidationCodes.define("TEST_NO_COUNTRY", "country", "Country is missing"));
+        assertSame(code, ValidationCodes.get("TEST_NO_COUNTRY"));
+        assertNull(ValidationCodes.get("TEST_UNKNOWN"));
+        assertThrows(IllegalStateException.class,
+                () -> ValidationCodes.define("TEST_NO_COUNTRY", "country", "Another text"));
+        assertThrows(IllegalArgumentException.class, () -> ValidationCodes.invalid("TEST_UNKNOWN"));
+    }
+
+    @Test
+    void testSharedInfo() {
+        ValidationCode code = ValidationCodes.define("TEST_NO_NAME", "name", "Name ''{0}'' is invalid");
+        ValidationInfo info = code.invalid();
+        assertTrue(info.isInvalid());
+        assertSame(info, code.invalid());
+        assertSame(info, ValidationCodes.invalid("TEST_NO_NAME"));
+        assertEquals("TEST_NO_NAME", info.getMessageCode());
+        assertEquals("name", info.getField());
+
+        ValidationInfo withParameter = code.invalid("Bob");
+        assertNotSame(info, withParameter);
+        assertEquals("Name 'Bob' is invalid", withParameter.getMessageText());
+        assertEquals(code.getCodeId(), withParameter.getMessage().getCodeId());
+        assertEquals(code.getFieldId(), withParameter.getMessage().getFieldId());
+        assertTrue(code.matches(withParameter));
+        assertFalse(code.matches(ValidationInfo.invalid("Fail")));
+    }
+
+    @Test
+    void testSymbolIds() {
+        SymbolTable codes = SymbolTable.codes();
+        int first = codes.idOf("TEST_SYMBOL_1");
+        int second = codes.idOf("TEST_SYMBOL_2");
+        assertNotEquals(first, second);
+        assertEquals(first, codes.idOf("TEST_SYMBOL_1"));
+        assertEquals("TEST_SYMBOL_2", codes.nameOf(second));
+        assertEquals(SymbolTable.NONE, codes.idOf(null));
+        assertEquals(SymbolTable.NONE, codes.lookup("TEST_SYMBOL_NEVER_REGISTERED"));
+        assertThat(codes.size()).isGreaterThan(second);
+
+        ValidationMessage message = ValidationMessage.justCode("TEST_SYMBOL_1");
+        assertEquals(first, message.getCodeId());
+        assertEquals(SymbolTable.NONE, message.getFieldId());
+    }
+
+    @Test
+    void testCounts() {
+        ValidationCode noCountry = ValidationCodes.define("TEST_COUNT_COUNTRY", "country", "Country is missing");
+        ValidationCode noZip = ValidationCodes.define("TEST_COUNT_ZIP", "zip", "ZIP is missing");
+        ValidationResult result = new ValidationResult()
+                .add(noCountry.invalid())
+                .add(noCountry.invalid())
+                .add(noZip.invalid())
+                .add(ValidationInfo.invalidCode("TEST_COUNT_ZIP"))
+                .add(ValidationInfo.valid(ValidationMessage.justCode("TEST_COUNT_COUNTRY")))
+                .add(ValidationInfo.invalid("Without code"));
+        assertEquals(2, result.countCode("TEST_COUNT_COUNTRY"));
+        assertEquals(2, result.countCode("TEST_COUNT_ZIP"));
+        assertEquals(0, result.countCode("TEST_COUNT_OTHER"));
+        assertThat(result.getCodeCounts())
+                .containsEntry("TEST_COUNT_COUNTRY", 2)
+                .containsEntry("TEST_COUNT_ZIP", 2)
+                .hasSize(2);
+        assertThat(result.getFieldCounts())
+                .containsEntry("country", 2)
+                .containsEntry("zip", 1)
+                .hasSize(2);
+    }
+
+    @Test
+    void testCountsDoNotRegisterSymbols() {
+        ValidationResult result = new ValidationResult()
+                .add(new ValidationInfo(false, new ValidationMessage("items[0].price", "TEST_DYNAMIC_CODE", "Fail")))
+                .add(new ValidationInfo(false, new ValidationMessage("items[1].price", "TEST_DYNAMIC_CODE", "Fail")));
+        int codes = SymbolTable.codes().size();
+        int fields = SymbolTable.fields().size();
+
+        assertEquals(2, result.countCode("TEST_DYNAMIC_CODE"));
+        assertEquals(0, result.countCode("TEST_DYNAMIC_OTHER"));
+        assertThat(result.getCodeCounts()).containsEntry("TEST_DYNAMIC_CODE", 2).hasSize(1);
+        assertThat(result.getFieldCounts()).containsEntry("items[0].price", 1).containsEntry("items[1].price", 1);
+        assertEquals(SymbolTable.NONE, result.getAllValidationInfos().get(0).getMessage().getFieldId());
+
+        assertEquals(codes, SymbolTable.codes().size());
+        assertEquals(fields, SymbolTable.fields().size());
+    }
+
+    @Test
+    void testCountsByIdAndPath() {
+        ValidationCode code = ValidationCodes.define("TEST_COUNT_BY_ID", "amount", "Invalid amount");
+        FieldPath items = FieldPath.of("items");
+        ValidationResult result = new ValidationResult()
+                .add(code.invalid())
+                .add(code.invalid())
+                .add(new ValidationInfo(false, ValidationMessage.ofPath(items.index(0).child("price"), "TEST_COUNT_PATH", "Fail")))
+                .add(new ValidationInfo(false, ValidationMessage.ofPath(items.index(0).child("price"), "TEST_COUNT_PATH", "Fail")))
+                .add(new ValidationInfo(false, ValidationMessage.ofPath(FieldPath.of("amount"), "TEST_COUNT_PATH", "Fail")))
+                .add(ValidationInfo.valid());
+
+        assertThat(result.getCodeCounts()).containsEntry("TEST_COUNT_BY_ID", 2).containsEntry("TEST_COUNT_PATH", 3).hasSize(2);
+        // The registered field of the code and the structured path of the same field are merged
+        assertThat(result.getFieldCounts()).containsEntry("amount", 3).containsEntry("items[0].price", 2).hasSize(2);
+    }
+
+    @Test
+    void testPathOfMessage() {
+        ValidationMessage withPath = ValidationMessage.ofPath(FieldPath.of("items").index(1), null, "Fail");
+        assertEquals("items[1]", withPath.getField());
+        assertSame(withPath.getStructuredPath(), withPath.getPath());
+
+        ValidationMessage withText = ValidationMessage.justText("items[1]", "Fail");
+        assertNull(withText.getStructuredPath());
+        assertEquals(withPath.getPath(), withText.getPath());
+        assertSame(withText.getPath(), withText.getPath());
+    }
+
+    @Test
+    void testCompareTo() {
+        ValidationCode code = ValidationCodes.define("TEST_COMPARE", "Compare {0}");
+        assertEquals(0, code.getMessage().compareTo(code.getMessage()));
+        assertEquals(0, code.invalid(1).getMessage().compareTo(code.invalid(1).getMessage()));
+        assertTrue(code.invalid(1).getMessage().compareTo(code.invalid(2).getMessage()) < 0);
+        assertTrue(code.getMessage().compareTo(ValidationMessage.justCode("TEST_COMPARF")) < 0);
+        assertTrue(code.getMessage().compareTo(ValidationMessage.justText("No code")) < 0);
+    }
+}
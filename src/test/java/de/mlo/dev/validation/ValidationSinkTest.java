@@ -0,0 +1,101 @@
+package de.mlo.dev.validation;
+
+import de.mlo.dev.validation.basic.AggregatedValidationResult;
+import de.mlo.dev.validation.basic.ValidationResult;
+import de.mlo.dev.validation.basic.Validator;
+import de.mlo.dev.validation.value.ValueValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValidationSinkTest {
+
+    @Test
+    void testValueValidatorStreamsInOrder() {
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .add(s -> ValidationInfo.valid("1"))
+                .groupBuilder()
+                .add(s -> ValidationInfo.invalid("2"))
+                .add(s -> ValidationInfo.valid("3"))
+                .build()
+                .conditionBuilder(s -> s.isEmpty())
+                .add(s -> ValidationInfo.invalid("Skipped"))
+                .build()
+                .switchValue(String::length)
+                .add(l -> ValidationInfo.valid("Length " + l))
+                .switchBack(String.class);
+
+        List<String> texts = new ArrayList<>();
+        assertTrue(validator.validateInto("Test", info -> texts.add(info.getMessageText())));
+        assertThat(texts).containsExactly("1", "2", "3", "Length 4");
+        assertEquals(validator.validate("Test").getMessagesTextList(), texts);
+    }
+
+    @Test
+    void testSinkStopsValidation() {
+        AtomicInteger executed = new AtomicInteger();
+        ValueValidator<Integer> validator = new ValueValidator<>();
+        for (int i = 0; i < 100; i++) {
+            validator.add(value -> {
+                executed.incrementAndGet();
+                return ValidationInfo.invalid("Fail");
+            });
+        }
+        AtomicInteger received = new AtomicInteger();
+        assertFalse(validator.validateInto(1, info -> received.incrementAndGet() < 3));
+        assertEquals(3, received.get());
+        assertEquals(3, executed.get());
+    }
+
+    @Test
+    void testStopOnFirstFail() {
+        Validator validator = new Validator()
+                .add(() -> ValidationInfo.valid("1"))
+                .add(() -> ValidationInfo.invalid("2"))
+                .add(() -> ValidationInfo.invalid("3"))
+                .setValidateAndStopOnFirstFail();
+        List<String> texts = new ArrayList<>();
+        assertTrue(validator.validateInto(info -> texts.add(info.getMessageText())));
+        assertThat(texts).containsExactly("1", "2");
+
+        ValueValidator<String> valueValidator = new ValueValidator<String>()
+                .add(s -> ValidationInfo.invalid("1"))
+                .add(s -> ValidationInfo.invalid("2"))
+                .setValidateAndStopOnFirstFail();
+        texts.clear();
+        assertTrue(valueValidator.validateInto("Test", info -> texts.add(info.getMessageText())));
+        assertThat(texts).containsExactly("1");
+    }
+
+    @Test
+    void testCustomRunnerAndSummarizer() {
+        // Custom runners and summarizers do not know the sink and are aggregated first
+        Validator validator = new Validator()
+                .add(() -> new ValidationResult().add(ValidationInfo.invalid("1"), ValidationInfo.invalid("2")))
+                .setValidationRunner(summarizers -> summarizers.get(0).validate());
+        List<String> texts = new ArrayList<>();
+        assertFalse(validator.validateInto(info -> texts.add(info.getMessageText()) && texts.size() < 1));
+        assertThat(texts).containsExactly("1");
+    }
+
+    @Test
+    void testIntoResult() {
+        ValueValidator<Integer> validator = new ValueValidator<Integer>()
+                .add(i -> ValidationInfo.invalid(ValidationMessage.formatted("value", "NEGATIVE", "{0} is negative", i)));
+        AggregatedValidationResult result = new AggregatedValidationResult();
+        ValidationSink sink = ValidationSink.into(result);
+        for (int i = 0; i < 1000; i++) {
+            validator.validateInto(-i, sink);
+        }
+        assertEquals(1000, result.getOccurrences());
+        assertEquals(1, result.getAllValidationInfos().size());
+    }
+}
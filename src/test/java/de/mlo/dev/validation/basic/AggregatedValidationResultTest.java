@@ -0,0 +1,132 @@
+package de.mlo.dev.validation.basic;
+
+import de.mlo.dev.validation.FieldPath;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationMessage;
+import de.mlo.dev.validation.value.ValueValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class AggregatedValidationResultTest {
+
+    private static ValidationInfo priceInvalid(int index) {
+        return ValidationInfo.invalid(ValidationMessage.formatted("price", "NEGATIVE", "Price {0} is negative", index));
+    }
+
+    @Test
+    void testCollapse() {
+        AggregatedValidationResult result = new AggregatedValidationResult(3);
+        for (int i = 0; i < 50_000; i++) {
+            result.add(ValidationInfo.valid());
+            result.add(priceInvalid(i));
+        }
+        result.add(ValidationInfo.invalid("Order is empty"));
+
+        assertTrue(result.isInvalid());
+        assertEquals(100_001, result.getOccurrences());
+        assertEquals(3, result.getAllValidationInfos().size());
+        assertEquals(2, result.getValidationInfos().size());
+        assertEquals("Price 0 is negative|Order is empty", result.getMessage("|"));
+
+        List<AggregatedValidationResult.Entry> entries = result.getEntries();
+        assertEquals(3, entries.size());
+        assertEquals(50_000, entries.get(0).getCount());
+        assertEquals(50_000, entries.get(1).getCount());
+        assertThat(entries.get(1).getSampleIndices()).containsExactly(1, 3, 5);
+        assertThat(entries.get(1).getSampleParameters()).hasSize(3);
+        assertEquals(2, entries.get(1).getSampleParameters().get(2)[0]);
+        assertThat(entries.get(0).getSampleParameters()).isEmpty();
+
+        assertEquals(50_000, result.getCount(priceInvalid(-1)));
+        assertEquals(0, result.getCount(ValidationInfo.invalid("Unknown")));
+    }
+
+    @Test
+    void testCollapseForEachResult() {
+        List<Integer> prices = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            prices.add(i % 2 == 0 ? -i : i);
+        }
+        ValueValidator<List<Integer>> validator = new ValueValidator<List<Integer>>()
+                .forEach("items", l -> l, new ValueValidator<Integer>()
+                        .add(p -> p < 0 ? priceInvalid(p) : ValidationInfo.valid()))
+                .build();
+
+        AggregatedValidationResult result = new AggregatedValidationResult(3).add(validator.validate(prices));
+
+        List<AggregatedValidationResult.Entry> entries = result.getInvalidEntries();
+        assertEquals(1, entries.size());
+        AggregatedValidationResult.Entry entry = entries.get(0);
+        assertEquals(24_999, entry.getCount());
+        assertEquals("items[].price", String.valueOf(entry.getField()));
+        assertEquals("items[2].price", entry.getInfo().getField());
+        assertThat(entry.getSampleFieldIndices()).extracting(indices -> indices[0]).containsExactly(2, 4, 6);
+        assertThat(result.getFieldCounts()).containsEntry("items[].price", 24_999).hasSize(1);
+        assertEquals(24_999, result.getCount(priceInvalid(-1).withPathPrefix(FieldPath.of("items").index(7))));
+    }
+
+    @Test
+    void testCountsIncludeCollapsedInfos() {
+        AggregatedValidationResult result = new AggregatedValidationResult();
+        for (int i = 0; i < 10_000; i++) {
+            result.add(priceInvalid(i));
+        }
+        result.add(ValidationInfo.valid(ValidationMessage.justCode("NEGATIVE")));
+        result.add(ValidationInfo.invalidCode("EMPTY"));
+
+        assertEquals(10_000, result.countCode("NEGATIVE"));
+        assertEquals(1, result.countCode("EMPTY"));
+        assertEquals(0, result.countCode("OTHER"));
+        assertThat(result.getCodeCounts()).containsEntry("NEGATIVE", 10_000).containsEntry("EMPTY", 1).hasSize(2);
+        assertThat(result.getFieldCounts()).containsEntry("price", 10_000).hasSize(1);
+    }
+
+    @Test
+    void testTopEntries() {
+        AggregatedValidationResult result = new AggregatedValidationResult()
+                .add(ValidationInfo.invalid("Rare"))
+                .add(priceInvalid(1), priceInvalid(2), priceInvalid(3))
+                .add(ValidationInfo.invalidCode("MISSING"), ValidationInfo.invalidCode("MISSING"))
+                .add(ValidationInfo.valid("Success"), ValidationInfo.valid("Success"), ValidationInfo.valid("Success"),
+                        ValidationInfo.valid("Success"));
+        List<AggregatedValidationResult.Entry> top = result.getTopEntries(2);
+        assertEquals(2, top.size());
+        assertEquals("NEGATIVE", top.get(0).getInfo().getMessageCode());
+        assertEquals(3, top.get(0).getCount());
+        assertEquals("MISSING", top.get(1).getInfo().getMessageCode());
+        assertEquals(3, result.getInvalidEntries().size());
+        assertEquals(4, result.getEntries().size());
+        assertEquals(3, result.getTopEntries(10).size());
+    }
+
+    @Test
+    void testMerge() {
+        AggregatedValidationResult first = new AggregatedValidationResult(2)
+                .add(priceInvalid(1))
+                .add(ValidationInfo.valid());
+        AggregatedValidationResult second = new AggregatedValidationResult(2)
+                .add(priceInvalid(2), priceInvalid(3), priceInvalid(4))
+                .add(ValidationInfo.invalid("Other"));
+
+        first.add(second);
+        assertEquals(6, first.getOccurrences());
+        assertEquals(4, first.getCount(priceInvalid(0)));
+        assertEquals(3, first.getAllValidationInfos().size());
+        AggregatedValidationResult.Entry priceEntry = first.getEntries().get(0);
+        assertThat(priceEntry.getSampleIndices()).containsExactly(0, 2);
+
+        // Regular results are expanded info by info
+        first.add(new ValidationResult().add(priceInvalid(5)).add(ValidationInfo.invalid("Other")));
+        assertEquals(8, first.getOccurrences());
+        assertEquals(5, first.getCount(priceInvalid(0)));
+        assertEquals(3, first.getAllValidationInfos().size());
+    }
+}
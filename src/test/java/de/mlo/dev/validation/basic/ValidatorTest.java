@@ -256,4 +256,20 @@ class ValidatorTest {
         ValidationResult result = validator.validate();
         assertEquals("Always wrong", result.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFreeze() {
+        Validator validator = new Validator()
+                .add(() -> ValidationInfo.valid("1"))
+                .add(new Validator()
+                        .add(() -> ValidationInfo.invalid("2"))
+                        .add(() -> ValidationInfo.invalid("3")));
+        FrozenValidator frozen = validator.freeze();
+        validator.add(() -> ValidationInfo.invalid("Added later")).setValidateAndStopOnFirstFail();
+
+        assertEquals(2, frozen.size());
+        assertEquals(List.of("1", "2", "3"), frozen.validate().getMessagesTextList());
+        assertEquals(List.of("1", "2", "3"), frozen.validateAndStopOnFirstFail().getMessagesTextList());
+        assertEquals(List.of("1", "2", "3"), frozen.validate().getMessagesTextList());
+    }
+}
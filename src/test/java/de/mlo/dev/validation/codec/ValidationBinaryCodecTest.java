@@ -0,0 +1,125 @@
+package de.mlo.dev.validation.codec;
+
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationMessage;
+import de.mlo.dev.validation.basic.AggregatedValidationResult;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValidationBinaryCodecTest {
+
+    private static ValidationResult createResult() {
+        ValidationResult result = new ValidationResult()
+                .add(ValidationInfo.valid())
+                .add(ValidationInfo.invalid(new ValidationMessage("größe", "TOO_LARGE", "Größe {0} 😀",
+                        null, true, false, 42, -7L, (short) 3, (byte) -1, 'x', 1.5d, 2.5f,
+                        new BigInteger("123456789012345678901234567890"), new BigDecimal("1.10"), "text")));
+        for (int i = 0; i < 100; i++) {
+            result.add(ValidationInfo.invalid(ValidationMessage.formatted("price", "NEGATIVE", "Price {0} is negative", -i)));
+        }
+        return result;
+    }
+
+    @Test
+    void testRoundTrip() {
+        ValidationResult result = createResult();
+        ValidationBinaryCodec codec = new ValidationBinaryCodec();
+        ByteBuffer buffer = codec.encode(result);
+        assertEquals(codec.encodedSize(result), buffer.remaining());
+
+        DecodedValidationResult decoded = ValidationBinaryCodec.decode(buffer);
+        assertFalse(buffer.hasRemaining());
+        assertTrue(decoded.isInvalid());
+        assertEquals(102, decoded.size());
+        assertEquals("NEGATIVE", decoded.getCode(50));
+        assertEquals("price", decoded.getField(50));
+        assertTrue(decoded.isValid(0));
+        assertFalse(decoded.isValid(1));
+        assertEquals(1, decoded.getCount(1));
+
+        ValidationResult copy = decoded.toValidationResult();
+        assertEquals(result.getMessage(), copy.getMessage());
+        assertEquals(result.getFieldMessages(), copy.getFieldMessages());
+        assertEquals(result.getCodeCounts(), copy.getCodeCounts());
+        assertThat(copy.getAllValidationInfos().get(1).getMessage().getParameters())
+                .containsExactly(result.getAllValidationInfos().get(1).getMessage().getParameters());
+        assertSame(decoded.getInfo(5), decoded.getInfo(5));
+    }
+
+    @Test
+    void testStringTableIsCompact() {
+        ValidationResult result = new ValidationResult();
+        for (int i = 0; i < 1000; i++) {
+            result.add(ValidationInfo.invalid(ValidationMessage.formatted("a.long.field.name", "A_LONG_CODE",
+                    "A long text template {0}", i)));
+        }
+        // Per info: flags, 3 string references, parameter count, type and value
+        assertThat(new ValidationBinaryCodec().encodedSize(result)).isLessThan(1000 * 8 + 100);
+    }
+
+    @Test
+    void testMultipleResultsInOneBuffer() {
+        ValidationBinaryCodec codec = new ValidationBinaryCodec();
+        ValidationResult first = createResult();
+        ValidationResult second = new ValidationResult().add(ValidationInfo.invalid("Second"));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(codec.encodedSize(first) + codec.encodedSize(second))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        codec.encode(first, buffer);
+        codec.encode(second, buffer);
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+        assertThrows(BufferOverflowException.class, () -> codec.encode(second, buffer));
+        buffer.flip();
+
+        assertEquals(first.getMessage(), ValidationBinaryCodec.decode(buffer).toValidationResult().getMessage());
+        assertEquals("Second", ValidationBinaryCodec.decode(buffer).getInfo(0).getMessageText());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testAggregatedCounts() {
+        AggregatedValidationResult result = new AggregatedValidationResult()
+                .add(ValidationInfo.invalidCode("A"), ValidationInfo.invalidCode("A"), ValidationInfo.invalidCode("B"));
+        DecodedValidationResult decoded = ValidationBinaryCodec.decode(new ValidationBinaryCodec().encode(result));
+        assertEquals(2, decoded.size());
+        assertEquals(2, decoded.getCount(0));
+        assertEquals(1, decoded.getCount(1));
+    }
+
+    @Test
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> ValidationBinaryCodec.decode(ByteBuffer.wrap(new byte[]{1, 2, 3})));
+        ByteBuffer encoded = new ValidationBinaryCodec().encode(createResult());
+        ByteBuffer truncated = encoded.limit(encoded.limit() - 3);
+        assertThrows(IllegalArgumentException.class, () -> ValidationBinaryCodec.decode(truncated));
+    }
+
+    @Test
+    void testCraftedInput() {
+        byte[][] crafted = {
+                // 2^31 - 1 strings
+                {'V', 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07},
+                // One string with the length -1
+                {'V', 1, 0, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                        (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01, 0},
+                // One string, one info with a reference to the missing second string
+                {'V', 1, 0, 1, 1, 'a', 1, ValidationBinaryCodec.FLAG_CODE, 1, 0},
+                // One info with 100 parameters
+                {'V', 1, 0, 0, 1, 0, 100, ValidationBinaryCodec.TYPE_NULL}
+        };
+        for (byte[] bytes : crafted) {
+            assertThrows(IllegalArgumentException.class, () -> ValidationBinaryCodec.decode(ByteBuffer.wrap(bytes)));
+        }
+    }
+}
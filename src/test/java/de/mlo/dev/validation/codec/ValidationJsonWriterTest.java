@@ -0,0 +1,86 @@
+package de.mlo.dev.validation.codec;
+
+import de.mlo.dev.validation.MessageCatalog;
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.ValidationMessage;
+import de.mlo.dev.validation.basic.AggregatedValidationResult;
+import de.mlo.dev.validation.basic.ValidationResult;
+import de.mlo.dev.validation.value.ValueValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValidationJsonWriterTest {
+
+    @Test
+    void testWrite() {
+        ValidationResult result = new ValidationResult()
+                .add(ValidationInfo.valid("Ok"))
+                .add(ValidationInfo.invalid(ValidationMessage.formatted("price", "NEGATIVE", "Price %s is negative", -1)))
+                .add(ValidationInfo.invalidCode("EMPTY"));
+        ValidationJsonWriter writer = new ValidationJsonWriter();
+        assertEquals("{\"valid\":false,\"messages\":["
+                        + "{\"valid\":false,\"field\":\"price\",\"code\":\"NEGATIVE\",\"text\":\"Price -1 is negative\",\"parameters\":[-1]},"
+                        + "{\"valid\":false,\"code\":\"EMPTY\"}]}",
+                writer.toJson(result));
+        assertEquals("{\"valid\":false,\"messages\":[{\"valid\":true,\"text\":\"Ok\"},"
+                        + "{\"valid\":false,\"field\":\"price\",\"code\":\"NEGATIVE\",\"text\":\"Price -1 is negative\",\"parameters\":[-1]},"
+                        + "{\"valid\":false,\"code\":\"EMPTY\"}]}",
+                writer.setIncludeValid(true).toJson(result));
+        assertEquals("{\"valid\":true,\"messages\":[]}", new ValidationJsonWriter().toJson(new ValueValidationResult<>("Value")));
+    }
+
+    @Test
+    void testParametersAndEscaping() {
+        ValidationResult result = new ValidationResult().add(ValidationInfo.invalid(new ValidationMessage(
+                "na\"me", null, "Line\nbreak\t\\ \u0001 \u2028",
+                null, true, 1.5, Double.NaN, Long.MIN_VALUE, new BigDecimal("1.10"), 'c', Locale.GERMAN)));
+        assertEquals("{\"valid\":false,\"messages\":[{\"valid\":false,\"field\":\"na\\\"me\","
+                        + "\"text\":\"Line\\nbreak\\t\\\\ \\u0001 \\u2028\","
+                        + "\"parameters\":[null,true,1.5,\"NaN\",-9223372036854775808,1.10,\"c\",\"de\"]}]}",
+                new ValidationJsonWriter().toJson(result));
+    }
+
+    @Test
+    void testOutputStreamEncodesUtf8() throws IOException {
+        ValidationResult result = new ValidationResult();
+        for (int i = 0; i < 500; i++) {
+            result.add(ValidationInfo.invalid(ValidationMessage.formatted("größe", "TOO_LARGE",
+                    "Die Größe {0} ist zu groß \uD83D\uDE00", i)));
+        }
+        ValidationJsonWriter writer = new ValidationJsonWriter(MessageCatalog.empty(), Locale.ROOT);
+        String expected = writer.toJson(result);
+        assertTrue(expected.length() > 8192);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(result, out);
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+
+        // The buffers are reused
+        out.reset();
+        writer.write(result, out);
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCatalogAndAggregatedCounts() {
+        MessageCatalog catalog = MessageCatalog.ofMap(Map.of(
+                Locale.GERMAN, Map.of("NEGATIVE", "Der Preis {0} ist negativ")));
+        AggregatedValidationResult result = new AggregatedValidationResult()
+                .add(ValidationInfo.invalid(ValidationMessage.formatted(null, "NEGATIVE", "Price {0} is negative", -1)))
+                .add(ValidationInfo.invalid(ValidationMessage.formatted(null, "NEGATIVE", "Price {0} is negative", -2)));
+        assertEquals("{\"valid\":false,\"messages\":[{\"valid\":false,\"code\":\"NEGATIVE\","
+                        + "\"text\":\"Der Preis -1 ist negativ\",\"parameters\":[-1],\"count\":2}]}",
+                new ValidationJsonWriter(catalog, Locale.GERMAN).toJson(result));
+    }
+}
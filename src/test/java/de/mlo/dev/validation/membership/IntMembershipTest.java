@@ -0,0 +1,74 @@
+package de.mlo.dev.validation.membership;
+
+import de.mlo.dev.validation.Statements;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class IntMembershipTest {
+
+    @Test
+    void testSortedIntSet() {
+        SortedIntSet set = SortedIntSet.of(5, -3, 5, 0, Integer.MAX_VALUE);
+
+        assertEquals(4, set.size());
+        assertTrue(set.contains(-3));
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(Integer.MAX_VALUE));
+        assertFalse(set.contains(4));
+        assertFalse(SortedIntSet.of().contains(0));
+        assertTrue(SortedIntSet.of(List.of(7, 8)).contains(8));
+    }
+
+    @Test
+    void testIntHashSet() {
+        IntHashSet set = IntHashSet.of(5, -3, 5, 0, Integer.MIN_VALUE);
+
+        assertEquals(4, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-3));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertFalse(set.contains(1));
+        assertFalse(IntHashSet.of().contains(0));
+        assertFalse(IntHashSet.of(1).contains(0));
+    }
+
+    @Test
+    void testRandomValues() {
+        Random random = new Random(42);
+        Set<Integer> expected = new HashSet<>();
+        while (expected.size() < 100_000) {
+            expected.add(random.nextInt());
+        }
+        IntHashSet hashSet = IntHashSet.of(expected);
+        SortedIntSet sortedSet = SortedIntSet.of(expected);
+
+        assertEquals(expected.size(), hashSet.size());
+        assertEquals(expected.size(), sortedSet.size());
+        for (Integer value : expected) {
+            assertTrue(hashSet.contains(value));
+            assertTrue(sortedSet.contains(value));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt();
+            assertEquals(expected.contains(value), hashSet.contains(value));
+            assertEquals(expected.contains(value), sortedSet.contains(value));
+        }
+    }
+
+    @Test
+    void testStatement() {
+        IntHashSet plants = IntHashSet.of(1000, 2000);
+
+        assertTrue(Statements.memberOf(1000, plants).isValid());
+        assertEquals("Value 30 is not allowed", Statements.memberOf(30, plants).getMessage().getText());
+    }
+}
@@ -0,0 +1,91 @@
+package de.mlo.dev.validation.membership;
+
+import de.mlo.dev.validation.Statements;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class StringMembershipTest {
+
+    private static List<String> skus(int count) {
+        List<String> skus = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            skus.add("SKU-" + i);
+        }
+        return skus;
+    }
+
+    @Test
+    void testPerfectHashStringSet() {
+        List<String> skus = skus(200_000);
+        PerfectHashStringSet set = PerfectHashStringSet.of(skus);
+
+        assertEquals(200_000, set.size());
+        for (String sku : skus) {
+            assertTrue(set.contains(sku), sku);
+        }
+        for (int i = 200_000; i < 300_000; i++) {
+            assertFalse(set.contains("SKU-" + i));
+        }
+        assertFalse(set.contains(null));
+        assertFalse(set.contains(""));
+    }
+
+    @Test
+    void testEqualHashCodes() {
+        // "Aa" and "BB" have the same hash code
+        PerfectHashStringSet set = PerfectHashStringSet.of("Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa", "AaBB");
+
+        assertEquals(6, set.size());
+        assertTrue(set.contains("Aa"));
+        assertTrue(set.contains("BB"));
+        assertTrue(set.contains("BBAa"));
+        assertFalse(set.contains("AaAaAa"));
+    }
+
+    @Test
+    void testSmallSets() {
+        assertFalse(PerfectHashStringSet.of().contains("DE"));
+        assertTrue(PerfectHashStringSet.of("DE").contains("DE"));
+        assertFalse(PerfectHashStringSet.of("DE").contains("AT"));
+        assertThrows(IllegalArgumentException.class, () -> PerfectHashStringSet.of("DE", null));
+    }
+
+    @Test
+    void testBloomFilter() {
+        BloomFilter filter = BloomFilter.of(skus(100_000), 0.01);
+
+        for (String sku : skus(100_000)) {
+            assertTrue(filter.mightContain(sku));
+        }
+        int falsePositives = 0;
+        for (int i = 100_000; i < 200_000; i++) {
+            if (filter.mightContain("SKU-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+        assertEquals(7, filter.hashCount());
+        assertFalse(filter.mightContain(null));
+    }
+
+    @Test
+    void testStatements() {
+        PerfectHashStringSet countries = PerfectHashStringSet.of("DE", "AT", "CH");
+        assertTrue(Statements.memberOf("DE", countries).isValid());
+        assertEquals("Value FR is not allowed", Statements.memberOf("FR", countries).getMessage().getText());
+
+        AtomicInteger exactChecks = new AtomicInteger();
+        BloomFilter filter = BloomFilter.of(List.of("DE", "AT", "CH"), 0.001);
+        assertTrue(Statements.memberOf("AT", filter, value -> exactChecks.incrementAndGet() > 0).isValid());
+        assertTrue(Statements.memberOf("FR", filter, value -> exactChecks.incrementAndGet() > 0).isInvalid());
+        assertEquals(1, exactChecks.get());
+    }
+}
@@ -0,0 +1,135 @@
+package de.mlo.dev.validation.report;
+
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.basic.AggregatedValidationResult;
+import de.mlo.dev.validation.basic.ValidationResult;
+import de.mlo.dev.validation.value.ValueValidator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValidationReportTest {
+
+    private static final ValidationResult NO_COUNTRY = new ValidationResult()
+            .add(ValidationInfo.invalidFieldCode("country", "NO_COUNTRY"))
+            .add(ValidationInfo.valid());
+
+    @Test
+    void testConcurrentRecording() throws Exception {
+        ValidationReport report = new ValidationReport();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        report.record("order", i % 2 == 0 ? NO_COUNTRY : new ValidationResult());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        ValidationReportSnapshot snapshot = report.snapshot();
+        assertEquals(40_000, snapshot.getValidations());
+        assertEquals(20_000, snapshot.getFailures());
+        assertEquals(20_000, snapshot.getInvalidInfos());
+        assertEquals(20_000, snapshot.getCodeCount("NO_COUNTRY"));
+        assertEquals(20_000, snapshot.getFieldCount("country"));
+        assertEquals(40_000, snapshot.getValidations("order"));
+        assertEquals(20_000, snapshot.getFailures("order"));
+        assertEquals(0, snapshot.getCodeCount("UNKNOWN"));
+    }
+
+    @Test
+    void testMergeSnapshots() {
+        ValidationReport first = new ValidationReport();
+        ValidationReport second = new ValidationReport();
+        first.record("a", NO_COUNTRY);
+        second.record("b", NO_COUNTRY);
+        second.record(ValidationResult.invalid("Without code"));
+
+        ValidationReportSnapshot merged = first.snapshot().merge(second.snapshot());
+        assertEquals(3, merged.getValidations());
+        assertEquals(3, merged.getFailures());
+        assertEquals(2, merged.getCodeCount("NO_COUNTRY"));
+        assertEquals(1, merged.getValidations("a"));
+        assertEquals(1, merged.getValidations("b"));
+        assertEquals(merged, ValidationReportSnapshot.EMPTY.merge(merged));
+    }
+
+    @Test
+    void testTimeWindows() {
+        AtomicLong now = new AtomicLong(0);
+        ValidationReport report = new ValidationReport(Duration.ofMinutes(1), 60, now::get);
+        for (int minute = 0; minute < 90; minute++) {
+            now.set(Duration.ofMinutes(minute).toMillis());
+            report.record(NO_COUNTRY);
+        }
+        assertEquals(90, report.snapshot().getCodeCount("NO_COUNTRY"));
+        assertEquals(60, report.snapshot(Duration.ofHours(1)).getCodeCount("NO_COUNTRY"));
+        assertEquals(10, report.snapshot(Duration.ofMinutes(10)).getCodeCount("NO_COUNTRY"));
+        assertEquals(1, report.snapshot(Duration.ZERO).getCodeCount("NO_COUNTRY"));
+
+        now.set(Duration.ofMinutes(200).toMillis());
+        assertEquals(0, report.snapshot(Duration.ofHours(1)).getValidations());
+        assertThrows(IllegalStateException.class, () -> new ValidationReport().snapshot(Duration.ofHours(1)));
+    }
+
+    @Test
+    void testAggregatedResult() {
+        AggregatedValidationResult result = new AggregatedValidationResult();
+        for (int i = 0; i < 1_000; i++) {
+            result.add(ValidationInfo.invalidFieldCode("items[" + i + "].price", "NEGATIVE"));
+        }
+        ValidationReport report = new ValidationReport();
+        report.record("order", result);
+
+        ValidationReportSnapshot snapshot = report.snapshot();
+        assertEquals(1, snapshot.getFailures());
+        assertEquals(1_000, snapshot.getInvalidInfos());
+        assertEquals(1_000, snapshot.getCodeCount("NEGATIVE"));
+        assertEquals(1_000, snapshot.getFieldCount("items[].price"));
+        assertEquals(1_000, snapshot.getFieldCount("items[7].price"));
+        assertEquals(1, snapshot.getFieldCounts().size());
+    }
+
+    @Test
+    void testFieldLimit() {
+        ValidationReport report = new ValidationReport();
+        for (int i = 0; i < ValidationReport.MAXIMUM_FIELDS + 100; i++) {
+            report.record(ValidationInfo.invalidFieldCode("field" + i, "EMPTY"));
+        }
+        ValidationReportSnapshot snapshot = report.snapshot();
+        assertEquals(ValidationReport.MAXIMUM_FIELDS, snapshot.getFieldCounts().size());
+        assertEquals(ValidationReport.MAXIMUM_FIELDS + 100, snapshot.getInvalidInfos());
+        assertEquals("a[].b[]", ValidationReport.withoutIndices("a[1].b[22]"));
+    }
+
+    @Test
+    void testSink() {
+        ValidationReport report = new ValidationReport();
+        new ValueValidator<String>()
+                .add(s -> ValidationInfo.invalidFieldCode("name", "EMPTY"))
+                .add(s -> ValidationInfo.valid())
+                .validateInto("", report.sink());
+        ValidationReportSnapshot snapshot = report.snapshot();
+        assertEquals(0, snapshot.getValidations());
+        assertEquals(1, snapshot.getInvalidInfos());
+        assertEquals(1, snapshot.getCodeCount("EMPTY"));
+    }
+}
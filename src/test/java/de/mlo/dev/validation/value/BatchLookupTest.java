@@ -0,0 +1,133 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class BatchLookupTest {
+
+    private final List<Set<Integer>> bulkCalls = new ArrayList<>();
+
+    private synchronized Map<Integer, Boolean> areActive(Set<Integer> skus) {
+        bulkCalls.add(Set.copyOf(skus));
+        Map<Integer, Boolean> active = new HashMap<>();
+        for (Integer sku : skus) {
+            active.put(sku, sku % 10 != 0);
+        }
+        return active;
+    }
+
+    private BatchLookup<Integer> newLookup() {
+        return BatchLookup.of(this::areActive, sku -> ValidationInfo.invalid("Inactive SKU: " + sku));
+    }
+
+    @Test
+    void testValidateBatch() {
+        BatchLookup<Integer> skuActive = newLookup();
+        ValueValidator<Integer> validator = new ValueValidator<Integer>().add(skuActive.on(sku -> sku));
+        List<Integer> skus = IntStream.range(1, 10_001).map(i -> i % 500).boxed().collect(Collectors.toList());
+
+        List<ValueValidationResult<Integer>> results = skuActive.validateBatch(skus, sku -> sku, validator);
+
+        assertEquals(1, skuActive.getBulkCallCount());
+        assertEquals(500, bulkCalls.get(0).size());
+        assertEquals(10_000, results.size());
+        assertTrue(results.get(0).isValid());
+        assertEquals("Inactive SKU: 10", results.get(9).getMessage());
+        assertEquals(skus.get(9), results.get(9).getValue());
+        assertEquals(1000, results.stream().filter(ValueValidationResult::isInvalid).count());
+    }
+
+    @Test
+    void testPrefetch() {
+        BatchLookup<Integer> skuActive = newLookup();
+        ValueValidator<Integer> validator = new ValueValidator<Integer>().add(skuActive.on(sku -> sku));
+
+        try (BatchLookup<Integer>.Batch batch = skuActive.prefetch(List.of(1, 2, 3), sku -> sku)) {
+            assertEquals(3, batch.size());
+            assertTrue(validator.validate(1).isValid());
+            assertTrue(validator.validate(3).isValid());
+            assertEquals(1, skuActive.getBulkCallCount());
+            // Not prefetched: resolved with a single key
+            assertTrue(validator.validate(20).isInvalid());
+            assertEquals(2, skuActive.getBulkCallCount());
+        }
+        validator.validate(1);
+        assertEquals(3, skuActive.getBulkCallCount());
+        assertEquals(Set.of(1), bulkCalls.get(2));
+    }
+
+    @Test
+    void testBatchWindow() throws Exception {
+        BatchLookup<Integer> skuActive = newLookup().setBatchWindow(Duration.ofMillis(200), 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ValidationInfo>> futures = new ArrayList<>();
+            for (int i = 1; i <= 8; i++) {
+                int sku = i * 5;
+                futures.add(executor.submit(() -> skuActive.get(sku)));
+            }
+            List<ValidationInfo> infos = new ArrayList<>();
+            for (Future<ValidationInfo> future : futures) {
+                infos.add(future.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, skuActive.getBulkCallCount());
+            assertEquals(8, bulkCalls.get(0).size());
+            assertThat(infos).filteredOn(ValidationInfo::isInvalid).hasSize(4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFullBatchIsResolvedImmediately() throws Exception {
+        BatchLookup<Integer> skuActive = newLookup().setBatchWindow(Duration.ofMinutes(1), 2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ValidationInfo> first = executor.submit(() -> skuActive.get(1));
+            Future<ValidationInfo> second = executor.submit(() -> skuActive.get(2));
+
+            assertTrue(first.get(5, TimeUnit.SECONDS).isValid());
+            assertTrue(second.get(5, TimeUnit.SECONDS).isValid());
+            assertEquals(1, skuActive.getBulkCallCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMissingInfo() {
+        BatchLookup<Integer> lookup = new BatchLookup<>(keys -> Map.of());
+
+        assertThrows(IllegalStateException.class, () -> lookup.get(1));
+        assertThrows(IllegalStateException.class, () -> lookup.prefetch(List.of(1), key -> key));
+    }
+
+    @Test
+    void testExceptionIsPassedToAllStatements() {
+        BatchLookup<Integer> lookup = new BatchLookup<Integer>(keys -> {
+            throw new IllegalStateException("Service unavailable");
+        }).setBatchWindow(Duration.ofMillis(10), 10);
+
+        assertThrows(IllegalStateException.class, () -> lookup.get(1));
+    }
+}
@@ -0,0 +1,278 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class CachedLookupTest {
+
+    static class Customer {
+        private final String vatId;
+
+        Customer(String vatId) {
+            this.vatId = vatId;
+        }
+
+        String getVatId() {
+            return vatId;
+        }
+    }
+
+    static class Invoice {
+        private final String vatId;
+
+        Invoice(String vatId) {
+            this.vatId = vatId;
+        }
+
+        String getVatId() {
+            return vatId;
+        }
+    }
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicLong time = new AtomicLong();
+
+    private ValidationInfo lookupVatId(String vatId) {
+        return ValidationInfo.invalid(vatId + " #" + lookups.incrementAndGet());
+    }
+
+    private CachedLookup<String> newLookup() {
+        return new CachedLookup<String>(this::lookupVatId).setTicker(time::get);
+    }
+
+    @Test
+    void testSharedAcrossValidators() {
+        CachedLookup<String> vatIdExists = newLookup();
+        ValueValidator<Customer> customerValidator = new ValueValidator<Customer>().add(vatIdExists.on(Customer::getVatId));
+        ValueValidator<Invoice> invoiceValidator = new ValueValidator<Invoice>().add(vatIdExists.on(Invoice::getVatId));
+
+        assertEquals("DE1 #1", customerValidator.validate(new Customer("DE1")).getMessage());
+        assertEquals("DE1 #1", invoiceValidator.validate(new Invoice("DE1")).getMessage());
+        assertEquals("DE2 #2", invoiceValidator.validate(new Invoice("DE2")).getMessage());
+        assertEquals(2, lookups.get());
+        assertEquals(1, vatIdExists.getHitCount());
+        assertEquals(2, vatIdExists.getMissCount());
+        assertEquals(1.0 / 3, vatIdExists.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testExpireAfterWrite() {
+        CachedLookup<String> lookup = newLookup().setExpireAfterWrite(Duration.ofSeconds(10));
+
+        assertEquals("a #1", lookup.get("a").getMessage().getText());
+        time.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertEquals("a #1", lookup.get("a").getMessage().getText());
+        time.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals("a #2", lookup.get("a").getMessage().getText());
+        assertEquals(2, lookup.getMissCount());
+    }
+
+    @Test
+    void testMaximumSize() {
+        CachedLookup<String> lookup = newLookup().setMaximumSize(2);
+
+        lookup.get("a");
+        lookup.get("b");
+        lookup.get("c");
+
+        assertEquals(2, lookup.size());
+        assertEquals(1, lookup.getEvictionCount());
+    }
+
+    @Test
+    void testEvictionInBatches() {
+        CachedLookup<String> lookup = newLookup().setMaximumSize(100);
+        for (int i = 0; i <= 100; i++) {
+            lookup.get("k" + i);
+        }
+        assertEquals(91, lookup.size());
+        assertEquals(10, lookup.getEvictionCount());
+        for (int i = 101; i < 110; i++) {
+            lookup.get("k" + i);
+        }
+        assertEquals(100, lookup.size());
+        assertEquals(10, lookup.getEvictionCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvicted() {
+        CachedLookup<String> lookup = newLookup().setMaximumSize(10);
+        for (int i = 0; i < 100; i++) {
+            time.incrementAndGet();
+            lookup.get("hot");
+            time.incrementAndGet();
+            lookup.get("k" + i);
+        }
+        assertEquals("hot #1", lookup.get("hot").getMessage().getText());
+        // The most recent keys survive, the older keys have been evicted
+        int lookupsBefore = lookups.get();
+        lookup.get("k99");
+        lookup.get("k98");
+        assertEquals(lookupsBefore, lookups.get());
+        lookup.get("k0");
+        assertEquals(lookupsBefore + 1, lookups.get());
+    }
+
+    @Test
+    void testLookupOfOtherKeysDuringLookup() {
+        AtomicReference<CachedLookup<String>> self = new AtomicReference<>();
+        CachedLookup<String> lookup = new CachedLookup<String>(key -> key.startsWith("parent:")
+                ? self.get().get(key.substring(7))
+                : ValidationInfo.invalid(key));
+        self.set(lookup);
+        assertEquals("child", lookup.get("parent:child").getMessage().getText());
+        assertEquals(2, lookup.size());
+
+        CachedLookup<String> recursive = new CachedLookup<>(key -> self.get().get(key));
+        self.set(recursive);
+        assertThrows(IllegalStateException.class, () -> recursive.get("a"));
+        assertEquals(0, recursive.size());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLookup() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        CachedLookup<String> lookup = new CachedLookup<>(key -> {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ValidationInfo.valid();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ValidationInfo>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> lookup.get("a")));
+            started.await();
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> lookup.get("a")));
+            }
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<ValidationInfo> future : futures) {
+                assertTrue(future.get().isValid());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testExpiredEntriesAreEvictedFirst() {
+        CachedLookup<String> lookup = newLookup().setMaximumSize(2).setExpireAfterWrite(Duration.ofSeconds(10));
+
+        lookup.get("a");
+        time.addAndGet(Duration.ofSeconds(5).toNanos());
+        lookup.get("b");
+        time.addAndGet(Duration.ofSeconds(5).toNanos());
+        lookup.get("c");
+
+        assertEquals(2, lookup.size());
+        assertEquals(0, lookup.getEvictionCount());
+        assertEquals("b #2", lookup.get("b").getMessage().getText());
+    }
+
+    @Test
+    void testRefreshAfterWrite() {
+        CachedLookup<String> lookup = newLookup().setRefreshAfterWrite(Duration.ofSeconds(10));
+
+        assertEquals("a #1", lookup.get("a").getMessage().getText());
+        time.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals("a #2", lookup.get("a").getMessage().getText());
+        assertEquals("a #2", lookup.get("a").getMessage().getText());
+        assertEquals(1, lookup.getRefreshCount());
+    }
+
+    @Test
+    void testStaleWhileRevalidate() {
+        Queue<Runnable> refreshes = new ArrayDeque<>();
+        CachedLookup<String> lookup = newLookup().setRefreshAfterWrite(Duration.ofSeconds(10), refreshes::add);
+
+        assertEquals("a #1", lookup.get("a").getMessage().getText());
+        time.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals("a #1", lookup.get("a").getMessage().getText());
+        assertEquals("a #1", lookup.get("a").getMessage().getText());
+        // Only one refresh per stale entry
+        assertEquals(1, refreshes.size());
+
+        refreshes.poll().run();
+        assertEquals("a #2", lookup.get("a").getMessage().getText());
+        assertEquals(1, lookup.getRefreshCount());
+        assertEquals(1, lookup.getMissCount());
+    }
+
+    @Test
+    void testFailedRefreshIsRetried() {
+        Queue<Runnable> refreshes = new ArrayDeque<>();
+        AtomicInteger calls = new AtomicInteger();
+        CachedLookup<String> lookup = new CachedLookup<String>(key -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("Service unavailable");
+            }
+            return ValidationInfo.valid();
+        }).setTicker(time::get).setRefreshAfterWrite(Duration.ofSeconds(1), refreshes::add);
+
+        assertTrue(lookup.get("a").isValid());
+        time.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertTrue(lookup.get("a").isValid());
+        refreshes.poll().run();
+        assertTrue(lookup.get("a").isValid());
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    void testExceptionsAreNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        CachedLookup<String> lookup = new CachedLookup<>(key -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("Service unavailable");
+            }
+            return ValidationInfo.valid();
+        });
+
+        assertThrows(IllegalStateException.class, () -> lookup.get("a"));
+        assertEquals(0, lookup.size());
+        assertTrue(lookup.get("a").isValid());
+    }
+
+    @Test
+    void testNullKeyIsNotCached() {
+        CachedLookup<String> lookup = newLookup();
+
+        assertEquals("null #1", lookup.get(null).getMessage().getText());
+        assertEquals("null #2", lookup.get(null).getMessage().getText());
+        assertEquals(0, lookup.size());
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        CachedLookup<String> lookup = newLookup();
+        assertThrows(IllegalArgumentException.class, () -> lookup.setMaximumSize(0));
+        assertThrows(IllegalArgumentException.class, () -> lookup.setExpireAfterWrite(Duration.ZERO));
+        assertThrows(IllegalStateException.class, () -> new CachedLookup<String>(key -> null).get("a"));
+    }
+}
@@ -0,0 +1,240 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.TruncationReason;
+import de.mlo.dev.validation.ValidationBudget;
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class CoalescingValueValidatorTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void testConcurrentCallsShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CoalescingValueValidator<String, String> validator = CoalescingValueValidator.of(value -> {
+            executions.incrementAndGet();
+            await(release);
+            return new ValueValidationResult<>(value).add(ValidationInfo.invalid("Invalid " + value));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<ValueValidationResult<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> validator.validate("abc")));
+            }
+            while (executions.get() == 0 || validator.getInFlightCount() == 0) {
+                Thread.onSpinWait();
+            }
+            // Give the followers the chance to join the running validation
+            Thread.sleep(100);
+            release.countDown();
+
+            ValueValidationResult<String> first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ValueValidationResult<String>> future : futures) {
+                assertSame(first, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertThat(first.getMessagesTextList()).containsExactly("Invalid abc");
+            assertEquals(0, validator.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDifferentKeysAreNotCoalesced() {
+        AtomicInteger executions = new AtomicInteger();
+        CoalescingValueValidator<String, Integer> validator = CoalescingValueValidator.of(value -> {
+            executions.incrementAndGet();
+            return new ValueValidationResult<>(value);
+        }, String::length);
+
+        assertEquals("a", validator.validate("a").getValue());
+        assertEquals("bc", validator.validate("bc").getValue());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testSequentialCallsAreNotCached() {
+        AtomicInteger executions = new AtomicInteger();
+        CoalescingValueValidator<String, String> validator = CoalescingValueValidator.of(value -> {
+            executions.incrementAndGet();
+            return new ValueValidationResult<>(value);
+        });
+
+        ValueValidationResult<String> first = validator.validate("abc");
+        ValueValidationResult<String> second = validator.validate("abc");
+
+        assertNotSame(first, second);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testSharedResultIsImmutable() {
+        CoalescingValueValidator<String, String> validator = CoalescingValueValidator.of(
+                value -> new ValueValidationResult<>(value).add(ValidationInfo.invalid("Invalid")));
+
+        ValueValidationResult<String> result = validator.validate("abc");
+
+        assertThrows(UnsupportedOperationException.class, () -> result.add(ValidationInfo.valid()));
+        assertThrows(UnsupportedOperationException.class, () -> result.add(new ValueValidationResult<>("x")));
+        assertThrows(UnsupportedOperationException.class, () -> result.add(List.of(ValidationInfo.valid())));
+        Iterator<ValidationInfo> iterator = result.iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+        assertThat(result.getMessagesTextList()).containsExactly("Invalid");
+        // The copy of the infos can be changed
+        result.getAllValidationInfos().clear();
+        assertTrue(result.isInvalid());
+    }
+
+    @Test
+    void testExceptionIsPassedToAllCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        CoalescingValueValidator<String, String> validator = CoalescingValueValidator.of(value -> {
+            executions.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("Lookup failed");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ValueValidationResult<String>> leader = executor.submit(() -> validator.validate("abc"));
+            while (validator.getInFlightCount() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<ValueValidationResult<String>> follower = executor.submit(() -> validator.validate("abc"));
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<ValueValidationResult<String>> future : List.of(leader, follower)) {
+                Exception e = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertThat(e.getCause()).isInstanceOf(IllegalStateException.class).hasMessage("Lookup failed");
+            }
+            assertEquals(1, executions.get());
+            assertEquals(0, validator.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFollowerHonoursDeadline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CoalescingValueValidator<String, String> validator = CoalescingValueValidator.of(value -> {
+            await(release);
+            return new ValueValidationResult<>(value).add(ValidationInfo.invalid("Invalid"));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ValueValidationResult<String>> leader = executor.submit(() -> validator.validate("abc"));
+            while (validator.getInFlightCount() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<ValueValidationResult<String>> follower = executor.submit(() -> {
+                try (ValidationBudget.Tracker tracker = ValidationBudget.unlimited().withTimeout(Duration.ofMillis(50)).start()) {
+                    ValueValidationResult<String> result = validator.validate("abc");
+                    assertEquals(TruncationReason.DEADLINE, tracker.getReason());
+                    return result;
+                }
+            });
+
+            ValueValidationResult<String> truncated = follower.get(5, TimeUnit.SECONDS);
+            assertEquals(TruncationReason.DEADLINE, truncated.getTruncationReason());
+            assertTrue(truncated.isInvalid());
+            assertEquals(CoalescingValueValidator.TIMEOUT_CODE, truncated.getValidationInfos().get(0).getMessage().getCode());
+            assertFalse(leader.isDone());
+
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS).getMessagesTextList()).containsExactly("Invalid");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInterruptedFollowerFails() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CoalescingValueValidator<String, String> validator = CoalescingValueValidator.of(value -> {
+            await(release);
+            return new ValueValidationResult<>(value);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            Future<ValueValidationResult<String>> leader = executor.submit(() -> validator.validate("abc"));
+            while (validator.getInFlightCount() == 0) {
+                Thread.onSpinWait();
+            }
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            AtomicBoolean interrupted = new AtomicBoolean();
+            Thread follower = new Thread(() -> {
+                try {
+                    validator.validate("abc");
+                } catch (RuntimeException e) {
+                    failure.set(e);
+                    interrupted.set(Thread.currentThread().isInterrupted());
+                }
+            });
+            follower.start();
+            while (follower.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            follower.interrupt();
+            follower.join(5_000);
+
+            assertThat(failure.get()).isInstanceOf(IllegalStateException.class)
+                    .hasCauseInstanceOf(InterruptedException.class);
+            assertTrue(interrupted.get());
+            assertFalse(leader.isDone());
+            release.countDown();
+            assertTrue(leader.get(5, TimeUnit.SECONDS).isValid());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRecursiveValidationOfTheSameKey() {
+        List<CoalescingValueValidator<String, Integer>> self = new ArrayList<>();
+        CoalescingValueValidator<String, Integer> validator = CoalescingValueValidator.of(
+                value -> self.get(0).validate(value.toUpperCase()), String::length);
+        self.add(validator);
+
+        assertThrows(IllegalStateException.class, () -> validator.validate("abc"));
+        assertEquals(0, validator.getInFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class FrozenValueValidatorTest {
+
+    private static ValueValidator<String> createValidator() {
+        return new ValueValidator<String>()
+                .add(s -> s.isEmpty() ? ValidationInfo.invalid("Empty") : ValidationInfo.valid())
+                .groupBuilder()
+                .add(s -> s.length() > 3 ? ValidationInfo.invalid("Too long") : ValidationInfo.valid())
+                .add(s -> s.contains(" ") ? ValidationInfo.invalid("Blank") : ValidationInfo.valid())
+                .build()
+                .conditionBuilder(s -> s.startsWith("x"))
+                .add(s -> ValidationInfo.invalid("Starts with x"))
+                .build()
+                .switchValue(String::length)
+                .add(l -> l % 2 == 0 ? ValidationInfo.valid() : ValidationInfo.invalid("Odd length"))
+                .switchBack(String.class);
+    }
+
+    @Test
+    void testSameResultAsValidator() {
+        ValueValidator<String> validator = createValidator();
+        FrozenValueValidator<String> frozen = validator.freeze();
+        for (String value : List.of("", "a b", "xyz", "abcd", "xy z")) {
+            assertEquals(validator.validate(value).getMessagesTextList(), frozen.validate(value).getMessagesTextList(), value);
+        }
+        assertEquals(4, frozen.size());
+    }
+
+    @Test
+    void testSnapshotIsNotChanged() {
+        ValueValidator<String> validator = createValidator();
+        FrozenValueValidator<String> frozen = validator.freeze();
+        validator.add(s -> ValidationInfo.invalid("Added later")).setValidateAndStopOnFirstFail();
+
+        assertThat(frozen.validate("x y").getMessagesTextList()).containsExactly("Blank", "Starts with x", "Odd length");
+        assertThat(frozen.validateAndStopOnFirstFail("x y").getMessagesTextList()).containsExactly("Blank");
+        // The runner of the snapshot has not been changed
+        assertThat(frozen.validate("x y").getMessagesTextList()).hasSize(3);
+    }
+
+    @Test
+    void testConditionIsFrozen() {
+        ValueValidator<String> parent = new ValueValidator<>();
+        FrozenValueValidator<String> frozen = parent.conditionBuilder(s -> s.startsWith("x"))
+                .add(s -> ValidationInfo.invalid("Fail"))
+                .freeze();
+        assertTrue(frozen.validate("abc").isValid());
+        assertTrue(frozen.validateInto("abc", info -> fail("Nothing expected")));
+        assertTrue(frozen.validate("xyz").isInvalid());
+    }
+
+    @Test
+    void testTagsAndProfilesAreFrozen() {
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .add(s -> ValidationInfo.invalid("Name")).tag("name")
+                .add(s -> ValidationInfo.invalid("Untagged"))
+                .conditionBuilder(s -> s.startsWith("x"))
+                .add(s -> ValidationInfo.invalid("Starts with x")).tag("x")
+                .build()
+                .profile("patch", "name", "x");
+        FrozenValueValidator<String> frozen = validator.freeze();
+        validator.add(s -> ValidationInfo.invalid("Added later")).tag("name");
+        validator.profile("patch", "unknown");
+
+        assertThat(frozen.validate("abc", Set.of("name")).getMessagesTextList()).containsExactly("Name");
+        assertThat(frozen.validateProfile("xyz", "patch").getMessagesTextList()).containsExactly("Name", "Starts with x");
+        assertThat(frozen.validateProfile("abc", "patch").getMessagesTextList()).containsExactly("Name");
+        assertThrows(IllegalArgumentException.class, () -> frozen.validateProfile("abc", "unknown"));
+    }
+
+    @Test
+    void testReferenceIsFrozen() {
+        ValueValidator<String> referenced = new ValueValidator<String>()
+                .add(s -> s.isEmpty() ? ValidationInfo.invalidField("name", "Empty") : ValidationInfo.valid());
+        FrozenValueValidator<String> frozen = new ValueValidator<String>()
+                .reference("self", s -> s, referenced)
+                .freeze();
+        referenced.add(s -> ValidationInfo.invalid("Added later"));
+
+        assertThat(frozen.validate("").getMessagesTextList()).containsExactly("Empty");
+        assertTrue(frozen.validate("abc").isValid());
+    }
+
+    @Test
+    void testCyclicReferenceIsFrozen() {
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .add(s -> s.isEmpty() ? ValidationInfo.invalid("Empty") : ValidationInfo.valid());
+        validator.reference("tail", s -> s.isEmpty() ? null : s.substring(1), validator);
+        FrozenValueValidator<String> frozen = validator.freeze();
+        validator.add(s -> ValidationInfo.invalid("Added later"));
+
+        assertThat(frozen.validate("ab").getMessagesTextList()).containsExactly("Empty");
+        assertThat(frozen.validate("ab").getValidationInfos())
+                .filteredOn(ValidationInfo::isInvalid)
+                .extracting(ValidationInfo::getField)
+                .containsExactly("tail.tail");
+    }
+
+    @Test
+    void testConcurrentUse() throws Exception {
+        FrozenValueValidator<String> frozen = createValidator().freeze();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        boolean stopOnFirstFail = i % 2 == 0;
+                        ValueValidationResult<String> result = stopOnFirstFail
+                                ? frozen.validateAndStopOnFirstFail("x y")
+                                : frozen.validate("x y");
+                        if (result.getValidationInfos().size() != (stopOnFirstFail ? 1 : 3)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
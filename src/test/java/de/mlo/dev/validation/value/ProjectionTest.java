@@ -0,0 +1,139 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ProjectionTest {
+
+    @Test
+    void testSameKeyIsEvaluatedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .switchValue(Projection.of("length", (String s) -> {
+                    calls.incrementAndGet();
+                    return s.length();
+                }))
+                .add(l -> l > 2 ? ValidationInfo.invalid("Too long") : ValidationInfo.valid())
+                .switchBack(String.class)
+                .switchValue(Projection.of("length", (String s) -> {
+                    calls.incrementAndGet();
+                    return s.length();
+                }))
+                .add(l -> l % 2 == 0 ? ValidationInfo.valid() : ValidationInfo.invalid("Odd"))
+                .switchBack(String.class);
+
+        assertThat(validator.validate("abc").getMessagesTextList()).containsExactly("Too long", "Odd");
+        assertEquals(1, calls.get());
+        // Every validation process evaluates the projection again
+        validator.validate("ab");
+        assertEquals(2, calls.get());
+        assertThat(validator.freeze().validate("abcd").getMessagesTextList()).containsExactly("Too long");
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testSameProjectionIsEvaluatedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, String> trim = Projection.of(s -> {
+            calls.incrementAndGet();
+            return s.trim();
+        });
+        ValueValidator<String> validator = new ValueValidator<String>();
+        validator.switchValue(trim).add(s -> ValidationInfo.valid());
+        validator.switchValue(trim).add(s -> ValidationInfo.valid());
+        validator.groupBuilder()
+                .switchValue(trim)
+                .add(s -> s.isEmpty() ? ValidationInfo.invalid("Empty") : ValidationInfo.valid())
+                .switchBack(String.class)
+                .build();
+
+        assertTrue(validator.validate(" a ").isValid());
+        assertEquals(1, calls.get());
+        assertFalse(validator.validateInto("  ", info -> info.isValid()));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testDifferentSourceValues() {
+        AtomicInteger calls = new AtomicInteger();
+        Projection<String, Integer> length = Projection.of("length", s -> {
+            calls.incrementAndGet();
+            return s.length();
+        });
+        ValueValidator<List<String>> validator = new ValueValidator<List<String>>()
+                .add(list -> {
+                    ValueValidator<String> inner = new ValueValidator<String>()
+                            .switchValue(length)
+                            .add(l -> l > 1 ? ValidationInfo.invalid("Too long") : ValidationInfo.valid())
+                            .switchBack(String.class);
+                    ValueValidationResult<List<String>> result = new ValueValidationResult<>(list);
+                    list.forEach(s -> result.add(inner.validate(s)));
+                    return result.isValid() ? ValidationInfo.valid() : ValidationInfo.invalid("Invalid element");
+                });
+
+        assertTrue(validator.validate(List.of("a", "b", "c")).isValid());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testNullProjection() {
+        AtomicInteger calls = new AtomicInteger();
+        Projection<String, String> nothing = Projection.of("nothing", s -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .switchValue(nothing)
+                .add(s -> s == null ? ValidationInfo.invalid("Null") : ValidationInfo.valid())
+                .switchBack(String.class)
+                .switchValue(nothing)
+                .add(s -> s == null ? ValidationInfo.invalid("Null") : ValidationInfo.valid())
+                .switchBack(String.class);
+
+        assertThat(validator.validate("abc").getMessagesTextList()).containsExactly("Null", "Null");
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testPlainMapperIsNotMemorized() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, Integer> length = s -> {
+            calls.incrementAndGet();
+            return s.length();
+        };
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .switchValue(length)
+                .add(l -> ValidationInfo.valid())
+                .switchBack(String.class)
+                .switchValue(length)
+                .add(l -> ValidationInfo.valid())
+                .switchBack(String.class);
+
+        assertTrue(validator.validate("abc").isValid());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testOutsideOfValidationProcess() {
+        AtomicInteger calls = new AtomicInteger();
+        Projection<String, Integer> length = Projection.of("length", s -> {
+            calls.incrementAndGet();
+            return s.length();
+        });
+        assertEquals(3, length.apply("abc"));
+        assertEquals(3, length.apply("abc"));
+        assertEquals(2, calls.get());
+        assertSame(length, Projection.of(length));
+        assertEquals("length", length.getKey());
+    }
+}
@@ -0,0 +1,115 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.TruncationReason;
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ReferenceValidationTest {
+
+    static final class Customer {
+        private final String name;
+
+        Customer(String name) {
+            this.name = name;
+        }
+    }
+
+    static final class Order {
+        private final Customer customer;
+
+        Order(Customer customer) {
+            this.customer = customer;
+        }
+    }
+
+    static final class Node {
+        private final String name;
+        private Node next;
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+    private static List<String> fields(ValueValidationResult<?> result) {
+        return result.getValidationInfos().stream()
+                .filter(ValidationInfo::isInvalid)
+                .map(ValidationInfo::getField)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testSharedObjectIsValidatedOnce() {
+        AtomicInteger validated = new AtomicInteger();
+        ValueValidator<Customer> customerValidator = new ValueValidator<Customer>()
+                .add(c -> {
+                    validated.incrementAndGet();
+                    return c.name.isEmpty() ? ValidationInfo.invalidField("name", "Empty name") : ValidationInfo.valid();
+                });
+        ValueValidator<Order> orderValidator = new ValueValidator<Order>()
+                .reference("customer", o -> o.customer, customerValidator);
+        Customer customer = new Customer("");
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            orders.add(new Order(customer));
+        }
+        orders.add(new Order(null));
+        ValueValidator<List<Order>> validator = new ValueValidator<List<Order>>()
+                .forEach("orders", l -> l, orderValidator)
+                .build();
+
+        ValueValidationResult<List<Order>> result = validator.validate(orders);
+        assertEquals(1, validated.get());
+        assertThat(fields(result)).containsExactly("orders[0].customer.name", "orders[1].customer.name", "orders[2].customer.name");
+
+        // A new validation process validates the customer again
+        validator.validate(orders);
+        assertEquals(2, validated.get());
+    }
+
+    @Test
+    void testCycle() {
+        ValueValidator<Node> nodeValidator = new ValueValidator<>();
+        nodeValidator
+                .add(n -> n.name.isEmpty() ? ValidationInfo.invalidField("name", "Empty") : ValidationInfo.valid())
+                .reference("next", n -> n.next, nodeValidator);
+        Node first = new Node("a");
+        Node second = new Node("");
+        first.next = second;
+        second.next = first;
+
+        ValueValidationResult<Node> result = nodeValidator.validate(first);
+        assertThat(fields(result)).containsExactly("next.name");
+        assertFalse(result.isTruncated());
+    }
+
+    @Test
+    void testMaxDepth() {
+        ValueValidator<Node> nodeValidator = new ValueValidator<>();
+        nodeValidator
+                .add(n -> n.name.isEmpty() ? ValidationInfo.invalidField("name", "Empty") : ValidationInfo.valid())
+                .reference("next", n -> n.next, nodeValidator, 2);
+        Node head = new Node("");
+        Node current = head;
+        for (int i = 0; i < 5; i++) {
+            current.next = new Node("");
+            current = current.next;
+        }
+
+        ValueValidationResult<Node> result = nodeValidator.validate(head);
+        assertThat(fields(result)).containsExactly("name", "next.name", "next.next.name");
+        assertEquals(TruncationReason.DEPTH_LIMIT, result.getTruncationReason());
+        assertThrows(IllegalArgumentException.class, () -> nodeValidator.reference("next", n -> n.next, nodeValidator, 0));
+    }
+}
@@ -0,0 +1,171 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class SelectiveValidationTest {
+
+    static final class Person {
+        private final String name;
+        private final int age;
+        private final String street;
+
+        Person(String name, int age, String street) {
+            this.name = name;
+            this.age = age;
+            this.street = street;
+        }
+    }
+
+    private static final Person INVALID = new Person("", -1, "");
+
+    private static ValueValidator<Person> createValidator(AtomicInteger mapped) {
+        return new ValueValidator<Person>()
+                .add(p -> p.name.isEmpty() ? ValidationInfo.invalid("Name") : ValidationInfo.valid()).tag("name")
+                .add(p -> p.age < 0 ? ValidationInfo.invalid("Age") : ValidationInfo.valid()).tag("age", "numbers")
+                .add(p -> ValidationInfo.invalid("Untagged"))
+                .groupBuilder()
+                .add(p -> ValidationInfo.invalid("Group name")).tag("name")
+                .add(p -> ValidationInfo.invalid("Group untagged"))
+                .build()
+                .switchValue("street", p -> {
+                    mapped.incrementAndGet();
+                    return p.street;
+                })
+                .add(s -> s.isEmpty() ? ValidationInfo.invalid("Street") : ValidationInfo.valid())
+                .switchBack(Person.class)
+                .conditionBuilder(p -> p.age < 0)
+                .add(p -> ValidationInfo.invalid("Negative age")).tag("age")
+                .build()
+                .profile("patch-name", "name")
+                .profile("patch-age-street", "age", "street");
+    }
+
+    @Test
+    void testOnlyTaggedStatements() {
+        AtomicInteger mapped = new AtomicInteger();
+        ValueValidator<Person> validator = createValidator(mapped);
+
+        assertThat(validator.validate(INVALID, Set.of("name")).getMessagesTextList()).containsExactly("Name", "Group name");
+        assertEquals(0, mapped.get());
+        assertThat(validator.validate(INVALID, Set.of("numbers")).getMessagesTextList()).containsExactly("Age");
+        assertThat(validator.validate(INVALID, Set.of("street")).getMessagesTextList()).containsExactly("Street");
+        assertEquals(1, mapped.get());
+        assertTrue(validator.validate(INVALID, Set.of("unknown")).isValid());
+        assertEquals(7, validator.validate(INVALID).getMessagesTextList().size());
+    }
+
+    @Test
+    void testProfiles() {
+        ValueValidator<Person> validator = createValidator(new AtomicInteger());
+
+        assertThat(validator.validateProfile(INVALID, "patch-age-street").getMessagesTextList())
+                .containsExactly("Age", "Street", "Negative age");
+        assertThat(validator.validateProfile(new Person("", 3, "x"), "patch-age-street").getMessagesTextList()).isEmpty();
+        assertThat(validator.validateProfile(INVALID, "patch-name").getMessagesTextList()).containsExactly("Name", "Group name");
+        assertThrows(IllegalArgumentException.class, () -> validator.validateProfile(INVALID, "unknown"));
+    }
+
+    @Test
+    void testPlanIsUpdated() {
+        ValueValidator<Person> validator = createValidator(new AtomicInteger());
+        assertThat(validator.validate(INVALID, Set.of("name")).getMessagesTextList()).hasSize(2);
+
+        validator.add(p -> ValidationInfo.invalid("Added later")).tag("name");
+        assertThat(validator.validate(INVALID, Set.of("name")).getMessagesTextList()).hasSize(3);
+        assertThrows(IllegalStateException.class, () -> new ValueValidator<Person>().tag("name"));
+    }
+
+    @Test
+    void testNestedChangesAreSeen() {
+        ValueValidator<Person> nested = new ValueValidator<Person>()
+                .add(p -> ValidationInfo.invalid("Nested name")).tag("name");
+        ValueValidator<Person> validator = new ValueValidator<Person>()
+                .addSummarizer(nested);
+        ValueValidator<String> street = validator.switchValue(p -> p.street)
+                .add(s -> ValidationInfo.invalid("Street"));
+        assertThat(validator.validate(INVALID, Set.of("name", "street")).getMessagesTextList())
+                .containsExactly("Nested name");
+
+        nested.add(p -> ValidationInfo.invalid("Nested later")).tag("name");
+        street.add(s -> ValidationInfo.invalid("Street later")).tag("street");
+        assertThat(validator.validate(INVALID, Set.of("name", "street")).getMessagesTextList())
+                .containsExactly("Nested name", "Nested later", "Street later");
+    }
+
+    @Test
+    void testArbitraryTagCombinations() {
+        ValueValidator<Person> validator = new ValueValidator<>();
+        for (int i = 0; i < 120; i++) {
+            String field = "f" + i;
+            validator.add(p -> ValidationInfo.invalid(field)).tag(field);
+        }
+        assertThat(validator.validate(INVALID, Set.of("f3", "f119", "unknown")).getMessagesTextList())
+                .containsExactly("f3", "f119");
+        assertThat(validator.validate(INVALID, Set.of("f0", "f1", "f2")).getMessagesTextList())
+                .containsExactly("f0", "f1", "f2");
+    }
+
+    @Test
+    void testUntaggedBranchesAreSearched() {
+        ValueValidator<String> street = new ValueValidator<String>()
+                .add(s -> ValidationInfo.invalid("Reference name")).tag("name")
+                .add(s -> ValidationInfo.invalid("Reference untagged"));
+        ValueValidator<Person> validator = new ValueValidator<Person>()
+                .<Boolean>switchOn(p -> p.age < 0)
+                .when(true, new ValueValidator<Person>()
+                        .add(p -> ValidationInfo.invalid("Switch name")).tag("name")
+                        .add(p -> ValidationInfo.invalid("Switch untagged")))
+                .when(false, new ValueValidator<Person>()
+                        .add(p -> ValidationInfo.invalid("Switch untagged")))
+                .otherwise(new ValueValidator<Person>()
+                        .add(p -> ValidationInfo.invalid("Otherwise name")).tag("name"))
+                .build()
+                .forEach(p -> List.of(p.name, p.street), new ValueValidator<String>()
+                        .add(s -> ValidationInfo.invalid("Element name")).tag("name")
+                        .add(s -> ValidationInfo.invalid("Element untagged")))
+                .build()
+                .reference("street", p -> p.street, street);
+
+        assertThat(validator.validate(INVALID, Set.of("name")).getMessagesTextList())
+                .containsExactly("Switch name", "Element name", "Element name", "Reference name");
+        // The branch without tagged statements does not fall through to the otherwise branch
+        assertThat(validator.validate(new Person("", 3, ""), Set.of("name")).getMessagesTextList())
+                .containsExactly("Element name", "Element name", "Reference name");
+        assertTrue(validator.validate(INVALID, Set.of("unknown")).isValid());
+    }
+
+    @Test
+    void testCyclicReferenceIsSearched() {
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .add(s -> s.isEmpty() ? ValidationInfo.invalid("Empty") : ValidationInfo.valid()).tag("empty")
+                .add(s -> ValidationInfo.invalid("Untagged"));
+        validator.reference("tail", s -> s.isEmpty() ? null : s.substring(1), validator);
+
+        assertThat(validator.validate("ab", Set.of("empty")).getValidationInfos())
+                .filteredOn(ValidationInfo::isInvalid)
+                .extracting(ValidationInfo::getField)
+                .containsExactly("tail.tail");
+    }
+
+    @Test
+    void testForEachIsTaggedWithField() {
+        ValueValidator<Person> validator = new ValueValidator<Person>()
+                .forEach("parts", p -> List.of(p.name, p.street), new ValueValidator<String>()
+                        .add(s -> ValidationInfo.invalid("Part")))
+                .build();
+
+        assertThat(validator.validate(INVALID, Set.of("parts")).getMessagesTextList()).containsExactly("Part", "Part");
+        assertTrue(validator.validate(INVALID, Set.of("name")).isValid());
+    }
+}
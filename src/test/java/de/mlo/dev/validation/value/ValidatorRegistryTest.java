@@ -0,0 +1,91 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValidatorRegistryTest {
+
+    interface Auditable {
+    }
+
+    interface Tracked {
+    }
+
+    static class Event {
+    }
+
+    static class OrderEvent extends Event implements Auditable {
+    }
+
+    static class OrderCreatedEvent extends OrderEvent implements Tracked {
+    }
+
+    private static <V> IsValueValidator<V> failing(String message) {
+        return new ValueValidator<V>().add(v -> ValidationInfo.invalid(message));
+    }
+
+    @Test
+    void testMostSpecificType() {
+        ValidatorRegistry registry = new ValidatorRegistry()
+                .register(Event.class, failing("Event"))
+                .register(OrderEvent.class, failing("OrderEvent"))
+                .register(Auditable.class, failing("Auditable"));
+
+        assertThat(registry.validate(new Event()).getMessagesTextList()).containsExactly("Event");
+        assertThat(registry.validate(new OrderEvent()).getMessagesTextList()).containsExactly("OrderEvent");
+        // OrderEvent is more specific than Auditable, because it implements Auditable
+        assertThat(registry.validate(new OrderCreatedEvent()).getMessagesTextList()).containsExactly("OrderEvent");
+    }
+
+    @Test
+    void testInterfaces() {
+        ValidatorRegistry registry = new ValidatorRegistry()
+                .register(Auditable.class, failing("Auditable"))
+                .register(CharSequence.class, failing("CharSequence"));
+
+        assertThat(registry.validate(new OrderCreatedEvent()).getMessagesTextList()).containsExactly("Auditable");
+        assertThat(registry.validate(new StringBuilder("x")).getMessagesTextList()).containsExactly("CharSequence");
+    }
+
+    @Test
+    void testAmbiguousType() {
+        ValidatorRegistry registry = new ValidatorRegistry()
+                .register(Auditable.class, failing("Auditable"))
+                .register(Tracked.class, failing("Tracked"));
+
+        assertThrows(IllegalStateException.class, () -> registry.validate(new OrderCreatedEvent()));
+
+        registry.register(OrderCreatedEvent.class, failing("OrderCreatedEvent"));
+        assertThat(registry.validate(new OrderCreatedEvent()).getMessagesTextList()).containsExactly("OrderCreatedEvent");
+    }
+
+    @Test
+    void testRegisterResetsCache() {
+        ValidatorRegistry registry = new ValidatorRegistry()
+                .register(Object.class, failing("Object"));
+        assertThat(registry.validate("abc").getMessagesTextList()).containsExactly("Object");
+        assertSame(registry.resolve(String.class), registry.resolve(String.class));
+
+        registry.register(Serializable.class, failing("Serializable"));
+        assertThat(registry.validate("abc").getMessagesTextList()).containsExactly("Serializable");
+    }
+
+    @Test
+    void testNoValidator() {
+        ValidatorRegistry registry = new ValidatorRegistry()
+                .register(Event.class, failing("Event"));
+
+        assertNull(registry.resolve(String.class));
+        assertThrows(IllegalArgumentException.class, () -> registry.validate("abc"));
+        assertThrows(IllegalArgumentException.class, () -> registry.validate(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(int.class, failing("int")));
+    }
+}
@@ -0,0 +1,184 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.TruncationReason;
+import de.mlo.dev.validation.ValidationBudget;
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValueValidatorForEachTest {
+
+    static final class Order {
+        private final List<Integer> prices;
+
+        Order(List<Integer> prices) {
+            this.prices = prices;
+        }
+    }
+
+    private static final ValueValidator<Integer> PRICE_VALIDATOR = new ValueValidator<Integer>()
+            .add(p -> p < 0 ? ValidationInfo.invalidField("price", "Negative") : ValidationInfo.valid())
+            .add(p -> p == 0 ? ValidationInfo.invalid("Zero") : ValidationInfo.valid());
+
+    private static List<String> fields(ValueValidationResult<?> result) {
+        return result.getValidationInfos().stream()
+                .filter(ValidationInfo::isInvalid)
+                .map(ValidationInfo::getField)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testPaths() {
+        ValueValidator<Order> validator = new ValueValidator<Order>()
+                .forEach("items", (Order o) -> o.prices, PRICE_VALIDATOR)
+                .build();
+
+        ValueValidationResult<Order> result = validator.validate(new Order(List.of(1, -1, 2, 0)));
+        assertThat(fields(result)).containsExactly("items[1].price", "items[3]");
+        assertThat(result.getMessagesTextList()).containsExactly("Negative", "Zero");
+        assertTrue(validator.validate(new Order(List.of(1, 2))).isValid());
+        assertTrue(validator.validate(new Order(null)).isValid());
+    }
+
+    @Test
+    void testWithoutField() {
+        ValueValidator<Set<Integer>> validator = new ValueValidator<Set<Integer>>()
+                .forEach(s -> s, PRICE_VALIDATOR)
+                .build();
+
+        ValueValidationResult<Set<Integer>> result = validator.validate(new LinkedHashSet<>(List.of(3, 0)));
+        assertThat(fields(result)).containsExactly("[1]");
+    }
+
+    @Test
+    void testStopOnFirstFailingElement() {
+        AtomicInteger validated = new AtomicInteger();
+        ValueValidator<Integer> counting = new ValueValidator<Integer>()
+                .add(p -> {
+                    validated.incrementAndGet();
+                    return ValidationInfo.valid();
+                })
+                .addSummarizer(PRICE_VALIDATOR);
+        ValueValidator<Order> validator = new ValueValidator<Order>()
+                .forEach("items", (Order o) -> o.prices, counting)
+                .setStopOnFirstFailingElement()
+                .build();
+
+        ValueValidationResult<Order> result = validator.validate(new Order(List.of(1, -1, 0, -2)));
+        assertThat(fields(result)).containsExactly("items[1].price");
+        assertEquals(2, validated.get());
+    }
+
+    @Test
+    void testParallel() {
+        List<Integer> prices = IntStream.range(0, 20_000).map(i -> i % 997 == 500 ? -i : i + 1).boxed()
+                .collect(Collectors.toCollection(ArrayList::new));
+        ValueValidator<Order> validator = new ValueValidator<Order>()
+                .forEach("items", (Order o) -> o.prices, PRICE_VALIDATOR.freeze())
+                .setParallelThreshold(1000)
+                .build();
+
+        ValueValidationResult<Order> result = validator.validate(new Order(prices));
+        List<String> expected = IntStream.range(0, 20_000).filter(i -> i % 997 == 500)
+                .mapToObj(i -> "items[" + i + "].price")
+                .collect(Collectors.toList());
+        assertEquals(expected, fields(result));
+    }
+
+    @Test
+    void testParallelStopOnFirstFailingElement() {
+        List<Integer> prices = IntStream.range(0, 20_000).map(i -> i >= 7000 && i % 2 == 0 ? -1 : 1).boxed()
+                .collect(Collectors.toList());
+        ValueValidator<Order> validator = new ValueValidator<Order>()
+                .forEach("items", (Order o) -> o.prices, PRICE_VALIDATOR.freeze())
+                .setStopOnFirstFailingElement()
+                .setParallelThreshold(1000)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(fields(validator.validate(new Order(prices)))).containsExactly("items[7000].price");
+        }
+    }
+
+    @Test
+    void testFailureLimit() {
+        AtomicInteger validated = new AtomicInteger();
+        ValueValidator<Integer> counting = new ValueValidator<Integer>()
+                .add(p -> {
+                    validated.incrementAndGet();
+                    return ValidationInfo.valid();
+                })
+                .addSummarizer(PRICE_VALIDATOR);
+        ValueValidator<Order> validator = new ValueValidator<Order>()
+                .forEach("items", (Order o) -> o.prices, counting)
+                .build()
+                .setValidationRunner(ValueValidationRunners.withBudget(ValidationBudget.unlimited().withMaxFailures(10)));
+
+        ValueValidationResult<Order> result = validator.validate(new Order(Collections.nCopies(100_000, -1)));
+        assertEquals(10, result.getValidationInfos().size());
+        assertEquals(TruncationReason.FAILURE_LIMIT, result.getTruncationReason());
+        assertEquals(11, validated.get());
+    }
+
+    @Test
+    void testDeadline() {
+        AtomicInteger validated = new AtomicInteger();
+        ValueValidator<Integer> slow = new ValueValidator<Integer>()
+                .add(p -> {
+                    validated.incrementAndGet();
+                    sleep(1);
+                    return ValidationInfo.valid();
+                });
+        for (int parallelThreshold : new int[]{Integer.MAX_VALUE, 1000}) {
+            validated.set(0);
+            ValueValidator<Order> validator = new ValueValidator<Order>()
+                    .forEach("items", (Order o) -> o.prices, slow.freeze())
+                    .setParallelThreshold(parallelThreshold)
+                    .build()
+                    .setValidationRunner(ValueValidationRunners.withBudget(
+                            ValidationBudget.unlimited().withTimeout(Duration.ofMillis(50))));
+
+            ValueValidationResult<Order> result = validator.validate(new Order(Collections.nCopies(100_000, 1)));
+            assertTrue(result.isValid());
+            assertEquals(TruncationReason.DEADLINE, result.getTruncationReason());
+            assertThat(validated.get()).isLessThan(10_000);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testNestedAndFrozen() {
+        FrozenValueValidator<Order> frozen = new ValueValidator<Order>()
+                .groupBuilder()
+                .forEach("items", (Order o) -> o.prices, PRICE_VALIDATOR)
+                .build()
+                .build()
+                .freeze();
+        assertThat(fields(frozen.validate(new Order(List.of(-5))))).containsExactly("items[0].price");
+        assertThrows(IllegalArgumentException.class, () -> new ValueValidator<Order>()
+                .forEach((Order o) -> o.prices, PRICE_VALIDATOR)
+                .setParallelThreshold(0));
+    }
+}
@@ -0,0 +1,192 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.TruncationReason;
+import de.mlo.dev.validation.ValidationBudget;
+import de.mlo.dev.validation.ValidationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValueValidatorGraphTest {
+
+    @Test
+    void testDependentsOfFailedNodesAreSkipped() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        ValueValidatorGraph<String> graph = new ValueValidatorGraph<String>()
+                .add("a", s -> {
+                    executed.add("a");
+                    return ValidationInfo.invalid("A failed");
+                })
+                .add("b", s -> {
+                    executed.add("b");
+                    return ValidationInfo.invalid("B failed");
+                }, "a")
+                .add("c", s -> {
+                    executed.add("c");
+                    return ValidationInfo.invalid("C failed");
+                }, "b")
+                .add("d", s -> {
+                    executed.add("d");
+                    return ValidationInfo.valid();
+                })
+                .add("e", s -> {
+                    executed.add("e");
+                    return ValidationInfo.invalid("E failed");
+                }, "d");
+
+        ValueValidationResult<String> result = graph.validate("abc");
+        assertThat(executed).containsExactlyInAnyOrder("a", "d", "e");
+        assertThat(result.getMessagesTextList()).containsExactly("A failed", "E failed");
+        assertEquals("abc", result.getValue());
+    }
+
+    @Test
+    void testResultInDeclarationOrder() {
+        ValueValidatorGraph<String> graph = new ValueValidatorGraph<String>()
+                .add("late", s -> ValidationInfo.invalid("1"), "early")
+                .add("slow", s -> {
+                    sleep(30);
+                    return ValidationInfo.invalid("2");
+                })
+                .add("early", s -> ValidationInfo.valid())
+                .addSummarizer("group", new ValueValidator<String>()
+                        .add(s -> ValidationInfo.invalid("3"))
+                        .add(s -> ValidationInfo.invalid("4")));
+
+        assertThat(graph.validate("abc").getMessagesTextList()).containsExactly("1", "2", "3", "4");
+    }
+
+    @Test
+    void testIndependentNodesRunConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            CountDownLatch latch = new CountDownLatch(3);
+            ValueValidationStatement<String> awaitOthers = s -> {
+                latch.countDown();
+                try {
+                    return latch.await(5, TimeUnit.SECONDS) ? ValidationInfo.valid() : ValidationInfo.invalid("Sequential");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return ValidationInfo.invalid("Interrupted");
+                }
+            };
+            ValueValidatorGraph<String> graph = new ValueValidatorGraph<String>()
+                    .add("a", awaitOthers)
+                    .add("b", awaitOthers)
+                    .add("c", awaitOthers)
+                    .add("d", s -> ValidationInfo.invalid("All passed"), "a", "b", "c")
+                    .setExecutor(executor);
+            assertThat(graph.validate("abc").getMessagesTextList()).containsExactly("All passed");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testAsNestedSummarizer() {
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .add(s -> ValidationInfo.invalid("First"))
+                .addSummarizer(new ValueValidatorGraph<String>()
+                        .add("a", s -> ValidationInfo.invalid("Second")));
+        assertThat(validator.validate("abc").getMessagesTextList()).containsExactly("First", "Second");
+    }
+
+    @Test
+    void testFailureLimitAcrossNodes() {
+        AtomicInteger validated = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ValueValidatorGraph<String> graph = new ValueValidatorGraph<String>().setExecutor(executor);
+            for (String id : List.of("a", "b", "c", "d")) {
+                graph.addSummarizer(id, new ValueValidator<String>()
+                        .forEach(id, s -> Collections.nCopies(100, s), new ValueValidator<String>()
+                                .add(s -> {
+                                    validated.incrementAndGet();
+                                    return ValidationInfo.invalid("Element");
+                                }))
+                        .build());
+            }
+            ValueValidator<String> validator = new ValueValidator<String>()
+                    .addSummarizer(graph)
+                    .setValidationRunner(ValueValidationRunners.withBudget(ValidationBudget.unlimited().withMaxFailures(3)));
+
+            ValueValidationResult<String> result = validator.validate("abc");
+            assertThat(result.getValidationInfos()).filteredOn(ValidationInfo::isInvalid).hasSize(3);
+            assertEquals(TruncationReason.FAILURE_LIMIT, result.getTruncationReason());
+            // The loop of the first node sees the budget, the other nodes are skipped
+            assertThat(validated.get()).isLessThan(10);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testFreeze() {
+        ValueValidatorGraph<String> graph = new ValueValidatorGraph<String>()
+                .add("a", s -> ValidationInfo.invalid("First"));
+        ValueValidator<String> nested = new ValueValidator<String>()
+                .add(s -> ValidationInfo.invalid("Second"));
+        graph.addSummarizer("b", nested);
+        FrozenValueValidator<String> frozen = new ValueValidator<String>()
+                .addSummarizer(graph)
+                .freeze();
+        graph.add("c", s -> ValidationInfo.invalid("Added later"));
+        nested.add(s -> ValidationInfo.invalid("Added later"));
+
+        assertThat(frozen.validate("abc").getMessagesTextList()).containsExactly("First", "Second");
+
+        graph.add("d", s -> ValidationInfo.valid(), "unknown");
+        ValueValidator<String> invalid = new ValueValidator<String>().addSummarizer(graph);
+        assertThrows(IllegalStateException.class, invalid::freeze);
+    }
+
+    @Test
+    void testExceptionIsRethrown() {
+        ValueValidatorGraph<String> graph = new ValueValidatorGraph<String>()
+                .add("a", s -> {
+                    throw new IllegalStateException("Broken");
+                })
+                .add("b", s -> ValidationInfo.valid(), "a");
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> graph.validate("abc"));
+        assertEquals("Broken", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidGraphs() {
+        ValueValidatorGraph<String> graph = new ValueValidatorGraph<String>()
+                .add("a", s -> ValidationInfo.valid());
+        assertThrows(IllegalArgumentException.class, () -> graph.add("a", s -> ValidationInfo.valid()));
+
+        graph.add("b", s -> ValidationInfo.valid(), "unknown");
+        assertThrows(IllegalStateException.class, () -> graph.validate("abc"));
+
+        ValueValidatorGraph<String> cycle = new ValueValidatorGraph<String>()
+                .add("a", s -> ValidationInfo.valid(), "c")
+                .add("b", s -> ValidationInfo.valid(), "a")
+                .add("c", s -> ValidationInfo.valid(), "b")
+                .add("d", s -> ValidationInfo.valid());
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> cycle.validate("abc"));
+        assertThat(exception.getMessage()).contains("[a, b, c]");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package de.mlo.dev.validation.value;
+
+import de.mlo.dev.validation.ValidationInfo;
+import de.mlo.dev.validation.basic.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author mlo
+ */
+class ValueValidatorSwitchTest {
+
+    enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    static final class Event {
+        private final Type type;
+        private final String payload;
+
+        Event(Type type, String payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+    }
+
+    private static ValueValidationSummarizer<Event> fail(String message) {
+        return e -> new ValidationResult().add(ValidationInfo.invalid(message));
+    }
+
+    @Test
+    void testEnumDispatch() {
+        AtomicInteger extracted = new AtomicInteger();
+        ValueValidator<Event> validator = new ValueValidator<Event>()
+                .add(e -> ValidationInfo.valid())
+                .switchOn(e -> {
+                    extracted.incrementAndGet();
+                    return e.type;
+                })
+                .when(Type.CREATED, new ValueValidator<Event>()
+                        .add(e -> e.payload.isEmpty() ? ValidationInfo.invalid("Empty payload") : ValidationInfo.valid()))
+                .when(Type.DELETED, fail("Deleted"))
+                .build();
+
+        assertThat(validator.validate(new Event(Type.CREATED, "")).getMessagesTextList()).containsExactly("Empty payload");
+        assertThat(validator.validate(new Event(Type.DELETED, "x")).getMessagesTextList()).containsExactly("Deleted");
+        assertTrue(validator.validate(new Event(Type.UPDATED, "")).isValid());
+        assertTrue(validator.validate(new Event(null, "")).isValid());
+        assertEquals(4, extracted.get());
+    }
+
+    @Test
+    void testOtherwise() {
+        ValueValidator<String> validator = new ValueValidator<String>()
+                .switchOn(s -> s.isEmpty() ? null : s.charAt(0))
+                .when('a', s -> new ValidationResult().add(ValidationInfo.invalid("Starts with a")))
+                .otherwise(s -> new ValidationResult().add(ValidationInfo.invalid("Other")))
+                .build();
+
+        assertThat(validator.validate("abc").getMessagesTextList()).containsExactly("Starts with a");
+        assertThat(validator.validate("xyz").getMessagesTextList()).containsExactly("Other");
+        assertThat(validator.validate("").getMessagesTextList()).containsExactly("Other");
+        assertFalse(validator.validateInto("xyz", ValidationInfo::isValid));
+    }
+
+    @Test
+    void testMixedKeyTypes() {
+        ValueValidator<Object> validator = new ValueValidator<Object>()
+                .switchOn(o -> o)
+                .when(Type.CREATED, o -> new ValidationResult().add(ValidationInfo.invalid("Enum")))
+                .when("CREATED", o -> new ValidationResult().add(ValidationInfo.invalid("String")))
+                .build();
+
+        assertThat(validator.validate(Type.CREATED).getMessagesTextList()).containsExactly("Enum");
+        assertThat(validator.validate("CREATED").getMessagesTextList()).containsExactly("String");
+        assertTrue(validator.validate(Type.DELETED).isValid());
+    }
+
+    @Test
+    void testNestedInGroupAndFrozen() {
+        ValueValidator<Event> validator = new ValueValidator<Event>()
+                .groupBuilder()
+                .switchOn(e -> e.type)
+                .when(Type.UPDATED, fail("Updated"))
+                .build()
+                .add(e -> ValidationInfo.invalid("Group"))
+                .build();
+        FrozenValueValidator<Event> frozen = validator.freeze();
+
+        assertThat(frozen.validate(new Event(Type.UPDATED, "")).getMessagesTextList()).containsExactly("Updated", "Group");
+        assertThat(frozen.validate(new Event(Type.CREATED, "")).getMessagesTextList()).containsExactly("Group");
+    }
+
+    @Test
+    void testInvalidBranches() {
+        ValueValidatorSwitch<Event, Type, ?> validatorSwitch = new ValueValidator<Event>()
+                .switchOn(e -> e.type)
+                .when(Type.CREATED, fail("Created"));
+        assertThrows(IllegalArgumentException.class, () -> validatorSwitch.when(Type.CREATED, fail("Again")));
+        assertThrows(IllegalArgumentException.class, () -> validatorSwitch.when(null, fail("Null")));
+    }
+}